@@ -1,12 +1,14 @@
 package mil.dds.anet;
 
 import graphql.GraphQLContext;
+import jakarta.annotation.PreDestroy;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import mil.dds.anet.beans.ApprovalStep;
 import mil.dds.anet.beans.Location;
@@ -18,6 +20,7 @@ import mil.dds.anet.beans.search.ISearchQuery.RecurseStrategy;
 import mil.dds.anet.beans.search.LocationSearchQuery;
 import mil.dds.anet.beans.search.OrganizationSearchQuery;
 import mil.dds.anet.beans.search.TaskSearchQuery;
+import mil.dds.anet.config.AnetConfig;
 import mil.dds.anet.config.ApplicationContextProvider;
 import mil.dds.anet.database.AccessTokenActivityDao;
 import mil.dds.anet.database.AccessTokenDao;
@@ -52,19 +55,47 @@ import mil.dds.anet.database.SubscriptionUpdateDao;
 import mil.dds.anet.database.TaskDao;
 import mil.dds.anet.database.UserActivityDao;
 import mil.dds.anet.database.UserDao;
+import mil.dds.anet.database.cache.ApprovalChainCache;
 import mil.dds.anet.utils.AuthUtils;
 import mil.dds.anet.utils.BatchingUtils;
 import mil.dds.anet.utils.DaoUtils;
+import mil.dds.anet.utils.DataLoaderExecutor;
 import mil.dds.anet.utils.IdDataLoaderKey;
 import mil.dds.anet.utils.Utils;
 import mil.dds.anet.views.UuidFetcher;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderOptions;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class AnetObjectEngine {
 
+  private final DataLoaderExecutor dataLoaderExecutor;
+  private final Map<String, Function<DataLoaderOptions, DataLoader<?, ?>>> dataLoaderFactories;
   private ThreadLocal<GraphQLContext> context;
 
+  public AnetObjectEngine(AnetConfig config,
+      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+    // One executor for the batch loaders of all requests and workers
+    dataLoaderExecutor = new DataLoaderExecutor(virtualThreads, config.getDataLoaderThreads(),
+        config.getDataLoaderQueueSize());
+    dataLoaderFactories = BatchingUtils.createFactories(this, dataLoaderExecutor);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    dataLoaderExecutor.shutdown();
+  }
+
+  public DataLoaderExecutor getDataLoaderExecutor() {
+    return dataLoaderExecutor;
+  }
+
+  public Map<String, Function<DataLoaderOptions, DataLoader<?, ?>>> getDataLoaderFactories() {
+    return dataLoaderFactories;
+  }
+
   public PersonDao getPersonDao() {
     return ApplicationContextProvider.getBean(PersonDao.class);
   }
@@ -93,6 +124,10 @@ public class AnetObjectEngine {
     return ApplicationContextProvider.getBean(ApprovalStepDao.class);
   }
 
+  public ApprovalChainCache getApprovalChainCache() {
+    return ApplicationContextProvider.getBean(ApprovalChainCache.class);
+  }
+
   public ReportDao getReportDao() {
     return ApplicationContextProvider.getBean(ReportDao.class);
   }
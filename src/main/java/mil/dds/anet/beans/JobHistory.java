@@ -1,11 +1,14 @@
 package mil.dds.anet.beans;
 
 import java.time.Instant;
+import java.util.Map;
 
 public class JobHistory {
 
   private String jobName;
   private Instant lastRun;
+  // Optional, for jobs that need to keep track of what they have processed
+  private Map<String, Long> watermarks;
 
   public JobHistory() {}
 
@@ -30,6 +33,14 @@ public class JobHistory {
     this.lastRun = lastRun;
   }
 
+  public Map<String, Long> getWatermarks() {
+    return watermarks;
+  }
+
+  public void setWatermarks(Map<String, Long> watermarks) {
+    this.watermarks = watermarks;
+  }
+
   public static Instant getLastRun(JobHistory jobHistory) {
     return jobHistory == null ? null : jobHistory.getLastRun();
   }
@@ -0,0 +1,94 @@
+package mil.dds.anet.beans;
+
+import io.leangen.graphql.annotations.GraphQLQuery;
+
+/**
+ * A cell of a map grid, aggregating the objects located in it.
+ */
+public class MapCluster {
+  // The number of objects in the cell
+  @GraphQLQuery
+  private int count;
+  // The representative point of the cell: the average position of its objects
+  @GraphQLQuery
+  private double lat;
+  @GraphQLQuery
+  private double lng;
+  // The extent of the objects in the cell
+  @GraphQLQuery
+  private double minLat;
+  @GraphQLQuery
+  private double minLng;
+  @GraphQLQuery
+  private double maxLat;
+  @GraphQLQuery
+  private double maxLng;
+  // The uuid of the object, if the cell holds only one
+  @GraphQLQuery
+  private String uuid;
+
+  public int getCount() {
+    return count;
+  }
+
+  public void setCount(int count) {
+    this.count = count;
+  }
+
+  public double getLat() {
+    return lat;
+  }
+
+  public void setLat(double lat) {
+    this.lat = lat;
+  }
+
+  public double getLng() {
+    return lng;
+  }
+
+  public void setLng(double lng) {
+    this.lng = lng;
+  }
+
+  public double getMinLat() {
+    return minLat;
+  }
+
+  public void setMinLat(double minLat) {
+    this.minLat = minLat;
+  }
+
+  public double getMinLng() {
+    return minLng;
+  }
+
+  public void setMinLng(double minLng) {
+    this.minLng = minLng;
+  }
+
+  public double getMaxLat() {
+    return maxLat;
+  }
+
+  public void setMaxLat(double maxLat) {
+    this.maxLat = maxLat;
+  }
+
+  public double getMaxLng() {
+    return maxLng;
+  }
+
+  public void setMaxLng(double maxLng) {
+    this.maxLng = maxLng;
+  }
+
+  public String getUuid() {
+    return uuid;
+  }
+
+  public void setUuid(String uuid) {
+    this.uuid = uuid;
+  }
+
+}
@@ -1,6 +1,31 @@
 package mil.dds.anet.beans;
 
 import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public record MergedEntity(String oldUuid, String newUuid, Instant mergeDate) {
+
+  /**
+   * Combine merges into a single replacement for each old uuid, with the same outcome as replacing
+   * the references of each merge one after the other: when an entity is merged into one that is
+   * itself merged later on, references to both end up pointing to the last one.
+   *
+   * @param mergedEntities the merges, in the order they were done
+   * @return the new uuid of each old uuid that is to be replaced
+   */
+  public static Map<String, String> getReplacements(List<MergedEntity> mergedEntities) {
+    final Map<String, String> replacements = new LinkedHashMap<>();
+    for (final MergedEntity mergedEntity : mergedEntities) {
+      final String oldUuid = mergedEntity.oldUuid();
+      final String newUuid = mergedEntity.newUuid();
+      replacements.replaceAll((uuid, replacement) -> oldUuid.equals(replacement) ? newUuid
+          : replacement);
+      replacements.putIfAbsent(oldUuid, newUuid);
+    }
+    replacements.entrySet().removeIf(e -> e.getKey().equals(e.getValue()));
+    return replacements;
+  }
+
 }
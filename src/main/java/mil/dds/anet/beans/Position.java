@@ -208,13 +208,13 @@ public class Position extends AbstractEmailableAnetBean
     return person.getForeignObject();
   }
 
-  // for easy access through reflection in {@link PersonDao#copyPerson}
+  // under the column name in PositionDao.fields, for {@link PersonCache#copyPerson}
   @JsonIgnore
   public void setCurrentPersonUuid(String personUuid) {
     setPersonUuid(personUuid);
   }
 
-  // for easy access through reflection in {@link PersonDao#copyPerson}
+  // under the column name in PositionDao.fields, for {@link PersonCache#copyPerson}
   @JsonIgnore
   public String getCurrentPersonUuid() {
     return getPersonUuid();
@@ -17,6 +17,7 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import mil.dds.anet.AnetObjectEngine;
+import mil.dds.anet.database.cache.ApprovalChainCache;
 import mil.dds.anet.utils.DaoUtils;
 import mil.dds.anet.utils.IdDataLoaderKey;
 import mil.dds.anet.utils.Utils;
@@ -521,11 +522,42 @@ public class Report extends AbstractCustomizableAnetBean
 
   public CompletableFuture<List<ApprovalStep>> computeApprovalSteps(GraphQLContext context,
       AnetObjectEngine engine) {
+    final String defaultOrgUuid = engine().getAdminDao().getDefaultOrgUuid();
+    return loadTasks(context).thenCompose(tasks -> {
+      final ApprovalChainCache.Key key = new ApprovalChainCache.Key(isFutureEngagement(),
+          getAdvisorOrgUuid(), defaultOrgUuid,
+          tasks == null ? List.of() : tasks.stream().map(DaoUtils::getUuid).toList(),
+          getLocationUuid());
+      return engine.getApprovalChainCache().get(key,
+          // Copy the steps, so approvers loaded for them elsewhere are not cached
+          () -> computeWorkflowSteps(context, engine, defaultOrgUuid, tasks)
+              .thenApply(steps -> steps.stream().map(ApprovalStep::clone).toList()));
+    }).thenCompose(cachedSteps -> {
+      // Copy the cached steps, as the approvers will be loaded for them
+      final List<ApprovalStep> steps = cachedSteps.stream().map(ApprovalStep::clone).toList();
+      @SuppressWarnings("unchecked")
+      final CompletableFuture<ApprovalStep>[] allSteps =
+          (CompletableFuture<ApprovalStep>[]) steps.stream()
+              .map(step -> getFilteredStep(context, step)).toArray(CompletableFuture<?>[]::new);
+      return CompletableFuture.allOf(allSteps).thenCompose(v -> {
+        final List<ApprovalStep> filteredSteps = new ArrayList<>();
+        for (final CompletableFuture<ApprovalStep> cas : allSteps) {
+          final ApprovalStep as = cas.join();
+          if (as != null) {
+            filteredSteps.add(as);
+          }
+        }
+        return CompletableFuture.completedFuture(filteredSteps);
+      });
+    });
+  }
+
+  private CompletableFuture<List<ApprovalStep>> computeWorkflowSteps(GraphQLContext context,
+      AnetObjectEngine engine, String defaultOrgUuid, List<Task> tasks) {
     final String advisorOrgUuid = getAdvisorOrgUuid();
     // First organization workflow
     return getOrganizationWorkflow(context, engine, advisorOrgUuid).thenCompose(steps -> {
       if (Utils.isEmptyOrNull(steps)) {
-        final String defaultOrgUuid = engine().getAdminDao().getDefaultOrgUuid();
         if (advisorOrgUuid == null || !Objects.equals(advisorOrgUuid, defaultOrgUuid)) {
           return getDefaultOrganizationWorkflow(context, engine, defaultOrgUuid);
         }
@@ -533,17 +565,15 @@ public class Report extends AbstractCustomizableAnetBean
       return CompletableFuture.completedFuture(steps);
     }).thenCompose(steps -> {
       // Then tasks workflow
-      return loadTasks(context).thenCompose(tasks -> {
-        if (Utils.isEmptyOrNull(tasks)) {
-          return CompletableFuture.completedFuture(steps);
-        } else {
-          return getTaskWorkflow(context, engine, tasks.iterator())
-              .thenCompose(taskApprovalSteps -> {
-                steps.addAll(taskApprovalSteps);
-                return CompletableFuture.completedFuture(steps);
-              });
-        }
-      });
+      if (Utils.isEmptyOrNull(tasks)) {
+        return CompletableFuture.completedFuture(steps);
+      } else {
+        return getTaskWorkflow(context, engine, tasks.iterator())
+            .thenCompose(taskApprovalSteps -> {
+              steps.addAll(taskApprovalSteps);
+              return CompletableFuture.completedFuture(steps);
+            });
+      }
     }).thenCompose(steps -> {
       // Then location workflow
       final String locationUuid = getLocationUuid();
@@ -556,22 +586,6 @@ public class Report extends AbstractCustomizableAnetBean
               return CompletableFuture.completedFuture(steps);
             });
       }
-    }).thenCompose(steps -> {
-      @SuppressWarnings("unchecked")
-      final CompletableFuture<ApprovalStep>[] allSteps =
-          (CompletableFuture<ApprovalStep>[]) steps.stream()
-              .map(step -> getFilteredStep(context, step)).toArray(CompletableFuture<?>[]::new);
-      return CompletableFuture.allOf(allSteps).thenCompose(v -> {
-        final List<ApprovalStep> filteredSteps = new ArrayList<>();
-        for (final CompletableFuture<ApprovalStep> cas : allSteps) {
-          final ApprovalStep as = cas.join();
-          if (as != null) {
-            filteredSteps.add(as);
-          }
-        }
-        return CompletableFuture.completedFuture(filteredSteps);
-      });
-
     });
   }
 
@@ -3,6 +3,7 @@ package mil.dds.anet.beans.lists;
 import io.leangen.graphql.annotations.GraphQLInputField;
 import io.leangen.graphql.annotations.GraphQLQuery;
 import java.util.List;
+import java.util.function.Supplier;
 import mil.dds.anet.graphql.AllowUnverifiedUsers;
 import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.statement.Query;
@@ -21,6 +22,11 @@ public class AnetBeanList<T> {
   @GraphQLQuery
   @GraphQLInputField
   Integer totalCount;
+  @GraphQLQuery
+  @GraphQLInputField
+  String nextCursor;
+  // non-GraphQL; for keyset pagination, the total count is only computed when asked for
+  private Supplier<Integer> totalCountSupplier;
 
   public AnetBeanList() { /* Serialization Constructor */ }
 
@@ -83,6 +89,9 @@ public class AnetBeanList<T> {
 
   @AllowUnverifiedUsers
   public Integer getTotalCount() {
+    if (totalCount == null && totalCountSupplier != null) {
+      totalCount = totalCountSupplier.get();
+    }
     return totalCount;
   }
 
@@ -90,4 +99,17 @@ public class AnetBeanList<T> {
     this.totalCount = totalCount;
   }
 
+  public void setTotalCountSupplier(Supplier<Integer> totalCountSupplier) {
+    this.totalCountSupplier = totalCountSupplier;
+  }
+
+  @AllowUnverifiedUsers
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+
 }
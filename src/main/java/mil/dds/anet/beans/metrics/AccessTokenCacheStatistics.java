@@ -0,0 +1,62 @@
+package mil.dds.anet.beans.metrics;
+
+import io.leangen.graphql.annotations.GraphQLQuery;
+
+public class AccessTokenCacheStatistics {
+  @GraphQLQuery
+  private long size;
+  @GraphQLQuery
+  private long hitCount;
+  @GraphQLQuery
+  private long missCount;
+  @GraphQLQuery
+  private double hitRate;
+  @GraphQLQuery
+  private long evictionCount;
+  @GraphQLQuery
+  private long expiredCount;
+  @GraphQLQuery
+  private long invalidationCount;
+
+  public AccessTokenCacheStatistics() {}
+
+  public AccessTokenCacheStatistics(long size, long hitCount, long missCount, long evictionCount,
+      long expiredCount, long invalidationCount) {
+    this.size = size;
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    final long requestCount = hitCount + missCount;
+    this.hitRate = (requestCount == 0) ? 0 : (double) hitCount / requestCount;
+    this.evictionCount = evictionCount;
+    this.expiredCount = expiredCount;
+    this.invalidationCount = invalidationCount;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  public long getMissCount() {
+    return missCount;
+  }
+
+  public double getHitRate() {
+    return hitRate;
+  }
+
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  public long getExpiredCount() {
+    return expiredCount;
+  }
+
+  public long getInvalidationCount() {
+    return invalidationCount;
+  }
+}
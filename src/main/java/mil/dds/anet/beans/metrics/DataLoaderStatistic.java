@@ -0,0 +1,62 @@
+package mil.dds.anet.beans.metrics;
+
+import io.leangen.graphql.annotations.GraphQLQuery;
+import org.dataloader.stats.Statistics;
+
+public class DataLoaderStatistic {
+  @GraphQLQuery
+  private String name;
+  @GraphQLQuery
+  private long loadCount;
+  @GraphQLQuery
+  private long batchInvokeCount;
+  @GraphQLQuery
+  private long batchLoadCount;
+  @GraphQLQuery
+  private double averageBatchSize;
+  @GraphQLQuery
+  private long cacheHitCount;
+  @GraphQLQuery
+  private long loadErrorCount;
+
+  public DataLoaderStatistic() {}
+
+  public DataLoaderStatistic(String name, Statistics statistics) {
+    this.name = name;
+    this.loadCount = statistics.getLoadCount();
+    this.batchInvokeCount = statistics.getBatchInvokeCount();
+    this.batchLoadCount = statistics.getBatchLoadCount();
+    this.averageBatchSize =
+        (batchInvokeCount == 0) ? 0 : (double) batchLoadCount / batchInvokeCount;
+    this.cacheHitCount = statistics.getCacheHitCount();
+    this.loadErrorCount = statistics.getLoadErrorCount() + statistics.getBatchLoadExceptionCount();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getLoadCount() {
+    return loadCount;
+  }
+
+  public long getBatchInvokeCount() {
+    return batchInvokeCount;
+  }
+
+  public long getBatchLoadCount() {
+    return batchLoadCount;
+  }
+
+  public double getAverageBatchSize() {
+    return averageBatchSize;
+  }
+
+  public long getCacheHitCount() {
+    return cacheHitCount;
+  }
+
+  public long getLoadErrorCount() {
+    return loadErrorCount;
+  }
+}
@@ -0,0 +1,55 @@
+package mil.dds.anet.beans.metrics;
+
+import io.leangen.graphql.annotations.GraphQLQuery;
+import java.util.List;
+
+public class DataLoaderStatistics {
+  @GraphQLQuery
+  private boolean virtualThreads;
+  @GraphQLQuery
+  private int maxConcurrency;
+  @GraphQLQuery
+  private int activeThreads;
+  @GraphQLQuery
+  private int queueDepth;
+  @GraphQLQuery
+  private long completedBatches;
+  @GraphQLQuery
+  private List<DataLoaderStatistic> dataLoaders;
+
+  public DataLoaderStatistics() {}
+
+  public DataLoaderStatistics(boolean virtualThreads, int maxConcurrency, int activeThreads,
+      int queueDepth, long completedBatches, List<DataLoaderStatistic> dataLoaders) {
+    this.virtualThreads = virtualThreads;
+    this.maxConcurrency = maxConcurrency;
+    this.activeThreads = activeThreads;
+    this.queueDepth = queueDepth;
+    this.completedBatches = completedBatches;
+    this.dataLoaders = dataLoaders;
+  }
+
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  public int getActiveThreads() {
+    return activeThreads;
+  }
+
+  public int getQueueDepth() {
+    return queueDepth;
+  }
+
+  public long getCompletedBatches() {
+    return completedBatches;
+  }
+
+  public List<DataLoaderStatistic> getDataLoaders() {
+    return dataLoaders;
+  }
+}
@@ -0,0 +1,71 @@
+package mil.dds.anet.beans.metrics;
+
+import io.leangen.graphql.annotations.GraphQLQuery;
+
+public class GraphQLDocumentCacheStatistics {
+  @GraphQLQuery
+  private long size;
+  @GraphQLQuery
+  private long maximumSize;
+  @GraphQLQuery
+  private long hitCount;
+  @GraphQLQuery
+  private long missCount;
+  @GraphQLQuery
+  private long evictionCount;
+  @GraphQLQuery
+  private long persistedQueryNotFoundCount;
+  @GraphQLQuery
+  private long averageParseAndValidateMicros;
+  @GraphQLQuery
+  private long savedCpuMs;
+
+  public GraphQLDocumentCacheStatistics() {}
+
+  public GraphQLDocumentCacheStatistics(long size, long maximumSize, long hitCount,
+      long missCount, long evictionCount, long persistedQueryNotFoundCount,
+      long totalParseAndValidateNanos) {
+    this.size = size;
+    this.maximumSize = maximumSize;
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.evictionCount = evictionCount;
+    this.persistedQueryNotFoundCount = persistedQueryNotFoundCount;
+    final long averageNanos = (missCount == 0) ? 0 : totalParseAndValidateNanos / missCount;
+    this.averageParseAndValidateMicros = averageNanos / 1_000;
+    // Each hit saves parsing and validating the query
+    this.savedCpuMs = hitCount * averageNanos / 1_000_000;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  public long getMaximumSize() {
+    return maximumSize;
+  }
+
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  public long getMissCount() {
+    return missCount;
+  }
+
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  public long getPersistedQueryNotFoundCount() {
+    return persistedQueryNotFoundCount;
+  }
+
+  public long getAverageParseAndValidateMicros() {
+    return averageParseAndValidateMicros;
+  }
+
+  public long getSavedCpuMs() {
+    return savedCpuMs;
+  }
+}
@@ -0,0 +1,62 @@
+package mil.dds.anet.beans.metrics;
+
+import io.leangen.graphql.annotations.GraphQLQuery;
+import java.time.Instant;
+
+public class MaterializedViewStatistic {
+  @GraphQLQuery
+  private String name;
+  @GraphQLQuery
+  private long refreshCount;
+  @GraphQLQuery
+  private long skipCount;
+  @GraphQLQuery
+  private long failureCount;
+  @GraphQLQuery
+  private long lastDurationMs;
+  @GraphQLQuery
+  private long averageDurationMs;
+  @GraphQLQuery
+  private Instant lastRefreshedAt;
+
+  public MaterializedViewStatistic() {}
+
+  public MaterializedViewStatistic(String name, long refreshCount, long skipCount,
+      long failureCount, long lastDurationMs, long totalDurationMs, Instant lastRefreshedAt) {
+    this.name = name;
+    this.refreshCount = refreshCount;
+    this.skipCount = skipCount;
+    this.failureCount = failureCount;
+    this.lastDurationMs = lastDurationMs;
+    this.averageDurationMs = (refreshCount == 0) ? 0 : totalDurationMs / refreshCount;
+    this.lastRefreshedAt = lastRefreshedAt;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getRefreshCount() {
+    return refreshCount;
+  }
+
+  public long getSkipCount() {
+    return skipCount;
+  }
+
+  public long getFailureCount() {
+    return failureCount;
+  }
+
+  public long getLastDurationMs() {
+    return lastDurationMs;
+  }
+
+  public long getAverageDurationMs() {
+    return averageDurationMs;
+  }
+
+  public Instant getLastRefreshedAt() {
+    return lastRefreshedAt;
+  }
+}
@@ -0,0 +1,54 @@
+package mil.dds.anet.beans.metrics;
+
+import io.leangen.graphql.annotations.GraphQLQuery;
+
+public class QueryCostStatistic {
+  @GraphQLQuery
+  private String operationName;
+  @GraphQLQuery
+  private long count;
+  @GraphQLQuery
+  private long rejectedCount;
+  @GraphQLQuery
+  private long lastCost;
+  @GraphQLQuery
+  private long maxCost;
+  @GraphQLQuery
+  private long averageCost;
+
+  public QueryCostStatistic() {}
+
+  public QueryCostStatistic(String operationName, long count, long rejectedCount, long lastCost,
+      long maxCost, long totalCost) {
+    this.operationName = operationName;
+    this.count = count;
+    this.rejectedCount = rejectedCount;
+    this.lastCost = lastCost;
+    this.maxCost = maxCost;
+    this.averageCost = (count == 0) ? 0 : totalCost / count;
+  }
+
+  public String getOperationName() {
+    return operationName;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getRejectedCount() {
+    return rejectedCount;
+  }
+
+  public long getLastCost() {
+    return lastCost;
+  }
+
+  public long getMaxCost() {
+    return maxCost;
+  }
+
+  public long getAverageCost() {
+    return averageCost;
+  }
+}
@@ -0,0 +1,89 @@
+package mil.dds.anet.beans.metrics;
+
+import io.leangen.graphql.annotations.GraphQLQuery;
+
+public class StatementStatistic {
+  @GraphQLQuery
+  private String tag;
+  @GraphQLQuery
+  private long count;
+  @GraphQLQuery
+  private long errorCount;
+  @GraphQLQuery
+  private long rows;
+  @GraphQLQuery
+  private double averageMs;
+  @GraphQLQuery
+  private double p50Ms;
+  @GraphQLQuery
+  private double p95Ms;
+  @GraphQLQuery
+  private double p99Ms;
+  @GraphQLQuery
+  private double maxMs;
+  @GraphQLQuery
+  private long slowCount;
+  @GraphQLQuery
+  private boolean slow;
+
+  public StatementStatistic() {}
+
+  public StatementStatistic(String tag, long count, long errorCount, long rows, double averageMs,
+      double p50Ms, double p95Ms, double p99Ms, double maxMs, long slowCount, boolean slow) {
+    this.tag = tag;
+    this.count = count;
+    this.errorCount = errorCount;
+    this.rows = rows;
+    this.averageMs = averageMs;
+    this.p50Ms = p50Ms;
+    this.p95Ms = p95Ms;
+    this.p99Ms = p99Ms;
+    this.maxMs = maxMs;
+    this.slowCount = slowCount;
+    this.slow = slow;
+  }
+
+  public String getTag() {
+    return tag;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getErrorCount() {
+    return errorCount;
+  }
+
+  public long getRows() {
+    return rows;
+  }
+
+  public double getAverageMs() {
+    return averageMs;
+  }
+
+  public double getP50Ms() {
+    return p50Ms;
+  }
+
+  public double getP95Ms() {
+    return p95Ms;
+  }
+
+  public double getP99Ms() {
+    return p99Ms;
+  }
+
+  public double getMaxMs() {
+    return maxMs;
+  }
+
+  public long getSlowCount() {
+    return slowCount;
+  }
+
+  public boolean isSlow() {
+    return slow;
+  }
+}
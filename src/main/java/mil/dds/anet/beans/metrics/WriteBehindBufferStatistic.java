@@ -0,0 +1,90 @@
+package mil.dds.anet.beans.metrics;
+
+import io.leangen.graphql.annotations.GraphQLQuery;
+
+public class WriteBehindBufferStatistic {
+  @GraphQLQuery
+  private String name;
+  @GraphQLQuery
+  private int size;
+  @GraphQLQuery
+  private int capacity;
+  @GraphQLQuery
+  private long offeredCount;
+  @GraphQLQuery
+  private long deduplicatedCount;
+  @GraphQLQuery
+  private long droppedCount;
+  @GraphQLQuery
+  private long writtenCount;
+  @GraphQLQuery
+  private long failedCount;
+  @GraphQLQuery
+  private long flushCount;
+  @GraphQLQuery
+  private long backpressureFlushCount;
+  @GraphQLQuery
+  private long lastFlushMs;
+
+  public WriteBehindBufferStatistic() {}
+
+  public WriteBehindBufferStatistic(String name, int size, int capacity, long offeredCount,
+      long deduplicatedCount, long droppedCount, long writtenCount, long failedCount,
+      long flushCount, long backpressureFlushCount, long lastFlushMs) {
+    this.name = name;
+    this.size = size;
+    this.capacity = capacity;
+    this.offeredCount = offeredCount;
+    this.deduplicatedCount = deduplicatedCount;
+    this.droppedCount = droppedCount;
+    this.writtenCount = writtenCount;
+    this.failedCount = failedCount;
+    this.flushCount = flushCount;
+    this.backpressureFlushCount = backpressureFlushCount;
+    this.lastFlushMs = lastFlushMs;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public long getOfferedCount() {
+    return offeredCount;
+  }
+
+  public long getDeduplicatedCount() {
+    return deduplicatedCount;
+  }
+
+  public long getDroppedCount() {
+    return droppedCount;
+  }
+
+  public long getWrittenCount() {
+    return writtenCount;
+  }
+
+  public long getFailedCount() {
+    return failedCount;
+  }
+
+  public long getFlushCount() {
+    return flushCount;
+  }
+
+  public long getBackpressureFlushCount() {
+    return backpressureFlushCount;
+  }
+
+  public long getLastFlushMs() {
+    return lastFlushMs;
+  }
+}
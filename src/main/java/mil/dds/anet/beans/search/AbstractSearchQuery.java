@@ -25,6 +25,8 @@ public abstract class AbstractSearchQuery<T extends ISortBy> implements ISearchQ
   // annotated below
   private Optional<Integer> pageSize = Optional.empty();
   // annotated below
+  private Optional<String> cursor = Optional.empty();
+  // annotated below
   private Optional<SortOrder> sortOrder = Optional.empty();
   // annotated below
   private Optional<T> sortBy = Optional.empty();
@@ -97,6 +99,23 @@ public abstract class AbstractSearchQuery<T extends ISortBy> implements ISearchQ
     this.pageSize = Optional.ofNullable(pageSize);
   }
 
+  /**
+   * The cursor for keyset pagination: when set, the next page is the one after this cursor (use
+   * the empty string for the first page), pageNum is ignored, and the total count is only computed
+   * when asked for. This is more efficient for deep pages than using pageNum.
+   */
+  @Override
+  @GraphQLQuery(name = "cursor")
+  public String getCursor() {
+    return cursor.orElse(null);
+  }
+
+  @Override
+  @GraphQLInputField(name = "cursor")
+  public void setCursor(String cursor) {
+    this.cursor = Optional.ofNullable(cursor);
+  }
+
   @Override
   @GraphQLQuery(name = "sortOrder")
   @Nonnull
@@ -162,7 +181,7 @@ public abstract class AbstractSearchQuery<T extends ISortBy> implements ISearchQ
 
   @Override
   public int hashCode() {
-    return Objects.hash(status, text, pageNum, pageSize, sortOrder, sortBy, inMyReports,
+    return Objects.hash(status, text, pageNum, pageSize, cursor, sortOrder, sortBy, inMyReports,
         batchParams, user);
   }
 
@@ -177,6 +196,7 @@ public abstract class AbstractSearchQuery<T extends ISortBy> implements ISearchQ
         && Objects.equals(getText(), other.getText())
         && Objects.equals(getPageNum(), other.getPageNum())
         && Objects.equals(getPageSize(), other.getPageSize())
+        && Objects.equals(getCursor(), other.getCursor())
         && Objects.equals(getSortOrder(), other.getSortOrder())
         && Objects.equals(getSortBy(), other.getSortBy())
         && Objects.equals(isInMyReports(), other.isInMyReports())
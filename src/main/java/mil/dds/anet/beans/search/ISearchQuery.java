@@ -25,6 +25,10 @@ public interface ISearchQuery<T extends ISortBy> extends WithStatus {
 
   public void setPageSize(Integer pageSize);
 
+  public String getCursor();
+
+  public void setCursor(String cursor);
+
   public SortOrder getSortOrder();
 
   public void setSortOrder(SortOrder sortOrder);
@@ -4,6 +4,7 @@ import static mil.dds.anet.commands.Utils.ANET_COMMAND_GROUP;
 
 import java.lang.invoke.MethodHandles;
 import mil.dds.anet.AnetObjectEngine;
+import mil.dds.anet.threads.FullTextIndexWorker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.shell.core.command.annotation.Command;
@@ -45,4 +46,13 @@ public class MaintenanceCommand {
     engine.getNoteDao().deleteDanglingNotes();
   }
 
+  @Command(group = ANET_COMMAND_GROUP, name = {MAINTENANCE_COMMAND, "rebuildFullTextIndex"},
+      description = "Rebuilds the full-text index of all searchable objects")
+  public void rebuildFullTextIndex() {
+    logger.info("Rebuilding full-text index");
+    for (final String tableName : FullTextIndexWorker.fullTextIndexedTables) {
+      engine.getAdminDao().rebuildFullTextIndex(tableName);
+    }
+  }
+
 }
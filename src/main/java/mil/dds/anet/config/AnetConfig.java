@@ -1,6 +1,7 @@
 package mil.dds.anet.config;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import java.io.IOException;
@@ -30,8 +31,24 @@ public class AnetConfig {
 
   private boolean redirectToHttps = false;
   private Long graphqlRequestTimeoutMs;
+  @Positive
+  private int graphqlDocumentCacheSize = 1000;
+  private GraphqlCostConfiguration graphqlCost = new GraphqlCostConfiguration();
+  @Positive
+  private long slowStatementMs = 1000;
+  private ActivityRecorderConfiguration activityRecorder = new ActivityRecorderConfiguration();
+  @PositiveOrZero
+  private long accessTokenCacheTtlSeconds = 300;
+  @PositiveOrZero
+  private long hierarchyIndexTtlSeconds = 60;
+  @PositiveOrZero
+  private long approvalChainCacheTtlSeconds = 300;
   private String[] graphqlBasePackages;
   private boolean automaticallyInactivateUsers;
+  @Positive
+  private int dataLoaderThreads = 16;
+  @Positive
+  private int dataLoaderQueueSize = 1000;
 
   private SmtpConfiguration smtp;
 
@@ -66,6 +83,62 @@ public class AnetConfig {
     this.graphqlRequestTimeoutMs = graphqlRequestTimeoutMs;
   }
 
+  public int getGraphqlDocumentCacheSize() {
+    return graphqlDocumentCacheSize;
+  }
+
+  public void setGraphqlDocumentCacheSize(int graphqlDocumentCacheSize) {
+    this.graphqlDocumentCacheSize = graphqlDocumentCacheSize;
+  }
+
+  public GraphqlCostConfiguration getGraphqlCost() {
+    return graphqlCost;
+  }
+
+  public void setGraphqlCost(GraphqlCostConfiguration graphqlCost) {
+    this.graphqlCost = graphqlCost;
+  }
+
+  public long getSlowStatementMs() {
+    return slowStatementMs;
+  }
+
+  public void setSlowStatementMs(long slowStatementMs) {
+    this.slowStatementMs = slowStatementMs;
+  }
+
+  public ActivityRecorderConfiguration getActivityRecorder() {
+    return activityRecorder;
+  }
+
+  public void setActivityRecorder(ActivityRecorderConfiguration activityRecorder) {
+    this.activityRecorder = activityRecorder;
+  }
+
+  public long getAccessTokenCacheTtlSeconds() {
+    return accessTokenCacheTtlSeconds;
+  }
+
+  public void setAccessTokenCacheTtlSeconds(long accessTokenCacheTtlSeconds) {
+    this.accessTokenCacheTtlSeconds = accessTokenCacheTtlSeconds;
+  }
+
+  public long getHierarchyIndexTtlSeconds() {
+    return hierarchyIndexTtlSeconds;
+  }
+
+  public void setHierarchyIndexTtlSeconds(long hierarchyIndexTtlSeconds) {
+    this.hierarchyIndexTtlSeconds = hierarchyIndexTtlSeconds;
+  }
+
+  public long getApprovalChainCacheTtlSeconds() {
+    return approvalChainCacheTtlSeconds;
+  }
+
+  public void setApprovalChainCacheTtlSeconds(long approvalChainCacheTtlSeconds) {
+    this.approvalChainCacheTtlSeconds = approvalChainCacheTtlSeconds;
+  }
+
   public String[] getGraphqlBasePackages() {
     return graphqlBasePackages;
   }
@@ -82,6 +155,22 @@ public class AnetConfig {
     this.automaticallyInactivateUsers = automaticallyInactivateUsers;
   }
 
+  public int getDataLoaderThreads() {
+    return dataLoaderThreads;
+  }
+
+  public void setDataLoaderThreads(int dataLoaderThreads) {
+    this.dataLoaderThreads = dataLoaderThreads;
+  }
+
+  public int getDataLoaderQueueSize() {
+    return dataLoaderQueueSize;
+  }
+
+  public void setDataLoaderQueueSize(int dataLoaderQueueSize) {
+    this.dataLoaderQueueSize = dataLoaderQueueSize;
+  }
+
   public KeycloakConfiguration getKeycloakConfiguration() {
     return keycloakConfiguration;
   }
@@ -155,6 +244,84 @@ public class AnetConfig {
     this.dashboardsPath = dashboardsPath;
   }
 
+  public static class GraphqlCostConfiguration {
+    @PositiveOrZero
+    private long userBudget = 1_000_000;
+    @PositiveOrZero
+    private long accessTokenBudget = 1_000_000;
+    @Positive
+    private int defaultListSize = 10;
+    @Positive
+    private int unboundedPageSize = 10_000;
+
+    public long getUserBudget() {
+      return userBudget;
+    }
+
+    public void setUserBudget(long userBudget) {
+      this.userBudget = userBudget;
+    }
+
+    public long getAccessTokenBudget() {
+      return accessTokenBudget;
+    }
+
+    public void setAccessTokenBudget(long accessTokenBudget) {
+      this.accessTokenBudget = accessTokenBudget;
+    }
+
+    public int getDefaultListSize() {
+      return defaultListSize;
+    }
+
+    public void setDefaultListSize(int defaultListSize) {
+      this.defaultListSize = defaultListSize;
+    }
+
+    public int getUnboundedPageSize() {
+      return unboundedPageSize;
+    }
+
+    public void setUnboundedPageSize(int unboundedPageSize) {
+      this.unboundedPageSize = unboundedPageSize;
+    }
+  }
+
+  public static class ActivityRecorderConfiguration {
+    @Positive
+    private int bufferSize = 10000;
+    // Each row binds 3 parameters, and PostgreSQL allows at most 65535 per statement
+    @Positive
+    @Max(21845)
+    private int batchSize = 500;
+    @Positive
+    private long flushIntervalMs = 5000;
+
+    public int getBufferSize() {
+      return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+      this.bufferSize = bufferSize;
+    }
+
+    public int getBatchSize() {
+      return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+      this.batchSize = batchSize;
+    }
+
+    public long getFlushIntervalMs() {
+      return flushIntervalMs;
+    }
+
+    public void setFlushIntervalMs(long flushIntervalMs) {
+      this.flushIntervalMs = flushIntervalMs;
+    }
+  }
+
   public static class KeycloakConfiguration {
     private String realm;
     private String authServerUrl;
@@ -206,6 +373,16 @@ public class AnetConfig {
     private String sslTrust;
     @PositiveOrZero
     private int timeout = 5000;
+    @Positive
+    private int senderThreads = 4;
+    @Positive
+    private int batchSize = 100;
+    @Positive
+    private int leaseSeconds = 900;
+    @Positive
+    private int retryBackoffSeconds = 60;
+    @Positive
+    private int maxRetryBackoffSeconds = 3600;
 
     public String getHostname() {
       return hostname;
@@ -278,6 +455,46 @@ public class AnetConfig {
     public void setTimeout(int timeout) {
       this.timeout = timeout;
     }
+
+    public int getSenderThreads() {
+      return senderThreads;
+    }
+
+    public void setSenderThreads(int senderThreads) {
+      this.senderThreads = senderThreads;
+    }
+
+    public int getBatchSize() {
+      return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+      this.batchSize = batchSize;
+    }
+
+    public int getLeaseSeconds() {
+      return leaseSeconds;
+    }
+
+    public void setLeaseSeconds(int leaseSeconds) {
+      this.leaseSeconds = leaseSeconds;
+    }
+
+    public int getRetryBackoffSeconds() {
+      return retryBackoffSeconds;
+    }
+
+    public void setRetryBackoffSeconds(int retryBackoffSeconds) {
+      this.retryBackoffSeconds = retryBackoffSeconds;
+    }
+
+    public int getMaxRetryBackoffSeconds() {
+      return maxRetryBackoffSeconds;
+    }
+
+    public void setMaxRetryBackoffSeconds(int maxRetryBackoffSeconds) {
+      this.maxRetryBackoffSeconds = maxRetryBackoffSeconds;
+    }
   }
 
   public String getVersion() {
@@ -4,6 +4,7 @@ import graphql.ExceptionWhileDataFetching;
 import graphql.GraphQL;
 import graphql.GraphQLContext;
 import graphql.execution.SimpleDataFetcherExceptionHandler;
+import graphql.execution.instrumentation.ChainedInstrumentation;
 import graphql.schema.GraphQLSchema;
 import io.leangen.graphql.ExecutableSchema;
 import io.leangen.graphql.GraphQLRuntime;
@@ -24,7 +25,10 @@ import mil.dds.anet.beans.Organization;
 import mil.dds.anet.beans.Person;
 import mil.dds.anet.beans.Position;
 import mil.dds.anet.graphql.AllowUnverifiedUsers;
+import mil.dds.anet.graphql.CachingPreparsedDocumentProvider;
+import mil.dds.anet.graphql.DataLoaderDispatchInstrumentation;
 import mil.dds.anet.graphql.DateTimeMapper;
+import mil.dds.anet.graphql.QueryCostInstrumentation;
 import mil.dds.anet.graphql.RestrictToAuthorizationGroups;
 import mil.dds.anet.resources.AccessTokenResource;
 import mil.dds.anet.resources.AdminResource;
@@ -180,10 +184,18 @@ public class GraphQLConfig implements WebMvcConfigurer {
   }
 
   @Bean
-  public GraphQL graphQL(ExecutableSchema schema) {
+  public GraphQL graphQL(ExecutableSchema schema,
+      CachingPreparsedDocumentProvider preparsedDocumentProvider,
+      QueryCostInstrumentation queryCostInstrumentation) {
     return GraphQLRuntime.newGraphQL(schema)
+        // parse and validate each distinct query only once
+        .preparsedDocumentProvider(preparsedDocumentProvider)
         // custom error handler to reduce logging
         .defaultDataFetcherExceptionHandler(new CustomDataFetcherExceptionHandler())
+        // reject too expensive queries before executing them, and
+        // signal our own dispatcher when fields have been fetched
+        .instrumentation(new ChainedInstrumentation(
+            List.of(queryCostInstrumentation, new DataLoaderDispatchInstrumentation())))
         // Prevent adding .instrumentation(new DataLoaderDispatcherInstrumentation())
         // — use our own dispatcher instead
         .doNotAddDefaultInstrumentations().build();
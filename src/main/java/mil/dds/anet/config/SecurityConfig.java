@@ -9,8 +9,7 @@ import static org.springframework.security.web.header.writers.ReferrerPolicyHead
 import jakarta.servlet.http.HttpServletMapping;
 import java.util.List;
 import java.util.Map;
-import mil.dds.anet.database.AccessTokenActivityDao;
-import mil.dds.anet.database.UserActivityDao;
+import mil.dds.anet.database.ActivityRecorder;
 import mil.dds.anet.database.cache.PersonCache;
 import mil.dds.anet.resources.AdminResource;
 import mil.dds.anet.resources.HomeResource;
@@ -50,7 +49,7 @@ public class SecurityConfig {
   private final AnetConfig anetConfig;
   private final AnetDictionary anetDictionary;
   private final PersonCache personCache;
-  private final UserActivityDao userActivityDao;
+  private final ActivityRecorder activityRecorder;
   private final BearerTokenAuthFilter bearerTokenAuthFilter;
 
   private final ContentSecurityPolicy webServiceCsp = ContentSecurityPolicy.of(
@@ -82,14 +81,14 @@ public class SecurityConfig {
       CspDirective.of("img-src", CSP_SELF, "data:", "%3$s"));
 
   public SecurityConfig(AnetConfig anetConfig, AnetDictionary anetDictionary,
-      PersonCache personCache, UserActivityDao userActivityDao,
-      BearerTokenService bearerTokenService, AccessTokenActivityDao accessTokenActivityDao) {
+      PersonCache personCache, ActivityRecorder activityRecorder,
+      BearerTokenService bearerTokenService) {
     this.anetConfig = anetConfig;
     this.anetDictionary = anetDictionary;
     this.personCache = personCache;
-    this.userActivityDao = userActivityDao;
+    this.activityRecorder = activityRecorder;
     this.bearerTokenAuthFilter =
-        new BearerTokenAuthFilter(bearerTokenService, accessTokenActivityDao);
+        new BearerTokenAuthFilter(bearerTokenService, activityRecorder);
   }
 
   /**
@@ -163,7 +162,7 @@ public class SecurityConfig {
   @Order(30)
   public SecurityFilterChain defaultSecurityFilterChain(HttpSecurity http) throws Exception {
     http.addFilterAfter(
-        new UserActivityFilter(personCache, userActivityDao), AuthorizationFilter.class)
+        new UserActivityFilter(personCache, activityRecorder), AuthorizationFilter.class)
         .authorizeHttpRequests(authorize -> authorize
             // These are public
             .requestMatchers(AdminResource.ADMIN_DICTIONARY_RESOURCE_PATH, HomeResource.LOGOUT_PATH,
@@ -3,6 +3,8 @@ package mil.dds.anet.database;
 import graphql.GraphQLContext;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import mil.dds.anet.beans.AccessTokenActivity;
 import mil.dds.anet.config.AnetDictionary;
 import mil.dds.anet.database.mappers.AccessTokenActivityMapper;
@@ -10,6 +12,7 @@ import mil.dds.anet.utils.DaoUtils;
 import mil.dds.anet.utils.FkDataLoaderKey;
 import mil.dds.anet.views.ForeignKeyFetcher;
 import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.statement.Update;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,16 +29,26 @@ public class AccessTokenActivityDao extends AbstractDao {
   }
 
   @Transactional
-  public int insert(final AccessTokenActivity accessTokenActivity) {
+  public int insertAll(final List<AccessTokenActivity> accessTokenActivities) {
+    if (accessTokenActivities.isEmpty()) {
+      return 0;
+    }
     final Handle handle = getDbHandle();
     try {
-      return handle
-          .createUpdate("INSERT INTO \"" + TABLE_NAME
-              + "\" (\"accessTokenUuid\", \"visitedAt\", \"remoteAddress\") "
-              + "VALUES (:accessTokenUuid, :visitedAt, :remoteAddress) ON CONFLICT DO NOTHING")
-          .bindBean(accessTokenActivity)
-          .bind("visitedAt", DaoUtils.asLocalDateTime(accessTokenActivity.getVisitedAt()))
-          .execute();
+      final String values = IntStream.range(0, accessTokenActivities.size())
+          .mapToObj(i -> String.format(
+              "(:accessTokenUuid%1$d, :visitedAt%1$d, :remoteAddress%1$d)", i))
+          .collect(Collectors.joining(", "));
+      final Update update = handle.createUpdate("/* insertAccessTokenActivities */ INSERT INTO \""
+          + TABLE_NAME + "\" (\"accessTokenUuid\", \"visitedAt\", \"remoteAddress\") VALUES "
+          + values + " ON CONFLICT DO NOTHING");
+      for (int i = 0; i < accessTokenActivities.size(); i++) {
+        final AccessTokenActivity accessTokenActivity = accessTokenActivities.get(i);
+        update.bind("accessTokenUuid" + i, accessTokenActivity.getAccessTokenUuid())
+            .bind("visitedAt" + i, DaoUtils.asLocalDateTime(accessTokenActivity.getVisitedAt()))
+            .bind("remoteAddress" + i, accessTokenActivity.getRemoteAddress());
+      }
+      return update.execute();
     } finally {
       closeDbHandle(handle);
     }
@@ -4,6 +4,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import mil.dds.anet.beans.AccessToken;
+import mil.dds.anet.database.cache.AccessTokenPrincipalCache;
 import mil.dds.anet.database.mappers.AccessTokenMapper;
 import mil.dds.anet.utils.DaoUtils;
 import mil.dds.anet.ws.security.AccessTokenPrincipal;
@@ -16,8 +17,12 @@ public class AccessTokenDao extends AbstractDao {
 
   public static final String TABLE_NAME = "accessTokens";
 
-  public AccessTokenDao(DatabaseHandler databaseHandler) {
+  private final AccessTokenPrincipalCache accessTokenPrincipalCache;
+
+  public AccessTokenDao(DatabaseHandler databaseHandler,
+      AccessTokenPrincipalCache accessTokenPrincipalCache) {
     super(databaseHandler);
+    this.accessTokenPrincipalCache = accessTokenPrincipalCache;
   }
 
   class SelfIdBatcher extends IdBatcher<AccessToken> {
@@ -90,9 +95,13 @@ public class AccessTokenDao extends AbstractDao {
 
   @Transactional
   protected AccessToken getByTokenValue(String tokenValue) {
+    return getByTokenHash(AccessToken.computeTokenHash(tokenValue));
+  }
+
+  @Transactional
+  protected AccessToken getByTokenHash(String tokenHash) {
     final Handle handle = getDbHandle();
     try {
-      final String tokenHash = AccessToken.computeTokenHash(tokenValue);
       try {
         return handle
             .createQuery("/* getAccessTokenByValue */ " + "SELECT * FROM \"" + TABLE_NAME
@@ -106,13 +115,11 @@ public class AccessTokenDao extends AbstractDao {
     }
   }
 
-  @Transactional
+  // Not transactional, so a cached principal doesn't need a database connection
   public Optional<AccessTokenPrincipal> getAccessTokenPrincipal(String tokenValue) {
     if (tokenValue != null && tokenValue.length() == AccessToken.ACCESS_TOKEN_LENGTH) {
-      final AccessToken dbAccessToken = this.getByTokenValue(tokenValue);
-      if (dbAccessToken != null && dbAccessToken.isValid()) {
-        return Optional.of(new AccessTokenPrincipal(dbAccessToken));
-      }
+      return accessTokenPrincipalCache.get(AccessToken.computeTokenHash(tokenValue),
+          this::getByTokenHash);
     }
     return Optional.empty();
   }
@@ -0,0 +1,87 @@
+package mil.dds.anet.database;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import mil.dds.anet.beans.AccessTokenActivity;
+import mil.dds.anet.beans.UserActivity;
+import mil.dds.anet.beans.metrics.WriteBehindBufferStatistic;
+import mil.dds.anet.config.AnetConfig;
+import mil.dds.anet.config.AnetConfig.ActivityRecorderConfiguration;
+import mil.dds.anet.utils.WriteBehindBuffer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records user and access token activities without a database round-trip per request: they are
+ * buffered, deduplicated (activities are per minute) and written in batches on a timer and at
+ * shutdown.
+ */
+@Component
+public class ActivityRecorder {
+
+  private record UserActivityKey(String personUuid, String organizationUuid, Instant visitedAt) {}
+
+  private record AccessTokenActivityKey(String accessTokenUuid, Instant visitedAt,
+      String remoteAddress) {}
+
+  private final WriteBehindBuffer<UserActivityKey, UserActivity> userActivities;
+  private final WriteBehindBuffer<AccessTokenActivityKey, AccessTokenActivity>
+      accessTokenActivities;
+  private final ScheduledExecutorService scheduledExecutorService;
+
+  public ActivityRecorder(AnetConfig config, UserActivityDao userActivityDao,
+      AccessTokenActivityDao accessTokenActivityDao) {
+    final ActivityRecorderConfiguration recorderConfig = config.getActivityRecorder();
+    this.userActivities = new WriteBehindBuffer<>("userActivities", recorderConfig.getBufferSize(),
+        recorderConfig.getBatchSize(), ua -> new UserActivityKey(ua.getPersonUuid(),
+            ua.getOrganizationUuid(), ua.getVisitedAt()),
+        userActivityDao::insertAll);
+    this.accessTokenActivities = new WriteBehindBuffer<>(AccessTokenActivityDao.TABLE_NAME,
+        recorderConfig.getBufferSize(), recorderConfig.getBatchSize(),
+        ata -> new AccessTokenActivityKey(ata.getAccessTokenUuid(), ata.getVisitedAt(),
+            ata.getRemoteAddress()),
+        accessTokenActivityDao::insertAll);
+    this.scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("anet-activity-recorder-%d").setDaemon(true)
+            .build());
+    scheduledExecutorService.scheduleWithFixedDelay(this::flush,
+        recorderConfig.getFlushIntervalMs(), recorderConfig.getFlushIntervalMs(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  public boolean record(UserActivity userActivity) {
+    return userActivities.offer(userActivity);
+  }
+
+  public boolean record(AccessTokenActivity accessTokenActivity) {
+    return accessTokenActivities.offer(accessTokenActivity);
+  }
+
+  /**
+   * Write all buffered activities to the database.
+   */
+  public void flush() {
+    userActivities.flush();
+    accessTokenActivities.flush();
+  }
+
+  public List<WriteBehindBufferStatistic> getStatistics() {
+    return List.of(accessTokenActivities.getStatistics(), userActivities.getStatistics());
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    scheduledExecutorService.shutdown();
+    try {
+      scheduledExecutorService.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    flush();
+  }
+
+}
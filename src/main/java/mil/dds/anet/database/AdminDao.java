@@ -1,8 +1,13 @@
 package mil.dds.anet.database;
 
+import com.google.common.collect.Iterables;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import mil.dds.anet.beans.AdminSetting;
 import mil.dds.anet.beans.MergedEntity;
 import mil.dds.anet.database.mappers.AdminSettingMapper;
@@ -22,6 +27,8 @@ public class AdminDao extends AbstractDao implements InitializingBean {
     GENERAL_BANNER_TEXT, GENERAL_BANNER_VISIBILITY, UNLIMITED_EXPORTS_COMMUNITY, HELP_TEXT
   }
 
+  private static final int MERGED_ENTITIES_PER_SCAN = 100;
+
   private Map<String, String> cachedSettings = null;
   private static final Object cachedSettingsLock = new Object();
 
@@ -91,6 +98,107 @@ public class AdminDao extends AbstractDao implements InitializingBean {
     }
   }
 
+  /**
+   * Get the change watermarks of the given tables: the number of rows inserted, updated or deleted
+   * since the statistics were last reset. Only committed changes are counted, and a table that
+   * changed gets a different watermark (unless the statistics are reset in between, which also
+   * yields a different one in practice).
+   *
+   * @param tableNames the tables to get the watermarks for
+   * @return the watermark of each table
+   */
+  @Transactional
+  public Map<String, Long> getChangeWatermarks(List<String> tableNames) {
+    final Handle handle = getDbHandle();
+    try {
+      final Map<String, Long> watermarks = new HashMap<>();
+      handle.createQuery("/* getChangeWatermarks */ SELECT relname AS \"tableName\","
+          + " n_tup_ins + n_tup_upd + n_tup_del AS watermark FROM pg_stat_user_tables"
+          + " WHERE schemaname = 'public' AND relname IN (<tableNames>)")
+          .bindList("tableNames", tableNames)
+          .map((rs, ctx) -> Map.entry(rs.getString("tableName"), rs.getLong("watermark")))
+          .forEach(e -> watermarks.put(e.getKey(), e.getValue()));
+      return watermarks;
+    } finally {
+      closeDbHandle(handle);
+    }
+  }
+
+  /**
+   * Remove the changes to the text of linkable objects that have been logged (by the database
+   * triggers) since the previous call. Only committed changes are seen, so a refresh started
+   * afterwards includes them all.
+   *
+   * @return the number of changes removed
+   */
+  @Transactional
+  public int claimCoreTextChanges() {
+    final Handle handle = getDbHandle();
+    try {
+      return handle.createUpdate("/* claimCoreTextChanges */ DELETE FROM lts_core_text_changes")
+          .execute();
+    } finally {
+      closeDbHandle(handle);
+    }
+  }
+
+  /**
+   * Re-index the objects of the given table that have been marked as pending (by the database
+   * triggers) in the full-text index.
+   *
+   * @param tableName the table of the objects to re-index
+   * @param batchSize the maximum number of objects to re-index
+   * @return the number of objects re-indexed
+   */
+  @Transactional
+  public int updateFullTextIndex(String tableName, int batchSize) {
+    final Handle handle = getDbHandle();
+    try {
+      final List<String> uuids = handle.createQuery("/* claimPendingFullTextIndex */"
+          + " DELETE FROM fts_pending WHERE (object_type, object_uuid) IN ("
+          + "SELECT object_type, object_uuid FROM fts_pending WHERE object_type = :tableName"
+          + " LIMIT :batchSize FOR UPDATE SKIP LOCKED) RETURNING object_uuid")
+          .bind("tableName", tableName).bind("batchSize", batchSize).mapTo(String.class).list();
+      if (!uuids.isEmpty()) {
+        // Can't use a prepared statement with a parameter for the table names, alas
+        handle.createUpdate(String.format("/* updateFullTextIndex */"
+            + " INSERT INTO \"fts_%1$s\"(uuid, full_text)"
+            + " SELECT uuid, full_text FROM \"v_fts_%1$s\" WHERE uuid IN (<uuids>)"
+            + " ON CONFLICT (uuid) DO UPDATE SET full_text = EXCLUDED.full_text", tableName))
+            .bindList("uuids", uuids).execute();
+        handle.createUpdate(String.format("/* deleteFullTextIndex */"
+            + " DELETE FROM \"fts_%1$s\" WHERE uuid IN (<uuids>)"
+            + " AND NOT EXISTS (SELECT 1 FROM \"%1$s\" WHERE \"%1$s\".uuid = \"fts_%1$s\".uuid)",
+            tableName)).bindList("uuids", uuids).execute();
+      }
+      return uuids.size();
+    } finally {
+      closeDbHandle(handle);
+    }
+  }
+
+  /**
+   * Rebuild the full-text index of the given table; only rows that actually changed are written.
+   *
+   * @param tableName the table to rebuild the full-text index for
+   */
+  @Transactional
+  public void rebuildFullTextIndex(String tableName) {
+    final Handle handle = getDbHandle();
+    try {
+      // Can't use a prepared statement with a parameter for the table names, alas
+      handle.execute(String.format("/* rebuildFullTextIndex */"
+          + " INSERT INTO \"fts_%1$s\"(uuid, full_text) SELECT uuid, full_text FROM \"v_fts_%1$s\""
+          + " ON CONFLICT (uuid) DO UPDATE SET full_text = EXCLUDED.full_text"
+          + " WHERE \"fts_%1$s\".full_text IS DISTINCT FROM EXCLUDED.full_text", tableName));
+      handle.execute(String.format("/* deleteFullTextIndex */"
+          + " DELETE FROM \"fts_%1$s\" WHERE NOT EXISTS"
+          + " (SELECT 1 FROM \"%1$s\" WHERE \"%1$s\".uuid = \"fts_%1$s\".uuid)", tableName));
+    } finally {
+      closeDbHandle(handle);
+    }
+  }
+
   @Transactional
   public List<MergedEntity> getMergedEntities() {
     final Handle handle = getDbHandle();
@@ -118,16 +226,56 @@ public class AdminDao extends AbstractDao implements InitializingBean {
     }
   }
 
+  /**
+   * Replace all references to merged entities in a column of a table. The referencing rows are
+   * found in a single scan per batch of old uuids, and each row is rewritten only once, with all
+   * its references replaced in one pass.
+   *
+   * @param tableName the table
+   * @param columnName the column that may hold entity references
+   * @param replacements the new uuid of each old uuid, see {@link MergedEntity#getReplacements}
+   * @return the number of rows updated
+   */
   @Transactional
-  public int updateMergedEntity(final String tableName, final String columnName,
-      final MergedEntity mergedEntity) {
+  public int updateMergedEntities(final String tableName, final String columnName,
+      final Map<String, String> replacements) {
+    if (replacements.isEmpty()) {
+      return 0;
+    }
     final Handle handle = getDbHandle();
     try {
-      final String sql = String.format("/* updateMergedEntity */ UPDATE \"%1$s\" "
-          + "SET \"%2$s\" = regexp_replace(\"%2$s\", %3$s, :newUuid, 'g') WHERE \"%2$s\" ~ %3$s",
-          tableName, columnName, "('\\m' || :oldUuid || '\\M')");
-      return handle.createUpdate(sql).bind("oldUuid", mergedEntity.oldUuid())
-          .bind("newUuid", mergedEntity.newUuid()).execute();
+      // Can't use a prepared statement with a parameter for the table and column names, alas
+      final String selectSql = String.format("/* findMergedEntityReferences */"
+          + " SELECT uuid, \"%2$s\" AS value FROM \"%1$s\" WHERE \"%2$s\" ~ :pattern FOR UPDATE",
+          tableName, columnName);
+      final Map<String, String> values = new LinkedHashMap<>();
+      // Keep the patterns small enough for the database's regular expression engine
+      for (final List<String> oldUuids : Iterables.partition(replacements.keySet(),
+          MERGED_ENTITIES_PER_SCAN)) {
+        handle.createQuery(selectSql)
+            .bind("pattern", "\\m(" + String.join("|", oldUuids) + ")\\M")
+            .map((rs, ctx) -> Map.entry(rs.getString("uuid"), rs.getString("value")))
+            .forEach(e -> values.putIfAbsent(e.getKey(), e.getValue()));
+      }
+      if (values.isEmpty()) {
+        return 0;
+      }
+
+      // Same word boundaries as \m and \M in the database
+      final Pattern pattern = Pattern.compile(
+          replacements.keySet().stream().map(Pattern::quote)
+              .collect(Collectors.joining("|", "(?<!\\w)(?:", ")(?!\\w)")),
+          Pattern.UNICODE_CHARACTER_CLASS);
+      final String[] uuids = values.keySet().toArray(String[]::new);
+      final String[] newValues = values.values().stream()
+          .map(value -> pattern.matcher(value)
+              .replaceAll(m -> Matcher.quoteReplacement(replacements.get(m.group()))))
+          .toArray(String[]::new);
+      return handle.createUpdate(String.format("/* updateMergedEntityReferences */"
+          + " UPDATE \"%1$s\" SET \"%2$s\" = u.value"
+          + " FROM unnest(CAST(:uuids AS text[]), CAST(:values AS text[])) AS u(uuid, value)"
+          + " WHERE \"%1$s\".uuid = u.uuid", tableName, columnName)).bind("uuids", uuids)
+          .bind("values", newValues).execute();
     } finally {
       closeDbHandle(handle);
     }
@@ -12,6 +12,7 @@ import mil.dds.anet.beans.ApprovalStep;
 import mil.dds.anet.beans.ApprovalStep.ApprovalStepType;
 import mil.dds.anet.beans.Position;
 import mil.dds.anet.beans.search.AbstractSearchQuery;
+import mil.dds.anet.database.cache.ApprovalChainCache;
 import mil.dds.anet.database.mappers.ApprovalStepMapper;
 import mil.dds.anet.database.mappers.PositionMapper;
 import mil.dds.anet.utils.DaoUtils;
@@ -29,8 +30,11 @@ public class ApprovalStepDao extends AnetBaseDao<ApprovalStep, AbstractSearchQue
 
   public static final String TABLE_NAME = "approvalSteps";
 
-  public ApprovalStepDao(DatabaseHandler databaseHandler) {
+  private final ApprovalChainCache approvalChainCache;
+
+  public ApprovalStepDao(DatabaseHandler databaseHandler, ApprovalChainCache approvalChainCache) {
     super(databaseHandler);
+    this.approvalChainCache = approvalChainCache;
   }
 
   public CompletableFuture<List<ApprovalStep>> getPlanningByRelatedObjectUuid(
@@ -125,6 +129,7 @@ public class ApprovalStepDao extends AnetBaseDao<ApprovalStep, AbstractSearchQue
   public ApprovalStep insertInternal(ApprovalStep as) {
     final Handle handle = getDbHandle();
     try {
+      approvalChainCache.invalidate();
       handle.createUpdate("/* insertApprovalStep */ INSERT into \"approvalSteps\" "
           + "(uuid, name, \"nextStepUuid\", \"relatedObjectUuid\", type, \"restrictedApproval\") "
           + "VALUES (:uuid, :name, :nextStepUuid, :relatedObjectUuid, :type, :restrictedApproval)")
@@ -155,6 +160,7 @@ public class ApprovalStepDao extends AnetBaseDao<ApprovalStep, AbstractSearchQue
   public ApprovalStep insertAtEnd(ApprovalStep as) {
     final Handle handle = getDbHandle();
     try {
+      approvalChainCache.invalidate();
       final ApprovalStep newAs = insert(as);
 
       // Add this Step to the current org list.
@@ -178,6 +184,7 @@ public class ApprovalStepDao extends AnetBaseDao<ApprovalStep, AbstractSearchQue
   public int updateInternal(ApprovalStep as) {
     final Handle handle = getDbHandle();
     try {
+      approvalChainCache.invalidate();
       return handle
           .createUpdate("/* updateApprovalStep */ UPDATE \"approvalSteps\" SET name = :name, "
               + "\"nextStepUuid\" = :nextStepUuid, \"relatedObjectUuid\" = :relatedObjectUuid, "
@@ -201,6 +208,7 @@ public class ApprovalStepDao extends AnetBaseDao<ApprovalStep, AbstractSearchQue
         throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
             "Reports are currently pending at this step");
       }
+      approvalChainCache.invalidate();
 
       // fix up the linked list.
       handle.createUpdate("/* deleteApproval.update */ UPDATE \"approvalSteps\" "
@@ -1,5 +1,6 @@
 package mil.dds.anet.database;
 
+import static mil.dds.anet.utils.PendingAssessmentsHelper.JSON_ASSESSMENT_PERIOD_START;
 import static mil.dds.anet.utils.PendingAssessmentsHelper.JSON_ASSESSMENT_RECURRENCE;
 
 import graphql.GraphQLContext;
@@ -24,6 +25,7 @@ import mil.dds.anet.beans.Position;
 import mil.dds.anet.beans.Report;
 import mil.dds.anet.beans.ReportPerson;
 import mil.dds.anet.beans.Task;
+import mil.dds.anet.beans.WithStatus;
 import mil.dds.anet.beans.search.AbstractSearchQuery;
 import mil.dds.anet.beans.search.TaskSearchQuery;
 import mil.dds.anet.database.mappers.AssessmentMapper;
@@ -294,6 +296,112 @@ public class AssessmentDao extends AnetBaseDao<Assessment, AbstractSearchQuery<?
     }
   }
 
+  /**
+   * An object a position may have to assess periodically.
+   *
+   * @param advisorPositionUuid the position that should do the assessment
+   * @param objectType the table of the object to assess
+   * @param objectUuid the object to assess
+   * @param assessedObjectUuid the object the assessment is related to; for a position, this is
+   *        the person holding it
+   */
+  public record AssessmentCandidate(String advisorPositionUuid, String objectType,
+      String objectUuid, String assessedObjectUuid) {}
+
+  /**
+   * The start of the most recent period an object has been assessed for.
+   *
+   * @param relatedObjectUuid the assessed object
+   * @param recurrence the recurrence of the assessments, in lower case
+   * @param periodStart the period start, as a date string yyyy-mm-dd
+   */
+  public record LatestPeriodStart(String relatedObjectUuid, String recurrence,
+      String periodStart) {}
+
+  /**
+   * @return for each active, filled position, its active counterpart positions held by an active
+   *         person
+   */
+  public List<AssessmentCandidate> getPositionAssessmentCandidates() {
+    final Handle handle = getDbHandle();
+    try {
+      return handle.createQuery("/* getPositionAssessmentCandidates */ SELECT DISTINCT"
+          + " ap.uuid AS \"advisorPositionUuid\", cp.uuid AS \"objectUuid\","
+          + " cp.\"currentPersonUuid\" AS \"assessedObjectUuid\""
+          + " FROM \"positionRelationships\" pr"
+          + " INNER JOIN positions ap ON ap.uuid IN (pr.\"positionUuid_a\", pr.\"positionUuid_b\")"
+          + " INNER JOIN positions cp ON cp.uuid IN (pr.\"positionUuid_a\", pr.\"positionUuid_b\")"
+          + " AND cp.uuid != ap.uuid"
+          + " INNER JOIN people ON people.uuid = cp.\"currentPersonUuid\""
+          + " WHERE pr.deleted = :deleted AND ap.status = :active"
+          + " AND ap.\"currentPersonUuid\" IS NOT NULL AND cp.status = :active"
+          + " AND people.status = :active")
+          .bind("deleted", false).bind("active", DaoUtils.getEnumId(WithStatus.Status.ACTIVE))
+          .map((rs, ctx) -> new AssessmentCandidate(rs.getString("advisorPositionUuid"),
+              PositionDao.TABLE_NAME, rs.getString("objectUuid"),
+              rs.getString("assessedObjectUuid")))
+          .list();
+    } finally {
+      closeDbHandle(handle);
+    }
+  }
+
+  /**
+   * @return for each active task, its active, filled responsible positions
+   */
+  public List<AssessmentCandidate> getTaskAssessmentCandidates() {
+    final Handle handle = getDbHandle();
+    try {
+      return handle.createQuery("/* getTaskAssessmentCandidates */ SELECT DISTINCT"
+          + " positions.uuid AS \"advisorPositionUuid\", tasks.uuid AS \"objectUuid\""
+          + " FROM tasks INNER JOIN \"taskResponsiblePositions\" trp"
+          + " ON trp.\"taskUuid\" = tasks.uuid"
+          + " INNER JOIN positions ON positions.uuid = trp.\"positionUuid\""
+          + " WHERE tasks.status = :active AND positions.status = :active"
+          + " AND positions.\"currentPersonUuid\" IS NOT NULL")
+          .bind("active", DaoUtils.getEnumId(WithStatus.Status.ACTIVE))
+          .map((rs, ctx) -> new AssessmentCandidate(rs.getString("advisorPositionUuid"),
+              TaskDao.TABLE_NAME, rs.getString("objectUuid"), rs.getString("objectUuid")))
+          .list();
+    } finally {
+      closeDbHandle(handle);
+    }
+  }
+
+  /**
+   * Find, in a single pass over the periodic assessments, the start of the most recent period each
+   * object has been assessed for, per recurrence.
+   *
+   * @param relatedObjectTypes the types of the assessed objects
+   * @param recurrences the recurrences to look for, in lower case
+   * @return the most recent period starts
+   */
+  public List<LatestPeriodStart> getLatestPeriodStarts(List<String> relatedObjectTypes,
+      List<String> recurrences) {
+    final Handle handle = getDbHandle();
+    try {
+      // __periodStart is stored as a date string yyyy-mm-dd, so the latest one sorts last
+      return handle.createQuery("/* getLatestAssessmentPeriodStarts */ SELECT"
+          + " aro.\"relatedObjectUuid\", a.recurrence, MAX(a.\"periodStart\") AS \"periodStart\""
+          + " FROM \"assessmentRelatedObjects\" aro INNER JOIN (SELECT uuid,"
+          + " lower(CAST(\"assessmentValues\" AS jsonb) ->> :recurrenceKey) AS recurrence,"
+          + " CAST(\"assessmentValues\" AS jsonb) ->> :periodStartKey AS \"periodStart\""
+          + " FROM assessments) a ON a.uuid = aro.\"assessmentUuid\""
+          + " WHERE aro.\"relatedObjectType\" IN ( <relatedObjectTypes> )"
+          + " AND a.recurrence IN ( <recurrences> )"
+          + " AND a.\"periodStart\" ~ '^[0-9]{4}-[0-9]{2}-[0-9]{2}$'"
+          + " GROUP BY aro.\"relatedObjectUuid\", a.recurrence")
+          .bind("recurrenceKey", JSON_ASSESSMENT_RECURRENCE)
+          .bind("periodStartKey", JSON_ASSESSMENT_PERIOD_START)
+          .bindList("relatedObjectTypes", relatedObjectTypes).bindList("recurrences", recurrences)
+          .map((rs, ctx) -> new LatestPeriodStart(rs.getString("relatedObjectUuid"),
+              rs.getString("recurrence"), rs.getString("periodStart")))
+          .list();
+    } finally {
+      closeDbHandle(handle);
+    }
+  }
+
   @Transactional
   public boolean hasAssessmentPermission(final Person user,
       final Set<String> authorizationGroupUuids, final Assessment assessment,
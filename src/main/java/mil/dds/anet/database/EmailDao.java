@@ -1,6 +1,7 @@
 package mil.dds.anet.database;
 
 import java.time.Instant;
+import java.util.Comparator;
 import java.util.List;
 import mil.dds.anet.beans.AnetEmail;
 import mil.dds.anet.beans.lists.AnetBeanList;
@@ -45,6 +46,38 @@ public class EmailDao extends AbstractDao {
     }
   }
 
+  /**
+   * Claim the next pending emails for sending. Emails are claimed by setting a lease on them, so
+   * several workers (on one or more ANET instances) can drain the queue without sending an email
+   * twice; emails that are claimed by another worker, or that should not be retried yet, are
+   * skipped. When a worker dies, its claims are taken over once their lease has expired.
+   *
+   * @param owner identifies the worker claiming the emails
+   * @param now the time of the claim
+   * @param leaseExpiredBefore claims made before this time have expired
+   * @param limit the maximum number of emails to claim
+   * @return the claimed emails, in order of id
+   */
+  @Transactional
+  public List<AnetEmail> claimPendingEmails(String owner, Instant now, Instant leaseExpiredBefore,
+      int limit) {
+    final Handle handle = getDbHandle();
+    try {
+      return handle.createQuery("/* claimPendingEmails */ UPDATE \"pendingEmails\""
+          + " SET \"claimedBy\" = :owner, \"claimedAt\" = :now WHERE id IN ("
+          + "SELECT id FROM \"pendingEmails\""
+          + " WHERE (\"claimedAt\" IS NULL OR \"claimedAt\" < :leaseExpiredBefore)"
+          + " AND (\"nextAttemptAt\" IS NULL OR \"nextAttemptAt\" <= :now)"
+          + " ORDER BY id ASC LIMIT :limit FOR UPDATE SKIP LOCKED) RETURNING *")
+          .bind("owner", owner).bind("now", DaoUtils.asLocalDateTime(now))
+          .bind("leaseExpiredBefore", DaoUtils.asLocalDateTime(leaseExpiredBefore))
+          .bind("limit", limit).map(new AnetEmailMapper()).stream()
+          .sorted(Comparator.comparing(AnetEmail::getId)).toList();
+    } finally {
+      closeDbHandle(handle);
+    }
+  }
+
   @Transactional
   public void deletePendingEmails(List<Integer> processedEmails) {
     final Handle handle = getDbHandle();
@@ -74,14 +107,32 @@ public class EmailDao extends AbstractDao {
     }
   }
 
+  /**
+   * Record that sending a claimed email failed, and release it to be retried after a backoff that
+   * doubles with each attempt.
+   *
+   * @param id the id of the email
+   * @param owner the worker that claimed the email; if its claim was taken over meanwhile, the
+   *        email is left alone
+   * @param errorMessage the reason sending failed
+   * @param now the time sending failed
+   * @param backoffSeconds the backoff after the first attempt
+   * @param maxBackoffSeconds the maximum backoff
+   */
   @Transactional
-  public void setErrorMessage(final int id, final String errorMessage) {
+  public void scheduleRetry(final int id, final String owner, final String errorMessage,
+      final Instant now, final int backoffSeconds, final int maxBackoffSeconds) {
     final Handle handle = getDbHandle();
     try {
-      handle
-          .createUpdate("/* SetEmailErrorMessage */ UPDATE \"pendingEmails\""
-              + " SET \"errorMessage\" = :errorMessage WHERE \"id\" = :id")
-          .bind("errorMessage", errorMessage).bind("id", id).execute();
+      handle.createUpdate("/* scheduleEmailRetry */ UPDATE \"pendingEmails\""
+          + " SET \"errorMessage\" = :errorMessage, attempts = attempts + 1,"
+          + " \"nextAttemptAt\" = CAST(:now AS timestamp) + LEAST(:maxBackoffSeconds,"
+          + " :backoffSeconds * POWER(2, LEAST(attempts, 30))) * INTERVAL '1 second',"
+          + " \"claimedBy\" = NULL, \"claimedAt\" = NULL"
+          + " WHERE id = :id AND \"claimedBy\" = :owner").bind("errorMessage", errorMessage)
+          .bind("now", DaoUtils.asLocalDateTime(now)).bind("backoffSeconds", backoffSeconds)
+          .bind("maxBackoffSeconds", maxBackoffSeconds).bind("id", id).bind("owner", owner)
+          .execute();
     } finally {
       closeDbHandle(handle);
     }
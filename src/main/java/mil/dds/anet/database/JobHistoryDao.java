@@ -4,6 +4,7 @@ import java.time.Instant;
 import java.util.function.BiConsumer;
 import mil.dds.anet.beans.JobHistory;
 import mil.dds.anet.database.mappers.JobHistoryMapper;
+import mil.dds.anet.database.mappers.MapperUtils;
 import mil.dds.anet.utils.DaoUtils;
 import org.jdbi.v3.core.Handle;
 import org.springframework.stereotype.Component;
@@ -35,9 +36,9 @@ public class JobHistoryDao extends AbstractDao {
     try {
       handle
           .createUpdate("/* insertJobHistory */ INSERT INTO \"jobHistory\""
-              + " (\"jobName\", \"lastRun\") VALUES (:jobName, :lastRun)")
+              + " (\"jobName\", \"lastRun\", watermarks) VALUES (:jobName, :lastRun, :watermarks)")
           .bindBean(jobHistory).bind("lastRun", DaoUtils.asLocalDateTime(jobHistory.getLastRun()))
-          .execute();
+          .bind("watermarks", getWatermarksAsJson(jobHistory)).execute();
       return jobHistory;
     } finally {
       closeDbHandle(handle);
@@ -50,25 +51,37 @@ public class JobHistoryDao extends AbstractDao {
     try {
       return handle
           .createUpdate("/* updateJobHistory */ UPDATE \"jobHistory\""
-              + " SET \"lastRun\" = :lastRun WHERE \"jobName\" = :jobName")
+              + " SET \"lastRun\" = :lastRun, watermarks = :watermarks WHERE \"jobName\" = :jobName")
           .bindBean(jobHistory).bind("lastRun", DaoUtils.asLocalDateTime(jobHistory.getLastRun()))
-          .execute();
+          .bind("watermarks", getWatermarksAsJson(jobHistory)).execute();
     } finally {
       closeDbHandle(handle);
     }
   }
 
+  /**
+   * Run the job, and record its run in the job history. The runner gets the previous job history
+   * (without a lastRun if the job never ran before); watermarks it sets on that are recorded too.
+   */
   @Transactional
   public void runInTransaction(String jobName, BiConsumer<Instant, JobHistory> runner) {
     final Instant now = Instant.now().atZone(DaoUtils.getServerNativeZoneId()).toInstant();
-    final JobHistory jobHistory = getByJobName(jobName);
+    final JobHistory existingJobHistory = getByJobName(jobName);
+    final JobHistory jobHistory =
+        existingJobHistory == null ? new JobHistory(jobName, null) : existingJobHistory;
     runner.accept(now, jobHistory);
     final JobHistory newJobHistory = new JobHistory(jobName, now);
-    if (jobHistory == null) {
+    newJobHistory.setWatermarks(jobHistory.getWatermarks());
+    if (existingJobHistory == null) {
       insert(newJobHistory);
     } else {
       update(newJobHistory);
     }
   }
 
+  private String getWatermarksAsJson(JobHistory jobHistory) {
+    return jobHistory.getWatermarks() == null ? null
+        : MapperUtils.getDefaultMapper().writeValueAsString(jobHistory.getWatermarks());
+  }
+
 }
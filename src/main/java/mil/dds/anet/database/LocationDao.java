@@ -8,10 +8,13 @@ import java.util.concurrent.CompletableFuture;
 import mil.dds.anet.beans.ApprovalStep;
 import mil.dds.anet.beans.EntityAvatar;
 import mil.dds.anet.beans.Location;
+import mil.dds.anet.beans.MapCluster;
 import mil.dds.anet.beans.MergedEntity;
 import mil.dds.anet.beans.Person;
 import mil.dds.anet.beans.lists.AnetBeanList;
 import mil.dds.anet.beans.search.LocationSearchQuery;
+import mil.dds.anet.database.cache.HierarchyCache;
+import mil.dds.anet.database.cache.HierarchyCache.Hierarchy;
 import mil.dds.anet.database.mappers.LocationMapper;
 import mil.dds.anet.search.pg.PostgresqlLocationSearcher;
 import mil.dds.anet.utils.DaoUtils;
@@ -31,8 +34,11 @@ public class LocationDao extends AnetSubscribableObjectDao<Location, LocationSea
   public static final String TABLE_NAME = "locations";
   public static final String LOCATION_FIELDS = DaoUtils.buildFieldAliases(TABLE_NAME, fields, true);
 
-  public LocationDao(DatabaseHandler databaseHandler) {
+  private final HierarchyCache hierarchyCache;
+
+  public LocationDao(DatabaseHandler databaseHandler, HierarchyCache hierarchyCache) {
     super(databaseHandler);
+    this.hierarchyCache = hierarchyCache;
   }
 
   @Override
@@ -107,6 +113,10 @@ public class LocationDao extends AnetSubscribableObjectDao<Location, LocationSea
     return new PostgresqlLocationSearcher(databaseHandler).runSearch(query);
   }
 
+  public List<MapCluster> getClusters(LocationSearchQuery query, int zoom) {
+    return new PostgresqlLocationSearcher(databaseHandler).runClusterSearch(query, zoom);
+  }
+
   @Transactional
   public int mergeLocations(Location loserLocation, Location winnerLocation) {
     final String loserLocationUuid = loserLocation.getUuid();
@@ -114,6 +124,7 @@ public class LocationDao extends AnetSubscribableObjectDao<Location, LocationSea
     final Location existingLoserLoc = getByUuid(loserLocationUuid);
     final Location existingWinnerLoc = getByUuid(winnerLocationUuid);
     final GraphQLContext context = engine().getContext();
+    hierarchyCache.invalidate(Hierarchy.LOCATIONS);
 
     // Update location
     final String mergedGeoJson =
@@ -245,6 +256,7 @@ public class LocationDao extends AnetSubscribableObjectDao<Location, LocationSea
   public int addLocationRelationship(Location parentLocation, Location childLocation) {
     final Handle handle = getDbHandle();
     try {
+      hierarchyCache.invalidate(Hierarchy.LOCATIONS);
       return handle
           .createUpdate("/* addLocationRelationship */ INSERT INTO \"locationRelationships\""
               + " (\"parentLocationUuid\", \"childLocationUuid\") "
@@ -260,6 +272,7 @@ public class LocationDao extends AnetSubscribableObjectDao<Location, LocationSea
   public int removeLocationRelationship(Location parentLocation, Location childLocation) {
     final Handle handle = getDbHandle();
     try {
+      hierarchyCache.invalidate(Hierarchy.LOCATIONS);
       return handle
           .createUpdate("/* removeLocationRelationship*/ DELETE FROM \"locationRelationships\" "
               + "WHERE \"parentLocationUuid\" = :parentLocationUuid "
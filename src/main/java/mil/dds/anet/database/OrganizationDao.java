@@ -14,6 +14,9 @@ import mil.dds.anet.beans.Person;
 import mil.dds.anet.beans.Position;
 import mil.dds.anet.beans.lists.AnetBeanList;
 import mil.dds.anet.beans.search.OrganizationSearchQuery;
+import mil.dds.anet.database.cache.ApprovalChainCache;
+import mil.dds.anet.database.cache.HierarchyCache;
+import mil.dds.anet.database.cache.HierarchyCache.Hierarchy;
 import mil.dds.anet.database.mappers.OrganizationMapper;
 import mil.dds.anet.database.mappers.PositionMapper;
 import mil.dds.anet.search.pg.PostgresqlOrganizationSearcher;
@@ -47,12 +50,17 @@ public class OrganizationDao
 
   private final AdminDao adminDao;
   private final EmailAddressDao emailAddressDao;
+  private final HierarchyCache hierarchyCache;
+  private final ApprovalChainCache approvalChainCache;
 
   public OrganizationDao(DatabaseHandler databaseHandler, AdminDao adminDao,
-      EmailAddressDao emailAddressDao) {
+      EmailAddressDao emailAddressDao, HierarchyCache hierarchyCache,
+      ApprovalChainCache approvalChainCache) {
     super(databaseHandler);
     this.adminDao = adminDao;
     this.emailAddressDao = emailAddressDao;
+    this.hierarchyCache = hierarchyCache;
+    this.approvalChainCache = approvalChainCache;
   }
 
   @Override
@@ -131,6 +139,7 @@ public class OrganizationDao
           .bind("status", DaoUtils.getEnumId(org.getStatus()))
           .bind("parentOrgUuid", DaoUtils.getUuid(org.getParentOrg()))
           .bind("locationUuid", DaoUtils.getUuid(org.getLocation())).execute();
+      hierarchyCache.invalidate(Hierarchy.ORGANIZATIONS);
       final OrganizationBatch ob = handle.attach(OrganizationBatch.class);
       if (org.getAdministratingPositions() != null) {
         ob.insertOrganizationAdministratingPositions(org.getUuid(),
@@ -153,6 +162,9 @@ public class OrganizationDao
   public int updateInternal(Organization org) {
     final Handle handle = getDbHandle();
     try {
+      hierarchyCache.invalidate(Hierarchy.ORGANIZATIONS);
+      // The approval steps of reports depend on the parents of their advisor organization
+      approvalChainCache.invalidate();
       return handle.createUpdate("/* updateOrg */ UPDATE organizations "
           + "SET \"shortName\" = :shortName, \"longName\" = :longName, status = :status, "
           + "\"identificationCode\" = :identificationCode, profile = :profile, "
@@ -221,6 +233,7 @@ public class OrganizationDao
       final Organization winnerOrganization) {
     final Handle handle = getDbHandle();
     try {
+      hierarchyCache.invalidate(Hierarchy.ORGANIZATIONS);
       final var loserOrganizationUuid = loserOrganization.getUuid();
       final var winnerOrganizationUuid = winnerOrganization.getUuid();
       final var existingLoserOrg = getByUuid(loserOrganizationUuid);
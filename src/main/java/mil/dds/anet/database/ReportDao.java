@@ -24,6 +24,7 @@ import mil.dds.anet.beans.ApprovalStep.ApprovalStepType;
 import mil.dds.anet.beans.AuthorizationGroup;
 import mil.dds.anet.beans.EngagementInformation;
 import mil.dds.anet.beans.GenericRelatedObject;
+import mil.dds.anet.beans.MapCluster;
 import mil.dds.anet.beans.Organization;
 import mil.dds.anet.beans.Person;
 import mil.dds.anet.beans.Position;
@@ -35,6 +36,7 @@ import mil.dds.anet.beans.ReportPerson;
 import mil.dds.anet.beans.ReportSensitiveInformation;
 import mil.dds.anet.beans.Task;
 import mil.dds.anet.beans.lists.AnetBeanList;
+import mil.dds.anet.beans.search.BoundingBox;
 import mil.dds.anet.beans.search.ReportSearchQuery;
 import mil.dds.anet.config.ApplicationContextProvider;
 import mil.dds.anet.database.mappers.AuthorizationGroupMapper;
@@ -435,6 +437,10 @@ public class ReportDao extends AnetSubscribableObjectDao<Report, ReportSearchQue
     return new PostgresqlReportSearcher(databaseHandler).runSearch(context, subFields, query);
   }
 
+  public List<MapCluster> getClusters(ReportSearchQuery query, BoundingBox bbox, int zoom) {
+    return new PostgresqlReportSearcher(databaseHandler).runClusterSearch(query, bbox, zoom);
+  }
+
   /*
    * Deletes a given report from the database. Ensures consistency by removing all references to a
    * report before deleting a report.
@@ -8,9 +8,9 @@ import org.springframework.stereotype.Component;
 @Component
 public class StatementLogger {
 
-  public StatementLogger(final Jdbi jdbi) {
+  public StatementLogger(final Jdbi jdbi, final StatementMetrics statementMetrics) {
     final SqlStatements sqlStatements = jdbi.getConfig(SqlStatements.class);
-    sqlStatements.setSqlLogger(new AnetDbLogger());
+    sqlStatements.setSqlLogger(new AnetDbLogger(statementMetrics));
   }
 
 }
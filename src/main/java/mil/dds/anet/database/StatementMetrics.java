@@ -0,0 +1,223 @@
+package mil.dds.anet.database;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import mil.dds.anet.beans.metrics.StatementStatistic;
+import mil.dds.anet.config.AnetConfig;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aggregates the executions of SQL statements per statement tag, i.e. the
+ * <code>&#47;* name *&#47;</code> comment our statements start with. Latencies are kept in a
+ * histogram with logarithmic buckets (8 per power of 2, so within 12.5%), which makes recording
+ * an execution a few atomic increments.
+ */
+@Component
+public class StatementMetrics {
+
+  public static final String UNTAGGED = "(untagged)";
+  public static final String OTHER_TAGS = "(other)";
+  // Tags are fixed strings in our code, except for a few per-table ones
+  private static final int MAX_TAGS = 1000;
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  // Latencies are recorded in µs, up to 2^36 µs (about 19 hours)
+  private static final int MAX_OCTAVE = 36;
+  private static final int BUCKETS = (MAX_OCTAVE - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+  private static final class TagMetrics {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder slowCount = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Long::max, 0);
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  }
+
+  private final long slowStatementMicros;
+  private final Map<String, TagMetrics> tagMetrics = new ConcurrentHashMap<>();
+
+  public StatementMetrics(AnetConfig config) {
+    this.slowStatementMicros = TimeUnit.MILLISECONDS.toMicros(config.getSlowStatementMs());
+  }
+
+  /**
+   * Record the execution of a statement.
+   *
+   * @param sql the rendered SQL of the statement
+   * @param elapsedNanos the execution time
+   * @param rows the number of rows affected, or a negative number if unknown
+   * @param failed whether the execution failed
+   */
+  public void record(String sql, long elapsedNanos, long rows, boolean failed) {
+    final TagMetrics metrics = getTagMetrics(getTag(sql));
+    final long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+    metrics.count.increment();
+    if (failed) {
+      metrics.errorCount.increment();
+    }
+    if (rows > 0) {
+      metrics.rows.add(rows);
+    }
+    if (micros >= slowStatementMicros) {
+      metrics.slowCount.increment();
+    }
+    metrics.totalMicros.add(micros);
+    metrics.maxMicros.accumulate(micros);
+    metrics.buckets.incrementAndGet(getBucket(micros));
+  }
+
+  public List<StatementStatistic> getStatistics() {
+    return tagMetrics.entrySet().stream().map(e -> getStatistic(e.getKey(), e.getValue()))
+        .sorted(Comparator.comparing(StatementStatistic::getTag)).toList();
+  }
+
+  /**
+   * @return the statistics in the Prometheus text exposition format
+   */
+  public String getPrometheusText() {
+    final StringBuilder sb = new StringBuilder();
+    final List<StatementStatistic> statistics = getStatistics();
+    sb.append("# HELP anet_sql_statement_duration_seconds Execution time of SQL statements\n");
+    sb.append("# TYPE anet_sql_statement_duration_seconds summary\n");
+    for (final StatementStatistic s : statistics) {
+      final String tag = escapeLabelValue(s.getTag());
+      appendSample(sb, "anet_sql_statement_duration_seconds", tag, "0.5", s.getP50Ms() / 1000);
+      appendSample(sb, "anet_sql_statement_duration_seconds", tag, "0.95", s.getP95Ms() / 1000);
+      appendSample(sb, "anet_sql_statement_duration_seconds", tag, "0.99", s.getP99Ms() / 1000);
+      appendSample(sb, "anet_sql_statement_duration_seconds_sum", tag, null,
+          s.getAverageMs() * s.getCount() / 1000);
+      appendSample(sb, "anet_sql_statement_duration_seconds_count", tag, null, s.getCount());
+    }
+    appendCounter(sb, "anet_sql_statement_errors_total", "Failed SQL statements", statistics,
+        StatementStatistic::getErrorCount);
+    appendCounter(sb, "anet_sql_statement_rows_total", "Rows modified by SQL statements",
+        statistics, StatementStatistic::getRows);
+    appendCounter(sb, "anet_sql_statement_slow_total", "Slow SQL statements", statistics,
+        StatementStatistic::getSlowCount);
+    return sb.toString();
+  }
+
+  public void clear() {
+    tagMetrics.clear();
+  }
+
+  /**
+   * @param sql the rendered SQL of a statement
+   * @return the tag the statement starts with
+   */
+  public static String getTag(String sql) {
+    if (sql == null) {
+      return UNTAGGED;
+    }
+    int start = 0;
+    while (start < sql.length() && Character.isWhitespace(sql.charAt(start))) {
+      start++;
+    }
+    if (!sql.startsWith("/*", start)) {
+      return UNTAGGED;
+    }
+    final int end = sql.indexOf("*/", start + 2);
+    if (end < 0) {
+      return UNTAGGED;
+    }
+    final String tag = sql.substring(start + 2, end).strip();
+    return tag.isEmpty() ? UNTAGGED : tag;
+  }
+
+  private TagMetrics getTagMetrics(String tag) {
+    final TagMetrics metrics = tagMetrics.get(tag);
+    if (metrics != null) {
+      return metrics;
+    }
+    return tagMetrics.computeIfAbsent((tagMetrics.size() < MAX_TAGS) ? tag : OTHER_TAGS,
+        k -> new TagMetrics());
+  }
+
+  private StatementStatistic getStatistic(String tag, TagMetrics metrics) {
+    // Take a snapshot of the histogram; it may be slightly out of sync with the other counts
+    final long[] counts = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = metrics.buckets.get(i);
+      total += counts[i];
+    }
+    final long count = metrics.count.sum();
+    final double p95Ms = getPercentileMs(counts, total, 0.95);
+    return new StatementStatistic(tag, count, metrics.errorCount.sum(), metrics.rows.sum(),
+        (count == 0) ? 0 : toMs(metrics.totalMicros.sum() / count),
+        getPercentileMs(counts, total, 0.5), p95Ms, getPercentileMs(counts, total, 0.99),
+        toMs(metrics.maxMicros.get()), metrics.slowCount.sum(),
+        p95Ms >= toMs(slowStatementMicros));
+  }
+
+  private static void appendCounter(StringBuilder sb, String name, String help,
+      List<StatementStatistic> statistics, ToLongFunction<StatementStatistic> value) {
+    sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    sb.append("# TYPE ").append(name).append(" counter\n");
+    for (final StatementStatistic s : statistics) {
+      appendSample(sb, name, escapeLabelValue(s.getTag()), null, value.applyAsLong(s));
+    }
+  }
+
+  private static void appendSample(StringBuilder sb, String name, String tag, String quantile,
+      double value) {
+    sb.append(name).append("{tag=\"").append(tag).append('"');
+    if (quantile != null) {
+      sb.append(",quantile=\"").append(quantile).append('"');
+    }
+    sb.append("} ").append(value).append('\n');
+  }
+
+  private static String escapeLabelValue(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  private static double getPercentileMs(long[] counts, long total, double percentile) {
+    if (total == 0) {
+      return 0;
+    }
+    final long rank = (long) Math.ceil(percentile * total);
+    long cumulative = 0;
+    for (int i = 0; i < counts.length; i++) {
+      cumulative += counts[i];
+      if (cumulative >= rank) {
+        return toMs(getBucketUpperBound(i));
+      }
+    }
+    return toMs(getBucketUpperBound(counts.length - 1));
+  }
+
+  private static int getBucket(long micros) {
+    if (micros < SUB_BUCKETS) {
+      return (int) micros;
+    }
+    final int octave = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_OCTAVE);
+    final int subBucket =
+        (int) ((micros >>> (octave - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+    return Math.min((octave - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket, BUCKETS - 1);
+  }
+
+  private static long getBucketUpperBound(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket + 1L;
+    }
+    final int octave = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    final int subBucket = bucket % SUB_BUCKETS;
+    return (SUB_BUCKETS + subBucket + 1L) << (octave - SUB_BUCKET_BITS);
+  }
+
+  private static double toMs(long micros) {
+    return micros / 1000.0;
+  }
+
+}
@@ -1,16 +1,17 @@
 package mil.dds.anet.database;
 
 import com.google.common.base.Joiner;
-import graphql.GraphQLContext;
 import java.lang.invoke.MethodHandles;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.stream.Collectors;
 import mil.dds.anet.beans.AnetEmail;
-import mil.dds.anet.beans.Position;
-import mil.dds.anet.beans.Subscription;
 import mil.dds.anet.beans.SubscriptionUpdate;
 import mil.dds.anet.beans.lists.AnetBeanList;
 import mil.dds.anet.beans.search.SubscriptionUpdateSearchQuery;
@@ -19,6 +20,7 @@ import mil.dds.anet.emails.SubscriptionUpdateEmail;
 import mil.dds.anet.search.pg.PostgresqlSubscriptionUpdateSearcher;
 import mil.dds.anet.threads.AnetEmailWorker;
 import mil.dds.anet.utils.DaoUtils;
+import mil.dds.anet.utils.Utils;
 import org.jdbi.v3.core.Handle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -93,52 +95,124 @@ public class SubscriptionUpdateDao
           params.putAll(stmt.params);
         }
       }
-      final String sqlSuf =
-          "( " + Joiner.on(" OR ").join(stmts) + " ) RETURNING" + SUBSCRIPTION_UPDATE_FIELDS;
+      final String sqlSuf = "( " + Joiner.on(" OR ").join(stmts) + " )";
       logger.info(
           "Inserting subscription updates: sql={}, createdAt={}, updatedObjectType={}, "
               + "updatedObjectUuid={}, isNote={}, auditTrailUuid={}, params={}",
           sqlSuf, subscriptionUpdate.getUpdatedAt(), subscriptionUpdate.getObjectType(),
           subscriptionUpdate.getObjectUuid(), subscriptionUpdate.isNote(), auditTrailUuid, params);
 
-      final List<SubscriptionUpdate> subscriptionUpdates = handle.createQuery(sqlPre + sqlSuf)
+      // The subscribers are emailed afterwards by the SubscriptionUpdateWorker, which picks up
+      // the updates that haven't been notified yet
+      return handle.createUpdate(sqlPre + sqlSuf)
           .bind("createdAt", DaoUtils.asLocalDateTime(subscriptionUpdate.getUpdatedAt()))
           .bind("updatedObjectType", subscriptionUpdate.getObjectType())
           .bind("updatedObjectUuid", subscriptionUpdate.getObjectUuid())
           .bind("isNote", subscriptionUpdate.isNote()).bind("auditTrailUuid", auditTrailUuid)
-          .bindMap(params).map(new SubscriptionUpdateMapper()).list();
-      sendEmailToSubscribers(subscriptionUpdates);
-      return subscriptionUpdates.size();
+          .bindMap(params).execute();
     } finally {
       closeDbHandle(handle);
     }
   }
 
-  private void sendEmailToSubscribers(List<SubscriptionUpdate> subscriptionUpdates) {
-    final GraphQLContext context = engine().getContext();
+  /**
+   * Claim the oldest subscription updates of which the subscribers haven't been notified yet, and
+   * mark them as notified. Updates claimed by a concurrent transaction are skipped; if the calling
+   * transaction rolls back, the updates are claimed again later.
+   *
+   * @param now the time to mark the updates with
+   * @param limit the maximum number of updates to claim
+   * @return the claimed updates, oldest first
+   */
+  @Transactional
+  public List<SubscriptionUpdate> claimPendingNotifications(Instant now, int limit) {
+    final Handle handle = getDbHandle();
+    try {
+      // The table has no primary key, so the rows are identified by their ctid
+      return handle.createQuery("/* claimPendingSubscriptionUpdates */"
+          + " UPDATE \"subscriptionUpdates\" SET \"notifiedAt\" = :now"
+          + " WHERE ctid = ANY(ARRAY(SELECT ctid FROM \"subscriptionUpdates\""
+          + " WHERE \"notifiedAt\" IS NULL ORDER BY \"createdAt\" LIMIT :limit"
+          + " FOR UPDATE SKIP LOCKED)) RETURNING" + SUBSCRIPTION_UPDATE_FIELDS)
+          .bind("now", DaoUtils.asLocalDateTime(now)).bind("limit", limit)
+          .map(new SubscriptionUpdateMapper()).stream()
+          .sorted(Comparator.comparing(SubscriptionUpdate::getCreatedAt,
+              Comparator.nullsFirst(Comparator.naturalOrder())))
+          .toList();
+    } finally {
+      closeDbHandle(handle);
+    }
+  }
+
+  /**
+   * Get the email addresses to notify of updates to the given subscriptions: those of the people
+   * in the subscribed positions that opted for subscription emails.
+   *
+   * @param subscriptionUuids the uuids of the subscriptions
+   * @return the email addresses per subscription uuid; subscriptions without any are left out
+   */
+  @Transactional
+  public Map<String, List<String>> getSubscriberEmailAddresses(
+      Collection<String> subscriptionUuids) {
+    if (subscriptionUuids.isEmpty()) {
+      return Map.of();
+    }
+    final Handle handle = getDbHandle();
+    try {
+      final Map<String, List<String>> result = new HashMap<>();
+      handle.createQuery("/* getSubscriberEmailAddresses */"
+          + " SELECT DISTINCT s.uuid AS \"subscriptionUuid\", ea.address FROM subscriptions s"
+          + " JOIN positions p ON p.uuid = s.\"subscriberUuid\""
+          + " JOIN \"emailAddresses\" ea ON ea.\"relatedObjectType\" = 'people'"
+          + " AND ea.\"relatedObjectUuid\" = p.\"currentPersonUuid\""
+          + " JOIN preferences pref ON pref.name = :preferenceName"
+          + " AND pref.category = :preferenceCategory"
+          + " LEFT JOIN \"peoplePreferences\" pp"
+          + " ON pp.\"preferenceUuid\" = pref.uuid AND pp.\"personUuid\" = p.\"currentPersonUuid\""
+          + " WHERE s.uuid IN (<subscriptionUuids>) AND ea.network = :emailNetwork"
+          + " AND ( (pp.\"personUuid\" IS NULL AND UPPER(pref.\"defaultValue\") = 'TRUE')"
+          + " OR (UPPER(pp.value) = 'TRUE') )")
+          .bindList("subscriptionUuids", new ArrayList<>(subscriptionUuids))
+          .bind("preferenceName", PreferenceDao.PREFERENCE_SUBSCRIPTIONS)
+          .bind("preferenceCategory", PreferenceDao.CATEGORY_EMAILING)
+          .bind("emailNetwork", Utils.getEmailNetworkForNotifications())
+          .map((rs, ctx) -> Map.entry(rs.getString("subscriptionUuid"), rs.getString("address")))
+          .forEach(
+              e -> result.computeIfAbsent(e.getKey(), k -> new ArrayList<>()).add(e.getValue()));
+      return result;
+    } finally {
+      closeDbHandle(handle);
+    }
+  }
+
+  /**
+   * Email the subscribers about the given subscription updates.
+   *
+   * @param subscriptionUpdates the updates
+   * @return the number of emails queued
+   */
+  public int sendEmailToSubscribers(List<SubscriptionUpdate> subscriptionUpdates) {
+    final Map<String, List<String>> addresses = getSubscriberEmailAddresses(subscriptionUpdates
+        .stream().map(SubscriptionUpdate::getSubscriptionUuid).collect(Collectors.toSet()));
+    int count = 0;
     for (final SubscriptionUpdate subscriptionUpdate : subscriptionUpdates) {
-      final Subscription subscription = subscriptionUpdate.loadSubscription(context).join();
-      final Position subscribedPosition = subscription.loadSubscriber(context).join();
-      final String subscribedPersonUuid = subscribedPosition.getPersonUuid();
-      if (subscribedPersonUuid != null) {
-        final List<String> addresses =
-            getEmailAddressesBasedOnPreference(List.of(subscribedPersonUuid),
-                PreferenceDao.PREFERENCE_SUBSCRIPTIONS, PreferenceDao.CATEGORY_EMAILING);
-        if (!addresses.isEmpty()) {
-          final SubscriptionUpdateEmail action = new SubscriptionUpdateEmail();
-          action.setSubscriptionUuid(subscriptionUpdate.getSubscriptionUuid());
-          action.setUpdatedObjectType(subscriptionUpdate.getUpdatedObjectType());
-          action.setUpdatedObjectUuid(subscriptionUpdate.getUpdatedObjectUuid());
-          action.setAuditTrailUuid(subscriptionUpdate.getAuditTrailUuid());
-          action.setIsNote(subscriptionUpdate.getIsNote());
-          action.setCreatedAt(subscriptionUpdate.getCreatedAt());
-          final AnetEmail email = new AnetEmail();
-          email.setAction(action);
-          email.setToAddresses(addresses);
-          AnetEmailWorker.sendEmailAsync(email);
-        }
+      final List<String> toAddresses = addresses.get(subscriptionUpdate.getSubscriptionUuid());
+      if (toAddresses != null) {
+        final SubscriptionUpdateEmail action = new SubscriptionUpdateEmail();
+        action.setSubscriptionUuid(subscriptionUpdate.getSubscriptionUuid());
+        action.setUpdatedObjectType(subscriptionUpdate.getUpdatedObjectType());
+        action.setUpdatedObjectUuid(subscriptionUpdate.getUpdatedObjectUuid());
+        action.setAuditTrailUuid(subscriptionUpdate.getAuditTrailUuid());
+        action.setIsNote(subscriptionUpdate.getIsNote());
+        action.setCreatedAt(subscriptionUpdate.getCreatedAt());
+        final AnetEmail email = new AnetEmail();
+        email.setAction(action);
+        email.setToAddresses(toAddresses);
+        AnetEmailWorker.sendEmailAsync(email);
+        count++;
       }
     }
+    return count;
   }
 
 }
@@ -15,6 +15,8 @@ import mil.dds.anet.beans.WithStatus.Status;
 import mil.dds.anet.beans.lists.AnetBeanList;
 import mil.dds.anet.beans.search.TaskSearchQuery;
 import mil.dds.anet.config.ApplicationContextProvider;
+import mil.dds.anet.database.cache.HierarchyCache;
+import mil.dds.anet.database.cache.HierarchyCache.Hierarchy;
 import mil.dds.anet.database.mappers.OrganizationMapper;
 import mil.dds.anet.database.mappers.PositionMapper;
 import mil.dds.anet.database.mappers.TaskMapper;
@@ -43,10 +45,13 @@ public class TaskDao extends AnetSubscribableObjectDao<Task, TaskSearchQuery> {
   public static final String TASK_FIELDS = DaoUtils.buildFieldAliases(TABLE_NAME, fields, true);
 
   private final AdminDao adminDao;
+  private final HierarchyCache hierarchyCache;
 
-  public TaskDao(DatabaseHandler databaseHandler, AdminDao adminDao) {
+  public TaskDao(DatabaseHandler databaseHandler, AdminDao adminDao,
+      HierarchyCache hierarchyCache) {
     super(databaseHandler);
     this.adminDao = adminDao;
+    this.hierarchyCache = hierarchyCache;
   }
 
   @Override
@@ -135,6 +140,7 @@ public class TaskDao extends AnetSubscribableObjectDao<Task, TaskSearchQuery> {
           .bind("plannedCompletion", DaoUtils.asLocalDateTime(p.getPlannedCompletion()))
           .bind("projectedCompletion", DaoUtils.asLocalDateTime(p.getProjectedCompletion()))
           .bind("status", DaoUtils.getEnumId(p.getStatus())).execute();
+      hierarchyCache.invalidate(Hierarchy.TASKS);
       final TaskBatch tb = handle.attach(TaskBatch.class);
       if (p.getTaskedOrganizations() != null) {
         tb.inserttaskTaskedOrganizations(p.getUuid(), p.getTaskedOrganizations());
@@ -162,6 +168,7 @@ public class TaskDao extends AnetSubscribableObjectDao<Task, TaskSearchQuery> {
   public int updateInternal(Task p) {
     final Handle handle = getDbHandle();
     try {
+      hierarchyCache.invalidate(Hierarchy.TASKS);
       return handle.createUpdate(
           "/* updateTask */ UPDATE tasks set \"longName\" = :longName, \"shortName\" = :shortName, "
               + "category = :category, \"parentTaskUuid\" = :parentTaskUuid, "
@@ -277,6 +284,7 @@ public class TaskDao extends AnetSubscribableObjectDao<Task, TaskSearchQuery> {
   public int mergeTasks(final Task loserTask, final Task winnerTask) {
     final Handle handle = getDbHandle();
     try {
+      hierarchyCache.invalidate(Hierarchy.TASKS);
       final var loserTaskUuid = loserTask.getUuid();
       final var winnerTaskUuid = winnerTask.getUuid();
       final var existingLoserTask = getByUuid(loserTaskUuid);
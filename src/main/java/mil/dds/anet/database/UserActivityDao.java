@@ -1,11 +1,15 @@
 package mil.dds.anet.database;
 
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import mil.dds.anet.beans.UserActivity;
 import mil.dds.anet.beans.lists.AnetBeanList;
 import mil.dds.anet.beans.search.UserActivitySearchQuery;
 import mil.dds.anet.search.pg.PostgresqlUserActivitySearcher;
 import mil.dds.anet.utils.DaoUtils;
 import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.statement.Update;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,21 +20,44 @@ public class UserActivityDao extends AbstractDao {
     super(databaseHandler);
   }
 
+  // Each row binds 3 parameters, and PostgreSQL allows at most 65535 per statement
+  private static final int MAX_ROWS_PER_INSERT = 65535 / 3;
+
   @Transactional
-  public int insert(final UserActivity userActivity) {
+  public int insertAll(final List<UserActivity> userActivities) {
+    if (userActivities.isEmpty()) {
+      return 0;
+    }
     final Handle handle = getDbHandle();
     try {
-      return handle.createUpdate(
-          "INSERT INTO \"userActivities\" (\"personUuid\", \"organizationUuid\", \"visitedAt\") "
-              + "VALUES (:personUuid, :organizationUuid, :visitedAt) ON CONFLICT DO NOTHING")
-          .bind("personUuid", userActivity.getPersonUuid())
-          .bind("organizationUuid", userActivity.getOrganizationUuid())
-          .bind("visitedAt", DaoUtils.asLocalDateTime(userActivity.getVisitedAt())).execute();
+      int inserted = 0;
+      for (int from = 0; from < userActivities.size(); from += MAX_ROWS_PER_INSERT) {
+        inserted += insertAll(handle, userActivities.subList(from,
+            Math.min(from + MAX_ROWS_PER_INSERT, userActivities.size())));
+      }
+      return inserted;
     } finally {
       closeDbHandle(handle);
     }
   }
 
+  private int insertAll(final Handle handle, final List<UserActivity> userActivities) {
+    final String values = IntStream.range(0, userActivities.size())
+        .mapToObj(
+            i -> String.format("(:personUuid%1$d, :organizationUuid%1$d, :visitedAt%1$d)", i))
+        .collect(Collectors.joining(", "));
+    final Update update = handle.createUpdate("/* insertUserActivities */ INSERT INTO "
+        + "\"userActivities\" (\"personUuid\", \"organizationUuid\", \"visitedAt\") VALUES "
+        + values + " ON CONFLICT DO NOTHING");
+    for (int i = 0; i < userActivities.size(); i++) {
+      final UserActivity userActivity = userActivities.get(i);
+      update.bind("personUuid" + i, userActivity.getPersonUuid())
+          .bind("organizationUuid" + i, userActivity.getOrganizationUuid())
+          .bind("visitedAt" + i, DaoUtils.asLocalDateTime(userActivity.getVisitedAt()));
+    }
+    return update.execute();
+  }
+
   public AnetBeanList<UserActivity> search(final UserActivitySearchQuery query) {
     return new PostgresqlUserActivitySearcher(databaseHandler).runSearch(query);
   }
@@ -0,0 +1,113 @@
+package mil.dds.anet.database.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import mil.dds.anet.beans.AccessToken;
+import mil.dds.anet.beans.metrics.AccessTokenCacheStatistics;
+import mil.dds.anet.config.AnetConfig;
+import mil.dds.anet.ws.security.AccessTokenPrincipal;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache of the principals of valid access tokens, keyed by token hash, so web service calls don't
+ * have to look up their access token in the database every time. Entries are checked for expiry
+ * whenever they are used, and are evicted when the access token is changed or deleted (again once
+ * that change has been committed); as other ANET instances can't evict them, entries are also
+ * dropped after a configured time to live.
+ */
+@Component
+public class AccessTokenPrincipalCache {
+
+  private static final int MAXIMUM_SIZE = 1000;
+
+  private final Cache<String, AccessTokenPrincipal> principalsByTokenHash;
+  private final LongAdder expiredCount = new LongAdder();
+  private final LongAdder invalidationCount = new LongAdder();
+  // Incremented on every eviction, so principals loaded before it are not cached afterwards
+  private final AtomicLong version = new AtomicLong();
+
+  public AccessTokenPrincipalCache(AnetConfig config) {
+    final long ttlSeconds = config.getAccessTokenCacheTtlSeconds();
+    // A time to live of 0 disables caching
+    this.principalsByTokenHash = CacheBuilder.newBuilder()
+        .maximumSize(ttlSeconds == 0 ? 0 : MAXIMUM_SIZE)
+        .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS).recordStats().build();
+  }
+
+  /**
+   * Get the principal of a valid access token.
+   *
+   * @param tokenHash the hash of the access token
+   * @param loader looks up the access token by hash, returning null if there is none
+   * @return the principal, or empty if the access token does not exist or is no longer valid
+   */
+  public Optional<AccessTokenPrincipal> get(String tokenHash,
+      Function<String, AccessToken> loader) {
+    final AccessTokenPrincipal cached = principalsByTokenHash.getIfPresent(tokenHash);
+    if (cached != null) {
+      if (cached.accessToken().isValid()) {
+        return Optional.of(cached);
+      }
+      // Expired since it was cached; check again as it may have been extended elsewhere
+      expiredCount.increment();
+      principalsByTokenHash.invalidate(tokenHash);
+    }
+    final long loadVersion = version.get();
+    final AccessToken accessToken = loader.apply(tokenHash);
+    if (accessToken == null || !accessToken.isValid()) {
+      // Don't cache unknown or invalid tokens, anyone can send those
+      return Optional.empty();
+    }
+    final AccessTokenPrincipal principal = new AccessTokenPrincipal(accessToken);
+    // Don't keep it if an access token was changed or deleted while loading it
+    if (version.get() == loadVersion) {
+      principalsByTokenHash.put(tokenHash, principal);
+    }
+    return Optional.of(principal);
+  }
+
+  /**
+   * Evict an access token from the cache, because it is being changed or deleted.
+   *
+   * @param uuid the uuid of the access token
+   */
+  public void evictByUuid(String uuid) {
+    evict(uuid);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      // Other requests may have cached the old version until the change is committed
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          evict(uuid);
+        }
+      });
+    }
+  }
+
+  public void clearCache() {
+    invalidationCount.increment();
+    version.incrementAndGet();
+    principalsByTokenHash.invalidateAll();
+  }
+
+  private void evict(String uuid) {
+    invalidationCount.increment();
+    version.incrementAndGet();
+    principalsByTokenHash.asMap().values().removeIf(p -> uuid.equals(p.getUuid()));
+  }
+
+  public AccessTokenCacheStatistics getStatistics() {
+    final CacheStats stats = principalsByTokenHash.stats();
+    return new AccessTokenCacheStatistics(principalsByTokenHash.size(), stats.hitCount(),
+        stats.missCount(), stats.evictionCount(), expiredCount.sum(), invalidationCount.sum());
+  }
+
+}
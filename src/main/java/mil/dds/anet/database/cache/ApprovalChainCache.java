@@ -0,0 +1,107 @@
+package mil.dds.anet.database.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import mil.dds.anet.beans.ApprovalStep;
+import mil.dds.anet.beans.metrics.ApprovalChainCacheStatistics;
+import mil.dds.anet.config.AnetConfig;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache of the approval steps of reports, keyed by everything the steps are computed from. The
+ * cached steps are those of the organization, task and location workflows, before they are
+ * filtered by who can actually approve them, so changes to approvers don't affect them. The
+ * cache is dropped when an approval step or the organization hierarchy is changed (and again
+ * when the transaction making the change completes); as other ANET instances can't drop it,
+ * entries are also dropped after a configured time to live.
+ */
+@Component
+public class ApprovalChainCache {
+
+  private static final int MAXIMUM_SIZE = 10_000;
+
+  /**
+   * The inputs of the approval steps of a report.
+   *
+   * @param planning whether the report is a planned engagement
+   * @param advisorOrgUuid the uuid of the advisor organization of the report
+   * @param defaultOrgUuid the uuid of the default approval organization
+   * @param taskUuids the uuids of the tasks of the report, in order
+   * @param locationUuid the uuid of the location of the report
+   */
+  public record Key(boolean planning, String advisorOrgUuid, String defaultOrgUuid,
+      List<String> taskUuids, String locationUuid) {}
+
+  private final Cache<Key, List<ApprovalStep>> chains;
+  private final AtomicLong version = new AtomicLong();
+  private final LongAdder invalidationCount = new LongAdder();
+
+  public ApprovalChainCache(AnetConfig config) {
+    final long ttlSeconds = config.getApprovalChainCacheTtlSeconds();
+    // A time to live of 0 disables caching
+    this.chains = CacheBuilder.newBuilder().maximumSize(ttlSeconds == 0 ? 0 : MAXIMUM_SIZE)
+        .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS).recordStats().build();
+  }
+
+  /**
+   * Get the approval steps of a report.
+   *
+   * @param key the inputs of the approval steps
+   * @param loader computes the approval steps; these should not be used elsewhere
+   * @return the approval steps; these are shared, so must not be modified
+   */
+  public CompletableFuture<List<ApprovalStep>> get(Key key,
+      Supplier<CompletableFuture<List<ApprovalStep>>> loader) {
+    final List<ApprovalStep> cached = chains.getIfPresent(key);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+    final long loadVersion = version.get();
+    return loader.get().thenApply(steps -> {
+      final List<ApprovalStep> chain = List.copyOf(steps);
+      // Don't keep it if the workflows were changed while computing it
+      if (version.get() == loadVersion) {
+        chains.put(key, chain);
+      }
+      return chain;
+    });
+  }
+
+  /**
+   * Drop all approval steps, because a workflow or the organization hierarchy is being changed.
+   */
+  public void invalidate() {
+    clearCache();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      // They may have been computed from uncommitted (or rolled back) changes meanwhile
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          clearCache();
+        }
+      });
+    }
+  }
+
+  public void clearCache() {
+    invalidationCount.increment();
+    version.incrementAndGet();
+    chains.invalidateAll();
+  }
+
+  public ApprovalChainCacheStatistics getStatistics() {
+    final CacheStats stats = chains.stats();
+    return new ApprovalChainCacheStatistics(chains.size(), stats.hitCount(), stats.missCount(),
+        stats.evictionCount(), invalidationCount.sum());
+  }
+
+}
@@ -0,0 +1,139 @@
+package mil.dds.anet.database.cache;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import mil.dds.anet.config.AnetConfig;
+import mil.dds.anet.database.DatabaseHandler;
+import org.jdbi.v3.core.Handle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache of the {@link HierarchyIndex} of organizations, tasks and locations. An index is built
+ * when first needed, and dropped when the hierarchy is changed (and again when the transaction
+ * making the change completes); as other ANET instances can't drop it, it is also rebuilt after a
+ * configured time to live.
+ */
+@Component
+public class HierarchyCache {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  public enum Hierarchy {
+    ORGANIZATIONS("organizations", "uuid", "\"parentOrgUuid\""),
+    TASKS("tasks", "uuid", "\"parentTaskUuid\""),
+    LOCATIONS("\"locationRelationships\"", "\"childLocationUuid\"", "\"parentLocationUuid\"");
+
+    private final String tableName;
+    private final String key;
+    private final String parentKey;
+
+    Hierarchy(String tableName, String key, String parentKey) {
+      this.tableName = tableName;
+      this.key = key;
+      this.parentKey = parentKey;
+    }
+
+    /**
+     * @return the hierarchy stored in the given table and columns, or null if there is none
+     */
+    public static Hierarchy find(String tableName, String key, String parentKey) {
+      for (final Hierarchy hierarchy : values()) {
+        if (hierarchy.tableName.equals(tableName) && hierarchy.key.equals(key)
+            && hierarchy.parentKey.equals(parentKey)) {
+          return hierarchy;
+        }
+      }
+      return null;
+    }
+  }
+
+  private record Entry(HierarchyIndex index, long builtAt) {}
+
+  private final DatabaseHandler databaseHandler;
+  private final long ttlNanos;
+  private final Map<Hierarchy, Entry> entries = new ConcurrentHashMap<>();
+  private final Map<Hierarchy, AtomicLong> versions = new ConcurrentHashMap<>();
+
+  public HierarchyCache(AnetConfig config, DatabaseHandler databaseHandler) {
+    this.databaseHandler = databaseHandler;
+    this.ttlNanos = TimeUnit.SECONDS.toNanos(config.getHierarchyIndexTtlSeconds());
+    for (final Hierarchy hierarchy : Hierarchy.values()) {
+      versions.put(hierarchy, new AtomicLong());
+    }
+  }
+
+  /**
+   * @param hierarchy the hierarchy
+   * @return its index, or null when the index is disabled
+   */
+  public HierarchyIndex get(Hierarchy hierarchy) {
+    if (ttlNanos == 0) {
+      return null;
+    }
+    final Entry entry = entries.get(hierarchy);
+    if (entry != null && System.nanoTime() - entry.builtAt() < ttlNanos) {
+      return entry.index();
+    }
+    final long version = versions.get(hierarchy).get();
+    final long start = System.nanoTime();
+    final HierarchyIndex index = HierarchyIndex.build(loadLinks(hierarchy));
+    // Don't keep it if the hierarchy was changed while loading it
+    if (versions.get(hierarchy).get() == version) {
+      entries.put(hierarchy, new Entry(index, start));
+    }
+    logger.debug("Built the {} hierarchy index of {} nodes in {} ms", hierarchy, index.size(),
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    return index;
+  }
+
+  /**
+   * Drop the index of a hierarchy that is being changed.
+   *
+   * @param hierarchy the hierarchy
+   */
+  public void invalidate(Hierarchy hierarchy) {
+    evict(hierarchy);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      // It may have been rebuilt from uncommitted (or rolled back) changes meanwhile
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          evict(hierarchy);
+        }
+      });
+    }
+  }
+
+  public void clearCache() {
+    for (final Hierarchy hierarchy : Hierarchy.values()) {
+      evict(hierarchy);
+    }
+  }
+
+  private void evict(Hierarchy hierarchy) {
+    versions.get(hierarchy).incrementAndGet();
+    entries.remove(hierarchy);
+  }
+
+  private List<HierarchyIndex.Link> loadLinks(Hierarchy hierarchy) {
+    final Handle handle = databaseHandler.getHandle();
+    try {
+      return handle
+          .createQuery(String.format("/* getHierarchyLinks */ SELECT %2$s, %3$s FROM %1$s",
+              hierarchy.tableName, hierarchy.key, hierarchy.parentKey))
+          .map((rs, ctx) -> new HierarchyIndex.Link(rs.getString(1), rs.getString(2))).list();
+    } finally {
+      databaseHandler.closeHandle(handle);
+    }
+  }
+
+}
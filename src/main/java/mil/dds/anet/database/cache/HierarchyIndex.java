@@ -0,0 +1,277 @@
+package mil.dds.anet.database.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable in-memory index of a hierarchy (organizations, tasks or locations), built from its
+ * parent links. For every node it holds its parents and all its ancestors; when the hierarchy is a
+ * forest (as for organizations and tasks), it also holds an Euler tour, so that the subtree of a
+ * node is a contiguous range of the tour and testing for descendants is a comparison of intervals.
+ * Locations can have more than one parent, so their descendants are found by traversal.
+ */
+public final class HierarchyIndex {
+
+  /**
+   * A link from a node to its parent.
+   *
+   * @param uuid the uuid of the node
+   * @param parentUuid the uuid of its parent, or null if it has none
+   */
+  public record Link(String uuid, String parentUuid) {}
+
+  private static final int[] NONE = new int[0];
+
+  private final Map<String, Integer> ids;
+  private final String[] uuids;
+  // Whether the node has a link of its own, i.e. it is a row of the hierarchy table
+  private final boolean[] linked;
+  private final int[][] parents;
+  private final int[][] children;
+  // All ancestors of a node, nearest first
+  private final int[][] ancestors;
+  // Only for forests: the Euler tour and the interval of each node in it
+  private final boolean forest;
+  private final int[] tour;
+  private final int[] enter;
+  private final int[] exit;
+
+  private HierarchyIndex(Collection<Link> links) {
+    ids = new HashMap<>(links.size() * 2);
+    final List<String> uuidList = new ArrayList<>(links.size());
+    for (final Link link : links) {
+      getOrAddId(link.uuid(), uuidList);
+      getOrAddId(link.parentUuid(), uuidList);
+    }
+    final int size = uuidList.size();
+    uuids = uuidList.toArray(String[]::new);
+    linked = new boolean[size];
+    final List<LinkedHashSet<Integer>> parentSets = new ArrayList<>(size);
+    final List<LinkedHashSet<Integer>> childSets = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      parentSets.add(new LinkedHashSet<>(1));
+      childSets.add(new LinkedHashSet<>(1));
+    }
+    for (final Link link : links) {
+      final int id = ids.get(link.uuid());
+      linked[id] = true;
+      if (link.parentUuid() != null) {
+        final int parentId = ids.get(link.parentUuid());
+        parentSets.get(id).add(parentId);
+        childSets.get(parentId).add(id);
+      }
+    }
+    parents = toArrays(parentSets);
+    children = toArrays(childSets);
+    ancestors = computeAncestors();
+
+    tour = new int[size];
+    enter = new int[size];
+    exit = new int[size];
+    forest = Arrays.stream(parents).allMatch(p -> p.length <= 1) && computeEulerTour();
+  }
+
+  public static HierarchyIndex build(Collection<Link> links) {
+    return new HierarchyIndex(links);
+  }
+
+  public int size() {
+    return uuids.length;
+  }
+
+  public boolean isForest() {
+    return forest;
+  }
+
+  /**
+   * @param uuid the uuid of a node
+   * @return the uuids of all ancestors of the node, nearest first; empty if the node is unknown
+   */
+  public List<String> getAncestors(String uuid) {
+    final Integer id = ids.get(uuid);
+    return (id == null) ? List.of() : toUuids(ancestors[id]);
+  }
+
+  /**
+   * @param uuid the uuid of a node
+   * @return the uuids of the node itself and all of its descendants; empty if the node is unknown
+   */
+  public List<String> getDescendantsOrSelf(String uuid) {
+    final Integer id = ids.get(uuid);
+    return (id == null) ? List.of() : toUuids(getDescendantsOrSelf(id));
+  }
+
+  /**
+   * @param uuid the uuid of a node
+   * @param ancestorUuid the uuid of another node
+   * @return whether the node is the other node itself, or one of its descendants
+   */
+  public boolean isDescendantOrSelf(String uuid, String ancestorUuid) {
+    final Integer id = ids.get(uuid);
+    final Integer ancestorId = ids.get(ancestorUuid);
+    if (id == null || ancestorId == null) {
+      return false;
+    }
+    if (id.equals(ancestorId)) {
+      return true;
+    }
+    if (forest) {
+      return enter[ancestorId] < enter[id] && enter[id] < exit[ancestorId];
+    }
+    return Arrays.stream(ancestors[id]).anyMatch(a -> a == ancestorId);
+  }
+
+  /**
+   * Compute the (node, ancestor) pairs a recursive query over the hierarchy would return for the
+   * given nodes: a node is paired with itself (if it has a link of its own) and with each of its
+   * ancestors.
+   *
+   * @param uuids the uuids of the nodes
+   * @param findChildren whether to pair the descendants of the given nodes with them, or the given
+   *        nodes with their ancestors
+   * @param nodeUuids receives the first element of each pair
+   * @param ancestorUuids receives the second element of each pair
+   */
+  public void addPairs(Collection<String> uuids, boolean findChildren, List<String> nodeUuids,
+      List<String> ancestorUuids) {
+    for (final String uuid : new LinkedHashSet<>(uuids)) {
+      final Integer id = ids.get(uuid);
+      if (id == null) {
+        continue;
+      }
+      if (findChildren) {
+        for (final int descendant : getDescendantsOrSelf(id)) {
+          if (linked[descendant]) {
+            nodeUuids.add(this.uuids[descendant]);
+            ancestorUuids.add(uuid);
+          }
+        }
+      } else if (linked[id]) {
+        nodeUuids.add(uuid);
+        ancestorUuids.add(uuid);
+        for (final int ancestor : ancestors[id]) {
+          nodeUuids.add(uuid);
+          ancestorUuids.add(this.uuids[ancestor]);
+        }
+      }
+    }
+  }
+
+  private int[] getDescendantsOrSelf(int id) {
+    if (forest) {
+      return Arrays.copyOfRange(tour, enter[id], exit[id]);
+    }
+    // Breadth-first, guarding against cycles
+    final boolean[] seen = new boolean[uuids.length];
+    final int[] queue = new int[uuids.length];
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = id;
+    seen[id] = true;
+    while (head < tail) {
+      for (final int child : children[queue[head++]]) {
+        if (!seen[child]) {
+          seen[child] = true;
+          queue[tail++] = child;
+        }
+      }
+    }
+    return Arrays.copyOf(queue, tail);
+  }
+
+  private int[][] computeAncestors() {
+    final int size = uuids.length;
+    final int[][] result = new int[size][];
+    // Marks the nodes seen in the current traversal, guarding against duplicates and cycles
+    final int[] seenBy = new int[size];
+    Arrays.fill(seenBy, -1);
+    final int[] queue = new int[size];
+    for (int id = 0; id < size; id++) {
+      if (parents[id].length == 0) {
+        result[id] = NONE;
+        continue;
+      }
+      int head = 0;
+      int tail = 0;
+      seenBy[id] = id;
+      for (final int parent : parents[id]) {
+        if (seenBy[parent] != id) {
+          seenBy[parent] = id;
+          queue[tail++] = parent;
+        }
+      }
+      while (head < tail) {
+        for (final int parent : parents[queue[head++]]) {
+          if (seenBy[parent] != id) {
+            seenBy[parent] = id;
+            queue[tail++] = parent;
+          }
+        }
+      }
+      result[id] = Arrays.copyOf(queue, tail);
+    }
+    return result;
+  }
+
+  /**
+   * @return false if not all nodes could be reached from a root, i.e. there is a cycle
+   */
+  private boolean computeEulerTour() {
+    final int size = uuids.length;
+    final int[] stack = new int[size];
+    final int[] nextChild = new int[size];
+    int position = 0;
+    for (int root = 0; root < size; root++) {
+      if (parents[root].length != 0) {
+        continue;
+      }
+      int top = 0;
+      stack[top++] = root;
+      enter[root] = position;
+      tour[position++] = root;
+      while (top > 0) {
+        final int node = stack[top - 1];
+        if (nextChild[node] < children[node].length) {
+          final int child = children[node][nextChild[node]++];
+          enter[child] = position;
+          tour[position++] = child;
+          stack[top++] = child;
+        } else {
+          exit[node] = position;
+          top--;
+        }
+      }
+    }
+    return position == size;
+  }
+
+  private void getOrAddId(String uuid, List<String> uuidList) {
+    if (uuid != null && !ids.containsKey(uuid)) {
+      ids.put(uuid, uuidList.size());
+      uuidList.add(uuid);
+    }
+  }
+
+  private List<String> toUuids(int[] nodeIds) {
+    final List<String> result = new ArrayList<>(nodeIds.length);
+    for (final int id : nodeIds) {
+      result.add(uuids[id]);
+    }
+    return result;
+  }
+
+  private static int[][] toArrays(List<LinkedHashSet<Integer>> sets) {
+    final int[][] result = new int[sets.size()][];
+    for (int i = 0; i < result.length; i++) {
+      final LinkedHashSet<Integer> set = sets.get(i);
+      result[i] = set.isEmpty() ? NONE : set.stream().mapToInt(Integer::intValue).toArray();
+    }
+    return result;
+  }
+
+}
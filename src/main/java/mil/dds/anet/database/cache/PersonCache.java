@@ -1,12 +1,15 @@
 package mil.dds.anet.database.cache;
 
 import java.lang.invoke.MethodHandles;
-import java.lang.reflect.InvocationTargetException;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import javax.cache.Cache;
 import javax.cache.CacheManager;
 import javax.cache.Caching;
@@ -16,12 +19,10 @@ import mil.dds.anet.beans.Position;
 import mil.dds.anet.beans.User;
 import mil.dds.anet.beans.recentActivity.Activity;
 import mil.dds.anet.database.PersonDao;
-import mil.dds.anet.database.PositionDao;
-import mil.dds.anet.database.UserDao;
 import mil.dds.anet.utils.AnetConstants;
 import mil.dds.anet.utils.DaoUtils;
 import mil.dds.anet.utils.Utils;
-import org.apache.commons.beanutils.PropertyUtils;
+import mil.dds.anet.views.AbstractAnetBean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -42,6 +43,11 @@ public class PersonCache {
   private static final int ACTIVITY_LOG_LIMIT = 10;
 
   private Cache<String, Person> domainUsersCache;
+  // Secondary indexes into the domainUsersCache, from person uuid and position uuid to the domain
+  // usernames the person is cached under; entries are verified against the cache when used, so any
+  // entries left behind (e.g. by cache evictions) are simply dropped then
+  private final Map<String, Set<String>> domainUsernamesByPersonUuid = new ConcurrentHashMap<>();
+  private final Map<String, Set<String>> domainUsernamesByPositionUuid = new ConcurrentHashMap<>();
 
   public PersonCache() {
     try {
@@ -65,6 +71,8 @@ public class PersonCache {
   public String clearCache() {
     if (domainUsersCache != null) {
       domainUsersCache.removeAll();
+      domainUsernamesByPersonUuid.clear();
+      domainUsernamesByPositionUuid.clear();
       if (!domainUsersCache.iterator().hasNext()) {
         logger.info(AnetConstants.USERCACHE_MESSAGE);
         return AnetConstants.USERCACHE_MESSAGE;
@@ -125,7 +133,12 @@ public class PersonCache {
       // defensively copy the person we will be caching
       final Person copy = copyPerson(person);
       if (copy != null) {
-        person.getUsers().forEach(u -> domainUsersCache.put(u.getDomainUsername(), copy));
+        person.getUsers().forEach(u -> {
+          domainUsersCache.put(u.getDomainUsername(), copy);
+          addToIndex(domainUsernamesByPersonUuid, DaoUtils.getUuid(copy), u.getDomainUsername());
+          addToIndex(domainUsernamesByPositionUuid, DaoUtils.getUuid(copy.getPosition()),
+              u.getDomainUsername());
+        });
       }
     }
   }
@@ -137,7 +150,13 @@ public class PersonCache {
    */
   public void evictFromCache(Person person) {
     if (domainUsersCache != null && person != null && !Utils.isEmptyOrNull(person.getUsers())) {
-      person.getUsers().forEach(u -> domainUsersCache.remove(u.getDomainUsername()));
+      person.getUsers().forEach(u -> {
+        domainUsersCache.remove(u.getDomainUsername());
+        removeFromIndex(domainUsernamesByPersonUuid, DaoUtils.getUuid(person),
+            u.getDomainUsername());
+        removeFromIndex(domainUsernamesByPositionUuid, DaoUtils.getUuid(person.getPosition()),
+            u.getDomainUsername());
+      });
     }
   }
 
@@ -146,68 +165,127 @@ public class PersonCache {
   }
 
   private Person findInCacheByPersonUuid(String personUuid) {
-    if (domainUsersCache != null && personUuid != null) {
-      for (final Cache.Entry<String, Person> entry : domainUsersCache) {
-        if (entry != null && Objects.equals(DaoUtils.getUuid(entry.getValue()), personUuid)) {
-          return entry.getValue();
-        }
-      }
-    }
-    return null;
+    return findInIndex(domainUsernamesByPersonUuid, personUuid, DaoUtils::getUuid);
   }
 
   private Person findInCacheByPositionUuid(String positionUuid) {
-    if (domainUsersCache != null && positionUuid != null) {
-      for (final Cache.Entry<String, Person> entry : domainUsersCache) {
-        if (entry != null
-            && Objects.equals(DaoUtils.getUuid(entry.getValue().getPosition()), positionUuid)) {
-          return entry.getValue();
+    return findInIndex(domainUsernamesByPositionUuid, positionUuid,
+        p -> DaoUtils.getUuid(p.getPosition()));
+  }
+
+  private Person findInIndex(Map<String, Set<String>> index, String uuid,
+      Function<Person, String> uuidGetter) {
+    if (domainUsersCache != null && uuid != null) {
+      final Set<String> domainUsernames = index.get(uuid);
+      if (domainUsernames != null) {
+        for (final String domainUsername : domainUsernames) {
+          final Person person = domainUsersCache.get(domainUsername);
+          if (person != null && Objects.equals(uuidGetter.apply(person), uuid)) {
+            return person;
+          }
         }
+        // Drop the domain usernames that are no longer cached (or no longer match);
+        // check again inside compute, as the person might have been put in the cache meanwhile
+        index.computeIfPresent(uuid, (k, v) -> {
+          v.removeIf(domainUsername -> {
+            final Person person = domainUsersCache.get(domainUsername);
+            return person == null || !Objects.equals(uuidGetter.apply(person), uuid);
+          });
+          return v.isEmpty() ? null : v;
+        });
       }
     }
     return null;
   }
 
-  // Make a defensive copy of a person and their position
+  private void addToIndex(Map<String, Set<String>> index, String uuid, String domainUsername) {
+    if (uuid != null && domainUsername != null) {
+      index.compute(uuid, (k, v) -> {
+        final Set<String> domainUsernames = (v == null) ? ConcurrentHashMap.newKeySet() : v;
+        domainUsernames.add(domainUsername);
+        return domainUsernames;
+      });
+    }
+  }
+
+  private void removeFromIndex(Map<String, Set<String>> index, String uuid,
+      String domainUsername) {
+    if (uuid != null && domainUsername != null) {
+      index.computeIfPresent(uuid, (k, v) -> {
+        v.remove(domainUsername);
+        return v.isEmpty() ? null : v;
+      });
+    }
+  }
+
+  // Make a defensive copy of a person and their position; this is done on every authenticated
+  // request, so copy the fields explicitly (must match PersonDao.allFields, UserDao.fields and
+  // PositionDao.fields) instead of through reflection
   private Person copyPerson(Person person) {
-    if (person != null) {
-      try {
-        // Copy person
-        final Person personCopy = new Person();
-        for (final String prop : PersonDao.allFields) {
-          PropertyUtils.setSimpleProperty(personCopy, prop,
-              PropertyUtils.getSimpleProperty(person, prop));
-        }
-        personCopy.setFamilyName(person.getFamilyName());
-        personCopy.setGivenName(person.getGivenName());
-        // Copy users
-        if (!Utils.isEmptyOrNull(person.getUsers())) {
-          final List<User> usersCopy = new ArrayList<>();
-          for (final User user : person.getUsers()) {
-            final User userCopy = new User();
-            for (final String prop : UserDao.fields) {
-              PropertyUtils.setSimpleProperty(userCopy, prop,
-                  PropertyUtils.getSimpleProperty(user, prop));
-            }
-            usersCopy.add(userCopy);
-          }
-          personCopy.setUsers(usersCopy);
-        }
-        // Copy position
-        final Position position = person.getPosition();
-        if (position != null) {
-          final Position positionCopy = new Position();
-          for (final String prop : PositionDao.fields) {
-            PropertyUtils.setSimpleProperty(positionCopy, prop,
-                PropertyUtils.getSimpleProperty(position, prop));
-          }
-          personCopy.setPosition(positionCopy);
-        }
-        return personCopy;
-      } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-        logger.warn("Could not copy person", e);
+    if (person == null) {
+      return null;
+    }
+    final Person personCopy = new Person();
+    copyBeanFields(person, personCopy);
+    personCopy.setFamilyName(person.getFamilyName());
+    personCopy.setGivenName(person.getGivenName());
+    personCopy.setRank(person.getRank());
+    personCopy.setStatus(person.getStatus());
+    personCopy.setUser(person.getUser());
+    personCopy.setPhoneNumber(person.getPhoneNumber());
+    personCopy.setBiography(person.getBiography());
+    personCopy.setObsoleteCountry(person.getObsoleteCountry());
+    personCopy.setCountryUuid(person.getCountryUuid());
+    personCopy.setGender(person.getGender());
+    personCopy.setEndOfTourDate(person.getEndOfTourDate());
+    personCopy.setPendingVerification(person.getPendingVerification());
+    personCopy.setCode(person.getCode());
+    personCopy.setCustomFields(person.getCustomFields());
+    // Copy users
+    final List<User> users = person.getUsers();
+    if (!Utils.isEmptyOrNull(users)) {
+      final List<User> usersCopy = new ArrayList<>(users.size());
+      for (final User user : users) {
+        usersCopy.add(copyUser(user));
       }
+      personCopy.setUsers(usersCopy);
     }
-    return null;
+    // Copy position
+    final Position position = person.getPosition();
+    if (position != null) {
+      personCopy.setPosition(copyPosition(position));
+    }
+    return personCopy;
+  }
+
+  private static User copyUser(User user) {
+    final User userCopy = new User();
+    copyBeanFields(user, userCopy);
+    userCopy.setDomainUsername(user.getDomainUsername());
+    userCopy.setPersonUuid(user.getPersonUuid());
+    return userCopy;
+  }
+
+  private static Position copyPosition(Position position) {
+    final Position positionCopy = new Position();
+    copyBeanFields(position, positionCopy);
+    positionCopy.setName(position.getName());
+    positionCopy.setCode(position.getCode());
+    positionCopy.setOrganizationUuid(position.getOrganizationUuid());
+    positionCopy.setCurrentPersonUuid(position.getCurrentPersonUuid());
+    positionCopy.setType(position.getType());
+    positionCopy.setSuperuserType(position.getSuperuserType());
+    positionCopy.setStatus(position.getStatus());
+    positionCopy.setLocationUuid(position.getLocationUuid());
+    positionCopy.setCustomFields(position.getCustomFields());
+    positionCopy.setRole(position.getRole());
+    positionCopy.setDescription(position.getDescription());
+    return positionCopy;
+  }
+
+  private static void copyBeanFields(AbstractAnetBean bean, AbstractAnetBean beanCopy) {
+    beanCopy.setUuid(bean.getUuid());
+    beanCopy.setCreatedAt(bean.getCreatedAt());
+    beanCopy.setUpdatedAt(bean.getUpdatedAt());
   }
 }
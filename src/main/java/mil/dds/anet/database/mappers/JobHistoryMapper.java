@@ -1,18 +1,37 @@
 package mil.dds.anet.database.mappers;
 
+import java.lang.invoke.MethodHandles;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Map;
 import mil.dds.anet.beans.JobHistory;
 import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.statement.StatementContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.core.type.TypeReference;
 
 public class JobHistoryMapper implements RowMapper<JobHistory> {
 
+  private static final Logger logger =
+      LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  private static final TypeReference<Map<String, Long>> WATERMARKS_TYPE = new TypeReference<>() {};
+
   @Override
   public JobHistory map(ResultSet rs, StatementContext ctx) throws SQLException {
     final JobHistory jh = new JobHistory();
     jh.setJobName(rs.getString("jobName"));
     jh.setLastRun(MapperUtils.getInstantAsLocalDateTime(rs, "lastRun"));
+    final String watermarks = rs.getString("watermarks");
+    if (watermarks != null) {
+      try {
+        jh.setWatermarks(MapperUtils.getDefaultMapper().readValue(watermarks, WATERMARKS_TYPE));
+      } catch (Exception e) {
+        // The job will just have to start from scratch
+        logger.error("Error mapping watermarks of job {}", jh.getJobName(), e);
+      }
+    }
     return jh;
   }
 
@@ -0,0 +1,25 @@
+package mil.dds.anet.database.mappers;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import mil.dds.anet.beans.MapCluster;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+
+public class MapClusterMapper implements RowMapper<MapCluster> {
+
+  @Override
+  public MapCluster map(ResultSet rs, StatementContext ctx) throws SQLException {
+    final MapCluster mc = new MapCluster();
+    mc.setCount(rs.getInt("count"));
+    mc.setLat(rs.getDouble("lat"));
+    mc.setLng(rs.getDouble("lng"));
+    mc.setMinLat(rs.getDouble("minLat"));
+    mc.setMinLng(rs.getDouble("minLng"));
+    mc.setMaxLat(rs.getDouble("maxLat"));
+    mc.setMaxLng(rs.getDouble("maxLng"));
+    mc.setUuid(rs.getString("uuid"));
+    return mc;
+  }
+
+}
@@ -1,11 +1,14 @@
 package mil.dds.anet.database.mappers;
 
 import java.lang.invoke.MethodHandles;
+import java.lang.ref.WeakReference;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 import mil.dds.anet.utils.DaoUtils;
 import mil.dds.anet.utils.Utils;
 import mil.dds.anet.views.AbstractAnetBean;
@@ -24,6 +27,19 @@ public class MapperUtils {
   private static final Logger logger =
       LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+  // The column indexes of the result set last mapped on this thread, so the metadata is scanned
+  // only once per result set instead of for every field of every row
+  private static final ThreadLocal<ColumnIndexes> columnIndexes = new ThreadLocal<>();
+
+  private record ColumnIndexes(WeakReference<ResultSet> resultSet, Map<String, Integer> indexes) {}
+
+  private static final ClassValue<Object[]> enumValues = new ClassValue<>() {
+    @Override
+    protected Object[] computeValue(Class<?> type) {
+      return type.getEnumConstants();
+    }
+  };
+
   public static ObjectMapper getDefaultMapper() {
     return JsonMapper.builder()
         .configure(DateTimeFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS, false)
@@ -49,61 +65,64 @@ public class MapperUtils {
       String tableName) throws SQLException {
     setCommonBeanFields(bean, rs, tableName);
 
-    final String customFieldsCol = getQualifiedFieldName(tableName, "customFields");
-    if (containsColumnNamed(rs, customFieldsCol)) {
-      bean.setCustomFields(rs.getString(customFieldsCol));
-    }
+    bean.setCustomFields(getOptionalString(rs, getQualifiedFieldName(tableName, "customFields")));
   }
 
   public static Integer getOptionalInt(final ResultSet rs, final String columnName)
       throws SQLException {
-    if (!containsColumnNamed(rs, columnName)) {
+    final int columnIndex = getColumnIndex(rs, columnName);
+    if (columnIndex == 0) {
       return null;
     }
-    final int value = rs.getInt(columnName);
+    final int value = rs.getInt(columnIndex);
     return rs.wasNull() ? null : value;
   }
 
   public static Long getOptionalLong(final ResultSet rs, final String columnName)
       throws SQLException {
-    if (!containsColumnNamed(rs, columnName)) {
+    final int columnIndex = getColumnIndex(rs, columnName);
+    if (columnIndex == 0) {
       return null;
     }
-    final long value = rs.getLong(columnName);
+    final long value = rs.getLong(columnIndex);
     return rs.wasNull() ? null : value;
   }
 
   public static Double getOptionalDouble(final ResultSet rs, final String columnName)
       throws SQLException {
-    if (!containsColumnNamed(rs, columnName)) {
+    final int columnIndex = getColumnIndex(rs, columnName);
+    if (columnIndex == 0) {
       return null;
     }
-    final double value = rs.getDouble(columnName);
+    final double value = rs.getDouble(columnIndex);
     return rs.wasNull() ? null : value;
   }
 
   public static String getOptionalString(final ResultSet rs, final String columnName)
       throws SQLException {
-    if (!containsColumnNamed(rs, columnName)) {
+    final int columnIndex = getColumnIndex(rs, columnName);
+    if (columnIndex == 0) {
       return null;
     }
-    return rs.getString(columnName);
+    return rs.getString(columnIndex);
   }
 
   public static Boolean getOptionalBoolean(final ResultSet rs, final String columnName)
       throws SQLException {
-    if (!containsColumnNamed(rs, columnName)) {
+    final int columnIndex = getColumnIndex(rs, columnName);
+    if (columnIndex == 0) {
       return null;
     }
-    return rs.getBoolean(columnName);
+    return rs.getBoolean(columnIndex);
   }
 
   public static byte[] getOptionalBytes(final ResultSet rs, final String columnName)
       throws SQLException {
-    if (!containsColumnNamed(rs, columnName)) {
+    final int columnIndex = getColumnIndex(rs, columnName);
+    if (columnIndex == 0) {
       return null;
     }
-    return rs.getBytes(columnName);
+    return rs.getBytes(columnIndex);
   }
 
   public static <T extends Enum<T>> T getEnumIdx(ResultSet rs, String columnName, Class<T> clazz)
@@ -113,24 +132,40 @@ public class MapperUtils {
       return null;
     }
 
-    try {
-      @SuppressWarnings("unchecked")
-      T[] values = (T[]) clazz.getMethod("values").invoke(null);
-      return values[idx];
-    } catch (Exception e) {
-      logger.error("failed to get/invoke method", e);
+    final Object[] values = enumValues.get(clazz);
+    if (idx < 0 || idx >= values.length) {
+      logger.error("invalid index {} for enum {}", idx, clazz.getSimpleName());
       return null;
     }
+    return clazz.cast(values[idx]);
   }
 
   public static boolean containsColumnNamed(ResultSet rs, String colName) throws SQLException {
-    ResultSetMetaData metaData = rs.getMetaData();
-    for (int i = 1; i <= metaData.getColumnCount(); i++) {
-      if (colName.equals(metaData.getColumnName(i))) {
-        return true;
+    return getColumnIndex(rs, colName) > 0;
+  }
+
+  /**
+   * Look up the index of a column in the result set.
+   *
+   * @param rs the result set
+   * @param colName the name of the column
+   * @return the (1-based) index of the column, or 0 if there is no such column
+   * @throws SQLException when the result set metadata can't be read
+   */
+  public static int getColumnIndex(ResultSet rs, String colName) throws SQLException {
+    ColumnIndexes cached = columnIndexes.get();
+    if (cached == null || cached.resultSet().get() != rs) {
+      final ResultSetMetaData metaData = rs.getMetaData();
+      final int columnCount = metaData.getColumnCount();
+      final Map<String, Integer> indexes = HashMap.newHashMap(columnCount);
+      for (int i = 1; i <= columnCount; i++) {
+        // Same as a lookup by name, the first column with the name wins
+        indexes.putIfAbsent(metaData.getColumnName(i), i);
       }
+      cached = new ColumnIndexes(new WeakReference<>(rs), indexes);
+      columnIndexes.set(cached);
     }
-    return false;
+    return cached.indexes().getOrDefault(colName, 0);
   }
 
   private static String getQualifiedFieldName(String tableName, String fieldName) {
@@ -145,13 +180,14 @@ public class MapperUtils {
 
   public static Instant getInstantAsLocalDateTime(ResultSet rs, String columnName)
       throws SQLException {
-    if (!containsColumnNamed(rs, columnName)) {
+    final int columnIndex = getColumnIndex(rs, columnName);
+    if (columnIndex == 0) {
       return null;
     }
     // We would like to do <code>rs.getObject(columnName, java.time.Instant.class)</code>
     // but the JDBC driver does not support that (yet), so use java.time.LocalDateTime instead
     // and convert it.
-    final LocalDateTime result = rs.getObject(columnName, LocalDateTime.class);
+    final LocalDateTime result = rs.getObject(columnIndex, LocalDateTime.class);
     if (result != null) {
       return result.toInstant(DaoUtils.getServerNativeZoneOffset());
     }
@@ -0,0 +1,168 @@
+package mil.dds.anet.graphql;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import graphql.ExecutionInput;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import mil.dds.anet.beans.metrics.GraphQLDocumentCacheStatistics;
+import mil.dds.anet.config.AnetConfig;
+import mil.dds.anet.utils.Utils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the parsed and validated documents of GraphQL queries, keyed by the SHA-256 hash of the
+ * query text, so the same queries (sent over and over by the client) are only parsed and validated
+ * once. Documents that fail validation are not cached.
+ *
+ * <p>
+ * Since the key is the query hash, this also implements automatic persisted queries: a client may
+ * send <code>{"extensions":{"persistedQuery":{"version":1,"sha256Hash":"…"}}}</code> without the
+ * query text; if the hash is not (or no longer) in the cache, the request fails with a
+ * <code>PersistedQueryNotFound</code> error and the client should send it again with the query
+ * text.
+ */
+@Component
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+  public static final String PERSISTED_QUERY_MARKER = "PersistedQueryMarker";
+  public static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
+  public static final String PERSISTED_QUERY_NOT_SUPPORTED = "PersistedQueryNotSupported";
+  public static final String PERSISTED_QUERY_HASH_MISMATCH = "provided sha does not match query";
+  private static final Set<String> PERSISTED_QUERY_ERRORS = Set.of(PERSISTED_QUERY_NOT_FOUND,
+      PERSISTED_QUERY_NOT_SUPPORTED, PERSISTED_QUERY_HASH_MISMATCH);
+
+  private static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+  private static final String PERSISTED_QUERY_HASH = "sha256Hash";
+  private static final String PERSISTED_QUERY_VERSION = "version";
+  private static final int SUPPORTED_PERSISTED_QUERY_VERSION = 1;
+
+  private static final ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+
+  private final int maximumSize;
+  private final Cache<String, PreparsedDocumentEntry> documentCache;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder persistedQueryNotFound = new LongAdder();
+  private final LongAdder parseAndValidateNanos = new LongAdder();
+
+  public CachingPreparsedDocumentProvider(AnetConfig config) {
+    this.maximumSize = config.getGraphqlDocumentCacheSize();
+    this.documentCache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+  }
+
+  @Override
+  public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+    return CompletableFuture.completedFuture(getEntry(executionInput, parseAndValidateFunction));
+  }
+
+  @Override
+  @Deprecated
+  public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+    return getEntry(executionInput, parseAndValidateFunction);
+  }
+
+  public GraphQLDocumentCacheStatistics getStatistics() {
+    return new GraphQLDocumentCacheStatistics(documentCache.size(), maximumSize, hits.sum(),
+        misses.sum(), documentCache.stats().evictionCount(), persistedQueryNotFound.sum(),
+        parseAndValidateNanos.sum());
+  }
+
+  /**
+   * @return whether the error is one of the persisted query protocol, which the client should
+   *         handle itself
+   */
+  public static boolean isPersistedQueryError(GraphQLError error) {
+    return PERSISTED_QUERY_ERRORS.contains(error.getMessage());
+  }
+
+  public void clearCache() {
+    documentCache.invalidateAll();
+  }
+
+  private PreparsedDocumentEntry getEntry(ExecutionInput executionInput,
+      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+    final String query = getQuery(executionInput);
+    final Map<?, ?> persistedQuery = getPersistedQuery(executionInput);
+    final String key;
+    if (persistedQuery == null) {
+      if (query == null) {
+        // Let graphql-java report the missing query
+        return parseAndValidateFunction.apply(executionInput);
+      }
+      key = hash(query);
+    } else {
+      if (!Integer.valueOf(SUPPORTED_PERSISTED_QUERY_VERSION)
+          .equals(persistedQuery.get(PERSISTED_QUERY_VERSION))
+          || !(persistedQuery.get(PERSISTED_QUERY_HASH) instanceof String hash)) {
+        return error(PERSISTED_QUERY_NOT_SUPPORTED);
+      }
+      if (query != null && !hash.equalsIgnoreCase(hash(query))) {
+        return error(PERSISTED_QUERY_HASH_MISMATCH);
+      }
+      key = hash.toLowerCase();
+    }
+
+    final PreparsedDocumentEntry cachedEntry = documentCache.getIfPresent(key);
+    if (cachedEntry != null) {
+      hits.increment();
+      return cachedEntry;
+    }
+    if (query == null) {
+      // Persisted query without text that we don't know (anymore); the client should retry
+      // with the text
+      persistedQueryNotFound.increment();
+      return error(PERSISTED_QUERY_NOT_FOUND);
+    }
+
+    misses.increment();
+    final long start = getCpuTime();
+    final PreparsedDocumentEntry entry = parseAndValidateFunction
+        .apply(executionInput.transform(builder -> builder.query(query)));
+    parseAndValidateNanos.add(getCpuTime() - start);
+    if (!entry.hasErrors()) {
+      documentCache.put(key, entry);
+    }
+    return entry;
+  }
+
+  private static String getQuery(ExecutionInput executionInput) {
+    final String query = executionInput.getQuery();
+    return Utils.isEmptyOrNull(query) || PERSISTED_QUERY_MARKER.equals(query) ? null : query;
+  }
+
+  private static Map<?, ?> getPersistedQuery(ExecutionInput executionInput) {
+    final Map<String, Object> extensions = executionInput.getExtensions();
+    return (extensions != null
+        && extensions.get(PERSISTED_QUERY_EXTENSION) instanceof Map<?, ?> persistedQuery)
+            ? persistedQuery
+            : null;
+  }
+
+  private static String hash(String query) {
+    return Hashing.sha256().hashString(query, StandardCharsets.UTF_8).toString();
+  }
+
+  private static PreparsedDocumentEntry error(String message) {
+    return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError().message(message).build());
+  }
+
+  private static long getCpuTime() {
+    return threadMxBean.isCurrentThreadCpuTimeSupported() ? threadMxBean.getCurrentThreadCpuTime()
+        : System.nanoTime();
+  }
+
+}
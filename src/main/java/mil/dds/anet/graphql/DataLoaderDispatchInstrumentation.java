@@ -0,0 +1,24 @@
+package mil.dds.anet.graphql;
+
+import graphql.GraphQLContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+
+/**
+ * Signals the {@link DataLoaderDispatcher} of a request whenever a field has been fetched, so any
+ * loads enqueued by the field's data fetcher get dispatched right away.
+ */
+public class DataLoaderDispatchInstrumentation extends SimplePerformantInstrumentation {
+
+  @Override
+  public InstrumentationContext<Object> beginFieldFetch(
+      InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+    final GraphQLContext context = parameters.getEnvironment().getGraphQlContext();
+    return SimpleInstrumentationContext
+        .whenDispatched(fetchedValue -> DataLoaderDispatcher.signal(context));
+  }
+
+}
@@ -0,0 +1,149 @@
+package mil.dds.anet.graphql;
+
+import graphql.GraphQLContext;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import org.dataloader.DataLoaderRegistry;
+
+/**
+ * Dispatches the data loaders of a registry as soon as work has been enqueued, instead of polling
+ * them at a fixed interval.
+ *
+ * <p>
+ * Loads are signalled by the fetchers in {@link mil.dds.anet.views} and by the
+ * {@link DataLoaderDispatchInstrumentation} when GraphQL fields have been fetched. Completing a
+ * batch runs the dependent futures (and so enqueues the loads of the next level) before the
+ * dispatch itself completes, so after each dispatch round we can immediately dispatch again; we
+ * only have to wait when nothing is pending yet.
+ */
+public class DataLoaderDispatcher {
+
+  public static final String CONTEXT_KEY = "dataLoaderDispatcher";
+
+  // Safety net in case a load was enqueued without a signal
+  private static final long MAX_IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+  private final DataLoaderRegistry dataLoaderRegistry;
+  private final long batchWindowNanos;
+  private final Lock lock = new ReentrantLock();
+  private final Condition workSignalled = lock.newCondition();
+  private boolean signalled;
+
+  public DataLoaderDispatcher(DataLoaderRegistry dataLoaderRegistry) {
+    this(dataLoaderRegistry, Duration.ZERO);
+  }
+
+  /**
+   * @param dataLoaderRegistry the registry whose data loaders should be dispatched
+   * @param batchWindow how long to wait for more loads after a signal, before dispatching; use
+   *        this when the loads are enqueued from another thread than the one dispatching them
+   */
+  public DataLoaderDispatcher(DataLoaderRegistry dataLoaderRegistry, Duration batchWindow) {
+    this.dataLoaderRegistry = dataLoaderRegistry;
+    this.batchWindowNanos = batchWindow.toNanos();
+  }
+
+  public DataLoaderRegistry getDataLoaderRegistry() {
+    return dataLoaderRegistry;
+  }
+
+  /**
+   * Signal the dispatcher of the given context (if any) that loads may have been enqueued.
+   */
+  public static void signal(GraphQLContext context) {
+    if (context != null && context.get(CONTEXT_KEY) instanceof DataLoaderDispatcher dispatcher) {
+      dispatcher.signal();
+    }
+  }
+
+  /**
+   * Signal this dispatcher that loads may have been enqueued, or that it should check whether it
+   * is done.
+   */
+  public void signal() {
+    lock.lock();
+    try {
+      signalled = true;
+      workSignalled.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Dispatch all data loaders that have pending loads, and wait for their batches to complete.
+   *
+   * @return whether any data loader had pending loads
+   */
+  public boolean dispatchAll() {
+    final CompletableFuture<?>[] dispatchersWithWork = dataLoaderRegistry.getDataLoaders().stream()
+        .filter(dl -> dl.dispatchDepth() > 0).map(dl -> (CompletableFuture<?>) dl.dispatch())
+        .toArray(CompletableFuture<?>[]::new);
+    if (dispatchersWithWork.length == 0) {
+      return false;
+    }
+    CompletableFuture.allOf(dispatchersWithWork).join();
+    return true;
+  }
+
+  /**
+   * Keep dispatching our data loaders until done; we have data loaders at various depths (one
+   * dependent on another), e.g. in {@link mil.dds.anet.beans.Report#loadWorkflow}.
+   *
+   * @param isDone tells whether the dispatcher can stop
+   * @param deadline when to give up, or null to wait indefinitely
+   * @throws TimeoutException when the deadline has passed before being done
+   */
+  public void dispatchUntil(BooleanSupplier isDone, Instant deadline) throws TimeoutException {
+    while (!isDone.getAsBoolean()) {
+      if (deadline != null && Instant.now().isAfter(deadline)) {
+        throw new TimeoutException("Dispatching data loaders took too long");
+      }
+      clearSignal();
+      if (!dispatchAll()) {
+        awaitSignal(isDone, deadline);
+      }
+    }
+  }
+
+  private void clearSignal() {
+    lock.lock();
+    try {
+      signalled = false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void awaitSignal(BooleanSupplier isDone, Instant deadline) {
+    lock.lock();
+    try {
+      long waitNanos = MAX_IDLE_WAIT_NANOS;
+      if (deadline != null) {
+        waitNanos = Math.min(waitNanos, Duration.between(Instant.now(), deadline).toNanos());
+      }
+      while (!signalled && waitNanos > 0 && !isDone.getAsBoolean()) {
+        waitNanos = workSignalled.awaitNanos(waitNanos);
+      }
+      if (signalled && batchWindowNanos > 0) {
+        // Keep collecting loads until the window passes without a new signal
+        do {
+          signalled = false;
+          workSignalled.awaitNanos(batchWindowNanos);
+        } while (signalled && !isDone.getAsBoolean());
+      }
+    } catch (InterruptedException ignored) {
+      // just retry
+    } finally {
+      lock.unlock();
+    }
+  }
+
+}
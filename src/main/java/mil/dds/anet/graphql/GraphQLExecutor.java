@@ -57,6 +57,13 @@ public class GraphQLExecutor {
     }
 
     for (final GraphQLError error : executionResult.getErrors()) {
+      if (CachingPreparsedDocumentProvider.isPersistedQueryError(error)) {
+        // Return these as a normal response, so the client can send the query text
+        return result;
+      }
+      if (error instanceof QueryCostInstrumentation.QueryCostExceededException exception) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, exception.getMessage());
+      }
       if (error instanceof ExceptionWhileDataFetching exception) {
         final Throwable cause = exception.getException();
         if (cause instanceof ResponseStatusException actual) {
@@ -77,9 +84,13 @@ public class GraphQLExecutor {
 
   private ExecutionInput buildInput(GraphQLRequest graphQLRequest,
       DataLoaderRegistry dataLoaderRegistry, final Map<String, Object> context) {
+    // A persisted query may be sent without its text, but the execution input needs one
+    final String query = Objects.requireNonNullElse(graphQLRequest.query(),
+        CachingPreparsedDocumentProvider.PERSISTED_QUERY_MARKER);
     return ExecutionInput.newExecutionInput().operationName(graphQLRequest.operationName())
-        .query(graphQLRequest.query()).variables(graphQLRequest.variables())
-        .dataLoaderRegistry(dataLoaderRegistry).graphQLContext(context).build();
+        .query(query).variables(graphQLRequest.variables())
+        .extensions(graphQLRequest.extensions()).dataLoaderRegistry(dataLoaderRegistry)
+        .graphQLContext(context).build();
   }
 
   private ExecutionResult dispatchRequest(final Principal principal, final GraphQL graphQL,
@@ -87,6 +98,7 @@ public class GraphQLExecutor {
     final BatchingUtils batchingUtils =
         new BatchingUtils(ApplicationContextProvider.getEngine(), true, true);
     final DataLoaderRegistry dataLoaderRegistry = batchingUtils.getDataLoaderRegistry();
+    final DataLoaderDispatcher dataLoaderDispatcher = new DataLoaderDispatcher(dataLoaderRegistry);
     final Map<String, Object> context = new HashMap<>();
     // Is this an AccessTokenPrincipal?
     if (principal instanceof AccessTokenPrincipal accessTokenPrincipal) {
@@ -101,38 +113,20 @@ public class GraphQLExecutor {
     }
 
     context.put("dataLoaderRegistry", dataLoaderRegistry);
+    context.put(DataLoaderDispatcher.CONTEXT_KEY, dataLoaderDispatcher);
 
     final ExecutionInput executionInput = buildInput(graphQLRequest, dataLoaderRegistry, context);
 
     final Instant executionEnd = (graphqlRequestTimeoutMs == null) ? null
         : Instant.now().plusMillis(graphqlRequestTimeoutMs);
     final CompletableFuture<ExecutionResult> request = graphQL.executeAsync(executionInput);
-    final Runnable dispatcher = () -> {
-      while (!request.isDone()) {
-        if (executionEnd != null && Instant.now().isAfter(executionEnd)) {
-          request.completeExceptionally(new TimeoutException("GraphQL request took too long"));
-        } else {
-          // Wait a while, giving other threads the chance to do some work
-          try {
-            Thread.yield();
-            Thread.sleep(50);
-          } catch (InterruptedException ignored) {
-            // just retry
-          }
-
-          // Dispatch all our data loaders until the request is done;
-          // we have data loaders at various depths (one dependent on another),
-          // e.g. in {@link Report#loadWorkflow}
-          final CompletableFuture<?>[] dispatchersWithWork = dataLoaderRegistry.getDataLoaders()
-              .stream().filter(dl -> dl.dispatchDepth() > 0)
-              .map(dl -> (CompletableFuture<?>) dl.dispatch()).toArray(CompletableFuture<?>[]::new);
-          if (dispatchersWithWork.length > 0) {
-            CompletableFuture.allOf(dispatchersWithWork).join();
-          }
-        }
-      }
-    };
-    dispatcher.run();
+    // Make sure the dispatcher stops waiting as soon as the request is done
+    request.whenComplete((r, t) -> dataLoaderDispatcher.signal());
+    try {
+      dataLoaderDispatcher.dispatchUntil(request::isDone, executionEnd);
+    } catch (TimeoutException e) {
+      request.completeExceptionally(new TimeoutException("GraphQL request took too long"));
+    }
     try {
       return request.get();
     } catch (InterruptedException | ExecutionException e) {
@@ -143,8 +137,6 @@ public class GraphQLExecutor {
         throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
             "failed to complete graphql request", e);
       }
-    } finally {
-      batchingUtils.shutdown();
     }
   }
 
@@ -4,14 +4,20 @@ import java.util.Collections;
 import java.util.Map;
 
 public record GraphQLRequest(String id, String query, String operationName,
-    Map<String, Object> variables) {
+    Map<String, Object> variables, Map<String, Object> extensions) {
 
   public GraphQLRequest(String id, String query, String operationName,
-      Map<String, Object> variables) {
+      Map<String, Object> variables, Map<String, Object> extensions) {
     this.id = id;
     this.query = query;
     this.operationName = operationName;
     this.variables = variables != null ? variables : Collections.emptyMap();
+    this.extensions = extensions != null ? extensions : Collections.emptyMap();
+  }
+
+  public GraphQLRequest(String id, String query, String operationName,
+      Map<String, Object> variables) {
+    this(id, query, operationName, variables, null);
   }
 
 }
@@ -0,0 +1,181 @@
+package mil.dds.anet.graphql;
+
+import graphql.ExecutionResult;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLTypeUtil;
+import java.lang.invoke.MethodHandles;
+import java.security.Principal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import mil.dds.anet.beans.metrics.QueryCostStatistic;
+import mil.dds.anet.config.AnetConfig;
+import mil.dds.anet.config.AnetConfig.GraphqlCostConfiguration;
+import mil.dds.anet.utils.DaoUtils;
+import mil.dds.anet.ws.security.AccessTokenPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Computes the cost of a GraphQL operation before it is executed, and rejects it when the cost
+ * exceeds the budget of the principal. The cost is the number of fields the operation could
+ * return: each field counts once for every item of the lists it is nested in, where the size of a
+ * paginated list is the requested pageSize, and of other lists a configured estimate. All results
+ * (a pageSize of 0) count as a configured estimate of the number of rows, which also caps any
+ * explicit pageSize, so asking for all results never costs less than asking for a single page.
+ */
+@Component
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  private static final String QUERY_ARGUMENT = "query";
+  private static final String PAGE_SIZE = "pageSize";
+  private static final String ANONYMOUS_OPERATION = "(anonymous)";
+  private static final String OTHER_OPERATIONS = "(other)";
+  // Operation names are chosen by the client, so limit the number we keep statistics for
+  private static final int MAX_OPERATIONS = 1000;
+  // Way over any budget, but no risk of overflowing when adding up
+  private static final long MAX_MULTIPLIER = 1L << 40;
+
+  private static final class OperationCost {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder totalCost = new LongAdder();
+    private final LongAccumulator maxCost = new LongAccumulator(Long::max, 0);
+    private volatile long lastCost;
+  }
+
+  private final GraphqlCostConfiguration config;
+  private final Map<String, OperationCost> operationCosts = new ConcurrentHashMap<>();
+
+  public QueryCostInstrumentation(AnetConfig config) {
+    this.config = config.getGraphqlCost();
+  }
+
+  public static class QueryCostExceededException extends AbortExecutionException {
+    private static final long serialVersionUID = 1L;
+
+    public QueryCostExceededException(String message) {
+      super(message);
+    }
+  }
+
+  @Override
+  public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+      InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+    final ExecutionContext executionContext = parameters.getExecutionContext();
+    final long cost = computeCost(executionContext);
+    final String operationName = executionContext.getOperationDefinition().getName();
+    final Principal principal =
+        DaoUtils.getPrincipalFromContext(executionContext.getGraphQLContext());
+    final long budget = (principal instanceof AccessTokenPrincipal) ? config.getAccessTokenBudget()
+        : config.getUserBudget();
+    final boolean rejected = budget > 0 && cost > budget;
+    record(operationName, cost, rejected);
+    if (rejected) {
+      logger.warn("Rejecting GraphQL operation {} with cost {} exceeding the budget of {} for {}",
+          operationName, cost, budget, principal == null ? null : principal.getName());
+      throw new QueryCostExceededException(String.format(
+          "Query is too expensive: its cost of %1$d exceeds the budget of %2$d;"
+              + " please request fewer fields or smaller pages",
+          cost, budget));
+    }
+    return super.beginExecuteOperation(parameters, state);
+  }
+
+  /**
+   * Compute the cost of the operation to be executed.
+   *
+   * @param executionContext the execution context of the operation
+   * @return the cost
+   */
+  public long computeCost(ExecutionContext executionContext) {
+    final QueryTraverser queryTraverser =
+        QueryTraverser.newQueryTraverser().schema(executionContext.getGraphQLSchema())
+            .document(executionContext.getDocument())
+            .operationName(executionContext.getExecutionInput().getOperationName())
+            .coercedVariables(executionContext.getCoercedVariables()).build();
+    final LongAdder cost = new LongAdder();
+    queryTraverser.visitPreOrder(new QueryVisitorStub() {
+      @Override
+      public void visitField(QueryVisitorFieldEnvironment env) {
+        if (!env.isTypeNameIntrospectionField()) {
+          cost.add(getMultiplier(env.getParentEnvironment()));
+        }
+      }
+    });
+    return cost.sum();
+  }
+
+  public List<QueryCostStatistic> getStatistics() {
+    return operationCosts.entrySet().stream()
+        .map(e -> new QueryCostStatistic(e.getKey(), e.getValue().count.sum(),
+            e.getValue().rejectedCount.sum(), e.getValue().lastCost, e.getValue().maxCost.get(),
+            e.getValue().totalCost.sum()))
+        .sorted(Comparator.comparing(QueryCostStatistic::getOperationName)).toList();
+  }
+
+  /**
+   * @return the number of times a field nested in the given field may occur in the result
+   */
+  private long getMultiplier(QueryVisitorFieldEnvironment env) {
+    long multiplier = 1;
+    for (QueryVisitorFieldEnvironment e = env; e != null; e = e.getParentEnvironment()) {
+      final long listSize = getListSize(e);
+      multiplier =
+          (listSize > MAX_MULTIPLIER / multiplier) ? MAX_MULTIPLIER : multiplier * listSize;
+    }
+    return multiplier;
+  }
+
+  private long getListSize(QueryVisitorFieldEnvironment env) {
+    if (!(GraphQLTypeUtil.unwrapNonNull(env.getFieldDefinition().getType())
+        instanceof GraphQLList)) {
+      return 1;
+    }
+    // The list of a search result has the pageSize of the search query
+    final QueryVisitorFieldEnvironment parentEnv = env.getParentEnvironment();
+    if (parentEnv != null
+        && parentEnv.getArguments().get(QUERY_ARGUMENT) instanceof Map<?, ?> query
+        && query.get(PAGE_SIZE) instanceof Number pageSize) {
+      // A pageSize of 0 means all results, and no page holds more than all results
+      final long unboundedPageSize = config.getUnboundedPageSize();
+      return (pageSize.longValue() <= 0) ? unboundedPageSize
+          : Math.min(pageSize.longValue(), unboundedPageSize);
+    }
+    return config.getDefaultListSize();
+  }
+
+  private void record(String operationName, long cost, boolean rejected) {
+    final String key = (operationName == null) ? ANONYMOUS_OPERATION : operationName;
+    OperationCost operationCost = operationCosts.get(key);
+    if (operationCost == null) {
+      operationCost = operationCosts.computeIfAbsent(
+          (operationCosts.size() < MAX_OPERATIONS) ? key : OTHER_OPERATIONS,
+          k -> new OperationCost());
+    }
+    operationCost.count.increment();
+    operationCost.totalCost.add(cost);
+    operationCost.maxCost.accumulate(cost);
+    operationCost.lastCost = cost;
+    if (rejected) {
+      operationCost.rejectedCount.increment();
+    }
+  }
+
+}
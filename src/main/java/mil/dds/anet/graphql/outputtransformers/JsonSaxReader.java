@@ -0,0 +1,169 @@
+package mil.dds.anet.graphql.outputtransformers;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import javax.xml.transform.sax.SAXSource;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.DTDHandler;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * Presents a JSON object (as returned by GraphQL) as SAX events, structured like the XML output of
+ * {@link JsonToXmlTransformer}, so it can be transformed without first being serialized to (and
+ * parsed from) an XML string.
+ */
+public class JsonSaxReader implements XMLReader {
+
+  private static final String ROOT = "root";
+  private static final String ELEMENT = "element";
+  private static final Pattern INVALID_NAME_CHARS = Pattern.compile("[^A-Za-z0-9_.-]");
+  private static final Attributes NO_ATTRIBUTES = new AttributesImpl();
+
+  private final Map<String, Object> json;
+  private final Map<String, Boolean> features = new HashMap<>();
+  private final Map<String, Object> properties = new HashMap<>();
+  private ContentHandler contentHandler;
+  private DTDHandler dtdHandler;
+  private EntityResolver entityResolver;
+  private ErrorHandler errorHandler;
+
+  public JsonSaxReader(Map<String, Object> json) {
+    this.json = json;
+  }
+
+  public SAXSource toSource() {
+    return new SAXSource(this, new InputSource());
+  }
+
+  @Override
+  public void parse(InputSource input) throws IOException, SAXException {
+    if (contentHandler == null) {
+      return;
+    }
+    contentHandler.startDocument();
+    if (json.size() == 1 && json.values().iterator().next() instanceof Map) {
+      final Map.Entry<String, Object> entry = json.entrySet().iterator().next();
+      writeElement(getElementName(entry.getKey()), entry.getValue());
+    } else {
+      writeElement(ROOT, json);
+    }
+    contentHandler.endDocument();
+  }
+
+  @Override
+  public void parse(String systemId) throws IOException, SAXException {
+    parse(new InputSource(systemId));
+  }
+
+  private void writeElement(String name, Object value) throws SAXException {
+    if (value instanceof Map<?, ?> map) {
+      contentHandler.startElement("", name, name, NO_ATTRIBUTES);
+      for (final Map.Entry<?, ?> entry : map.entrySet()) {
+        writeElement(getElementName(String.valueOf(entry.getKey())), entry.getValue());
+      }
+      contentHandler.endElement("", name, name);
+    } else if (value instanceof List<?> list) {
+      final Attributes attributes = list.isEmpty() ? getTypeAttribute("empty-array")
+          : list.size() == 1 ? getTypeAttribute("array") : NO_ATTRIBUTES;
+      contentHandler.startElement("", name, name, attributes);
+      for (final Object element : list) {
+        writeElement(ELEMENT, element);
+      }
+      contentHandler.endElement("", name, name);
+    } else if (value == null) {
+      contentHandler.startElement("", name, name, getTypeAttribute("null"));
+      contentHandler.endElement("", name, name);
+    } else {
+      final String text = value.toString();
+      final Attributes attributes = (value instanceof Number) ? getTypeAttribute("number")
+          : (value instanceof Boolean) ? getTypeAttribute("boolean")
+              : text.isEmpty() ? getTypeAttribute("string") : NO_ATTRIBUTES;
+      contentHandler.startElement("", name, name, attributes);
+      contentHandler.characters(text.toCharArray(), 0, text.length());
+      contentHandler.endElement("", name, name);
+    }
+  }
+
+  private static Attributes getTypeAttribute(String type) {
+    final AttributesImpl attributes = new AttributesImpl();
+    attributes.addAttribute("", type, type, "CDATA", "true");
+    return attributes;
+  }
+
+  private static String getElementName(String key) {
+    final String name = INVALID_NAME_CHARS.matcher(key).replaceAll("_");
+    return (name.isEmpty() || !Character.isLetter(name.charAt(0)) && name.charAt(0) != '_')
+        ? "_" + name
+        : name;
+  }
+
+  @Override
+  public boolean getFeature(String name) {
+    return features.getOrDefault(name, false);
+  }
+
+  @Override
+  public void setFeature(String name, boolean value) {
+    features.put(name, value);
+  }
+
+  @Override
+  public Object getProperty(String name) {
+    return properties.get(name);
+  }
+
+  @Override
+  public void setProperty(String name, Object value) {
+    properties.put(name, value);
+  }
+
+  @Override
+  public void setEntityResolver(EntityResolver resolver) {
+    this.entityResolver = resolver;
+  }
+
+  @Override
+  public EntityResolver getEntityResolver() {
+    return entityResolver;
+  }
+
+  @Override
+  public void setDTDHandler(DTDHandler handler) {
+    this.dtdHandler = handler;
+  }
+
+  @Override
+  public DTDHandler getDTDHandler() {
+    return dtdHandler;
+  }
+
+  @Override
+  public void setContentHandler(ContentHandler handler) {
+    this.contentHandler = handler;
+  }
+
+  @Override
+  public ContentHandler getContentHandler() {
+    return contentHandler;
+  }
+
+  @Override
+  public void setErrorHandler(ErrorHandler handler) {
+    this.errorHandler = handler;
+  }
+
+  @Override
+  public ErrorHandler getErrorHandler() {
+    return errorHandler;
+  }
+
+}
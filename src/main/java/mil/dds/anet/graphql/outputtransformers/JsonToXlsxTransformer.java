@@ -10,20 +10,27 @@ import java.util.Map.Entry;
 import java.util.function.Function;
 import mil.dds.anet.config.AnetDictionary;
 import mil.dds.anet.utils.Utils;
+import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.CreationHelper;
 import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
 import org.apache.poi.ss.usermodel.HorizontalAlignment;
 import org.apache.poi.ss.usermodel.IndexedColors;
-import org.apache.poi.xssf.usermodel.XSSFCell;
-import org.apache.poi.xssf.usermodel.XSSFFont;
-import org.apache.poi.xssf.usermodel.XSSFRow;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
-public class JsonToXlsxTransformer implements Function<Map<String, Object>, XSSFWorkbook> {
+/**
+ * Converts a GraphQL result to a streaming workbook: only a window of rows is kept in memory, the
+ * others are flushed to a temporary file until the workbook is written. Close the workbook
+ * afterwards, so the temporary files get cleaned up.
+ */
+public class JsonToXlsxTransformer implements Function<Map<String, Object>, SXSSFWorkbook> {
 
   private static final String RESULT_KEY_DATA = "data";
+  // Number of rows kept in memory
+  private static final int ROW_ACCESS_WINDOW_SIZE = 100;
 
   private final AnetDictionary dict;
 
@@ -31,19 +38,20 @@ public class JsonToXlsxTransformer implements Function<Map<String, Object>, XSSF
     this.dict = dict;
   }
 
-  public XSSFWorkbook apply(final Map<String, Object> json) {
+  public SXSSFWorkbook apply(final Map<String, Object> json) {
     return createWorkbook(json);
   }
 
   /**
-   * Converts the supplied result object to a {@link XSSFWorkbook}.
+   * Converts the supplied result object to a {@link SXSSFWorkbook}.
    * 
    * @param resultMap the content map
    * @return the workbook
    */
-  private XSSFWorkbook createWorkbook(final Map<String, Object> resultMap) {
+  private SXSSFWorkbook createWorkbook(final Map<String, Object> resultMap) {
 
-    final XSSFWorkbook workbook = new XSSFWorkbook();
+    final SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW_SIZE);
+    workbook.setCompressTempFiles(true);
 
     for (Entry<String, Object> entry : resultMap.entrySet()) {
       if (entry.getValue() instanceof Map<?, ?>) {
@@ -61,7 +69,7 @@ public class JsonToXlsxTransformer implements Function<Map<String, Object>, XSSF
    * @param name the name of the collection
    * @param data the map to obtain the data from to populate the workbook
    */
-  private void locateData(final XSSFWorkbook workbook, final String name, final Map<?, ?> data) {
+  private void locateData(final SXSSFWorkbook workbook, final String name, final Map<?, ?> data) {
 
     if (RESULT_KEY_DATA.equals(name)) {
       // Go through all data collections
@@ -84,13 +92,13 @@ public class JsonToXlsxTransformer implements Function<Map<String, Object>, XSSF
    * @param name the name for the sheet
    * @param data the data used to populate the sheet
    */
-  private void createSheet(final XSSFWorkbook workbook, final String name, final Map<?, ?> data) {
+  private void createSheet(final SXSSFWorkbook workbook, final String name, final Map<?, ?> data) {
 
-    final XSSFSheet sheet = workbook.createSheet(name);
+    final SXSSFSheet sheet = workbook.createSheet(name);
 
     sheet.setDefaultColumnWidth(30);
 
-    final XSSFFont headerFont = workbook.createFont();
+    final Font headerFont = workbook.createFont();
     headerFont.setFontHeightInPoints((short) 10);
     headerFont.setFontName("Arial");
     headerFont.setColor(IndexedColors.WHITE.getIndex());
@@ -109,12 +117,36 @@ public class JsonToXlsxTransformer implements Function<Map<String, Object>, XSSF
         .getFormat((String) dict.getDictionaryEntry("dateFormats.excel"));
     dateStyle.setDataFormat(dateFormat);
 
-    final XSSFRow header = sheet.createRow(0);
+    final Row header = sheet.createRow(0);
     header.setRowStyle(headerStyle);
 
     for (Entry<?, ?> entry : data.entrySet()) {
       if (entry.getValue() instanceof List<?>) {
-        createRow(sheet, header, dateStyle, (List<?>) entry.getValue());
+        createHeader(header, (List<?>) entry.getValue());
+        createRow(sheet, dateStyle, (List<?>) entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * Create the header cells for the supplied data. As rows are flushed to disk once they leave the
+   * window, they have to be created before any data rows.
+   *
+   * @param header the header row
+   * @param data the data
+   */
+  private static void createHeader(final Row header, final List<?> data) {
+    for (final Object value : data) {
+      if (value instanceof Map<?, ?> map) {
+        int column = 0;
+        for (final Object key : map.keySet()) {
+          if (header.getCell(column) == null) {
+            final Cell headerCell = header.createCell(column);
+            headerCell.setCellValue(String.valueOf(key).toUpperCase());
+            headerCell.setCellStyle(header.getRowStyle());
+          }
+          column++;
+        }
       }
     }
   }
@@ -123,18 +155,17 @@ public class JsonToXlsxTransformer implements Function<Map<String, Object>, XSSF
    * Create a row in the supplied sheet using the supplied data.
    * 
    * @param sheet the sheet
-   * @param header the header row
    * @param dateStyle the style for date cells
    * @param data the data
    */
-  private static void createRow(final XSSFSheet sheet, final XSSFRow header,
-      final CellStyle dateStyle, final List<?> data) {
+  private static void createRow(final SXSSFSheet sheet, final CellStyle dateStyle,
+      final List<?> data) {
 
     int rowCount = 1;
 
     for (Object value : data) {
       if (value instanceof Map<?, ?>) {
-        createColumns(header, sheet.createRow(rowCount++), dateStyle, (Map<?, ?>) value);
+        createColumns(sheet.createRow(rowCount++), dateStyle, (Map<?, ?>) value);
       }
     }
   }
@@ -142,24 +173,17 @@ public class JsonToXlsxTransformer implements Function<Map<String, Object>, XSSF
   /**
    * Create a column in a row of data.
    * 
-   * @param header the header row
    * @param row the row of data
    * @param dateStyle the style for date cells
    * @param data the data
    */
-  private static void createColumns(final XSSFRow header, final XSSFRow row,
-      final CellStyle dateStyle, final Map<?, ?> data) {
+  private static void createColumns(final Row row, final CellStyle dateStyle,
+      final Map<?, ?> data) {
 
     int column = 0;
 
     for (Entry<?, ?> entry : data.entrySet()) {
-      if (header.getCell(column) == null) {
-        final XSSFCell headerCell = header.createCell(column);
-        headerCell.setCellValue(String.valueOf(entry.getKey()).toUpperCase());
-        headerCell.setCellStyle(header.getRowStyle());
-      }
-
-      final XSSFCell cell = row.createCell(column);
+      final Cell cell = row.createCell(column);
       cell.setCellStyle(row.getRowStyle());
 
       final Object repr = getValueRepr(entry.getValue());
@@ -2,12 +2,13 @@ package mil.dds.anet.graphql.outputtransformers;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import javax.xml.transform.TransformerException;
 import mil.dds.anet.config.ApplicationContextProvider;
-import mil.dds.anet.resources.GraphQLResource;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -58,40 +59,60 @@ public class ResourceTransformers {
         }
 
         private void writeWorkbook(final OutputStream output, final Map<String, Object> json) {
-          try (final XSSFWorkbook workbook = xlsxTransformer.apply(json)) {
+          final SXSSFWorkbook workbook = xlsxTransformer.apply(json);
+          try (workbook) {
             workbook.write(output);
           } catch (IOException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                 "Error writing XLSX", e);
+          } finally {
+            // Remove the temporary files of the flushed rows
+            workbook.dispose();
           }
         }
       };
 
-  public static final ResourceTransformer<String> xmlTransformer =
+  public static final ResourceTransformer<StreamingResponseBody> xmlTransformer =
       new ResourceTransformer<>("xml", MediaType.APPLICATION_XML) {
         final JsonToXmlTransformer jsonToXmlTransformer = new JsonToXmlTransformer();
 
         @Override
-        public ResponseEntity<String> apply(final Map<String, Object> json) {
-          return ResponseEntity.ok().contentType(this.mediaType)
-              .body(jsonToXmlTransformer.apply(json));
+        public ResponseEntity<StreamingResponseBody> apply(final Map<String, Object> json) {
+          return ResponseEntity.ok().contentType(this.mediaType).body(out -> writeXml(out, json));
+        }
+
+        private void writeXml(final OutputStream output, final Map<String, Object> json)
+            throws IOException {
+          final String xml = jsonToXmlTransformer.apply(json);
+          if (xml != null) {
+            output.write(xml.getBytes(StandardCharsets.UTF_8));
+          }
         }
       };
 
-  public static final ResourceTransformer<String> kmlTransformer =
+  public static final ResourceTransformer<StreamingResponseBody> kmlTransformer =
       new ResourceTransformer<>("kml", MediaType.APPLICATION_XML) {
-        final JsonToXmlTransformer jsonToXmlTransformer = new JsonToXmlTransformer();
-        final XsltXmlTransformer xsltXmlTransformer = new XsltXmlTransformer(
-            GraphQLResource.class.getResourceAsStream("/stylesheets/kml.xslt"));
+        final XsltXmlTransformer xsltXmlTransformer =
+            new XsltXmlTransformer("/stylesheets/kml.xslt");
 
         @Override
-        public ResponseEntity<String> apply(final Map<String, Object> json) {
+        public ResponseEntity<StreamingResponseBody> apply(final Map<String, Object> json) {
+          // Stream the transformation result directly to the response
           return ResponseEntity.ok().contentType(this.mediaType)
-              .body(xsltXmlTransformer.apply(jsonToXmlTransformer.apply(json)));
+              .body(out -> writeKml(out, json));
+        }
+
+        private void writeKml(final OutputStream output, final Map<String, Object> json) {
+          try {
+            xsltXmlTransformer.transform(json, output);
+          } catch (TransformerException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                "Error writing KML", e);
+          }
         }
       };
 
-  public static final List<ResourceTransformer<String>> xmlTransformers =
+  public static final List<ResourceTransformer<StreamingResponseBody>> xmlTransformers =
       List.of(xmlTransformer, kmlTransformer);
 
 }
@@ -1,11 +1,14 @@
 package mil.dds.anet.graphql.outputtransformers;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.UnaryOperator;
-import javax.xml.transform.Transformer;
+import javax.xml.transform.Templates;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
@@ -15,32 +18,56 @@ import mil.dds.anet.utils.ResponseUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Transforms XML with a stylesheet. The stylesheet is compiled only once into (thread-safe)
+ * templates, and each transformation gets its own (cheap) transformer, as transformers can't be
+ * shared between threads.
+ */
 public class XsltXmlTransformer implements UnaryOperator<String> {
 
   private static final Logger logger =
       LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-  private Transformer transformer;
+  // Compiled stylesheets, by resource name
+  private static final Map<String, Templates> templatesCache = new ConcurrentHashMap<>();
 
-  public XsltXmlTransformer(final InputStream stylesheetInputStream) {
+  private final String stylesheetResource;
+
+  /**
+   * @param stylesheetResource the resource name of the stylesheet
+   */
+  public XsltXmlTransformer(final String stylesheetResource) {
+    this.stylesheetResource = stylesheetResource;
+  }
+
+  private Templates getTemplates() {
+    return templatesCache.computeIfAbsent(stylesheetResource,
+        XsltXmlTransformer::compileStylesheet);
+  }
+
+  private static Templates compileStylesheet(final String stylesheetResource) {
     final TransformerFactory transformerFactory = ResponseUtils.getTransformerFactory();
     if (transformerFactory != null) {
-      try {
-        transformer = transformerFactory.newTransformer(new StreamSource(stylesheetInputStream));
-      } catch (TransformerConfigurationException e) {
+      try (final InputStream stylesheetInputStream =
+          XsltXmlTransformer.class.getResourceAsStream(stylesheetResource)) {
+        return transformerFactory.newTemplates(new StreamSource(stylesheetInputStream));
+      } catch (Exception e) {
         logger.error("Error transforming stylesheet", e);
       }
     }
+    // Not cached, so we will try again next time
+    return null;
   }
 
   @Override
   public String apply(final String xml) {
     final StringWriter writer = new StringWriter();
 
-    if (transformer != null) {
+    final Templates templates = getTemplates();
+    if (templates != null) {
       try {
         final StreamSource inputXmlSource = new StreamSource(new StringReader(xml));
-        transformer.transform(inputXmlSource, new StreamResult(writer));
+        templates.newTransformer().transform(inputXmlSource, new StreamResult(writer));
       } catch (TransformerException e) {
         logger.error("Error transforming xml", e);
       }
@@ -48,4 +75,21 @@ public class XsltXmlTransformer implements UnaryOperator<String> {
 
     return writer.toString();
   }
+
+  /**
+   * Transform the JSON object (as XML) and write the result directly to the output.
+   *
+   * @param json the JSON object to transform
+   * @param output the output to write to
+   * @throws TransformerException when the transformation fails
+   */
+  public void transform(final Map<String, Object> json, final OutputStream output)
+      throws TransformerException {
+    final Templates templates = getTemplates();
+    if (templates == null) {
+      throw new TransformerConfigurationException("Stylesheet could not be compiled");
+    }
+    templates.newTransformer().transform(new JsonSaxReader(json).toSource(),
+        new StreamResult(output));
+  }
 }
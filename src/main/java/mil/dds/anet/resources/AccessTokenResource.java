@@ -10,6 +10,7 @@ import mil.dds.anet.beans.AccessToken;
 import mil.dds.anet.beans.Person;
 import mil.dds.anet.database.AccessTokenDao;
 import mil.dds.anet.database.AuditTrailDao;
+import mil.dds.anet.database.cache.AccessTokenPrincipalCache;
 import mil.dds.anet.utils.AuthUtils;
 import mil.dds.anet.utils.DaoUtils;
 import org.springframework.http.HttpStatus;
@@ -21,10 +22,13 @@ public class AccessTokenResource {
 
   private final AuditTrailDao auditTrailDao;
   private final AccessTokenDao accessTokenDao;
+  private final AccessTokenPrincipalCache accessTokenPrincipalCache;
 
-  public AccessTokenResource(AuditTrailDao auditTrailDao, AccessTokenDao accessTokenDao) {
+  public AccessTokenResource(AuditTrailDao auditTrailDao, AccessTokenDao accessTokenDao,
+      AccessTokenPrincipalCache accessTokenPrincipalCache) {
     this.auditTrailDao = auditTrailDao;
     this.accessTokenDao = accessTokenDao;
+    this.accessTokenPrincipalCache = accessTokenPrincipalCache;
   }
 
   @GraphQLQuery(name = "accessToken")
@@ -76,6 +80,8 @@ public class AccessTokenResource {
       throw new ResponseStatusException(HttpStatus.NOT_FOUND,
           "Couldn't process access token update");
     }
+    // Make sure the new expiry and scope take effect immediately
+    accessTokenPrincipalCache.evictByUuid(at.getUuid());
 
     // Log the change
     auditTrailDao.logUpdate(user, AccessTokenDao.TABLE_NAME, at);
@@ -98,6 +104,7 @@ public class AccessTokenResource {
       throw new ResponseStatusException(HttpStatus.NOT_FOUND,
           "Couldn't process access token delete");
     }
+    accessTokenPrincipalCache.evictByUuid(uuid);
 
     // Log the change
     auditTrailDao.logDelete(user, AccessTokenDao.TABLE_NAME, existing);
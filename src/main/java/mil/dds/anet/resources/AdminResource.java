@@ -14,25 +14,45 @@ import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import javax.cache.Cache;
+import mil.dds.anet.AnetObjectEngine;
 import mil.dds.anet.beans.AdminSetting;
 import mil.dds.anet.beans.Person;
 import mil.dds.anet.beans.UserActivity;
 import mil.dds.anet.beans.lists.AnetBeanList;
+import mil.dds.anet.beans.metrics.AccessTokenCacheStatistics;
+import mil.dds.anet.beans.metrics.ApprovalChainCacheStatistics;
+import mil.dds.anet.beans.metrics.DataLoaderStatistic;
+import mil.dds.anet.beans.metrics.DataLoaderStatistics;
+import mil.dds.anet.beans.metrics.GraphQLDocumentCacheStatistics;
+import mil.dds.anet.beans.metrics.MaterializedViewStatistic;
+import mil.dds.anet.beans.metrics.QueryCostStatistic;
+import mil.dds.anet.beans.metrics.StatementStatistic;
+import mil.dds.anet.beans.metrics.WriteBehindBufferStatistic;
 import mil.dds.anet.beans.recentActivity.Activity;
 import mil.dds.anet.beans.recentActivity.RecentActivities;
 import mil.dds.anet.beans.recentActivity.RecentUserActivity;
 import mil.dds.anet.beans.search.UserActivitySearchQuery;
 import mil.dds.anet.config.AnetConfig;
 import mil.dds.anet.config.AnetDictionary;
+import mil.dds.anet.database.ActivityRecorder;
 import mil.dds.anet.database.AdminDao;
 import mil.dds.anet.database.AuditTrailDao;
+import mil.dds.anet.database.StatementMetrics;
 import mil.dds.anet.database.UserActivityDao;
+import mil.dds.anet.database.cache.AccessTokenPrincipalCache;
+import mil.dds.anet.database.cache.ApprovalChainCache;
+import mil.dds.anet.database.cache.HierarchyCache;
 import mil.dds.anet.database.cache.PersonCache;
 import mil.dds.anet.graphql.AllowUnverifiedUsers;
+import mil.dds.anet.graphql.CachingPreparsedDocumentProvider;
+import mil.dds.anet.graphql.QueryCostInstrumentation;
 import mil.dds.anet.services.IMartDictionaryService;
+import mil.dds.anet.threads.MaterializedViewForLinksRefreshWorker;
 import mil.dds.anet.utils.AnetConstants;
 import mil.dds.anet.utils.AuthUtils;
+import mil.dds.anet.utils.BatchingUtils;
 import mil.dds.anet.utils.DaoUtils;
+import mil.dds.anet.utils.DataLoaderExecutor;
 import mil.dds.anet.utils.SecurityUtils;
 import mil.dds.anet.utils.Utils;
 import org.springframework.http.ContentDisposition;
@@ -53,26 +73,47 @@ public class AdminResource {
   public static final String ADMIN_RESOURCE_PATH = "/api/admin";
   public static final String DICTIONARY_PATH = "/dictionary";
   public static final String DICTIONARY_MART_PATH = "/martDictionary";
+  public static final String STATEMENT_METRICS_PATH = "/statementMetrics";
   public static final String ADMIN_DICTIONARY_RESOURCE_PATH = ADMIN_RESOURCE_PATH + DICTIONARY_PATH;
 
   private final AnetConfig config;
+  private final AnetObjectEngine engine;
   private final AnetDictionary dict;
   private final PersonCache personCache;
   private final AuditTrailDao auditTrailDao;
   private final AdminDao adminDao;
   private final UserActivityDao userActivityDao;
   private final IMartDictionaryService martDictionaryService;
+  private final CachingPreparsedDocumentProvider preparsedDocumentProvider;
+  private final QueryCostInstrumentation queryCostInstrumentation;
+  private final StatementMetrics statementMetrics;
+  private final ActivityRecorder activityRecorder;
+  private final AccessTokenPrincipalCache accessTokenPrincipalCache;
+  private final HierarchyCache hierarchyCache;
+  private final ApprovalChainCache approvalChainCache;
 
-  public AdminResource(AnetConfig config, AnetDictionary dict, PersonCache personCache,
-      AuditTrailDao auditTrailDao, AdminDao adminDao, UserActivityDao userActivityDao,
-      IMartDictionaryService martDictionaryService) {
+  public AdminResource(AnetConfig config, AnetObjectEngine engine, AnetDictionary dict,
+      PersonCache personCache, AuditTrailDao auditTrailDao, AdminDao adminDao,
+      UserActivityDao userActivityDao, IMartDictionaryService martDictionaryService,
+      CachingPreparsedDocumentProvider preparsedDocumentProvider,
+      QueryCostInstrumentation queryCostInstrumentation, StatementMetrics statementMetrics,
+      ActivityRecorder activityRecorder, AccessTokenPrincipalCache accessTokenPrincipalCache,
+      HierarchyCache hierarchyCache, ApprovalChainCache approvalChainCache) {
     this.config = config;
+    this.engine = engine;
     this.dict = dict;
     this.personCache = personCache;
     this.auditTrailDao = auditTrailDao;
     this.adminDao = adminDao;
     this.userActivityDao = userActivityDao;
     this.martDictionaryService = martDictionaryService;
+    this.preparsedDocumentProvider = preparsedDocumentProvider;
+    this.queryCostInstrumentation = queryCostInstrumentation;
+    this.statementMetrics = statementMetrics;
+    this.activityRecorder = activityRecorder;
+    this.accessTokenPrincipalCache = accessTokenPrincipalCache;
+    this.hierarchyCache = hierarchyCache;
+    this.approvalChainCache = approvalChainCache;
   }
 
   @GraphQLQuery(name = "adminSettings")
@@ -119,6 +160,16 @@ public class AdminResource {
         .body(Utils.toYamlStream(martDictionaryService.createDictionaryForMart()));
   }
 
+  /**
+   * Returns the statistics of the SQL statements since startup, for scraping by Prometheus
+   */
+  @GetMapping(path = STATEMENT_METRICS_PATH, produces = MediaType.TEXT_PLAIN_VALUE)
+  public String getStatementMetrics(Principal principal) {
+    final Person user = SecurityUtils.getPersonFromPrincipal(principal);
+    AuthUtils.assertAdministrator(user);
+    return statementMetrics.getPrometheusText();
+  }
+
   /**
    * If anet-dictionary.yml file is changed manually while ANET is up and running ,this method can
    * be used to reload the dictionary with new values without restarting the server
@@ -149,13 +200,16 @@ public class AdminResource {
   }
 
   /**
-   * Clears Domain Users Cache
+   * Clears Domain Users Cache and Access Token Cache
    */
   @GraphQLMutation(name = "clearCache")
   public String clearCache(@GraphQLRootContext GraphQLContext context) {
     final Person user = DaoUtils.getUserFromContext(context);
     AuthUtils.assertAdministrator(user);
     final String result = personCache.clearCache();
+    accessTokenPrincipalCache.clearCache();
+    hierarchyCache.clearCache();
+    approvalChainCache.clearCache();
 
     // Log the change
     auditTrailDao.logUpdate(user, Instant.now(), "cache has been cleared");
@@ -189,6 +243,100 @@ public class AdminResource {
     return new RecentActivities(byActivity, byUser);
   }
 
+  /**
+   * Returns the usage of the shared data loader executor, and the statistics of each data loader
+   * since startup
+   */
+  @GraphQLQuery(name = "dataLoaderStatistics")
+  public DataLoaderStatistics getDataLoaderStatistics(@GraphQLRootContext GraphQLContext context) {
+    final Person user = DaoUtils.getUserFromContext(context);
+    AuthUtils.assertAdministrator(user);
+    final DataLoaderExecutor executor = engine.getDataLoaderExecutor();
+    final List<DataLoaderStatistic> dataLoaders = BatchingUtils.getStatistics().entrySet().stream()
+        .map(e -> new DataLoaderStatistic(e.getKey(), e.getValue())).toList();
+    return new DataLoaderStatistics(executor.isVirtualThreads(), executor.getMaxConcurrency(),
+        executor.getActiveCount(), executor.getQueueDepth(), executor.getCompletedCount(),
+        dataLoaders);
+  }
+
+  /**
+   * Returns the hit/miss statistics of the parsed GraphQL document cache since startup
+   */
+  @GraphQLQuery(name = "graphQLDocumentCacheStatistics")
+  public GraphQLDocumentCacheStatistics getGraphQLDocumentCacheStatistics(
+      @GraphQLRootContext GraphQLContext context) {
+    final Person user = DaoUtils.getUserFromContext(context);
+    AuthUtils.assertAdministrator(user);
+    return preparsedDocumentProvider.getStatistics();
+  }
+
+  /**
+   * Returns the computed costs of the GraphQL operations since startup, by operation name
+   */
+  @GraphQLQuery(name = "queryCostStatistics")
+  public List<QueryCostStatistic> getQueryCostStatistics(
+      @GraphQLRootContext GraphQLContext context) {
+    final Person user = DaoUtils.getUserFromContext(context);
+    AuthUtils.assertAdministrator(user);
+    return queryCostInstrumentation.getStatistics();
+  }
+
+  /**
+   * Returns the count, rows and latency percentiles of the SQL statements since startup, by
+   * statement tag
+   */
+  @GraphQLQuery(name = "statementStatistics")
+  public List<StatementStatistic> getStatementStatistics(
+      @GraphQLRootContext GraphQLContext context) {
+    final Person user = DaoUtils.getUserFromContext(context);
+    AuthUtils.assertAdministrator(user);
+    return statementMetrics.getStatistics();
+  }
+
+  /**
+   * Returns the statistics of the buffers of user and access token activities since startup
+   */
+  @GraphQLQuery(name = "activityRecorderStatistics")
+  public List<WriteBehindBufferStatistic> getActivityRecorderStatistics(
+      @GraphQLRootContext GraphQLContext context) {
+    final Person user = DaoUtils.getUserFromContext(context);
+    AuthUtils.assertAdministrator(user);
+    return activityRecorder.getStatistics();
+  }
+
+  /**
+   * Returns the statistics of the access token cache since startup
+   */
+  @GraphQLQuery(name = "accessTokenCacheStatistics")
+  public AccessTokenCacheStatistics getAccessTokenCacheStatistics(
+      @GraphQLRootContext GraphQLContext context) {
+    final Person user = DaoUtils.getUserFromContext(context);
+    AuthUtils.assertAdministrator(user);
+    return accessTokenPrincipalCache.getStatistics();
+  }
+
+  /**
+   * Returns the statistics of the approval chain cache since startup
+   */
+  @GraphQLQuery(name = "approvalChainCacheStatistics")
+  public ApprovalChainCacheStatistics getApprovalChainCacheStatistics(
+      @GraphQLRootContext GraphQLContext context) {
+    final Person user = DaoUtils.getUserFromContext(context);
+    AuthUtils.assertAdministrator(user);
+    return approvalChainCache.getStatistics();
+  }
+
+  /**
+   * Returns the refresh statistics of each materialized view since startup
+   */
+  @GraphQLQuery(name = "materializedViewStatistics")
+  public List<MaterializedViewStatistic> getMaterializedViewStatistics(
+      @GraphQLRootContext GraphQLContext context) {
+    final Person user = DaoUtils.getUserFromContext(context);
+    AuthUtils.assertAdministrator(user);
+    return MaterializedViewForLinksRefreshWorker.getStatistics();
+  }
+
   /**
    * @return user activities aggregated for the time period given in the query
    */
@@ -47,7 +47,7 @@ public class GraphQLResource {
 
   @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE,
       produces = MediaType.APPLICATION_XML_VALUE)
-  public ResponseEntity<String> graphqlPostXml(final Principal principal,
+  public ResponseEntity<StreamingResponseBody> graphqlPostXml(final Principal principal,
       @RequestBody GraphQLRequest requestBody,
       @RequestParam(name = "output", required = false) String output) {
     final var transformer = ResourceTransformers.xmlTransformers.stream()
@@ -82,7 +82,7 @@ public class GraphQLResource {
 
   private GraphQLRequest getGraphQLRequest(final GraphQLRequest requestBody) {
     return new GraphQLRequest(requestBody.id(), requestBody.query(), requestBody.operationName(),
-        requestBody.variables());
+        requestBody.variables(), requestBody.extensions());
   }
 
 }
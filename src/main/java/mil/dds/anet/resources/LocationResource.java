@@ -13,6 +13,7 @@ import java.util.stream.Collectors;
 import mil.dds.anet.AnetObjectEngine;
 import mil.dds.anet.beans.ApprovalStep;
 import mil.dds.anet.beans.Location;
+import mil.dds.anet.beans.MapCluster;
 import mil.dds.anet.beans.Person;
 import mil.dds.anet.beans.lists.AnetBeanList;
 import mil.dds.anet.beans.search.LocationSearchQuery;
@@ -21,6 +22,7 @@ import mil.dds.anet.database.ApprovalStepDao;
 import mil.dds.anet.database.AuditTrailDao;
 import mil.dds.anet.database.LocationDao;
 import mil.dds.anet.graphql.AllowUnverifiedUsers;
+import mil.dds.anet.search.MapClusterQuery;
 import mil.dds.anet.utils.AuthUtils;
 import mil.dds.anet.utils.DaoUtils;
 import mil.dds.anet.utils.Utils;
@@ -85,6 +87,17 @@ public class LocationResource {
     return dao.search(query);
   }
 
+  @GraphQLQuery(name = "locationClusters")
+  public List<MapCluster> getClusters(@GraphQLRootContext GraphQLContext context,
+      @GraphQLArgument(name = "query") LocationSearchQuery query,
+      @GraphQLArgument(name = "zoom") int zoom) {
+    if (zoom < 0 || zoom > MapClusterQuery.MAX_ZOOM) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid zoom level");
+    }
+    query.setUser(DaoUtils.getUserFromContext(context));
+    return dao.getClusters(query, zoom);
+  }
+
   @GraphQLMutation(name = "createLocation")
   public Location createLocation(@GraphQLRootContext GraphQLContext context,
       @GraphQLArgument(name = "location") Location l) {
@@ -23,6 +23,7 @@ import mil.dds.anet.beans.AuthorizationGroup;
 import mil.dds.anet.beans.Comment;
 import mil.dds.anet.beans.EngagementInformation;
 import mil.dds.anet.beans.GenericRelatedObject;
+import mil.dds.anet.beans.MapCluster;
 import mil.dds.anet.beans.Person;
 import mil.dds.anet.beans.PersonPositionHistory;
 import mil.dds.anet.beans.Position;
@@ -33,6 +34,7 @@ import mil.dds.anet.beans.ReportAction.ActionType;
 import mil.dds.anet.beans.ReportPerson;
 import mil.dds.anet.beans.Task;
 import mil.dds.anet.beans.lists.AnetBeanList;
+import mil.dds.anet.beans.search.BoundingBox;
 import mil.dds.anet.beans.search.EngagementsBetweenCommunitiesSearchQuery;
 import mil.dds.anet.beans.search.ReportSearchQuery;
 import mil.dds.anet.config.AnetDictionary;
@@ -51,6 +53,7 @@ import mil.dds.anet.emails.NewReportCommentEmail;
 import mil.dds.anet.emails.ReportEditedEmail;
 import mil.dds.anet.emails.ReportEmail;
 import mil.dds.anet.emails.ReportRejectionEmail;
+import mil.dds.anet.search.MapClusterQuery;
 import mil.dds.anet.threads.AnetEmailWorker;
 import mil.dds.anet.utils.AnetAuditLogger;
 import mil.dds.anet.utils.AuthUtils;
@@ -731,6 +734,18 @@ public class ReportResource {
     return reportDao.search(context, Utils.getSubFields(env), query);
   }
 
+  @GraphQLQuery(name = "reportClusters")
+  public List<MapCluster> getClusters(@GraphQLRootContext GraphQLContext context,
+      @GraphQLArgument(name = "query") ReportSearchQuery query,
+      @GraphQLArgument(name = "boundingBox") BoundingBox boundingBox,
+      @GraphQLArgument(name = "zoom") int zoom) {
+    if (zoom < 0 || zoom > MapClusterQuery.MAX_ZOOM) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid zoom level");
+    }
+    query.setUser(DaoUtils.getUserFromContext(context));
+    return reportDao.getClusters(query, boundingBox, zoom);
+  }
+
   @GraphQLMutation(name = "updateReportAssessments")
   public int updateReportAssessments(@GraphQLRootContext GraphQLContext context,
       @GraphQLArgument(name = "reportUuid") String reportUuid,
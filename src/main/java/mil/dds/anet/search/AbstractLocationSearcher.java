@@ -1,6 +1,10 @@
 package mil.dds.anet.search;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import mil.dds.anet.beans.Location;
+import mil.dds.anet.beans.MapCluster;
 import mil.dds.anet.beans.lists.AnetBeanList;
 import mil.dds.anet.beans.search.AbstractBatchParams;
 import mil.dds.anet.beans.search.BoundingBox;
@@ -10,6 +14,7 @@ import mil.dds.anet.beans.search.LocationSearchQuery;
 import mil.dds.anet.database.DatabaseHandler;
 import mil.dds.anet.database.LocationDao;
 import mil.dds.anet.database.mappers.LocationMapper;
+import mil.dds.anet.database.mappers.MapClusterMapper;
 import mil.dds.anet.utils.DaoUtils;
 import mil.dds.anet.utils.Utils;
 import org.jdbi.v3.core.Handle;
@@ -35,9 +40,30 @@ public abstract class AbstractLocationSearcher
     }
   }
 
+  @Transactional
+  @Override
+  public List<MapCluster> runClusterSearch(LocationSearchQuery query, int zoom) {
+    final Handle handle = getDbHandle();
+    try {
+      // Only select what the clusters need
+      buildQuery(query, DaoUtils.buildFieldAliases(LocationDao.TABLE_NAME,
+          new String[] {"uuid", "lat", "lng"}, true));
+      final Map<String, Object> args = new HashMap<>();
+      final String sql = MapClusterQuery.getSql("(%1$s) AS results", "results.\"locations_uuid\"",
+          "results.\"locations_lat\"", "results.\"locations_lng\"", null, zoom, args);
+      return qb.buildAndRunAggregation(handle, sql, args, new MapClusterMapper());
+    } finally {
+      closeDbHandle(handle);
+    }
+  }
+
   @Override
   protected void buildQuery(LocationSearchQuery query) {
-    qb.addSelectClause(LocationDao.LOCATION_FIELDS);
+    buildQuery(query, LocationDao.LOCATION_FIELDS);
+  }
+
+  protected void buildQuery(LocationSearchQuery query, String selectClause) {
+    qb.addSelectClause(selectClause);
     qb.addFromClause("locations");
     qb.addEnumEqualsClause("status", "locations.status", query.getStatus());
     qb.addLikeClause("type", "locations.type", DaoUtils.getEnumString(query.getType()));
@@ -58,20 +84,7 @@ public abstract class AbstractLocationSearcher
 
     final BoundingBox bbox = query.getBoundingBox();
     if (bbox != null) {
-      // take care of antimeridian wrapping!
-      final double lngDiff = bbox.getMaxLng() - bbox.getMinLng();
-      final double minLng = normalizeLng(bbox.getMinLng(), lngDiff, true);
-      final double maxLng = normalizeLng(bbox.getMaxLng(), lngDiff, false);
-      if (minLng > maxLng) {
-        qb.addWhereClause(
-            "((lng >= :minLng OR lng <= :maxLng) AND lat BETWEEN :minLat AND :maxLat)");
-      } else {
-        qb.addWhereClause("(lng BETWEEN :minLng AND :maxLng AND lat BETWEEN :minLat AND :maxLat)");
-      }
-      qb.addSqlArg("minLng", minLng);
-      qb.addSqlArg("maxLng", maxLng);
-      qb.addSqlArg("minLat", bbox.getMinLat());
-      qb.addSqlArg("maxLat", bbox.getMaxLat());
+      qb.addWhereClause(getBoundingBoxClause(bbox, "lat", "lng", qb.getSqlArgs()));
     }
 
     if (query.getUser() != null && query.getSubscribed()) {
@@ -136,16 +149,4 @@ public abstract class AbstractLocationSearcher
     qb.addAllOrderByClauses(getOrderBy(SortOrder.ASC, "locations_uuid"));
   }
 
-  private double normalizeLng(double lng, double lngDiff, boolean forMinLng) {
-    if (lngDiff >= 360.0) {
-      return forMinLng ? -180.0 : 180.0;
-    }
-    double normalizedLng = (lng + 180.0) % 360.0;
-    if (normalizedLng < 0) {
-      normalizedLng += 360.0;
-    }
-    normalizedLng -= 180.0;
-    return normalizedLng;
-  }
-
 }
@@ -2,6 +2,7 @@ package mil.dds.anet.search;
 
 import graphql.GraphQLContext;
 import java.time.Instant;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import mil.dds.anet.beans.Position;
 import mil.dds.anet.beans.lists.AnetBeanList;
@@ -56,13 +57,11 @@ public abstract class AbstractPositionSearcher
 
       // Filter to only the positions with pending assessments
       final Instant now = Instant.now().atZone(DaoUtils.getServerNativeZoneId()).toInstant();
-      return new PendingAssessmentsHelper(ApplicationContextProvider.getDictionary())
-          .loadAll(context, now, null, false)
-          .thenApply(otaMap -> otaMap.keySet().stream().map(AbstractAnetBean::getUuid).toList())
-          .thenApply(positionUuids -> {
-            qb.addInListClause("positionUuids", "positions.uuid", positionUuids);
-            return qb.buildAndRun(handle, query, mapper);
-          });
+      final List<String> positionUuids =
+          new PendingAssessmentsHelper(ApplicationContextProvider.getDictionary())
+              .loadAll(now, null, false).keySet().stream().map(AbstractAnetBean::getUuid).toList();
+      qb.addInListClause("positionUuids", "positions.uuid", positionUuids);
+      return CompletableFuture.completedFuture(qb.buildAndRun(handle, query, mapper));
     } finally {
       closeDbHandle(handle);
     }
@@ -50,6 +50,6 @@ public abstract class AbstractPreferenceSearcher
         qb.addAllOrderByClauses(getOrderBy(query.getSortOrder(), "preferences_category"));
         break;
     }
-    qb.addAllOrderByClauses(getOrderBy(SortOrder.ASC, "preferences_name"));
+    qb.addAllOrderByClauses(getOrderBy(SortOrder.ASC, "preferences_name", "preferences_uuid"));
   }
 }
@@ -2,16 +2,12 @@ package mil.dds.anet.search;
 
 import com.google.common.base.Joiner;
 import com.google.common.collect.Sets;
-import graphql.GraphQLContext;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
 import mil.dds.anet.beans.Location;
 import mil.dds.anet.beans.Person;
 import mil.dds.anet.beans.Report;
@@ -20,7 +16,6 @@ import mil.dds.anet.beans.Report.ReportCancelledReason;
 import mil.dds.anet.beans.Report.ReportState;
 import mil.dds.anet.beans.Task;
 import mil.dds.anet.beans.WithStatus;
-import mil.dds.anet.beans.lists.AnetBeanList;
 import mil.dds.anet.beans.search.AbstractBatchParams;
 import mil.dds.anet.beans.search.ISearchQuery;
 import mil.dds.anet.beans.search.ISearchQuery.RecurseStrategy;
@@ -52,62 +47,6 @@ public abstract class AbstractReportSearcher extends AbstractSearcher<Report, Re
     super(databaseHandler, qb);
   }
 
-  protected ReportSearchQuery getQueryForPostProcessing(ReportSearchQuery query) {
-    if (query.getPendingApprovalOf() == null) {
-      return query;
-    }
-    try {
-      final ReportSearchQuery modifiedQuery = query.clone();
-      // pagination will be done after post-processing
-      modifiedQuery.setPageSize(0);
-      return modifiedQuery;
-    } catch (CloneNotSupportedException e) {
-      return query; // what else can we do?
-    }
-  }
-
-  protected CompletableFuture<AnetBeanList<Report>> postProcessResults(GraphQLContext context,
-      ReportSearchQuery query, AnetBeanList<Report> result) {
-    if (query.getPendingApprovalOf() == null) {
-      return CompletableFuture.completedFuture(result);
-    }
-    // Post-process results to filter out the reports that can't be approved
-    final List<Report> list = result.getList();
-    @SuppressWarnings({"unchecked"})
-    final CompletableFuture<Boolean>[] allReports = (CompletableFuture<Boolean>[]) list.stream()
-        .map(r -> (r.getApprovalStepUuid() == null || r.getAdvisorOrgUuid() == null)
-            ? CompletableFuture.completedFuture(false)
-            : engine().canUserApproveStep(context, query.getPendingApprovalOf(),
-                r.getApprovalStepUuid(), r.getAdvisorOrgUuid()))
-        .toArray(CompletableFuture<?>[]::new);
-    return CompletableFuture.allOf(allReports).thenCompose(v -> {
-      final Iterator<Report> iterator = list.iterator();
-      for (final CompletableFuture<Boolean> cf : allReports) {
-        iterator.next();
-        if (!cf.join()) {
-          iterator.remove();
-        }
-      }
-      final int totalCount = list.size();
-      final int pageNum = query.getPageNum();
-      final int pageSize = query.getPageSize();
-      result.setTotalCount(totalCount);
-      result.setPageNum(pageNum);
-      result.setPageSize(pageSize);
-      if (pageSize > 0) {
-        // Do pagination
-        final int fromIndex = pageNum * pageSize;
-        final int toIndex = Math.min(totalCount, fromIndex + pageSize);
-        if (fromIndex >= totalCount || fromIndex > toIndex) {
-          result.setList(Collections.emptyList());
-        } else {
-          result.setList(list.subList(fromIndex, toIndex));
-        }
-      }
-      return CompletableFuture.completedFuture(result);
-    });
-  }
-
   @Override
   protected void buildQuery(ReportSearchQuery query) {
     throw new UnsupportedOperationException();
@@ -204,10 +143,7 @@ public abstract class AbstractReportSearcher extends AbstractSearcher<Report, Re
     }
 
     if (query.getPendingApprovalOf() != null) {
-      qb.addWhereClause("reports.\"approvalStepUuid\" IN"
-          + " (SELECT \"approvalStepUuid\" FROM approvers WHERE \"positionUuid\" IN"
-          + " (SELECT uuid FROM positions WHERE \"currentPersonUuid\" = :approverUuid))");
-      qb.addSqlArg("approverUuid", query.getPendingApprovalOf());
+      addPendingApprovalOfQuery(query);
     }
 
     if (Utils.isEmptyOrNull(query.getState()) && query.getPendingApprovalOf() == null) {
@@ -400,6 +336,42 @@ public abstract class AbstractReportSearcher extends AbstractSearcher<Report, Re
     }
   }
 
+  /**
+   * Restrict the search to the reports the given person can approve (see
+   * {@link mil.dds.anet.AnetObjectEngine#canUserApproveStep}): their approval step must have one
+   * of the person's positions as approver, and when the step has restricted approval, one of the
+   * tasked organizations of the step's task must be an ascendant (or the same) of both the
+   * approver's organization and the report's advisor organization.
+   */
+  protected void addPendingApprovalOfQuery(ReportSearchQuery query) {
+    // For the restricted steps of the approver: the approver's organization and its ascendants
+    qb.addWithClause("approver_orgs(\"approvalStepUuid\", \"taskUuid\", \"organizationUuid\")"
+        + " AS (SELECT s.uuid, s.\"relatedObjectUuid\", p.\"organizationUuid\" FROM approvers ap"
+        + " INNER JOIN positions p ON p.uuid = ap.\"positionUuid\""
+        + " INNER JOIN \"approvalSteps\" s ON s.uuid = ap.\"approvalStepUuid\""
+        + " WHERE p.\"currentPersonUuid\" = :approverUuid AND s.\"restrictedApproval\" = TRUE"
+        + " AND p.\"organizationUuid\" IS NOT NULL"
+        + " UNION SELECT ao.\"approvalStepUuid\", ao.\"taskUuid\", o.\"parentOrgUuid\""
+        + " FROM approver_orgs ao INNER JOIN organizations o ON o.uuid = ao.\"organizationUuid\""
+        + " WHERE o.\"parentOrgUuid\" IS NOT NULL)");
+    // The advisor organizations the approver can approve reports of for those steps: those that
+    // are tasked by the step's task, and their descendants
+    qb.addWithClause("approver_eligible_orgs(\"approvalStepUuid\", \"organizationUuid\")"
+        + " AS (SELECT ao.\"approvalStepUuid\", ao.\"organizationUuid\" FROM approver_orgs ao"
+        + " INNER JOIN \"taskTaskedOrganizations\" tto ON tto.\"taskUuid\" = ao.\"taskUuid\""
+        + " AND tto.\"organizationUuid\" = ao.\"organizationUuid\""
+        + " UNION SELECT aeo.\"approvalStepUuid\", o.uuid FROM approver_eligible_orgs aeo"
+        + " INNER JOIN organizations o ON o.\"parentOrgUuid\" = aeo.\"organizationUuid\")");
+    qb.addWhereClause("reports.\"advisorOrganizationUuid\" IS NOT NULL"
+        + " AND (reports.\"approvalStepUuid\" IN (SELECT ap.\"approvalStepUuid\""
+        + " FROM approvers ap INNER JOIN positions p ON p.uuid = ap.\"positionUuid\""
+        + " INNER JOIN \"approvalSteps\" s ON s.uuid = ap.\"approvalStepUuid\""
+        + " WHERE p.\"currentPersonUuid\" = :approverUuid AND s.\"restrictedApproval\" IS NOT TRUE)"
+        + " OR (reports.\"approvalStepUuid\", reports.\"advisorOrganizationUuid\") IN"
+        + " (SELECT \"approvalStepUuid\", \"organizationUuid\" FROM approver_eligible_orgs))");
+    qb.addSqlArg("approverUuid", query.getPendingApprovalOf());
+  }
+
   protected void addOrderByClauses(AbstractSearchQueryBuilder<?, ?> qb, ReportSearchQuery query) {
     // Beware of the sort field names, they have to match what's in the selected fields of the inner
     // query!
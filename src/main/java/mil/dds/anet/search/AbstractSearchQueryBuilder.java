@@ -14,6 +14,10 @@ import mil.dds.anet.beans.lists.AnetBeanList;
 import mil.dds.anet.beans.search.AbstractBatchParams;
 import mil.dds.anet.beans.search.AbstractSearchQuery;
 import mil.dds.anet.beans.search.ISearchQuery.RecurseStrategy;
+import mil.dds.anet.config.ApplicationContextProvider;
+import mil.dds.anet.database.cache.HierarchyCache;
+import mil.dds.anet.database.cache.HierarchyCache.Hierarchy;
+import mil.dds.anet.database.cache.HierarchyIndex;
 import mil.dds.anet.utils.DaoUtils;
 import mil.dds.anet.utils.Utils;
 import org.jdbi.v3.core.Handle;
@@ -279,8 +283,15 @@ public abstract class AbstractSearchQueryBuilder<B, T extends AbstractSearchQuer
       String[] foreignKeys, String withTableName, String recursiveTableName, String baseKey,
       String recursiveForeignKey, String paramName, List<String> fieldValues, boolean findChildren,
       boolean includeSelf, String notInClause) {
-    createWithClause(outerQb, withTableName, recursiveTableName, baseKey, recursiveForeignKey,
-        notInClause == null);
+    final HierarchyIndex hierarchyIndex =
+        getHierarchyIndex(recursiveTableName, baseKey, recursiveForeignKey);
+    if (hierarchyIndex == null) {
+      createWithClause(outerQb, withTableName, recursiveTableName, baseKey, recursiveForeignKey,
+          notInClause == null);
+    } else {
+      createIndexedWithClause(outerQb, withTableName, hierarchyIndex, fieldValues, findChildren,
+          notInClause == null);
+    }
     final List<String> orClauses = new ArrayList<>();
     for (final String foreignKey : foreignKeys) {
       orClauses.add(String.format("%1$s.%2$s = %3$s.%4$s", tableName, foreignKey, withTableName,
@@ -317,29 +328,122 @@ public abstract class AbstractSearchQueryBuilder<B, T extends AbstractSearchQuer
     }
   }
 
+  /**
+   * Like {@link #createWithClause}, but only with the rows for the given values, computed from
+   * the hierarchy index instead of recursively by the database.
+   */
+  private void createIndexedWithClause(AbstractSearchQueryBuilder<B, T> outerQb,
+      String withTableName, HierarchyIndex hierarchyIndex, List<String> fieldValues,
+      boolean findChildren, boolean addFrom) {
+    if (outerQb == null) {
+      outerQb = this;
+    }
+    final List<String> uuids = new ArrayList<>();
+    final List<String> parentUuids = new ArrayList<>();
+    hierarchyIndex.addPairs(fieldValues, findChildren, uuids, parentUuids);
+    final String uuidsParam = withTableName + "_uuids";
+    final String parentUuidsParam = withTableName + "_parent_uuids";
+    outerQb.addWithClause(String.format(
+        "%1$s(uuid, parent_uuid) AS (SELECT * FROM unnest(CAST(:%2$s AS text[]),"
+            + " CAST(:%3$s AS text[])))",
+        withTableName, uuidsParam, parentUuidsParam));
+    addSqlArg(uuidsParam, uuids.toArray(String[]::new));
+    addSqlArg(parentUuidsParam, parentUuids.toArray(String[]::new));
+    if (addFrom) {
+      addAdditionalFromClause(withTableName);
+    }
+  }
+
+  private static HierarchyIndex getHierarchyIndex(String recursiveTableName, String baseKey,
+      String recursiveForeignKey) {
+    final Hierarchy hierarchy = Hierarchy.find(recursiveTableName, baseKey, recursiveForeignKey);
+    if (hierarchy == null || ApplicationContextProvider.getApplicationContext() == null) {
+      return null;
+    }
+    return ApplicationContextProvider.getBean(HierarchyCache.class).get(hierarchy);
+  }
+
   private final String getLikeClause(String fieldName, String paramName) {
     return String.format("%s %s :%s", fieldName, likeKeyword, paramName);
   }
 
   public final String build() {
-    addWithClauses();
-    addSelectClauses();
-    addFromClauses();
-    addAdditionalFromClauses();
-    addWhereClauses();
-    addGroupByClauses();
-    addInnerOrderByClause();
+    buildInnerQuery();
     sql.insert(0, "SELECT *, COUNT(*) OVER() AS \"totalCount\" FROM (");
     sql.append(") AS results");
     addOrderByClauses();
     return sql.toString();
   }
 
+  /**
+   * Build the query for keyset pagination: without the total count, and only selecting the rows
+   * after the cursor (if any).
+   *
+   * @param cursor the cursor of the previous page, or empty for the first page
+   * @param sortColumns the sort columns of the query
+   * @return the query for counting the total number of results
+   */
+  public final String buildForKeyset(String cursor, List<KeysetCursor.SortColumn> sortColumns) {
+    buildInnerQuery();
+    final String countSql = String.format("SELECT COUNT(*) FROM (%1$s) AS results", sql);
+    sql.insert(0, "SELECT * FROM (");
+    sql.append(") AS results");
+    if (!Utils.isEmptyOrNull(cursor)) {
+      sql.append(" WHERE ");
+      sql.append(KeysetCursor.getWhereClause(sortColumns,
+          KeysetCursor.decode(cursor, sortColumns.size()), this));
+    }
+    addOrderByClauses();
+    return countSql;
+  }
+
   public AnetBeanList<B> buildAndRun(Handle handle, T query, RowMapper<B> mapper) {
+    final List<KeysetCursor.SortColumn> sortColumns = getKeysetSortColumns(query);
+    if (sortColumns != null) {
+      final String countSql = buildForKeyset(query.getCursor(), sortColumns);
+      return getKeysetResult(handle, query, mapper, sortColumns, countSql);
+    }
     build();
     return getResult(handle, query, mapper);
   }
 
+  /**
+   * Build the query as the subquery of an aggregating query, and run that.
+   *
+   * @param handle the database handle
+   * @param outerSql the aggregating query, with {@code %1$s} where the subquery goes
+   * @param outerArgs the arguments of the aggregating query
+   * @param mapper maps the rows of the aggregating query
+   * @return the rows of the aggregating query
+   */
+  public <R> List<R> buildAndRunAggregation(Handle handle, String outerSql,
+      Map<String, Object> outerArgs, RowMapper<R> mapper) {
+    buildInnerQuery();
+    final Map<String, Object> args = new HashMap<>(sqlArgs);
+    args.putAll(outerArgs);
+    return getAggregationResult(handle, String.format(outerSql, sql), args, mapper);
+  }
+
+  /**
+   * @return the sort columns when keyset pagination was requested and can be used, null otherwise
+   */
+  protected List<KeysetCursor.SortColumn> getKeysetSortColumns(T query) {
+    if (query.getCursor() == null || query.getPageSize() <= 0) {
+      return null;
+    }
+    return KeysetCursor.getSortColumns(orderByClauses);
+  }
+
+  private void buildInnerQuery() {
+    addWithClauses();
+    addSelectClauses();
+    addFromClauses();
+    addAdditionalFromClauses();
+    addWhereClauses();
+    addGroupByClauses();
+    addInnerOrderByClause();
+  }
+
   protected void addWithClauses() {
     if (!withClauses.isEmpty()) {
       sql.insert(0, Joiner.on(", ").join(withClauses));
@@ -405,4 +509,10 @@ public abstract class AbstractSearchQueryBuilder<B, T extends AbstractSearchQuer
 
   protected abstract AnetBeanList<B> getResult(Handle handle, T query, RowMapper<B> mapper);
 
+  protected abstract AnetBeanList<B> getKeysetResult(Handle handle, T query, RowMapper<B> mapper,
+      List<KeysetCursor.SortColumn> sortColumns, String countSql);
+
+  protected abstract <R> List<R> getAggregationResult(Handle handle, String sql,
+      Map<String, Object> args, RowMapper<R> mapper);
+
 }
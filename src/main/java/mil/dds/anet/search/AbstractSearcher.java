@@ -10,6 +10,7 @@ import java.util.stream.Collectors;
 import mil.dds.anet.AnetObjectEngine;
 import mil.dds.anet.beans.search.AbstractSearchQuery;
 import mil.dds.anet.beans.search.AssessmentSearchQuery;
+import mil.dds.anet.beans.search.BoundingBox;
 import mil.dds.anet.beans.search.ISearchQuery.SortOrder;
 import mil.dds.anet.config.AnetDictionary;
 import mil.dds.anet.config.ApplicationContextProvider;
@@ -77,10 +78,10 @@ public abstract class AbstractSearcher<B, T extends AbstractSearchQuery<?>> {
       qb.addSqlArg("likeQuery", qb.getLikeQuery(text));
     }
 
-    final String materializedView = String.format("\"mv_fts_%1$s\"", tableName);
-    final String fullTextColumn = String.format("%1$s.full_text", materializedView);
+    final String fullTextTable = String.format("\"fts_%1$s\"", tableName);
+    final String fullTextColumn = String.format("%1$s.full_text", fullTextTable);
     final String tsQuery = getTsQuery();
-    whereClauses.add(String.format("SELECT uuid FROM %1$s WHERE %2$s @@ %3$s", materializedView,
+    whereClauses.add(String.format("SELECT uuid FROM %1$s WHERE %2$s @@ %3$s", fullTextTable,
         fullTextColumn, tsQuery));
     qb.addWhereClause(String.format("\"%1$s\".uuid IN (%2$s)", tableName,
         Joiner.on(" UNION ").join(whereClauses)));
@@ -89,7 +90,7 @@ public abstract class AbstractSearcher<B, T extends AbstractSearchQuery<?>> {
     if (!isSortByPresent) {
       selectClauses.add(String.format("ts_rank(%1$s, %2$s)", fullTextColumn, tsQuery));
       qb.addFromClause(String.format("LEFT JOIN %1$s ON %1$s.uuid = \"%2$s\".uuid",
-          materializedView, tableName));
+          fullTextTable, tableName));
       qb.addSelectClause(
           String.format("(%1$s) AS search_rank", Joiner.on(" + ").join(selectClauses)));
     }
@@ -102,6 +103,37 @@ public abstract class AbstractSearcher<B, T extends AbstractSearchQuery<?>> {
     return String.format("(%1$s || %2$s)", tsQueryAnet, tsQuerySimple);
   }
 
+  protected static String getBoundingBoxClause(BoundingBox bbox, String latColumn,
+      String lngColumn, Map<String, Object> args) {
+    // take care of antimeridian wrapping!
+    final double lngDiff = bbox.getMaxLng() - bbox.getMinLng();
+    final double minLng = normalizeLng(bbox.getMinLng(), lngDiff, true);
+    final double maxLng = normalizeLng(bbox.getMaxLng(), lngDiff, false);
+    args.put("minLng", minLng);
+    args.put("maxLng", maxLng);
+    args.put("minLat", bbox.getMinLat());
+    args.put("maxLat", bbox.getMaxLat());
+    if (minLng > maxLng) {
+      return String.format(
+          "((%1$s >= :minLng OR %1$s <= :maxLng) AND %2$s BETWEEN :minLat AND :maxLat)",
+          lngColumn, latColumn);
+    }
+    return String.format("(%1$s BETWEEN :minLng AND :maxLng AND %2$s BETWEEN :minLat AND :maxLat)",
+        lngColumn, latColumn);
+  }
+
+  private static double normalizeLng(double lng, double lngDiff, boolean forMinLng) {
+    if (lngDiff >= 360.0) {
+      return forMinLng ? -180.0 : 180.0;
+    }
+    double normalizedLng = (lng + 180.0) % 360.0;
+    if (normalizedLng < 0) {
+      normalizedLng += 360.0;
+    }
+    normalizedLng -= 180.0;
+    return normalizedLng;
+  }
+
   protected List<String> getOrderBy(SortOrder sortOrder, String... columns) {
     final List<String> clauses = new ArrayList<>();
     for (final String column : columns) {
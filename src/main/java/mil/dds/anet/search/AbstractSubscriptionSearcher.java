@@ -56,7 +56,7 @@ public abstract class AbstractSubscriptionSearcher extends
         break;
     }
     qb.addAllOrderByClauses(getOrderBy(SortOrder.ASC, "subscriptions_subscribedObjectType",
-        "subscriptions_subscribedObjectUuid"));
+        "subscriptions_subscribedObjectUuid", "subscriptions_uuid"));
   }
 
 }
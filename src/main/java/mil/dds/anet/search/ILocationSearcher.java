@@ -1,6 +1,8 @@
 package mil.dds.anet.search;
 
+import java.util.List;
 import mil.dds.anet.beans.Location;
+import mil.dds.anet.beans.MapCluster;
 import mil.dds.anet.beans.lists.AnetBeanList;
 import mil.dds.anet.beans.search.LocationSearchQuery;
 
@@ -8,4 +10,6 @@ public interface ILocationSearcher {
 
   public AnetBeanList<Location> runSearch(LocationSearchQuery query);
 
+  public List<MapCluster> runClusterSearch(LocationSearchQuery query, int zoom);
+
 }
@@ -1,10 +1,13 @@
 package mil.dds.anet.search;
 
 import graphql.GraphQLContext;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import mil.dds.anet.beans.MapCluster;
 import mil.dds.anet.beans.Report;
 import mil.dds.anet.beans.lists.AnetBeanList;
+import mil.dds.anet.beans.search.BoundingBox;
 import mil.dds.anet.beans.search.ReportSearchQuery;
 
 public interface IReportSearcher {
@@ -12,4 +15,6 @@ public interface IReportSearcher {
   public CompletableFuture<AnetBeanList<Report>> runSearch(GraphQLContext context,
       Set<String> subFields, ReportSearchQuery query);
 
+  public List<MapCluster> runClusterSearch(ReportSearchQuery query, BoundingBox bbox, int zoom);
+
 }
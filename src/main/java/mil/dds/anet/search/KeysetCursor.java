@@ -0,0 +1,189 @@
+package mil.dds.anet.search;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import mil.dds.anet.beans.search.ISearchQuery.SortOrder;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * An opaque cursor for keyset pagination: the values of the sort columns of the last row on a page.
+ * The next page then starts right after that row, so the database doesn't have to skip (or count)
+ * all rows before it.
+ */
+public class KeysetCursor {
+
+  public record SortColumn(String name, SortOrder sortOrder) {}
+
+  // Order by clauses as built by AbstractSearcher#getOrderBy
+  private static final Pattern ORDER_BY_CLAUSE = Pattern.compile("^\"([^\"]+)\" (ASC|DESC)$");
+  // The uuid columns, as aliased by DaoUtils#buildFieldAliases
+  private static final String UUID_COLUMN_SUFFIX = "_uuid";
+  public static final String PARAM_PREFIX = "keyset";
+  private static final String SEPARATOR = ".";
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private KeysetCursor() {}
+
+  /**
+   * Get the sort columns from the order by clauses. These can only be used when the last one is
+   * unique, i.e. the uuid of the rows; otherwise rows with the same values as the last row on a
+   * page would be skipped or returned again.
+   *
+   * @param orderByClauses the order by clauses
+   * @return the sort columns, or null when the clauses can't be used for keyset pagination
+   */
+  public static List<SortColumn> getSortColumns(List<String> orderByClauses) {
+    if (orderByClauses.isEmpty()) {
+      return null;
+    }
+    final List<SortColumn> sortColumns = new ArrayList<>();
+    for (final String orderByClause : orderByClauses) {
+      final Matcher matcher = ORDER_BY_CLAUSE.matcher(orderByClause);
+      if (!matcher.matches()) {
+        return null;
+      }
+      sortColumns.add(new SortColumn(matcher.group(1), SortOrder.valueOf(matcher.group(2))));
+    }
+    if (!sortColumns.getLast().name().endsWith(UUID_COLUMN_SUFFIX)) {
+      return null;
+    }
+    return sortColumns;
+  }
+
+  /**
+   * Build the where clause selecting the rows after the cursor. Note that PostgreSQL sorts NULL
+   * values as if larger than any other value, so last when ascending and first when descending.
+   *
+   * @param sortColumns the sort columns
+   * @param values the decoded cursor values
+   * @param qb the query builder to add the parameters to
+   * @return the where clause
+   */
+  public static String getWhereClause(List<SortColumn> sortColumns, List<Object> values,
+      AbstractSearchQueryBuilder<?, ?> qb) {
+    final List<String> orClauses = new ArrayList<>();
+    final List<String> equalClauses = new ArrayList<>();
+    for (int i = 0; i < sortColumns.size(); i++) {
+      final String column = String.format("results.\"%1$s\"", sortColumns.get(i).name());
+      final String paramName = PARAM_PREFIX + i;
+      final Object value = values.get(i);
+      final String afterClause;
+      if (sortColumns.get(i).sortOrder() == SortOrder.ASC) {
+        afterClause = (value == null) ? null
+            : String.format("(%1$s > :%2$s OR %1$s IS NULL)", column, paramName);
+      } else {
+        afterClause = (value == null) ? String.format("%1$s IS NOT NULL", column)
+            : String.format("%1$s < :%2$s", column, paramName);
+      }
+      if (afterClause != null) {
+        final List<String> andClauses = new ArrayList<>(equalClauses);
+        andClauses.add(afterClause);
+        orClauses.add(String.format("(%1$s)", String.join(" AND ", andClauses)));
+      }
+      equalClauses.add((value == null) ? String.format("%1$s IS NULL", column)
+          : String.format("%1$s = :%2$s", column, paramName));
+      if (value != null) {
+        qb.addSqlArg(paramName, value);
+      }
+    }
+    return orClauses.isEmpty() ? "FALSE" : String.format("(%1$s)", String.join(" OR ", orClauses));
+  }
+
+  /**
+   * Read the values of the sort columns from the current row.
+   */
+  public static List<Object> readValues(List<SortColumn> sortColumns, ResultSet rs)
+      throws SQLException {
+    final List<Object> values = new ArrayList<>(sortColumns.size());
+    for (final SortColumn sortColumn : sortColumns) {
+      values.add(rs.getObject(sortColumn.name()));
+    }
+    return values;
+  }
+
+  public static String encode(List<Object> values) {
+    final List<String> parts = new ArrayList<>(values.size());
+    for (final Object value : values) {
+      parts.add(ENCODER.encodeToString(encodeValue(value).getBytes(StandardCharsets.UTF_8)));
+    }
+    return String.join(SEPARATOR, parts);
+  }
+
+  public static List<Object> decode(String cursor, int expectedSize) {
+    final String[] parts = cursor.split(Pattern.quote(SEPARATOR), -1);
+    if (parts.length != expectedSize) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+    final List<Object> values = new ArrayList<>(parts.length);
+    try {
+      for (final String part : parts) {
+        values.add(decodeValue(new String(DECODER.decode(part), StandardCharsets.UTF_8)));
+      }
+    } catch (IllegalArgumentException | DateTimeException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+    return values;
+  }
+
+  private static String encodeValue(Object value) {
+    if (value == null) {
+      return "z:";
+    } else if (value instanceof String s) {
+      return "s:" + s;
+    } else if (value instanceof Integer i) {
+      return "i:" + i;
+    } else if (value instanceof Long l) {
+      return "l:" + l;
+    } else if (value instanceof Float f) {
+      return "f:" + f;
+    } else if (value instanceof Double d) {
+      return "d:" + d;
+    } else if (value instanceof BigDecimal bd) {
+      return "n:" + bd;
+    } else if (value instanceof Boolean b) {
+      return "b:" + b;
+    } else if (value instanceof Timestamp ts) {
+      return "t:" + ts.toLocalDateTime();
+    } else if (value instanceof Date d) {
+      return "D:" + d.toLocalDate();
+    }
+    throw new IllegalArgumentException(
+        "Unsupported type for keyset pagination: " + value.getClass().getName());
+  }
+
+  private static Object decodeValue(String encoded) {
+    final int sep = encoded.indexOf(':');
+    if (sep != 1) {
+      throw new IllegalArgumentException("Invalid cursor value");
+    }
+    final String value = encoded.substring(2);
+    return switch (encoded.charAt(0)) {
+      case 'z' -> null;
+      case 's' -> value;
+      case 'i' -> Integer.valueOf(value);
+      case 'l' -> Long.valueOf(value);
+      case 'f' -> Float.valueOf(value);
+      case 'd' -> Double.valueOf(value);
+      case 'n' -> new BigDecimal(value);
+      case 'b' -> Boolean.valueOf(value);
+      case 't' -> LocalDateTime.parse(value);
+      case 'D' -> LocalDate.parse(value);
+      default -> throw new IllegalArgumentException("Invalid cursor value");
+    };
+  }
+
+}
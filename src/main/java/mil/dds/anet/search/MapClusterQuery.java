@@ -0,0 +1,55 @@
+package mil.dds.anet.search;
+
+import java.util.Map;
+
+/**
+ * Aggregates the positions of search results into the cells of a grid that is aligned with the
+ * tiles of a web map (in the web mercator projection) at a given zoom level, so that a map can
+ * show a marker per cell instead of one per result. The cells only depend on the zoom level, so
+ * they stay the same while panning.
+ */
+public final class MapClusterQuery {
+
+  public static final int MAX_ZOOM = 24;
+
+  // Map tiles are 256 pixels wide, so this gives cells of 64 by 64 pixels
+  private static final int CELLS_PER_TILE = 4;
+  // The latitudes beyond which the web mercator projection is cut off
+  private static final double MAX_LAT = 85.0511287798;
+
+  private MapClusterQuery() {}
+
+  /**
+   * Build the aggregating query.
+   *
+   * @param fromClause the FROM clause of the results, with {@code %1$s} where the search query goes
+   * @param uuidColumn the uuid of a result
+   * @param latColumn the latitude of a result
+   * @param lngColumn the longitude of a result
+   * @param whereClause an additional condition on the results, or null
+   * @param zoom the zoom level of the map, from 0 up to {@link #MAX_ZOOM}
+   * @param args receives the arguments of the query
+   * @return the query, to be run with {@link AbstractSearchQueryBuilder#buildAndRunAggregation}
+   */
+  public static String getSql(String fromClause, String uuidColumn, String latColumn,
+      String lngColumn, String whereClause, int zoom, Map<String, Object> args) {
+    args.put("clusterCells", Math.pow(2, zoom) * CELLS_PER_TILE);
+    args.put("clusterMaxLat", MAX_LAT);
+    final String clampedLat = String.format(
+        "RADIANS(LEAST(GREATEST(%1$s, -:clusterMaxLat), :clusterMaxLat))", latColumn);
+    final String x = String.format("LEAST(FLOOR((%1$s + 180) / 360 * :clusterCells),"
+        + " :clusterCells - 1)", lngColumn);
+    final String y = String.format("LEAST(FLOOR((1 - LN(TAN(%1$s) + 1 / COS(%1$s)) / PI()) / 2"
+        + " * :clusterCells), :clusterCells - 1)", clampedLat);
+    return "/* mapClusters */ SELECT COUNT(*) AS count, AVG(lat) AS lat, AVG(lng) AS lng,"
+        + " MIN(lat) AS \"minLat\", MIN(lng) AS \"minLng\","
+        + " MAX(lat) AS \"maxLat\", MAX(lng) AS \"maxLng\","
+        + " CASE WHEN COUNT(*) = 1 THEN MIN(uuid) END AS uuid"
+        + " FROM (SELECT " + uuidColumn + " AS uuid, " + latColumn + " AS lat, " + lngColumn
+        + " AS lng, " + x + " AS x, " + y + " AS y FROM " + fromClause
+        + " WHERE " + latColumn + " IS NOT NULL AND " + lngColumn + " IS NOT NULL"
+        + (whereClause == null ? "" : " AND " + whereClause)
+        + ") AS points GROUP BY x, y ORDER BY x, y";
+  }
+
+}
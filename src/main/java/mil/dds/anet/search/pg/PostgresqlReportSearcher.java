@@ -1,16 +1,23 @@
 package mil.dds.anet.search.pg;
 
 import graphql.GraphQLContext;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import mil.dds.anet.beans.MapCluster;
 import mil.dds.anet.beans.Report;
 import mil.dds.anet.beans.lists.AnetBeanList;
+import mil.dds.anet.beans.search.BoundingBox;
 import mil.dds.anet.beans.search.ISearchQuery.SortOrder;
 import mil.dds.anet.beans.search.ReportSearchQuery;
 import mil.dds.anet.database.DatabaseHandler;
+import mil.dds.anet.database.mappers.MapClusterMapper;
 import mil.dds.anet.database.mappers.ReportMapper;
 import mil.dds.anet.search.AbstractReportSearcher;
 import mil.dds.anet.search.AbstractSearchQueryBuilder;
+import mil.dds.anet.search.MapClusterQuery;
 import org.jdbi.v3.core.Handle;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,10 +38,27 @@ public class PostgresqlReportSearcher extends AbstractReportSearcher {
       Set<String> subFields, ReportSearchQuery query) {
     final Handle handle = getDbHandle();
     try {
-      final ReportSearchQuery modifiedQuery = getQueryForPostProcessing(query);
-      buildQuery(subFields, modifiedQuery);
-      return postProcessResults(context, query,
-          qb.buildAndRun(handle, modifiedQuery, new ReportMapper()));
+      buildQuery(subFields, query);
+      return CompletableFuture.completedFuture(qb.buildAndRun(handle, query, new ReportMapper()));
+    } finally {
+      closeDbHandle(handle);
+    }
+  }
+
+  @Transactional
+  @Override
+  public List<MapCluster> runClusterSearch(ReportSearchQuery query, BoundingBox bbox, int zoom) {
+    final Handle handle = getDbHandle();
+    try {
+      // Only select what the clusters need
+      buildQuery(Set.of("location"), query);
+      final Map<String, Object> args = new HashMap<>();
+      final String whereClause =
+          bbox == null ? null : getBoundingBoxClause(bbox, "locations.lat", "locations.lng", args);
+      final String sql = MapClusterQuery.getSql(
+          "(%1$s) AS results JOIN locations ON locations.uuid = results.\"reports_locationUuid\"",
+          "results.\"reports_uuid\"", "locations.lat", "locations.lng", whereClause, zoom, args);
+      return qb.buildAndRunAggregation(handle, sql, args, new MapClusterMapper());
     } finally {
       closeDbHandle(handle);
     }
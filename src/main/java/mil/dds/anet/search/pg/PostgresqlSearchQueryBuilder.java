@@ -3,13 +3,17 @@ package mil.dds.anet.search.pg;
 import static org.jdbi.v3.core.statement.EmptyHandling.NULL_KEYWORD;
 
 import com.google.common.base.Joiner;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import mil.dds.anet.beans.lists.AnetBeanList;
 import mil.dds.anet.beans.search.AbstractSearchQuery;
 import mil.dds.anet.search.AbstractSearchQueryBuilder;
+import mil.dds.anet.search.KeysetCursor;
 import mil.dds.anet.utils.Utils;
 import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.statement.Query;
 
@@ -65,18 +69,57 @@ public class PostgresqlSearchQueryBuilder<B, T extends AbstractSearchQuery<?>>
     return new AnetBeanList<B>(sqlQuery, query.getPageNum(), query.getPageSize(), mapper);
   }
 
+  @Override
+  protected AnetBeanList<B> getKeysetResult(Handle handle, T query, RowMapper<B> mapper,
+      List<KeysetCursor.SortColumn> sortColumns, String countSql) {
+    // Fetch one extra row, to know whether there is a next page
+    final int pageSize = query.getPageSize();
+    sql.append(" LIMIT :limit");
+    final Query q = bindArgs(handle.createQuery(sql.toString()), sqlArgs, listArgs);
+    q.bind("limit", pageSize + 1);
+    final List<List<Object>> keysetValues = new ArrayList<>();
+    final RowMapper<B> keysetMapper = (rs, ctx) -> {
+      keysetValues.add(KeysetCursor.readValues(sortColumns, rs));
+      return mapper.map(rs, ctx);
+    };
+    final List<B> list = new ArrayList<>(q.map(keysetMapper).list());
+    final AnetBeanList<B> result = new AnetBeanList<>(query.getPageNum(), pageSize, list);
+    if (list.size() > pageSize) {
+      list.remove(pageSize);
+      result.setNextCursor(KeysetCursor.encode(keysetValues.get(pageSize - 1)));
+    }
+    // Only count the results when asked for
+    final Jdbi jdbi = handle.getJdbi();
+    final Map<String, Object> countArgs = sqlArgs.entrySet().stream()
+        .filter(e -> !e.getKey().startsWith(KeysetCursor.PARAM_PREFIX))
+        .collect(HashMap::new, (m, e) -> m.put(e.getKey(), e.getValue()), HashMap::putAll);
+    result.setTotalCountSupplier(() -> jdbi.withHandle(
+        h -> bindArgs(h.createQuery(countSql), countArgs, listArgs).mapTo(Integer.class).one()));
+    return result;
+  }
+
+  @Override
+  protected <R> List<R> getAggregationResult(Handle handle, String sql, Map<String, Object> args,
+      RowMapper<R> mapper) {
+    return bindArgs(handle.createQuery(sql), args, listArgs).map(mapper).list();
+  }
+
   protected Query addPagination(AbstractSearchQuery<?> query, Handle dbHandle, StringBuilder sql,
       Map<String, Object> args, Map<String, List<?>> listArgs) {
     if (query.getPageSize() > 0) {
       sql.append(" OFFSET :offset LIMIT :limit");
     }
-    final Query q = dbHandle.createQuery(sql.toString());
-    if (args != null && !args.isEmpty()) {
-      q.bindMap(args);
-    }
+    final Query q = bindArgs(dbHandle.createQuery(sql.toString()), args, listArgs);
     if (query.getPageSize() > 0) {
       q.bind("offset", query.getPageSize() * query.getPageNum()).bind("limit", query.getPageSize());
     }
+    return q;
+  }
+
+  private Query bindArgs(Query q, Map<String, Object> args, Map<String, List<?>> listArgs) {
+    if (args != null && !args.isEmpty()) {
+      q.bindMap(args);
+    }
     for (final Map.Entry<String, List<?>> listArg : listArgs.entrySet()) {
       q.bindList(NULL_KEYWORD, listArg.getKey(), listArg.getValue());
     }
@@ -1,15 +1,16 @@
 package mil.dds.anet.threads;
 
 import graphql.GraphQLContext;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
 import mil.dds.anet.AnetObjectEngine;
 import mil.dds.anet.beans.JobHistory;
 import mil.dds.anet.beans.Person;
 import mil.dds.anet.config.AnetDictionary;
 import mil.dds.anet.config.ApplicationContextProvider;
 import mil.dds.anet.database.JobHistoryDao;
+import mil.dds.anet.graphql.DataLoaderDispatcher;
 import mil.dds.anet.utils.BatchingUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,6 +19,8 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @EnableScheduling
 public abstract class AbstractWorker {
 
+  private static final Duration BATCH_WINDOW = Duration.ofMillis(2);
+
   protected final Logger logger = LoggerFactory.getLogger(this.getClass());
 
   protected final AnetDictionary dict;
@@ -37,10 +40,15 @@ public abstract class AbstractWorker {
     logger.debug("Starting {}: {}", className, startMessage);
     final RunStatus runStatus = new RunStatus();
     final BatchingUtils batchingUtils = new BatchingUtils(engine(), true, true);
+    // Loads are enqueued by this thread while another one dispatches them,
+    // so give the loads some time to accumulate into batches
+    final DataLoaderDispatcher dataLoaderDispatcher =
+        new DataLoaderDispatcher(batchingUtils.getDataLoaderRegistry(), BATCH_WINDOW);
     try {
-      startDispatcher(batchingUtils, runStatus);
+      startDispatcher(dataLoaderDispatcher, runStatus);
       final GraphQLContext context = GraphQLContext.newContext().of( // -
           "dataLoaderRegistry", batchingUtils.getDataLoaderRegistry(), // -
+          DataLoaderDispatcher.CONTEXT_KEY, dataLoaderDispatcher, // -
           "principal", Person.SYSTEM_USER).build();
       jobHistoryDao.runInTransaction(className,
           (now, jobHistory) -> runInternal(now, jobHistory, context));
@@ -49,13 +57,13 @@ public abstract class AbstractWorker {
       logger.error("Exception in run()", e);
     } finally {
       runStatus.setDone(true);
-      batchingUtils.shutdown();
+      dataLoaderDispatcher.signal();
     }
     logger.debug("Ending {}", className);
   }
 
   private static class RunStatus {
-    private boolean done = false;
+    private volatile boolean done = false;
 
     public boolean isDone() {
       return done;
@@ -71,29 +79,17 @@ public abstract class AbstractWorker {
     }
   }
 
-  private void startDispatcher(final BatchingUtils batchingUtils, final RunStatus runStatus) {
+  private void startDispatcher(final DataLoaderDispatcher dataLoaderDispatcher,
+      final RunStatus runStatus) {
     final Runnable dispatcher = () -> {
-      while (!runStatus.isDone()) {
-        // Wait a while, giving other threads the chance to do some work
-        try {
-          Thread.yield();
-          Thread.sleep(50);
-        } catch (InterruptedException ignored) {
-          // just retry
-        }
-
-        // Dispatch all our data loaders until the request is done;
-        // we have data loaders at various depths (one dependent on another),
-        // e.g. in {@link Report#loadWorkflow}
-        final CompletableFuture<?>[] dispatchersWithWork = batchingUtils.getDataLoaderRegistry()
-            .getDataLoaders().stream().filter(dl -> dl.dispatchDepth() > 0)
-            .map(dl -> (CompletableFuture<?>) dl.dispatch()).toArray(CompletableFuture<?>[]::new);
-        if (dispatchersWithWork.length > 0) {
-          CompletableFuture.allOf(dispatchersWithWork).join();
-        }
+      try {
+        dataLoaderDispatcher.dispatchUntil(runStatus::isDone, null);
+      } catch (TimeoutException ignored) {
+        // can't happen without a deadline
       }
     };
-    Executors.newSingleThreadExecutor().execute(dispatcher);
+    // The dispatcher mostly waits, so a virtual thread will do
+    Thread.ofVirtual().name(this.getClass().getSimpleName() + "-dispatcher").start(dispatcher);
   }
 
   protected AnetObjectEngine engine() {
@@ -1,27 +1,41 @@
 package mil.dds.anet.threads;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import freemarker.template.Configuration;
 import freemarker.template.DefaultObjectWrapper;
 import freemarker.template.Template;
+import freemarker.template.TemplateHashModel;
 import graphql.GraphQLContext;
+import jakarta.annotation.PreDestroy;
 import jakarta.mail.Authenticator;
 import jakarta.mail.Message.RecipientType;
+import jakarta.mail.MessagingException;
 import jakarta.mail.PasswordAuthentication;
 import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
 import jakarta.mail.util.ByteArrayDataSource;
+import java.io.IOException;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.lang.invoke.MethodHandles;
+import java.lang.management.ManagementFactory;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import mil.dds.anet.beans.AnetEmail;
 import mil.dds.anet.beans.Attachment;
 import mil.dds.anet.beans.ConfidentialityRecord;
@@ -38,6 +52,8 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.email.EmailPopulatingBuilder;
 import org.simplejavamail.api.email.Recipient;
+import org.simplejavamail.api.mailer.Mailer;
+import org.simplejavamail.converter.EmailConverter;
 import org.simplejavamail.email.EmailBuilder;
 import org.simplejavamail.mailer.MailValidationException;
 import org.simplejavamail.mailer.MailerBuilder;
@@ -56,12 +72,21 @@ import tools.jackson.databind.ObjectMapper;
 @ConditionalOnExpression("not ${anet.no-workers:false}")
 public class AnetEmailWorker extends AbstractWorker {
 
+  // How long to wait for the senders to finish their batch when shutting down
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
   private static AnetEmailWorker instance;
 
   private final AnetConfig config;
   private final EmailDao dao;
   private final AttachmentDao attachmentDao;
   private final ObjectMapper mapper;
+  private final Configuration freemarkerConfig;
+  private final TemplateHashModel staticModels;
+  private final Map<String, Template> templates = new ConcurrentHashMap<>();
+  private final ExecutorService senderExecutor;
+  // Identifies the claims on pending emails of this instance
+  private final String owner;
 
   public AnetEmailWorker(AnetConfig config, AnetDictionary dict, JobHistoryDao jobHistoryDao,
       EmailDao dao, AttachmentDao attachmentDao) {
@@ -70,6 +95,12 @@ public class AnetEmailWorker extends AbstractWorker {
     this.dao = dao;
     this.attachmentDao = attachmentDao;
     this.mapper = MapperUtils.getDefaultMapper();
+    this.freemarkerConfig = Utils.getFreemarkerConfig(this.getClass());
+    this.staticModels =
+        ((DefaultObjectWrapper) freemarkerConfig.getObjectWrapper()).getStaticModels();
+    this.senderExecutor = Executors.newFixedThreadPool(config.getSmtp().getSenderThreads(),
+        new ThreadFactoryBuilder().setNameFormat("anet-email-sender-%d").setDaemon(true).build());
+    this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
 
     setInstance(this);
   }
@@ -78,6 +109,20 @@ public class AnetEmailWorker extends AbstractWorker {
     AnetEmailWorker.instance = instance;
   }
 
+  @PreDestroy
+  public void shutdown() {
+    senderExecutor.shutdown();
+    try {
+      // Let the senders finish the batch they are sending, as they are daemon threads
+      if (!senderExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        logger.warn("Email senders still busy after {} seconds; their unsent emails will be"
+            + " retried when the claims expire", SHUTDOWN_TIMEOUT_SECONDS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
   @Scheduled(initialDelay = 10, fixedRateString = "${anet.email-fixed-rate-in-seconds:300}",
       timeUnit = TimeUnit.SECONDS)
   @Override
@@ -88,58 +133,119 @@ public class AnetEmailWorker extends AbstractWorker {
   @Override
   protected void runInternal(Instant now, JobHistory jobHistory, GraphQLContext context) {
     final SmtpConfiguration smtpConfig = config.getSmtp();
-    final Properties smtpProps = getSmtpProps(smtpConfig);
-    final Authenticator smtpAuth = getSmtpAuth(smtpConfig);
+    final Session session =
+        Session.getInstance(getSmtpProps(smtpConfig), getSmtpAuth(smtpConfig));
+    // Only used for validating emails; they are sent over the connections of the senders
+    final Mailer mailer = MailerBuilder.usingSession(session).buildMailer();
 
     @SuppressWarnings("unchecked")
     final List<String> activeDomainNames =
         ((List<String>) dict.getDictionaryEntry("activeDomainNames")).stream()
             .map(String::toLowerCase).toList();
 
-    // check the database for any emails we need to send.
-    final List<AnetEmail> emails = dao.getAll();
+    // Drain the queue of emails concurrently, each sender claiming its own batches of emails and
+    // sending them over its own connection
+    final CompletableFuture<?>[] senders = IntStream.range(0, smtpConfig.getSenderThreads())
+        .mapToObj(i -> CompletableFuture.runAsync(
+            () -> sendEmails(now, context, smtpConfig, session, mailer, activeDomainNames),
+            senderExecutor))
+        .toArray(CompletableFuture<?>[]::new);
+    CompletableFuture.allOf(senders).join();
+  }
+
+  private void sendEmails(final Instant now, final GraphQLContext context,
+      final SmtpConfiguration smtpConfig, final Session session, final Mailer mailer,
+      final List<String> activeDomainNames) {
+    final int batchSize = smtpConfig.getBatchSize();
+    Transport transport = null;
+    try {
+      List<AnetEmail> emails;
+      do {
+        // Check the database for any emails we need to send
+        final Instant claimedAt = Instant.now();
+        emails = dao.claimPendingEmails(owner, claimedAt,
+            claimedAt.minusSeconds(smtpConfig.getLeaseSeconds()), batchSize);
+        for (final AnetEmail email : emails) {
+          transport = sendEmail(now, context, smtpConfig, session, mailer, activeDomainNames,
+              transport, email);
+        }
+      } while (emails.size() == batchSize
+          // Don't claim any more emails when shutting down
+          && !senderExecutor.isShutdown());
+    } finally {
+      closeTransport(transport);
+    }
+  }
 
-    // Send the emails!
-    final List<Integer> processedEmails = new LinkedList<>();
-    for (final AnetEmail email : emails) {
-      Map<String, Object> emailContext = null;
+  /**
+   * @return the connection to use for the next email
+   */
+  private Transport sendEmail(final Instant now, final GraphQLContext context,
+      final SmtpConfiguration smtpConfig, final Session session, final Mailer mailer,
+      final List<String> activeDomainNames, Transport transport, final AnetEmail email) {
+    Map<String, Object> emailContext = null;
+    try {
+      // Null actions are never deliverable, so just skip those and pretend they were processed
+      if (email.getAction() != null) {
+        emailContext = buildTemplateContext(context, email);
+        if (emailContext != null) {
+          logger.info("{}Processing email #{} re: \"{}\" to {}",
+              smtpConfig.isDisabled() ? "[Disabled] " : "", email.getId(),
+              getEmailSubject(email, emailContext), email.getToAddresses());
 
-      try {
-        // Null actions are never deliverable, so just skip those and pretend they were processed
-        if (email.getAction() != null) {
-          emailContext = buildTemplateContext(context, email);
-          if (emailContext != null) {
-            logger.info("{}Processing email #{} re: \"{}\" to {}",
-                smtpConfig.isDisabled() ? "[Disabled] " : "", email.getId(),
-                getEmailSubject(email, emailContext), email.getToAddresses());
-
-            if (!smtpConfig.isDisabled()) {
-              sendEmail(email, emailContext, smtpProps, smtpAuth, activeDomainNames);
+          if (!smtpConfig.isDisabled()) {
+            final MimeMessage message =
+                buildMessage(email, emailContext, session, mailer, activeDomainNames);
+            if (message != null) {
+              if (transport == null || !transport.isConnected()) {
+                closeTransport(transport);
+                transport = session.getTransport("smtp");
+                transport.connect();
+              }
+              logger.info("Sending email #{} re: \"{}\" to {}", email.getId(),
+                  getEmailSubject(email, emailContext), email.getToAddresses());
+              transport.sendMessage(message, message.getAllRecipients());
             }
           }
         }
-        processedEmails.add(email.getId());
-      } catch (Throwable t) {
-        logger.error("Error sending email #{}:", email.getId(), t);
-
-        dao.setErrorMessage(email.getId(), ExceptionUtils.getThrowableList(t).stream().limit(2)
-            .map(Throwable::getMessage).collect(Collectors.joining(": ")));
-
-        // Process stale emails
-        if (smtpConfig.getNbOfHoursForStaleEmails() != null) {
-          final Instant staleTime =
-              now.minus(smtpConfig.getNbOfHoursForStaleEmails(), ChronoUnit.HOURS);
-          if (email.getCreatedAt().isBefore(staleTime)) {
-            logger.info("Purging stale email #{} re: \"{}\" to {}", email.getId(),
-                getEmailSubject(email, emailContext), email.getToAddresses());
-            processedEmails.add(email.getId());
-          }
-        }
+      }
+      // Acknowledge each email as soon as it has been processed
+      dao.deletePendingEmails(List.of(email.getId()));
+    } catch (Throwable t) {
+      logger.error("Error sending email #{}:", email.getId(), t);
+      if (t instanceof MessagingException) {
+        // Reconnect for the next email
+        closeTransport(transport);
+        transport = null;
+      }
+
+      // Process stale emails
+      final Integer nbOfHoursForStaleEmails = smtpConfig.getNbOfHoursForStaleEmails();
+      if (nbOfHoursForStaleEmails != null
+          && email.getCreatedAt().isBefore(now.minus(nbOfHoursForStaleEmails, ChronoUnit.HOURS))) {
+        logger.info("Purging stale email #{} re: \"{}\" to {}", email.getId(),
+            getEmailSubject(email, emailContext), email.getToAddresses());
+        dao.deletePendingEmails(List.of(email.getId()));
+      } else {
+        // Release it to be retried later
+        dao.scheduleRetry(email.getId(), owner,
+            ExceptionUtils.getThrowableList(t).stream().limit(2).map(Throwable::getMessage)
+                .collect(Collectors.joining(": ")),
+            Instant.now(), smtpConfig.getRetryBackoffSeconds(),
+            smtpConfig.getMaxRetryBackoffSeconds());
       }
     }
+    return transport;
+  }
 
-    // Update the database.
-    dao.deletePendingEmails(processedEmails);
+  private void closeTransport(final Transport transport) {
+    if (transport != null) {
+      try {
+        transport.close();
+      } catch (MessagingException e) {
+        logger.debug("Error closing SMTP connection", e);
+      }
+    }
   }
 
   private Map<String, Object> buildTemplateContext(final GraphQLContext context,
@@ -173,9 +279,12 @@ public class AnetEmailWorker extends AbstractWorker {
     return email.getAction() == null ? "<no subject>" : email.getAction().getSubject(emailContext);
   }
 
-  private void sendEmail(final AnetEmail email, final Map<String, Object> emailContext,
-      final Properties smtpProps, final Authenticator smtpAuth,
-      final List<String> activeDomainNames) throws Exception {
+  /**
+   * @return the message to send, or null if it should not be sent
+   */
+  private MimeMessage buildMessage(final AnetEmail email, final Map<String, Object> emailContext,
+      final Session session, final Mailer mailer, final List<String> activeDomainNames)
+      throws Exception {
     // Remove any null email addresses
     email.getToAddresses().removeIf(s -> Objects.equals(s, null));
     email.getToAddresses().removeIf(emailAddress -> {
@@ -188,18 +297,15 @@ public class AnetEmailWorker extends AbstractWorker {
     if (email.getToAddresses().isEmpty()) {
       // This email will never get sent... just kill it off
       logger.info("Email #{} has no recipients", email.getId());
-      return;
+      return null;
     }
 
     final StringWriter writer = new StringWriter();
-    final Configuration freemarkerConfig = Utils.getFreemarkerConfig(this.getClass());
-    final Template temp = freemarkerConfig.getTemplate(email.getAction().getTemplateName());
-    emailContext.put("statics",
-        ((DefaultObjectWrapper) freemarkerConfig.getObjectWrapper()).getStaticModels());
+    final Template temp = getTemplate(email.getAction().getTemplateName());
+    emailContext.put("statics", staticModels);
     // scan:ignore — false positive, we know which template we are processing
     temp.process(emailContext, writer);
 
-    final Session session = Session.getInstance(smtpProps, smtpAuth);
     final Collection<Recipient> recipients = new RecipientsBuilder()
         .withRecipientsWithFixedName(null, email.getToAddresses(), RecipientType.TO)
         .buildRecipients();
@@ -210,16 +316,29 @@ public class AnetEmailWorker extends AbstractWorker {
     final Email mail = builder.buildEmail();
 
     try {
-      logger.info("Sending email #{} re: \"{}\" to {}", email.getId(),
-          getEmailSubject(email, emailContext), email.getToAddresses());
-      MailerBuilder.usingSession(session).buildMailer().sendMail(mail);
+      mailer.validate(mail);
     } catch (MailValidationException e) {
-      // The server rejected this... we'll log it and then not try again.
+      // The server would reject this... we'll log it and then not try again.
       logger.error("Sending email #{} failed:", email.getId(), e);
+      return null;
     }
+    final MimeMessage message = EmailConverter.emailToMimeMessage(mail, session);
+    message.saveChanges();
+    return message;
     // Other errors are intentionally thrown, as we want ANET to try again.
   }
 
+  private Template getTemplate(final String templateName) {
+    // Templates are compiled once, and can be processed concurrently
+    return templates.computeIfAbsent(templateName, name -> {
+      try {
+        return freemarkerConfig.getTemplate(name);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
   private void addAttachments(Map<String, Object> emailContext, EmailPopulatingBuilder builder) {
     @SuppressWarnings("unchecked")
     final List<Attachment> attachments = (List<Attachment>) emailContext.get("attachments");
@@ -0,0 +1,56 @@
+package mil.dds.anet.threads;
+
+import graphql.GraphQLContext;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import mil.dds.anet.beans.JobHistory;
+import mil.dds.anet.config.AnetDictionary;
+import mil.dds.anet.database.AdminDao;
+import mil.dds.anet.database.JobHistoryDao;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the full-text index up-to-date, by re-indexing the objects that have been marked as pending
+ * by the database triggers.
+ */
+@Component
+@ConditionalOnExpression("not ${anet.no-workers:false}")
+public class FullTextIndexWorker extends AbstractWorker {
+
+  public static final String[] fullTextIndexedTables =
+      {"attachments", "authorizationGroups", "events", "eventSeries", "locations", "organizations",
+          "people", "positions", "reports", "tasks"};
+
+  public static final int BATCH_SIZE = 1000;
+
+  private final AdminDao dao;
+
+  public FullTextIndexWorker(AnetDictionary dict, JobHistoryDao jobHistoryDao, AdminDao dao) {
+    super(dict, jobHistoryDao, "Updating full-text index");
+    this.dao = dao;
+  }
+
+  @Scheduled(initialDelay = 30, fixedDelay = 5, timeUnit = TimeUnit.SECONDS)
+  @Override
+  public void run() {
+    super.run();
+  }
+
+  @Override
+  protected void runInternal(Instant now, JobHistory jobHistory, GraphQLContext context) {
+    for (final String tableName : fullTextIndexedTables) {
+      try {
+        int count;
+        do {
+          count = dao.updateFullTextIndex(tableName, BATCH_SIZE);
+        } while (count == BATCH_SIZE);
+      } catch (Throwable e) {
+        // Log and continue with next table
+        logger.error("Exception in runInternal()", e);
+      }
+    }
+  }
+
+}
@@ -1,9 +1,24 @@
 package mil.dds.anet.threads;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import graphql.GraphQLContext;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import mil.dds.anet.beans.JobHistory;
+import mil.dds.anet.beans.metrics.MaterializedViewStatistic;
 import mil.dds.anet.config.AnetDictionary;
 import mil.dds.anet.database.AdminDao;
 import mil.dds.anet.database.JobHistoryDao;
@@ -11,6 +26,12 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+/**
+ * Refreshes the materialized views for links, but only those whose source tables have changed
+ * since their last refresh: either the table itself (its links may have changed), or the text of
+ * any object that can be linked to. The change watermarks of the tables are kept in the job
+ * history; changes to the linked text are logged by database triggers.
+ */
 @Component
 @ConditionalOnExpression("not ${anet.no-workers:false}")
 public class MaterializedViewForLinksRefreshWorker extends AbstractWorker {
@@ -19,12 +40,27 @@ public class MaterializedViewForLinksRefreshWorker extends AbstractWorker {
       "mv_lts_eventSeries", "mv_lts_locations", "mv_lts_organizations", "mv_lts_people",
       "mv_lts_positions", "mv_lts_reports", "mv_lts_tasks"};
 
+  private static final String VIEW_PREFIX = "mv_lts_";
+  // Marks in the job history that changes to the linked text have not been refreshed yet
+  private static final String CORE_TEXT_PENDING = "core_text";
+  // Refreshing is heavy on the database, so only refresh a few views at the same time
+  private static final int MAX_PARALLEL_REFRESHES = 3;
+
+  // Statistics per materialized view, since startup
+  private static final Map<String, RefreshStatistics> statistics = new ConcurrentHashMap<>();
+
   private final AdminDao dao;
+  private final ExecutorService executorService;
 
   public MaterializedViewForLinksRefreshWorker(AnetDictionary dict, JobHistoryDao jobHistoryDao,
       AdminDao dao) {
     super(dict, jobHistoryDao, "Refreshing materialized views");
     this.dao = dao;
+    final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(MAX_PARALLEL_REFRESHES,
+        MAX_PARALLEL_REFRESHES, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+        new ThreadFactoryBuilder().setNameFormat("anet-mv-refresh-%d").setDaemon(true).build());
+    threadPoolExecutor.allowCoreThreadTimeOut(true);
+    this.executorService = threadPoolExecutor;
   }
 
   @Scheduled(initialDelay = 5, fixedDelay = 15, timeUnit = TimeUnit.MINUTES)
@@ -35,14 +71,117 @@ public class MaterializedViewForLinksRefreshWorker extends AbstractWorker {
 
   @Override
   protected void runInternal(Instant now, JobHistory jobHistory, GraphQLContext context) {
+    final Map<String, Long> oldWatermarks =
+        Objects.requireNonNullElse(jobHistory.getWatermarks(), Map.of());
+    final Map<String, Long> newWatermarks = dao.getChangeWatermarks(
+        Arrays.stream(materializedViews).map(MaterializedViewForLinksRefreshWorker::getTableName)
+            .toList());
+    final boolean coreTextChanged =
+        dao.claimCoreTextChanges() > 0 || oldWatermarks.containsKey(CORE_TEXT_PENDING);
+    final Map<String, CompletableFuture<Boolean>> refreshes = new LinkedHashMap<>();
     for (final String materializedView : materializedViews) {
-      try {
-        dao.updateMaterializedView(materializedView);
-      } catch (Throwable e) {
-        // Log and continue with next view
-        logger.error("Exception in runInternal()", e);
+      final String tableName = getTableName(materializedView);
+      if (coreTextChanged || isChanged(tableName, oldWatermarks, newWatermarks)) {
+        refreshes.put(tableName, CompletableFuture
+            .supplyAsync(() -> refresh(materializedView, tableName), executorService));
+      } else {
+        getStatistics(materializedView).skipped();
+      }
+    }
+
+    // Only advance the watermarks of what has been refreshed successfully
+    final Map<String, Long> watermarks = new HashMap<>(oldWatermarks);
+    boolean allRefreshed = true;
+    for (final Map.Entry<String, CompletableFuture<Boolean>> refresh : refreshes.entrySet()) {
+      if (Boolean.TRUE.equals(refresh.getValue().join())) {
+        putWatermark(watermarks, refresh.getKey(), newWatermarks);
+      } else {
+        allRefreshed = false;
       }
     }
+    // The claimed changes are gone, so remember them until all views have been refreshed
+    if (allRefreshed) {
+      watermarks.remove(CORE_TEXT_PENDING);
+    } else if (coreTextChanged) {
+      watermarks.put(CORE_TEXT_PENDING, 1L);
+    }
+    jobHistory.setWatermarks(watermarks);
+  }
+
+  private boolean refresh(String materializedView, String tableName) {
+    final RefreshStatistics refreshStatistics = getStatistics(materializedView);
+    try {
+      final long start = System.nanoTime();
+      dao.updateMaterializedView(materializedView);
+      refreshStatistics.refreshed(Duration.ofNanos(System.nanoTime() - start));
+      // The full-text index includes the link text, so bring it up-to-date
+      dao.rebuildFullTextIndex(tableName);
+      return true;
+    } catch (Throwable e) {
+      // Log and continue with next view
+      logger.error("Exception in refresh() of {}", materializedView, e);
+      refreshStatistics.failed();
+      return false;
+    }
+  }
+
+  private static String getTableName(String materializedView) {
+    return materializedView.substring(VIEW_PREFIX.length());
+  }
+
+  private static boolean isChanged(String key, Map<String, Long> oldWatermarks,
+      Map<String, Long> newWatermarks) {
+    final Long newWatermark = newWatermarks.get(key);
+    return newWatermark == null || !newWatermark.equals(oldWatermarks.get(key));
+  }
+
+  private static void putWatermark(Map<String, Long> watermarks, String key,
+      Map<String, Long> newWatermarks) {
+    final Long newWatermark = newWatermarks.get(key);
+    if (newWatermark != null) {
+      watermarks.put(key, newWatermark);
+    }
+  }
+
+  private static RefreshStatistics getStatistics(String materializedView) {
+    return statistics.computeIfAbsent(materializedView, k -> new RefreshStatistics());
+  }
+
+  /**
+   * @return the refresh statistics of each materialized view, since startup
+   */
+  public static List<MaterializedViewStatistic> getStatistics() {
+    return statistics.entrySet().stream().map(e -> e.getValue().toStatistic(e.getKey()))
+        .sorted(Comparator.comparing(MaterializedViewStatistic::getName)).toList();
+  }
+
+  private static class RefreshStatistics {
+    private long refreshCount;
+    private long skipCount;
+    private long failureCount;
+    private long lastDurationMs;
+    private long totalDurationMs;
+    private Instant lastRefreshedAt;
+
+    public synchronized void refreshed(Duration duration) {
+      refreshCount++;
+      lastDurationMs = duration.toMillis();
+      totalDurationMs += lastDurationMs;
+      lastRefreshedAt = Instant.now();
+    }
+
+    public synchronized void skipped() {
+      skipCount++;
+    }
+
+    public synchronized void failed() {
+      failureCount++;
+    }
+
+    public synchronized MaterializedViewStatistic toStatistic(String name) {
+      return new MaterializedViewStatistic(name, refreshCount, skipCount, failureCount,
+          lastDurationMs, totalDurationMs, lastRefreshedAt);
+    }
   }
 
 }
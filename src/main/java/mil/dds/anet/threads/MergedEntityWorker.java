@@ -3,8 +3,10 @@ package mil.dds.anet.threads;
 import graphql.GraphQLContext;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import mil.dds.anet.beans.JobHistory;
+import mil.dds.anet.beans.MergedEntity;
 import mil.dds.anet.config.AnetDictionary;
 import mil.dds.anet.database.AdminDao;
 import mil.dds.anet.database.JobHistoryDao;
@@ -56,11 +58,14 @@ public class MergedEntityWorker extends AbstractWorker {
 
   @Override
   protected void runInternal(Instant now, JobHistory jobHistory, GraphQLContext context) {
-    final var mergedEntities = dao.getMergedEntities();
-    mergedEntities.forEach(mergedEntity -> {
-      fieldsWithEntityReference.forEach(
-          tuple -> dao.updateMergedEntity(tuple.tableName(), tuple.columnName(), mergedEntity));
-      dao.deleteMergedEntity(mergedEntity);
-    });
+    final List<MergedEntity> mergedEntities = dao.getMergedEntities();
+    if (mergedEntities.isEmpty()) {
+      return;
+    }
+    // Handle all pending merges at once, so each column is scanned and rewritten only once
+    final Map<String, String> replacements = MergedEntity.getReplacements(mergedEntities);
+    fieldsWithEntityReference.forEach(
+        tuple -> dao.updateMergedEntities(tuple.tableName(), tuple.columnName(), replacements));
+    mergedEntities.forEach(dao::deleteMergedEntity);
   }
 }
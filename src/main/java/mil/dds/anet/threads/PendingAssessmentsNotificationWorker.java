@@ -28,8 +28,7 @@ public class PendingAssessmentsNotificationWorker extends AbstractWorker {
 
   @Override
   protected void runInternal(Instant now, JobHistory jobHistory, GraphQLContext context) {
-    new PendingAssessmentsHelper(dict)
-        .loadAll(context, now, JobHistory.getLastRun(jobHistory), true).join();
+    new PendingAssessmentsHelper(dict).loadAll(now, JobHistory.getLastRun(jobHistory), true);
   }
 
 }
@@ -0,0 +1,55 @@
+package mil.dds.anet.threads;
+
+import graphql.GraphQLContext;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import mil.dds.anet.beans.JobHistory;
+import mil.dds.anet.beans.SubscriptionUpdate;
+import mil.dds.anet.config.AnetDictionary;
+import mil.dds.anet.database.JobHistoryDao;
+import mil.dds.anet.database.SubscriptionUpdateDao;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emails the subscribers about the subscription updates that have been recorded since the last
+ * run, so that updating a subscribed object doesn't have to wait for all its subscribers to be
+ * looked up.
+ */
+@Component
+@ConditionalOnExpression("not ${anet.no-workers:false}")
+public class SubscriptionUpdateWorker extends AbstractWorker {
+
+  private static final int BATCH_SIZE = 1000;
+
+  private final SubscriptionUpdateDao dao;
+
+  public SubscriptionUpdateWorker(AnetDictionary dict, JobHistoryDao jobHistoryDao,
+      SubscriptionUpdateDao dao) {
+    super(dict, jobHistoryDao, "Subscription Update Worker waking up to email subscribers");
+    this.dao = dao;
+  }
+
+  @Scheduled(initialDelay = 35, fixedDelay = 15, timeUnit = TimeUnit.SECONDS)
+  @Override
+  public void run() {
+    super.run();
+  }
+
+  @Override
+  protected void runInternal(Instant now, JobHistory jobHistory, GraphQLContext context) {
+    // The updates are claimed in the same transaction that queues their emails
+    List<SubscriptionUpdate> subscriptionUpdates;
+    do {
+      subscriptionUpdates = dao.claimPendingNotifications(now, BATCH_SIZE);
+      final int count = dao.sendEmailToSubscribers(subscriptionUpdates);
+      if (!subscriptionUpdates.isEmpty()) {
+        logger.debug("Queued {} emails for {} subscription updates", count,
+            subscriptionUpdates.size());
+      }
+    } while (subscriptionUpdates.size() == BATCH_SIZE);
+  }
+
+}
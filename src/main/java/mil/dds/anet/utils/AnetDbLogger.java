@@ -1,7 +1,10 @@
 package mil.dds.anet.utils;
 
 import java.lang.invoke.MethodHandles;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.temporal.ChronoUnit;
+import java.util.Set;
 import mil.dds.anet.database.AttachmentDao;
 import mil.dds.anet.database.AuthorizationGroupDao;
 import mil.dds.anet.database.CommentDao;
@@ -12,6 +15,7 @@ import mil.dds.anet.database.PersonDao;
 import mil.dds.anet.database.PositionDao;
 import mil.dds.anet.database.ReportDao;
 import mil.dds.anet.database.ReportSensitiveInformationDao;
+import mil.dds.anet.database.StatementMetrics;
 import mil.dds.anet.database.SubscriptionDao;
 import mil.dds.anet.database.SubscriptionUpdateDao;
 import mil.dds.anet.database.TaskDao;
@@ -23,17 +27,33 @@ import org.slf4j.LoggerFactory;
 /**
  * Logger that specifically looks for the very long column definitions that ANET uses and will
  * replace them in the log with a shortened version. This just makes the logs easier to read and
- * debug.
+ * debug. Regardless of the log level, each execution is recorded in the statement metrics.
  */
 public class AnetDbLogger implements SqlLogger {
   private static final Logger logger =
       LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+  // Statements executed so often that logging them would drown out everything else
+  private static final Set<String> UNLOGGED_TAGS = Set.of("insertUserActivities");
+
+  private final StatementMetrics statementMetrics;
+
+  public AnetDbLogger(StatementMetrics statementMetrics) {
+    this.statementMetrics = statementMetrics;
+  }
+
+  @Override
+  public void logException(StatementContext context, SQLException ex) {
+    statementMetrics.record(context.getRenderedSql(), context.getElapsedTime(ChronoUnit.NANOS),
+        -1, true);
+  }
+
   @Override
   public void logAfterExecution(StatementContext context) {
     final String renderedSql = context.getRenderedSql();
-    if (logger.isDebugEnabled() && renderedSql != null
-        && !renderedSql.startsWith("INSERT INTO \"userActivities\"")) {
+    statementMetrics.record(renderedSql, context.getElapsedTime(ChronoUnit.NANOS),
+        getUpdateCount(context), false);
+    if (logger.isDebugEnabled() && isLogged(renderedSql)) {
       final String msg =
           renderedSql.replace(AttachmentDao.ATTACHMENT_FIELDS, " <ATTACHMENT_FIELDS> ")
               .replace(AuthorizationGroupDao.AUTHORIZATION_GROUP_FIELDS,
@@ -51,9 +71,30 @@ public class AnetDbLogger implements SqlLogger {
               .replace(SubscriptionUpdateDao.SUBSCRIPTION_UPDATE_FIELDS,
                   " <SUBSCRIPTION_UPDATE_FIELDS> ")
               .replace(TaskDao.TASK_FIELDS, " <TASK_FIELDS> ")
-              .replaceFirst("LEFT JOIN (mv_fts_\\S+) ON \\S+\\s*=\\s*\\S+", "<$1>")
+              .replaceFirst("LEFT JOIN (\"?fts_\\S+) ON \\S+\\s*=\\s*\\S+", "<$1>")
               .replaceFirst("\\(?(EXP|ISNULL|CASE|ts_rank).* AS (search_rank)", "<$2>");
       logger.debug("{}\t{}", context.getElapsedTime(ChronoUnit.MILLIS), msg);
     }
   }
+
+  /**
+   * @param renderedSql the rendered SQL of a statement
+   * @return whether the statement should be logged
+   */
+  public static boolean isLogged(String renderedSql) {
+    return renderedSql != null && !UNLOGGED_TAGS.contains(StatementMetrics.getTag(renderedSql));
+  }
+
+  private long getUpdateCount(StatementContext context) {
+    // Only known for statements that modify rows; the rows of a query have yet to be fetched
+    final Statement statement = context.getStatement();
+    if (statement == null) {
+      return -1;
+    }
+    try {
+      return statement.getUpdateCount();
+    } catch (SQLException e) {
+      return -1;
+    }
+  }
 }
@@ -1,10 +1,15 @@
 package mil.dds.anet.utils;
 
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import mil.dds.anet.AnetObjectEngine;
 import mil.dds.anet.beans.AccessToken;
 import mil.dds.anet.beans.AccessTokenActivity;
@@ -46,26 +51,32 @@ import mil.dds.anet.beans.search.TaskSearchQuery;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.dataloader.BatchLoader;
 import org.dataloader.BatchLoaderWithContext;
+import org.dataloader.DataLoader;
 import org.dataloader.DataLoaderFactory;
 import org.dataloader.DataLoaderOptions;
 import org.dataloader.DataLoaderRegistry;
 import org.dataloader.stats.SimpleStatisticsCollector;
+import org.dataloader.stats.Statistics;
 
 public final class BatchingUtils {
 
-  private final ExecutorService dispatcherService;
+  private static final int MAX_BATCH_SIZE = 25000;
+
+  // Statistics per data loader, collected over all registries
+  private static final Map<String, SimpleStatisticsCollector> statisticsCollectors =
+      new ConcurrentHashMap<>();
+
+  private final Map<String, Function<DataLoaderOptions, DataLoader<?, ?>>> dataLoaderFactories;
   private final DataLoaderRegistry dataLoaderRegistry;
-  private final DataLoaderOptions dataLoaderOptions;
+  private final boolean batchingEnabled;
+  private final boolean cachingEnabled;
 
   public BatchingUtils(AnetObjectEngine engine, boolean batchingEnabled, boolean cachingEnabled) {
-    final int maxBatchSize = 25000;
-    // Give each registry its own thread pool
-    dispatcherService = Executors.newFixedThreadPool(3);
-    dataLoaderRegistry = new DataLoaderRegistry();
-    dataLoaderOptions = DataLoaderOptions.newOptions()
-        .setStatisticsCollector(SimpleStatisticsCollector::new).setBatchingEnabled(batchingEnabled)
-        .setCachingEnabled(cachingEnabled).setMaxBatchSize(maxBatchSize);
-    registerDataLoaders(engine);
+    // The factories and the thread pool they use are shared by all registries
+    dataLoaderFactories = engine.getDataLoaderFactories();
+    dataLoaderRegistry = new LazyDataLoaderRegistry();
+    this.batchingEnabled = batchingEnabled;
+    this.cachingEnabled = cachingEnabled;
   }
 
   public DataLoaderRegistry getDataLoaderRegistry() {
@@ -73,359 +84,393 @@ public final class BatchingUtils {
   }
 
   /**
-   * Call this when you're done with this batcher; it shuts down the thread pool being used (which
-   * may free up some resources).
+   * @return the statistics of each data loader, collected over all registries
+   */
+  public static Map<String, Statistics> getStatistics() {
+    return statisticsCollectors.entrySet().stream().collect(
+        Collectors.toMap(Map.Entry::getKey, e -> e.getValue().getStatistics(), (a, b) -> a,
+            TreeMap::new));
+  }
+
+  private DataLoader<?, ?> createDataLoader(String key) {
+    final Function<DataLoaderOptions, DataLoader<?, ?>> dataLoaderFactory =
+        dataLoaderFactories.get(key);
+    if (dataLoaderFactory == null) {
+      throw new IllegalArgumentException("Unknown data loader " + key);
+    }
+    final SimpleStatisticsCollector statisticsCollector =
+        statisticsCollectors.computeIfAbsent(key, k -> new SimpleStatisticsCollector());
+    return dataLoaderFactory.apply(DataLoaderOptions.newOptions()
+        .setStatisticsCollector(() -> statisticsCollector).setBatchingEnabled(batchingEnabled)
+        .setCachingEnabled(cachingEnabled).setMaxBatchSize(MAX_BATCH_SIZE));
+  }
+
+  /**
+   * Registry that only creates a data loader when it is first used, so a request doesn't pay for
+   * all the data loaders it doesn't need.
    */
-  public void shutdown() {
-    dispatcherService.shutdown();
+  private class LazyDataLoaderRegistry extends DataLoaderRegistry {
+    @Override
+    public <K, V> DataLoader<K, V> getDataLoader(String key) {
+      return computeIfAbsent(key, BatchingUtils.this::createDataLoader);
+    }
   }
 
-  private void registerDataLoaders(AnetObjectEngine engine) {
-    dataLoaderRegistry.register(IdDataLoaderKey.ACCESS_TOKENS.toString(),
-        DataLoaderFactory.newDataLoader(
+  /**
+   * Create the factories for all our data loaders; the batch loaders are shared by all registries,
+   * and load their batches on the given executor.
+   */
+  public static Map<String, Function<DataLoaderOptions, DataLoader<?, ?>>> createFactories(
+      AnetObjectEngine engine, Executor dispatcherService) {
+    final Map<String, Function<DataLoaderOptions, DataLoader<?, ?>>> dataLoaderFactories =
+        new HashMap<>();
+    dataLoaderFactories.put(IdDataLoaderKey.ACCESS_TOKENS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, AccessToken>) keys -> CompletableFuture
                 .supplyAsync(() -> engine.getAccessTokenDao().getByIds(keys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry
-        .register(FkDataLoaderKey.ACCESS_TOKEN_ACTIVITY_ACCESS_TOKEN.toString(),
-            DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories
+        .put(FkDataLoaderKey.ACCESS_TOKEN_ACTIVITY_ACCESS_TOKEN.toString(),
+            options -> DataLoaderFactory.newDataLoader(
                 (BatchLoader<String, List<AccessTokenActivity>>) foreignKeys -> CompletableFuture
                     .supplyAsync(() -> engine.getAccessTokenActivityDao()
                         .getAccessTokenActivity(foreignKeys), dispatcherService),
-                dataLoaderOptions));
-    dataLoaderRegistry.register(IdDataLoaderKey.APPROVAL_STEPS.toString(),
-        DataLoaderFactory.newDataLoader(
+                options));
+    dataLoaderFactories.put(IdDataLoaderKey.APPROVAL_STEPS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, ApprovalStep>) keys -> CompletableFuture
                 .supplyAsync(() -> engine.getApprovalStepDao().getByIds(keys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.APPROVAL_STEP_APPROVERS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.APPROVAL_STEP_APPROVERS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<Position>>) foreignKeys -> CompletableFuture.supplyAsync(
                 () -> engine.getApprovalStepDao().getApprovers(foreignKeys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(IdDataLoaderKey.ASSESSMENTS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(IdDataLoaderKey.ASSESSMENTS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, Assessment>) keys -> CompletableFuture
                 .supplyAsync(() -> engine.getAssessmentDao().getByIds(keys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.ASSESSMENT_ASSESSMENT_RELATED_OBJECTS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.ASSESSMENT_ASSESSMENT_RELATED_OBJECTS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<GenericRelatedObject>>) foreignKeys -> CompletableFuture
                 .supplyAsync(
                     () -> engine.getAssessmentDao().getAssessmentRelatedObjects(foreignKeys),
                     dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.ASSESSMENT_RELATED_OBJECT_ASSESSMENTS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.ASSESSMENT_RELATED_OBJECT_ASSESSMENTS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<Assessment>>) foreignKeys -> CompletableFuture.supplyAsync(
                 () -> engine.getAssessmentDao().getAssessments(foreignKeys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(IdDataLoaderKey.ATTACHMENTS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(IdDataLoaderKey.ATTACHMENTS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, Attachment>) keys -> CompletableFuture
                 .supplyAsync(() -> engine.getAttachmentDao().getByIds(keys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.ATTACHMENT_ATTACHMENT_RELATED_OBJECTS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.ATTACHMENT_ATTACHMENT_RELATED_OBJECTS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<GenericRelatedObject>>) foreignKeys -> CompletableFuture
                 .supplyAsync(
                     () -> engine.getAttachmentDao().getAttachmentRelatedObjects(foreignKeys),
                     dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.ATTACHMENT_RELATED_OBJECT_ATTACHMENTS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.ATTACHMENT_RELATED_OBJECT_ATTACHMENTS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<Attachment>>) foreignKeys -> CompletableFuture.supplyAsync(
                 () -> engine.getAttachmentDao().getAttachments(foreignKeys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(IdDataLoaderKey.AUDIT_TRAIL.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(IdDataLoaderKey.AUDIT_TRAIL.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, AuditTrail>) keys -> CompletableFuture
                 .supplyAsync(() -> engine.getAuditTrailDao().getByIds(keys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(IdDataLoaderKey.AUTHORIZATION_GROUPS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(IdDataLoaderKey.AUTHORIZATION_GROUPS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, AuthorizationGroup>) keys -> CompletableFuture.supplyAsync(
                 () -> engine.getAuthorizationGroupDao().getByIds(keys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(
+            options));
+    dataLoaderFactories.put(
         FkDataLoaderKey.AUTHORIZATION_GROUP_ADMINISTRATIVE_POSITIONS.toString(),
-        DataLoaderFactory.newDataLoader(
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<Position>>) foreignKeys -> CompletableFuture.supplyAsync(
                 () -> engine.getAuthorizationGroupDao().getAdministrativePositions(foreignKeys),
                 dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(
+            options));
+    dataLoaderFactories.put(
         FkDataLoaderKey.AUTHORIZATION_GROUP_AUTHORIZATION_GROUP_RELATED_OBJECTS.toString(),
-        DataLoaderFactory.newDataLoader(
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<AuthorizationGroupRelatedObject>>) foreignKeys -> CompletableFuture
                 .supplyAsync(() -> engine.getAuthorizationGroupDao()
                     .getAuthorizationGroupRelatedObjects(foreignKeys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(IdDataLoaderKey.COMMENTS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(IdDataLoaderKey.COMMENTS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, Comment>) keys -> CompletableFuture
                 .supplyAsync(() -> engine.getCommentDao().getByIds(keys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.EMAIL_ADDRESSES_FOR_RELATED_OBJECT.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.EMAIL_ADDRESSES_FOR_RELATED_OBJECT.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<EmailAddress>>) foreignKeys -> CompletableFuture.supplyAsync(
                 () -> engine.getEmailAddressDao().getEmailAddressesForRelatedObjects(foreignKeys),
                 dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(IdDataLoaderKey.ENTITY_AVATARS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(IdDataLoaderKey.ENTITY_AVATARS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, EntityAvatar>) keys -> CompletableFuture
                 .supplyAsync(() -> engine.getEntityAvatarDao().getByIds(keys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(IdDataLoaderKey.EVENTS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(IdDataLoaderKey.EVENTS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, Event>) keys -> CompletableFuture
                 .supplyAsync(() -> engine.getEventDao().getByIds(keys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.EVENT_TASKS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.EVENT_TASKS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<Task>>) foreignKeys -> CompletableFuture
                 .supplyAsync(() -> engine.getEventDao().getTasks(foreignKeys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.EVENT_ORGANIZATIONS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.EVENT_ORGANIZATIONS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<Organization>>) foreignKeys -> CompletableFuture.supplyAsync(
                 () -> engine.getEventDao().getOrganizations(foreignKeys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.EVENT_PEOPLE.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.EVENT_PEOPLE.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<Person>>) foreignKeys -> CompletableFuture
                 .supplyAsync(() -> engine.getEventDao().getPeople(foreignKeys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.EVENT_EVENT_HOST_RELATED_OBJECTS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.EVENT_EVENT_HOST_RELATED_OBJECTS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<GenericRelatedObject>>) foreignKeys -> CompletableFuture
                 .supplyAsync(() -> engine.getEventDao().getEventHostRelatedObjects(foreignKeys),
                     dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(IdDataLoaderKey.EVENT_SERIES.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(IdDataLoaderKey.EVENT_SERIES.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, EventSeries>) keys -> CompletableFuture
                 .supplyAsync(() -> engine.getEventSeriesDao().getByIds(keys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry
-        .register(FkDataLoaderKey.EVENT_SERIES_EVENT_SERIES_HOST_RELATED_OBJECTS.toString(),
-            DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories
+        .put(FkDataLoaderKey.EVENT_SERIES_EVENT_SERIES_HOST_RELATED_OBJECTS.toString(),
+            options -> DataLoaderFactory.newDataLoader(
                 (BatchLoader<String, List<GenericRelatedObject>>) foreignKeys -> CompletableFuture
                     .supplyAsync(() -> engine.getEventSeriesDao()
                         .getEventSeriesHostRelatedObjects(foreignKeys), dispatcherService),
-                dataLoaderOptions));
-    dataLoaderRegistry.register(IdDataLoaderKey.EVENT_TYPES.toString(),
-        DataLoaderFactory.newDataLoader(
+                options));
+    dataLoaderFactories.put(IdDataLoaderKey.EVENT_TYPES.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, EventType>) keys -> CompletableFuture
                 .supplyAsync(() -> engine.getEventTypeDao().getByIds(keys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(IdDataLoaderKey.LOCATIONS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(IdDataLoaderKey.LOCATIONS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, Location>) keys -> CompletableFuture
                 .supplyAsync(() -> engine.getLocationDao().getByIds(keys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(SqDataLoaderKey.LOCATIONS_SEARCH.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(SqDataLoaderKey.LOCATIONS_SEARCH.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<ImmutablePair<String, LocationSearchQuery>, List<Location>>) foreignKeys -> CompletableFuture
                 .supplyAsync(() -> engine.getLocationDao().getLocationsBySearch(foreignKeys),
                     dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(IdDataLoaderKey.NOTES.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(IdDataLoaderKey.NOTES.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, Note>) keys -> CompletableFuture
                 .supplyAsync(() -> engine.getNoteDao().getByIds(keys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.NOTE_NOTE_RELATED_OBJECTS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.NOTE_NOTE_RELATED_OBJECTS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<GenericRelatedObject>>) foreignKeys -> CompletableFuture
                 .supplyAsync(() -> engine.getNoteDao().getNoteRelatedObjects(foreignKeys),
                     dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.NOTE_RELATED_OBJECT_NOTES.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.NOTE_RELATED_OBJECT_NOTES.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<Note>>) foreignKeys -> CompletableFuture
                 .supplyAsync(() -> engine.getNoteDao().getNotes(foreignKeys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(IdDataLoaderKey.ORGANIZATIONS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(IdDataLoaderKey.ORGANIZATIONS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, Organization>) keys -> CompletableFuture
                 .supplyAsync(() -> engine.getOrganizationDao().getByIds(keys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(SqDataLoaderKey.ORGANIZATIONS_SEARCH.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(SqDataLoaderKey.ORGANIZATIONS_SEARCH.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<ImmutablePair<String, OrganizationSearchQuery>, List<Organization>>) foreignKeys -> CompletableFuture
                 .supplyAsync(
                     () -> engine.getOrganizationDao().getOrganizationsBySearch(foreignKeys),
                     dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.ORGANIZATION_ADMINISTRATIVE_POSITIONS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.ORGANIZATION_ADMINISTRATIVE_POSITIONS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<Position>>) foreignKeys -> CompletableFuture.supplyAsync(
                 () -> engine.getOrganizationDao().getAdministratingPositions(foreignKeys),
                 dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(IdDataLoaderKey.PEOPLE.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(IdDataLoaderKey.PEOPLE.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, Person>) keys -> CompletableFuture
                 .supplyAsync(() -> engine.getPersonDao().getByIds(keys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.PERSON_PERSON_ADDITIONAL_POSITIONS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.PERSON_PERSON_ADDITIONAL_POSITIONS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<Position>>) foreignKeys -> CompletableFuture.supplyAsync(
                 () -> engine.getPersonDao().getPersonAdditionalPositions(foreignKeys),
                 dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.PERSON_PERSON_POSITION_HISTORY.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.PERSON_PERSON_POSITION_HISTORY.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<PersonPositionHistory>>) foreignKeys -> CompletableFuture
                 .supplyAsync(() -> engine.getPersonDao().getPersonPositionHistory(foreignKeys),
                     dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.PERSON_PERSON_PREFERENCES.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.PERSON_PERSON_PREFERENCES.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<PersonPreference>>) foreignKeys -> CompletableFuture
                 .supplyAsync(() -> engine.getPersonDao().getPersonPreferences(foreignKeys),
                     dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(IdDataLoaderKey.POSITIONS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(IdDataLoaderKey.POSITIONS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, Position>) keys -> CompletableFuture
                 .supplyAsync(() -> engine.getPositionDao().getByIds(keys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(SqDataLoaderKey.POSITIONS_SEARCH.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(SqDataLoaderKey.POSITIONS_SEARCH.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<ImmutablePair<String, PositionSearchQuery>, List<Position>>) foreignKeys -> CompletableFuture
                 .supplyAsync(() -> engine.getPositionDao().getPositionsBySearch(foreignKeys),
                     dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.POSITION_ASSOCIATED_POSITIONS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.POSITION_ASSOCIATED_POSITIONS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<Position>>) foreignKeys -> CompletableFuture.supplyAsync(
                 () -> engine.getPositionDao().getAssociatedPositionsForPosition(foreignKeys),
                 dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.POSITION_PRIMARY_POSITION_FOR_PERSON.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.POSITION_PRIMARY_POSITION_FOR_PERSON.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<Position>>) foreignKeys -> CompletableFuture.supplyAsync(
                 () -> engine.getPositionDao().getPrimaryPersonForPosition(foreignKeys),
                 dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(
+            options));
+    dataLoaderFactories.put(
         FkDataLoaderKey.POSITION_PRIMARY_POSITION_FOR_PERSON_WHEN.toString(),
-        DataLoaderFactory.newDataLoader(
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<ImmutablePair<String, Instant>, List<Position>>) foreignKeys -> CompletableFuture
                 .supplyAsync(() -> engine.getPositionDao().getPrimaryPositionsByDate(foreignKeys),
                     dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.POSITION_PERSON_POSITION_HISTORY.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.POSITION_PERSON_POSITION_HISTORY.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<PersonPositionHistory>>) foreignKeys -> CompletableFuture
                 .supplyAsync(() -> engine.getPositionDao().getPersonPositionHistory(foreignKeys),
                     dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(IdDataLoaderKey.PREFERENCES.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(IdDataLoaderKey.PREFERENCES.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, Preference>) keys -> CompletableFuture
                 .supplyAsync(() -> engine.getPreferenceDao().getByIds(keys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.RELATED_OBJECT_APPROVAL_STEPS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.RELATED_OBJECT_APPROVAL_STEPS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<ApprovalStep>>) foreignKeys -> CompletableFuture.supplyAsync(
                 () -> engine.getApprovalStepDao().getApprovalSteps(foreignKeys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(
+            options));
+    dataLoaderFactories.put(
         FkDataLoaderKey.RELATED_OBJECT_CUSTOM_SENSITIVE_INFORMATION.toString(),
-        DataLoaderFactory.newDataLoader(
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<CustomSensitiveInformation>>) foreignKeys -> CompletableFuture
                 .supplyAsync(() -> engine.getCustomSensitiveInformationDao()
                     .getCustomSensitiveInformation(foreignKeys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.RELATED_OBJECT_PLANNING_APPROVAL_STEPS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.RELATED_OBJECT_PLANNING_APPROVAL_STEPS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<ApprovalStep>>) foreignKeys -> CompletableFuture.supplyAsync(
                 () -> engine.getApprovalStepDao().getPlanningApprovalSteps(foreignKeys),
                 dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(IdDataLoaderKey.REPORTS.toString(), DataLoaderFactory.newDataLoader(
-        (BatchLoaderWithContext<String, Report>) (keys, context) -> CompletableFuture
-            .supplyAsync(() -> engine.getReportDao().getByIds(keys, context), dispatcherService),
-        dataLoaderOptions));
-    dataLoaderRegistry.register(SqDataLoaderKey.REPORTS_SEARCH.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(IdDataLoaderKey.REPORTS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
+            (BatchLoaderWithContext<String, Report>) (keys, context) -> CompletableFuture
+                .supplyAsync(() -> engine.getReportDao().getByIds(keys, context), dispatcherService),
+            options));
+    dataLoaderFactories.put(SqDataLoaderKey.REPORTS_SEARCH.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<ImmutablePair<String, ReportSearchQuery>, List<Report>>) foreignKeys -> CompletableFuture
                 .supplyAsync(() -> engine.getReportDao().getReportsBySearch(foreignKeys),
                     dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.REPORT_REPORT_ACTIONS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.REPORT_REPORT_ACTIONS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<ReportAction>>) foreignKeys -> CompletableFuture.supplyAsync(
                 () -> engine.getReportActionDao().getReportActions(foreignKeys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.REPORT_REPORT_AUTHORIZED_MEMBERS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.REPORT_REPORT_AUTHORIZED_MEMBERS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<GenericRelatedObject>>) foreignKeys -> CompletableFuture
                 .supplyAsync(() -> engine.getReportDao().getReportAuthorizedMembers(foreignKeys),
                     dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.REPORT_REPORT_COMMUNITIES.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.REPORT_REPORT_COMMUNITIES.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<AuthorizationGroup>>) foreignKeys -> CompletableFuture
                 .supplyAsync(() -> engine.getReportDao().getReportCommunities(foreignKeys),
                     dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.REPORT_PEOPLE.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.REPORT_PEOPLE.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<ReportPerson>>) foreignKeys -> CompletableFuture.supplyAsync(
                 () -> engine.getReportDao().getReportPeople(foreignKeys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.REPORT_REPORT_SENSITIVE_INFORMATION.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.REPORT_REPORT_SENSITIVE_INFORMATION.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<ReportSensitiveInformation>>) foreignKeys -> CompletableFuture
                 .supplyAsync(() -> engine.getReportSensitiveInformationDao()
                     .getReportSensitiveInformation(foreignKeys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.REPORT_TASKS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.REPORT_TASKS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<Task>>) foreignKeys -> CompletableFuture
                 .supplyAsync(() -> engine.getReportDao().getTasks(foreignKeys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(IdDataLoaderKey.SAVED_SEARCHES.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(IdDataLoaderKey.SAVED_SEARCHES.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, SavedSearch>) keys -> CompletableFuture
                 .supplyAsync(() -> engine.getSavedSearchDao().getByIds(keys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(IdDataLoaderKey.SUBSCRIPTIONS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(IdDataLoaderKey.SUBSCRIPTIONS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, Subscription>) keys -> CompletableFuture
                 .supplyAsync(() -> engine.getSubscriptionDao().getByIds(keys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(IdDataLoaderKey.TASKS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(IdDataLoaderKey.TASKS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, Task>) keys -> CompletableFuture
                 .supplyAsync(() -> engine.getTaskDao().getByIds(keys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(SqDataLoaderKey.TASKS_SEARCH.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(SqDataLoaderKey.TASKS_SEARCH.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<ImmutablePair<String, TaskSearchQuery>, List<Task>>) foreignKeys -> CompletableFuture
                 .supplyAsync(() -> engine.getTaskDao().getTasksBySearch(foreignKeys),
                     dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.TASK_RESPONSIBLE_POSITIONS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.TASK_RESPONSIBLE_POSITIONS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<Position>>) foreignKeys -> CompletableFuture.supplyAsync(
                 () -> engine.getTaskDao().getResponsiblePositions(foreignKeys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.TASK_TASKED_ORGANIZATIONS.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.TASK_TASKED_ORGANIZATIONS.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<Organization>>) foreignKeys -> CompletableFuture.supplyAsync(
                 () -> engine.getTaskDao().getTaskedOrganizations(foreignKeys), dispatcherService),
-            dataLoaderOptions));
-    dataLoaderRegistry.register(FkDataLoaderKey.USER_PERSON.toString(),
-        DataLoaderFactory.newDataLoader(
+            options));
+    dataLoaderFactories.put(FkDataLoaderKey.USER_PERSON.toString(),
+        options -> DataLoaderFactory.newDataLoader(
             (BatchLoader<String, List<User>>) foreignKeys -> CompletableFuture
                 .supplyAsync(() -> engine.getUserDao().getUsers(foreignKeys), dispatcherService),
-            dataLoaderOptions));
+            options));
+    return dataLoaderFactories;
   }
 
 }
@@ -0,0 +1,101 @@
+package mil.dds.anet.utils;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The executor on which all batch loaders load their batches.
+ *
+ * <p>
+ * With platform threads, this is a bounded thread pool; when its queue is full, the dispatching
+ * thread loads the batch itself. With virtual threads, each batch gets its own virtual thread, and
+ * a semaphore limits the number of batches loading concurrently (so we don't need more database
+ * connections than before).
+ */
+public class DataLoaderExecutor implements Executor {
+
+  private final boolean virtualThreads;
+  private final int maxConcurrency;
+  private final ExecutorService executorService;
+  private final Semaphore permits;
+  private final AtomicInteger queued = new AtomicInteger();
+  private final AtomicInteger active = new AtomicInteger();
+  private final AtomicLong completed = new AtomicLong();
+
+  /**
+   * @param virtualThreads whether to use virtual threads
+   * @param maxConcurrency the maximum number of batches being loaded concurrently
+   * @param queueSize the maximum number of batches waiting for a platform thread
+   */
+  public DataLoaderExecutor(boolean virtualThreads, int maxConcurrency, int queueSize) {
+    this.virtualThreads = virtualThreads;
+    this.maxConcurrency = maxConcurrency;
+    if (virtualThreads) {
+      executorService = Executors
+          .newThreadPerTaskExecutor(Thread.ofVirtual().name("anet-dataloader-", 0).factory());
+      permits = new Semaphore(maxConcurrency);
+    } else {
+      final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(maxConcurrency,
+          maxConcurrency, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(queueSize),
+          new ThreadFactoryBuilder().setNameFormat("anet-dataloader-%d").setDaemon(true).build(),
+          new ThreadPoolExecutor.CallerRunsPolicy());
+      threadPoolExecutor.allowCoreThreadTimeOut(true);
+      executorService = threadPoolExecutor;
+      permits = null;
+    }
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    queued.incrementAndGet();
+    executorService.execute(() -> {
+      if (permits != null) {
+        permits.acquireUninterruptibly();
+      }
+      queued.decrementAndGet();
+      active.incrementAndGet();
+      try {
+        command.run();
+      } finally {
+        active.decrementAndGet();
+        completed.incrementAndGet();
+        if (permits != null) {
+          permits.release();
+        }
+      }
+    });
+  }
+
+  public void shutdown() {
+    executorService.shutdown();
+  }
+
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  public int getActiveCount() {
+    return active.get();
+  }
+
+  public int getQueueDepth() {
+    return queued.get();
+  }
+
+  public long getCompletedCount() {
+    return completed.get();
+  }
+
+}
@@ -1,46 +1,49 @@
 package mil.dds.anet.utils;
 
-import graphql.GraphQLContext;
+import com.google.common.collect.Lists;
 import java.lang.invoke.MethodHandles;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAdjuster;
 import java.time.temporal.TemporalAdjusters;
 import java.time.temporal.WeekFields;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import mil.dds.anet.AnetObjectEngine;
 import mil.dds.anet.beans.AnetEmail;
 import mil.dds.anet.beans.EmailAddress;
 import mil.dds.anet.beans.Person;
 import mil.dds.anet.beans.Position;
 import mil.dds.anet.beans.Task;
-import mil.dds.anet.beans.WithStatus;
-import mil.dds.anet.beans.search.PositionSearchQuery;
-import mil.dds.anet.beans.search.TaskSearchQuery;
 import mil.dds.anet.config.AnetDictionary;
 import mil.dds.anet.config.ApplicationContextProvider;
+import mil.dds.anet.database.AssessmentDao;
+import mil.dds.anet.database.AssessmentDao.AssessmentCandidate;
+import mil.dds.anet.database.AssessmentDao.LatestPeriodStart;
+import mil.dds.anet.database.EmailAddressDao;
+import mil.dds.anet.database.PersonDao;
 import mil.dds.anet.database.PositionDao;
 import mil.dds.anet.database.TaskDao;
 import mil.dds.anet.emails.PendingAssessmentsNotificationEmail;
 import mil.dds.anet.threads.AnetEmailWorker;
-import mil.dds.anet.views.AbstractCustomizableAnetBean;
+import mil.dds.anet.views.AbstractAnetBean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import tools.jackson.core.JacksonException;
-import tools.jackson.databind.JsonNode;
 
 public class PendingAssessmentsHelper {
 
@@ -211,6 +214,8 @@ public class PendingAssessmentsHelper {
     }
   }
 
+  public record UuidsToAssess(Set<String> positionUuids, Set<String> taskUuids) {}
+
   // Dictionary lookup keys we use
   public static final String PERSON_ASSESSMENTS = "fields.regular.person.assessments";
   public static final String TASK_ASSESSMENTS = "fields.task.assessments";
@@ -219,66 +224,91 @@ public class PendingAssessmentsHelper {
   public static final String JSON_ASSESSMENT_RECURRENCE = "__recurrence";
   public static final String JSON_ASSESSMENT_PERIOD_START = "__periodStart";
 
+  // Number of advisor positions loaded and notified at a time
+  private static final int ADVISOR_BATCH_SIZE = 500;
+
   private final AnetDictionary dict;
   private final boolean useISO8601;
+  private final AssessmentDao assessmentDao;
+  private final EmailAddressDao emailAddressDao;
+  private final PersonDao personDao;
   private final PositionDao positionDao;
   private final TaskDao taskDao;
 
   public PendingAssessmentsHelper(final AnetDictionary dict) {
     this.dict = dict;
     this.useISO8601 = Boolean.TRUE.equals(dict.getDictionaryEntry("useISO8601"));
-    this.positionDao = ApplicationContextProvider.getEngine().getPositionDao();
-    this.taskDao = ApplicationContextProvider.getEngine().getTaskDao();
+    final AnetObjectEngine engine = ApplicationContextProvider.getEngine();
+    this.assessmentDao = engine.getAssessmentDao();
+    this.emailAddressDao = engine.getEmailAddressDao();
+    this.personDao = engine.getPersonDao();
+    this.positionDao = engine.getPositionDao();
+    this.taskDao = engine.getTaskDao();
   }
 
-  public CompletableFuture<Map<Position, ObjectsToAssess>> loadAll(final GraphQLContext context,
-      final Instant now, final Instant lastRun, final boolean sendEmail) {
+  /**
+   * Find the positions that have pending assessments: periodic assessments of their counterparts
+   * or of the tasks they are responsible for, for which the most recent period has not been
+   * assessed yet. Candidates and the most recent period assessed are found with set-based queries,
+   * and the advisors are then loaded and notified in batches.
+   *
+   * @param now the reference date
+   * @param lastRun the previous time this was run, or null to check all recurrences
+   * @param sendEmail whether to send a notification email to each advisor found
+   * @return the objects to assess, by advisor position
+   */
+  public Map<Position, ObjectsToAssess> loadAll(final Instant now, final Instant lastRun,
+      final boolean sendEmail) {
+    final Map<Position, ObjectsToAssess> objectsToAssessByPosition = new HashMap<>();
     final Set<Recurrence> recurrenceSet = getRecurrenceSet(now, lastRun);
     if (recurrenceSet.isEmpty()) {
       logger.debug("Nothing to do, now new recurrences since last run");
-      return CompletableFuture.completedFuture(new HashMap<>());
+      return objectsToAssessByPosition;
     }
 
-    // Look up periodic assessment definitions for people in the dictionary
+    // Look up periodic assessment definitions for people and tasks in the dictionary
     final Set<Recurrence> positionAssessmentRecurrence =
         getAssessmentRecurrence(recurrenceSet, PERSON_ASSESSMENTS);
     logger.trace("positionAssessmentRecurrence={}", positionAssessmentRecurrence);
-
-    // Look up periodic assessment definitions for all tasks
-    final Map<Task, Set<Recurrence>> taskAssessmentRecurrence = new HashMap<>();
-    addTaskDefinitions(recurrenceSet, taskAssessmentRecurrence);
+    final Set<Recurrence> taskAssessmentRecurrence =
+        getAssessmentRecurrence(recurrenceSet, TASK_ASSESSMENTS);
     logger.trace("taskAssessmentRecurrence={}", taskAssessmentRecurrence);
 
-    // Prepare maps of positions and tasks linked to active advisor positions
-    final Map<Position, ObjectsToAssess> objectsToAssessByPosition = new HashMap<>();
-    return preparePositionAssessmentMap(context, positionAssessmentRecurrence,
-        objectsToAssessByPosition).thenCompose(allPositionsToAssess -> {
-          logger.trace("the following positions need to be checked for missing assessments: {}",
-              allPositionsToAssess);
-          return prepareTaskAssessmentMap(context, taskAssessmentRecurrence,
-              objectsToAssessByPosition).thenCompose(allTasksToAssess -> {
-                logger.trace("the following tasks need to be checked for missing assessments: {}",
-                    allTasksToAssess);
-
-                // First load person for each position, and filter out the inactive ones
-                return filterPositionsToAssessOnPerson(context, allPositionsToAssess)
-                    .thenCompose(b1 ->
-                // Process the existing assessments for positions to assess
-                processExistingAssessments(context, now, recurrenceSet, allPositionsToAssess)
-                    .thenCompose(b2 ->
-                // Process the existing assessments for tasks to assess
-                processExistingAssessments(context, now, recurrenceSet, allTasksToAssess)
-                    .thenCompose(b3 -> {
-                      // Now filter out the ones that don't need assessments
-                      filterObjectsToAssess(objectsToAssessByPosition, allPositionsToAssess,
-                          allTasksToAssess);
-                      // Load the people who should be included,
-                      // and optionally receive a notification email
-                      return loadPeopleToBeIncluded(context, objectsToAssessByPosition,
-                          allPositionsToAssess, allTasksToAssess, sendEmail);
-                    })));
-              });
-        });
+    // Find the objects that may have to be assessed, by which advisor position
+    final List<AssessmentCandidate> candidates = new ArrayList<>();
+    if (!positionAssessmentRecurrence.isEmpty()) {
+      candidates.addAll(assessmentDao.getPositionAssessmentCandidates());
+    }
+    if (!taskAssessmentRecurrence.isEmpty()) {
+      candidates.addAll(assessmentDao.getTaskAssessmentCandidates());
+    }
+    if (candidates.isEmpty()) {
+      logger.debug("Nothing to do, no positions or tasks to assess");
+      return objectsToAssessByPosition;
+    }
+
+    // Find the most recent period each of them has been assessed for
+    final List<LatestPeriodStart> latestPeriodStarts = assessmentDao.getLatestPeriodStarts(
+        List.of(PersonDao.TABLE_NAME, TaskDao.TABLE_NAME),
+        recurrenceSet.stream().map(Recurrence::toString).toList());
+
+    // Compute the pending recurrences of each candidate, and group them by advisor position
+    final Map<Recurrence, Instant> assessmentDates = new EnumMap<>(Recurrence.class);
+    recurrenceSet.forEach(recurrence -> assessmentDates.put(recurrence,
+        new AssessmentDates(now, recurrence, useISO8601).getAssessmentDate()));
+    final Map<String, Set<Recurrence>> pendingRecurrences = new HashMap<>();
+    final Map<String, UuidsToAssess> uuidsToAssessByPosition =
+        getUuidsToAssess(assessmentDates, positionAssessmentRecurrence, taskAssessmentRecurrence,
+            candidates, latestPeriodStarts, pendingRecurrences);
+    logger.debug("{} advisor positions have pending assessments", uuidsToAssessByPosition.size());
+
+    // Load the advisors who should be included, and optionally send them a notification email
+    for (final List<String> advisorPositionUuids : Lists
+        .partition(new ArrayList<>(uuidsToAssessByPosition.keySet()), ADVISOR_BATCH_SIZE)) {
+      loadPeopleToBeIncluded(advisorPositionUuids, uuidsToAssessByPosition, pendingRecurrences,
+          sendEmail, objectsToAssessByPosition);
+    }
+    return objectsToAssessByPosition;
   }
 
   private Set<Recurrence> getRecurrenceSet(final Instant now, final Instant lastRun) {
@@ -334,238 +364,127 @@ public class PendingAssessmentsHelper {
     return recurrenceSet.contains(recurrence);
   }
 
-  private void addTaskDefinitions(final Set<Recurrence> recurrenceSet,
-      final Map<Task, Set<Recurrence>> taskAssessmentRecurrence) {
-    // Look up periodic assessment definitions for all tasks in the dictionary
-    final Set<Recurrence> assessmentRecurrence =
-        getAssessmentRecurrence(recurrenceSet, TASK_ASSESSMENTS);
-
-    if (!assessmentRecurrence.isEmpty()) {
-      // Look up periodic assessment definitions for each active task
-      final List<Task> tasks = getActiveTasks();
-      tasks.forEach(t ->
-      // Add all recurrence definitions for this task
-      taskAssessmentRecurrence.computeIfAbsent(t, task -> new HashSet<>(assessmentRecurrence)));
+  /**
+   * Compute which candidates have pending assessments: those that have not been assessed for the
+   * most recent completed period of a recurrence.
+   *
+   * @param assessmentDates the start of the most recent completed period of each recurrence
+   * @param positionAssessmentRecurrence the recurrences of the assessments of positions
+   * @param taskAssessmentRecurrence the recurrences of the assessments of tasks
+   * @param candidates the objects that may have to be assessed, by which advisor position
+   * @param latestPeriodStarts the most recent period each object has been assessed for
+   * @param pendingRecurrences receives the pending recurrences of each object
+   * @return the objects with pending assessments, by advisor position
+   */
+  public static Map<String, UuidsToAssess> getUuidsToAssess(
+      final Map<Recurrence, Instant> assessmentDates,
+      final Set<Recurrence> positionAssessmentRecurrence,
+      final Set<Recurrence> taskAssessmentRecurrence, final List<AssessmentCandidate> candidates,
+      final List<LatestPeriodStart> latestPeriodStarts,
+      final Map<String, Set<Recurrence>> pendingRecurrences) {
+    final Map<String, Map<Recurrence, Instant>> periodStartsByObject = new HashMap<>();
+    for (final LatestPeriodStart periodStart : latestPeriodStarts) {
+      final Recurrence recurrence = Recurrence.valueOfRecurrence(periodStart.recurrence());
+      if (recurrence != null) {
+        // __periodStart is stored in the database as a zone-agnostic date string yyyy-mm-dd
+        final Instant periodStartInstant = LocalDate.parse(periodStart.periodStart())
+            .atStartOfDay(DaoUtils.getServerNativeZoneId()).toInstant();
+        periodStartsByObject
+            .computeIfAbsent(periodStart.relatedObjectUuid(),
+                k -> new EnumMap<>(Recurrence.class))
+            .merge(recurrence, periodStartInstant, (i1, i2) -> i1.isAfter(i2) ? i1 : i2);
+      }
     }
-  }
-
-  private CompletableFuture<Map<Position, Set<Recurrence>>> preparePositionAssessmentMap(
-      final GraphQLContext context, final Set<Recurrence> positionAssessmentRecurrence,
-      final Map<Position, ObjectsToAssess> objectsToAssessByPosition) {
-    final Map<Position, Set<Recurrence>> allPositionsToAssess = new HashMap<>();
-    final CompletableFuture<?>[] allFutures = getActivePositions(true).stream()
-        .map(p -> getPositionsToAssess(context, p, positionAssessmentRecurrence)
-            .thenApply(positionsToAssess -> {
-              if (!positionsToAssess.isEmpty()) {
-                positionsToAssess.forEach(pta -> allPositionsToAssess.put(pta,
-                    new HashSet<>(positionAssessmentRecurrence)));
-                objectsToAssessByPosition.put(p, new ObjectsToAssess(positionsToAssess, null));
-              }
-              return null;
-            }))
-        .toArray(CompletableFuture<?>[]::new);
-    // Wait for our futures to complete before returning
-    return CompletableFuture.allOf(allFutures)
-        .thenCompose(v -> CompletableFuture.completedFuture(allPositionsToAssess));
-  }
 
-  private CompletableFuture<Map<Task, Set<Recurrence>>> prepareTaskAssessmentMap(
-      final GraphQLContext context, final Map<Task, Set<Recurrence>> taskAssessmentRecurrence,
-      final Map<Position, ObjectsToAssess> objectsToAssessByPosition) {
-    final List<Position> activeAdvisors = getActivePositions(false);
-    final Map<Task, Set<Recurrence>> allTasksToAssess = new HashMap<>();
-    final CompletableFuture<?>[] allFutures =
-        taskAssessmentRecurrence.entrySet().stream().map(e -> {
-          final Task taskToAssess = e.getKey();
-          final Set<Recurrence> recurrenceSet = e.getValue();
-          return taskToAssess.loadResponsiblePositions(context).thenApply(positions -> {
-            // Only active advisors can assess
-            final Set<Position> positionsToAssess =
-                positions.stream().filter(activeAdvisors::contains).collect(Collectors.toSet());
-            if (!positionsToAssess.isEmpty()) {
-              allTasksToAssess.put(taskToAssess, recurrenceSet);
-              positionsToAssess
-                  .forEach(pta -> objectsToAssessByPosition.compute(pta, (pos, currentValue) -> {
-                    if (currentValue == null) {
-                      return new ObjectsToAssess(null, Collections.singleton(taskToAssess));
-                    } else {
-                      currentValue.tasksToAssess().add(taskToAssess);
-                      return currentValue;
-                    }
-                  }));
-            }
-            return null;
-          });
-        }).toArray(CompletableFuture<?>[]::new);
-    // Wait for our futures to complete before returning
-    return CompletableFuture.allOf(allFutures)
-        .thenCompose(v -> CompletableFuture.completedFuture(allTasksToAssess));
-  }
-
-  private List<Position> getActivePositions(final boolean withCounterparts) {
-    // Get all active, filled positions, possibly with counterparts
-    final PositionSearchQuery psq = new PositionSearchQuery();
-    psq.setPageSize(0);
-    psq.setStatus(WithStatus.Status.ACTIVE);
-    psq.setIsFilled(Boolean.TRUE);
-    if (withCounterparts) {
-      psq.setHasCounterparts(Boolean.TRUE);
+    final Map<String, UuidsToAssess> uuidsToAssessByPosition = new LinkedHashMap<>();
+    for (final AssessmentCandidate candidate : candidates) {
+      final boolean isTask = TaskDao.TABLE_NAME.equals(candidate.objectType());
+      final Set<Recurrence> pending = pendingRecurrences.computeIfAbsent(candidate.objectUuid(),
+          k -> getPendingRecurrences(
+              isTask ? taskAssessmentRecurrence : positionAssessmentRecurrence, assessmentDates,
+              periodStartsByObject.get(candidate.assessedObjectUuid())));
+      if (!pending.isEmpty()) {
+        final UuidsToAssess uuidsToAssess = uuidsToAssessByPosition.computeIfAbsent(
+            candidate.advisorPositionUuid(),
+            k -> new UuidsToAssess(new LinkedHashSet<>(), new LinkedHashSet<>()));
+        (isTask ? uuidsToAssess.taskUuids() : uuidsToAssess.positionUuids())
+            .add(candidate.objectUuid());
+      }
     }
-    return positionDao.search(psq).getList();
-  }
-
-  private List<Task> getActiveTasks() {
-    // Get all active tasks with a non-empty customFields
-    final TaskSearchQuery tsq = new TaskSearchQuery();
-    tsq.setPageSize(0);
-    tsq.setStatus(WithStatus.Status.ACTIVE);
-    return taskDao.search(tsq).getList();
+    return uuidsToAssessByPosition;
   }
 
-  private CompletableFuture<Set<Position>> getPositionsToAssess(final GraphQLContext context,
-      final Position position, final Set<Recurrence> personAssessmentRecurrence) {
-    if (position == null || personAssessmentRecurrence.isEmpty()) {
-      return CompletableFuture.completedFuture(Collections.emptySet());
-    } else {
-      return position.loadAssociatedPositions(context)
-          .thenApply(ap -> ap.stream().filter(pp -> WithStatus.Status.ACTIVE.equals(pp.getStatus()))
-              .collect(Collectors.toSet()));
+  private static Set<Recurrence> getPendingRecurrences(final Set<Recurrence> recurrenceSet,
+      final Map<Recurrence, Instant> assessmentDates,
+      final Map<Recurrence, Instant> latestPeriodStarts) {
+    final Set<Recurrence> pending = EnumSet.noneOf(Recurrence.class);
+    for (final Recurrence recurrence : recurrenceSet) {
+      final Instant assessmentDate = assessmentDates.get(recurrence);
+      final Instant lastAssessment =
+          (latestPeriodStarts == null) ? null : latestPeriodStarts.get(recurrence);
+      // Otherwise the assessment has already been done
+      if (assessmentDate != null
+          && (lastAssessment == null || lastAssessment.isBefore(assessmentDate))) {
+        pending.add(recurrence);
+      }
     }
+    return pending;
   }
 
-  private CompletableFuture<Boolean> filterPositionsToAssessOnPerson(final GraphQLContext context,
-      final Map<Position, Set<Recurrence>> allPositionsToAssess) {
-    // Load person for each position
-    final CompletableFuture<?>[] allFutures = allPositionsToAssess.keySet().stream()
-        .map(p -> p.loadPerson(context)).toArray(CompletableFuture<?>[]::new);
-    // Wait for our futures to complete before returning
-    return CompletableFuture.allOf(allFutures).thenCompose(v -> {
-      // Remove inactive people
-      allPositionsToAssess.keySet().removeIf(p -> p.getPerson() == null
-          || !WithStatus.Status.ACTIVE.equals(p.getPerson().getStatus()));
-      return CompletableFuture.completedFuture(true);
-    });
-  }
-
-  private CompletableFuture<Boolean> processExistingAssessments(final GraphQLContext context,
-      final Instant now, final Set<Recurrence> recurrenceSet,
-      final Map<? extends AbstractCustomizableAnetBean, Set<Recurrence>> objectsToAssess) {
-    final CompletableFuture<?>[] allFutures = objectsToAssess.entrySet().stream().map(e -> {
-      final AbstractCustomizableAnetBean entryKey = e.getKey();
-      final Set<Recurrence> periods = e.getValue();
-      // For positions, the current person holding it gets assessed (otherwise the object itself)
-      final AbstractCustomizableAnetBean ota =
-          entryKey instanceof Position pos ? pos.getPerson() : entryKey;
-      return ota.loadAssessments(context).thenApply(assessments -> {
-        final Map<Recurrence, Instant> assessmentsByRecurrence = new EnumMap<>(Recurrence.class);
-        assessments.stream().forEach(assessment -> {
-          try {
-            final JsonNode assessmentJson = Utils.parseJsonSafe(assessment.getAssessmentKey(),
-                assessment.getAssessmentValues(), true);
-            final JsonNode recurrence = assessmentJson.get(JSON_ASSESSMENT_RECURRENCE);
-            final JsonNode periodStart = assessmentJson.get(JSON_ASSESSMENT_PERIOD_START);
-            if (periodStart != null && recurrence != null && shouldAddRecurrence(recurrenceSet,
-                Recurrence.valueOfRecurrence(recurrence.asString()))) {
-              // __periodStart is stored in the database as a zone-agnostic date string yyyy-mm-dd
-              final LocalDate periodStartDate =
-                  DateTimeFormatter.ISO_LOCAL_DATE.parse(periodStart.asString(), LocalDate::from);
-              final Instant periodStartInstant =
-                  periodStartDate.atStartOfDay(DaoUtils.getServerNativeZoneId()).toInstant();
-              assessmentsByRecurrence.compute(Recurrence.valueOfRecurrence(recurrence.asString()),
-                  (r, currentValue) -> (currentValue == null
-                      || periodStartInstant.isAfter(currentValue)) ? periodStartInstant
-                          : currentValue);
-            }
-          } catch (JacksonException ignored) {
-            // Invalid JSON, skip it
-          }
-        });
-        assessmentsByRecurrence.forEach((recurrence, lastAssessment) -> {
-          final AssessmentDates assessmentDates = new AssessmentDates(now, recurrence, useISO8601);
-          if (assessmentDates.getAssessmentDate() == null
-              || !lastAssessment.isBefore(assessmentDates.getAssessmentDate())) {
-            // Assessment already done
-            logger.trace("{} assessment for {} already done on {}", recurrence, ota,
-                lastAssessment);
-            periods.remove(recurrence);
-          }
-        });
-        return null;
-      });
-    }).toArray(CompletableFuture<?>[]::new);
-    // Wait for our futures to complete before returning
-    return CompletableFuture.allOf(allFutures)
-        .thenCompose(v -> CompletableFuture.completedFuture(true));
-  }
-
-  private void filterObjectsToAssess(final Map<Position, ObjectsToAssess> objectsToAssessByPosition,
-      final Map<Position, Set<Recurrence>> allPositionsToAssess,
-      final Map<Task, Set<Recurrence>> allTasksToAssess) {
-    for (final Iterator<Entry<Position, ObjectsToAssess>> otabpi =
-        objectsToAssessByPosition.entrySet().iterator(); otabpi.hasNext();) {
-      final Entry<Position, ObjectsToAssess> otabp = otabpi.next();
-      final ObjectsToAssess ota = otabp.getValue();
-      final Set<Position> positionsToAssess = ota.positionsToAssess();
-      for (final Iterator<Position> ptai = positionsToAssess.iterator(); ptai.hasNext();) {
-        final Position pta = ptai.next();
-        if (!allPositionsToAssess.containsKey(pta) || allPositionsToAssess.get(pta).isEmpty()) {
-          // Position/person does not need assessment
-          logger.trace("person {} does not need assessments", pta.getPerson());
-          ptai.remove();
-        }
+  private void loadPeopleToBeIncluded(final List<String> advisorPositionUuids,
+      final Map<String, UuidsToAssess> uuidsToAssessByPosition,
+      final Map<String, Set<Recurrence>> pendingRecurrences, final boolean sendEmail,
+      final Map<Position, ObjectsToAssess> objectsToAssessByPosition) {
+    // Load the advisor positions, the people holding them, and their email addresses
+    final List<Position> advisorPositions = positionDao.getByIds(advisorPositionUuids);
+    final List<String> advisorUuids = advisorPositions.stream()
+        .map(p -> p == null ? null : p.getPersonUuid()).filter(Objects::nonNull).toList();
+    final Map<String, Person> advisors = getByUuid(personDao.getByIds(advisorUuids));
+    final List<List<EmailAddress>> emailAddresses =
+        emailAddressDao.getEmailAddressesForRelatedObjects(advisorUuids);
+    for (int i = 0; i < advisorUuids.size(); i++) {
+      final Person advisor = advisors.get(advisorUuids.get(i));
+      if (advisor != null) {
+        advisor.setEmailAddresses(emailAddresses.get(i));
       }
+    }
 
-      final Set<Task> tasksToAssess = ota.tasksToAssess();
-      for (final Iterator<Task> ttai = tasksToAssess.iterator(); ttai.hasNext();) {
-        final Task tta = ttai.next();
-        if (!allTasksToAssess.containsKey(tta) || allTasksToAssess.get(tta).isEmpty()) {
-          // Task does not need assessment
-          logger.trace("task {} does not need assessments", tta);
-          ttai.remove();
-        }
+    // Load the positions and tasks to assess
+    final Set<String> positionUuids = new HashSet<>();
+    final Set<String> taskUuids = new HashSet<>();
+    advisorPositionUuids.forEach(uuid -> {
+      positionUuids.addAll(uuidsToAssessByPosition.get(uuid).positionUuids());
+      taskUuids.addAll(uuidsToAssessByPosition.get(uuid).taskUuids());
+    });
+    final Map<String, Position> positions =
+        getByUuid(positionDao.getByIds(new ArrayList<>(positionUuids)));
+    final Map<String, Task> tasks = getByUuid(taskDao.getByIds(new ArrayList<>(taskUuids)));
+
+    for (final Position pos : advisorPositions) {
+      final Person advisor = (pos == null) ? null : advisors.get(pos.getPersonUuid());
+      if (advisor == null || !Boolean.TRUE.equals(advisor.getUser())) {
+        continue;
       }
-
-      if (positionsToAssess.isEmpty() && tasksToAssess.isEmpty()) {
-        // Nothing to assess by this position
-        logger.trace("position {} has no pending assessments", otabp.getKey());
-        otabpi.remove();
+      final UuidsToAssess uuidsToAssess = uuidsToAssessByPosition.get(pos.getUuid());
+      final Set<Position> positionsToAssess = uuidsToAssess.positionUuids().stream()
+          .map(positions::get).filter(Objects::nonNull).collect(Collectors.toSet());
+      final Set<Task> tasksToAssess = uuidsToAssess.taskUuids().stream().map(tasks::get)
+          .filter(Objects::nonNull).collect(Collectors.toSet());
+      objectsToAssessByPosition.put(pos, new ObjectsToAssess(positionsToAssess, tasksToAssess));
+      logger.info("advisor {} should do assessments:", advisor);
+      positionsToAssess.forEach(pta -> logger.info(" - {} for position {} held by person {}",
+          pendingRecurrences.get(pta.getUuid()), pta, pta.getPersonUuid()));
+      tasksToAssess.forEach(
+          tta -> logger.info(" - {} for task {}", pendingRecurrences.get(tta.getUuid()), tta));
+      if (sendEmail) {
+        sendEmail(advisor, positionsToAssess, tasksToAssess);
       }
     }
   }
 
-  private CompletableFuture<Map<Position, ObjectsToAssess>> loadPeopleToBeIncluded(
-      final GraphQLContext context, final Map<Position, ObjectsToAssess> objectsToAssessByPosition,
-      final Map<Position, Set<Recurrence>> allPositionsToAssess,
-      final Map<Task, Set<Recurrence>> allTasksToAssess, final boolean sendEmail) {
-    final Map<Position, ObjectsToAssess> includedObjectsToAssessByPosition = new HashMap<>();
-    final CompletableFuture<?>[] allFutures =
-        objectsToAssessByPosition.entrySet().stream().map(otabp -> {
-          final Position pos = otabp.getKey();
-          // Get the person to be notified
-          return pos.loadPerson(context)
-              .thenCompose(advisor -> advisor.loadEmailAddresses(context, null).thenCompose(l -> {
-                if (!Boolean.TRUE.equals(advisor.getUser())) {
-                  return CompletableFuture.completedFuture(null);
-                }
-                final ObjectsToAssess ota = otabp.getValue();
-                includedObjectsToAssessByPosition.put(pos, ota);
-                final Set<Position> positionsToAssess = ota.positionsToAssess();
-                final Set<Task> tasksToAssess = ota.tasksToAssess();
-                logger.info("advisor {} should do assessments:", advisor);
-                positionsToAssess
-                    .forEach(pta -> logger.info(" - {} for position {} held by person {}",
-                        allPositionsToAssess.get(pta), pta, pta.getPerson()));
-                tasksToAssess.forEach(
-                    tta -> logger.info(" - {} for task {}", allTasksToAssess.get(tta), tta));
-                if (sendEmail) {
-                  sendEmail(advisor, positionsToAssess, tasksToAssess);
-                }
-                return CompletableFuture.completedFuture(null);
-              }));
-        }).toArray(CompletableFuture<?>[]::new);
-    // Wait for our futures to complete before returning
-    return CompletableFuture.allOf(allFutures)
-        .thenCompose(v -> CompletableFuture.completedFuture(includedObjectsToAssessByPosition));
+  private static <T extends AbstractAnetBean> Map<String, T> getByUuid(final List<T> beans) {
+    return beans.stream().filter(Objects::nonNull)
+        .collect(Collectors.toMap(AbstractAnetBean::getUuid, b -> b, (b1, b2) -> b1));
   }
 
   private void sendEmail(Person advisor, final Set<Position> positionsToAssess,
@@ -21,7 +21,7 @@ import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathFactory;
 import mil.dds.anet.beans.AccessTokenActivity;
-import mil.dds.anet.database.AccessTokenActivityDao;
+import mil.dds.anet.database.ActivityRecorder;
 import mil.dds.anet.ws.security.AccessTokenAuthentication;
 import mil.dds.anet.ws.security.AccessTokenPrincipal;
 import org.jdbi.v3.core.statement.UnableToExecuteStatementException;
@@ -233,7 +233,7 @@ public class ResponseUtils {
     return referer == null ? "-" : referer;
   }
 
-  public static void logAccessTokenActivity(AccessTokenActivityDao dao,
+  public static void logAccessTokenActivity(ActivityRecorder activityRecorder,
       Optional<AccessTokenPrincipal> tokenOpt, HttpServletRequest request) {
     if (tokenOpt.isEmpty()) {
       return;
@@ -241,7 +241,7 @@ public class ResponseUtils {
 
     // Log the access
     final var token = tokenOpt.get();
-    dao.insert(new AccessTokenActivity(token.getUuid(), DaoUtils.getCurrentMinute(),
+    activityRecorder.record(new AccessTokenActivity(token.getUuid(), DaoUtils.getCurrentMinute(),
         getRemoteAddr(request)));
 
     // Set the authentication in the security context
@@ -0,0 +1,151 @@
+package mil.dds.anet.utils;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import mil.dds.anet.beans.metrics.WriteBehindBufferStatistic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded in-memory buffer of values to be written to the database later, in batches. Values
+ * with the same key are only buffered once. When the buffer is full, the thread offering a value
+ * flushes it; if another thread is already flushing, the value is dropped.
+ *
+ * @param <K> the type of the keys used to deduplicate values
+ * @param <V> the type of the values
+ */
+public class WriteBehindBuffer<K, V> {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  private final String name;
+  private final int capacity;
+  private final int batchSize;
+  private final Function<V, K> keyFunction;
+  private final Consumer<List<V>> writer;
+
+  private final Map<K, V> buffer = new ConcurrentHashMap<>();
+  private final ReentrantLock flushLock = new ReentrantLock();
+
+  private final LongAdder offeredCount = new LongAdder();
+  private final LongAdder deduplicatedCount = new LongAdder();
+  private final LongAdder droppedCount = new LongAdder();
+  private final LongAdder writtenCount = new LongAdder();
+  private final LongAdder failedCount = new LongAdder();
+  private final LongAdder flushCount = new LongAdder();
+  private final LongAdder backpressureFlushCount = new LongAdder();
+  private volatile long lastFlushMs;
+
+  /**
+   * @param name the name to report statistics under
+   * @param capacity the maximum number of values to buffer (approximately, under concurrency)
+   * @param batchSize the maximum number of values passed to the writer at once
+   * @param keyFunction computes the key of a value
+   * @param writer writes a batch of values
+   */
+  public WriteBehindBuffer(String name, int capacity, int batchSize, Function<V, K> keyFunction,
+      Consumer<List<V>> writer) {
+    this.name = name;
+    this.capacity = capacity;
+    this.batchSize = batchSize;
+    this.keyFunction = keyFunction;
+    this.writer = writer;
+  }
+
+  /**
+   * Add a value to the buffer.
+   *
+   * @param value the value to add
+   * @return false if the value was dropped because the buffer was full
+   */
+  public boolean offer(V value) {
+    offeredCount.increment();
+    final K key = keyFunction.apply(value);
+    if (buffer.containsKey(key)) {
+      deduplicatedCount.increment();
+      return true;
+    }
+    if (buffer.size() >= capacity) {
+      // Apply backpressure: let this thread write the buffer, unless another one already does
+      if (!flushLock.tryLock()) {
+        droppedCount.increment();
+        return false;
+      }
+      try {
+        backpressureFlushCount.increment();
+        flushLocked();
+      } finally {
+        flushLock.unlock();
+      }
+    }
+    if (buffer.putIfAbsent(key, value) != null) {
+      deduplicatedCount.increment();
+    }
+    return true;
+  }
+
+  /**
+   * Write all buffered values.
+   */
+  public void flush() {
+    flushLock.lock();
+    try {
+      flushLocked();
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  public int size() {
+    return buffer.size();
+  }
+
+  public WriteBehindBufferStatistic getStatistics() {
+    return new WriteBehindBufferStatistic(name, buffer.size(), capacity, offeredCount.sum(),
+        deduplicatedCount.sum(), droppedCount.sum(), writtenCount.sum(), failedCount.sum(),
+        flushCount.sum(), backpressureFlushCount.sum(), lastFlushMs);
+  }
+
+  private void flushLocked() {
+    final long start = System.nanoTime();
+    // Only take what is in the buffer now, values added meanwhile are for the next flush
+    final List<K> keys = new ArrayList<>(buffer.keySet());
+    List<V> batch = new ArrayList<>(Math.min(keys.size(), batchSize));
+    for (final K key : keys) {
+      final V value = buffer.remove(key);
+      if (value != null) {
+        batch.add(value);
+        if (batch.size() >= batchSize) {
+          write(batch);
+          batch = new ArrayList<>(batchSize);
+        }
+      }
+    }
+    if (!batch.isEmpty()) {
+      write(batch);
+    }
+    flushCount.increment();
+    lastFlushMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+
+  private void write(List<V> batch) {
+    try {
+      writer.accept(batch);
+      writtenCount.add(batch.size());
+    } catch (RuntimeException e) {
+      // Don't retry, as the database might be what is overloaded
+      failedCount.add(batch.size());
+      logger.error("Failed to write {} values of {}", batch.size(), name, e);
+    }
+  }
+
+}
@@ -5,6 +5,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import mil.dds.anet.graphql.DataLoaderDispatcher;
 import mil.dds.anet.utils.FkDataLoaderKey;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.dataloader.DataLoader;
@@ -16,7 +17,11 @@ public class ForeignKeyByDateFetcher<T extends AbstractAnetBean> {
     final DataLoaderRegistry dlr = context.get("dataLoaderRegistry");
     final DataLoader<ImmutablePair<String, Instant>, List<T>> dl =
         dlr.getDataLoader(dataLoaderKey.toString());
-    return (foreignKey == null) ? CompletableFuture.completedFuture(new ArrayList<T>())
-        : dl.load(foreignKey);
+    if (foreignKey == null) {
+      return CompletableFuture.completedFuture(new ArrayList<T>());
+    }
+    final CompletableFuture<List<T>> result = dl.load(foreignKey);
+    DataLoaderDispatcher.signal(context);
+    return result;
   }
 }
@@ -4,6 +4,7 @@ import graphql.GraphQLContext;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import mil.dds.anet.graphql.DataLoaderDispatcher;
 import mil.dds.anet.utils.FkDataLoaderKey;
 import org.dataloader.DataLoader;
 import org.dataloader.DataLoaderRegistry;
@@ -13,7 +14,11 @@ public class ForeignKeyFetcher<T extends AbstractAnetBean> {
       String foreignKey) {
     final DataLoaderRegistry dlr = context.get("dataLoaderRegistry");
     final DataLoader<String, List<T>> dl = dlr.getDataLoader(dataLoaderKey.toString());
-    return (foreignKey == null) ? CompletableFuture.completedFuture(new ArrayList<>())
-        : dl.load(foreignKey);
+    if (foreignKey == null) {
+      return CompletableFuture.completedFuture(new ArrayList<>());
+    }
+    final CompletableFuture<List<T>> result = dl.load(foreignKey);
+    DataLoaderDispatcher.signal(context);
+    return result;
   }
 }
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import mil.dds.anet.beans.search.AbstractSearchQuery;
+import mil.dds.anet.graphql.DataLoaderDispatcher;
 import mil.dds.anet.utils.SqDataLoaderKey;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.dataloader.DataLoader;
@@ -16,7 +17,11 @@ public class SearchQueryFetcher<T extends AbstractAnetBean, S extends AbstractSe
     final DataLoaderRegistry dlr = context.get("dataLoaderRegistry");
     final DataLoader<ImmutablePair<String, S>, List<T>> dl =
         dlr.getDataLoader(dataLoaderKey.toString());
-    return (foreignKey == null) ? CompletableFuture.completedFuture(new ArrayList<>())
-        : dl.load(foreignKey);
+    if (foreignKey == null) {
+      return CompletableFuture.completedFuture(new ArrayList<>());
+    }
+    final CompletableFuture<List<T>> result = dl.load(foreignKey);
+    DataLoaderDispatcher.signal(context);
+    return result;
   }
 }
@@ -9,7 +9,7 @@ import mil.dds.anet.beans.Person;
 import mil.dds.anet.beans.Position;
 import mil.dds.anet.beans.UserActivity;
 import mil.dds.anet.beans.recentActivity.Activity;
-import mil.dds.anet.database.UserActivityDao;
+import mil.dds.anet.database.ActivityRecorder;
 import mil.dds.anet.database.cache.PersonCache;
 import mil.dds.anet.utils.DaoUtils;
 import mil.dds.anet.utils.ResponseUtils;
@@ -19,11 +19,11 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 public class UserActivityFilter extends OncePerRequestFilter {
   private final PersonCache personCache;
-  private final UserActivityDao userActivityDao;
+  private final ActivityRecorder activityRecorder;
 
-  public UserActivityFilter(PersonCache personCache, UserActivityDao userActivityDao) {
+  public UserActivityFilter(PersonCache personCache, ActivityRecorder activityRecorder) {
     this.personCache = personCache;
-    this.userActivityDao = userActivityDao;
+    this.activityRecorder = activityRecorder;
   }
 
   @Override
@@ -41,7 +41,7 @@ public class UserActivityFilter extends OncePerRequestFilter {
         final Position position = person.getPosition();
         final UserActivity userActivity = new UserActivity(person.getUuid(),
             position == null ? null : position.getOrganizationUuid(), DaoUtils.getCurrentMinute());
-        userActivityDao.insert(userActivity);
+        activityRecorder.record(userActivity);
       }
     }
     filterChain.doFilter(request, response);
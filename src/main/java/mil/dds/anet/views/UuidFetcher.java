@@ -2,6 +2,7 @@ package mil.dds.anet.views;
 
 import graphql.GraphQLContext;
 import java.util.concurrent.CompletableFuture;
+import mil.dds.anet.graphql.DataLoaderDispatcher;
 import mil.dds.anet.utils.IdDataLoaderKey;
 import org.dataloader.DataLoader;
 import org.dataloader.DataLoaderRegistry;
@@ -11,6 +12,11 @@ public class UuidFetcher<T extends AbstractAnetBean> {
       String uuid) {
     final DataLoaderRegistry dlr = context.get("dataLoaderRegistry");
     final DataLoader<String, T> dl = dlr.getDataLoader(dataLoaderKey.toString());
-    return (uuid == null) ? CompletableFuture.completedFuture(null) : dl.load(uuid, context);
+    if (uuid == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+    final CompletableFuture<T> result = dl.load(uuid, context);
+    DataLoaderDispatcher.signal(context);
+    return result;
   }
 }
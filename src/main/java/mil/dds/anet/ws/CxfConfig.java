@@ -1,8 +1,8 @@
 package mil.dds.anet.ws;
 
 import jakarta.xml.ws.Endpoint;
-import mil.dds.anet.database.AccessTokenActivityDao;
 import mil.dds.anet.database.AccessTokenDao;
+import mil.dds.anet.database.ActivityRecorder;
 import mil.dds.anet.ws.security.AuthorizationHeaderInterceptor;
 import org.apache.cxf.Bus;
 import org.apache.cxf.jaxws.EndpointImpl;
@@ -15,21 +15,21 @@ public class CxfConfig {
   private final Bus bus;
   private final Nvg20WebService nvg20WebService;
   private final AccessTokenDao accessTokenDao;
-  private final AccessTokenActivityDao accessTokenActivityDao;
+  private final ActivityRecorder activityRecorder;
 
   public CxfConfig(Bus bus, Nvg20WebService nvg20WebService, AccessTokenDao accessTokenDao,
-      AccessTokenActivityDao accessTokenActivityDao) {
+      ActivityRecorder activityRecorder) {
     this.bus = bus;
     this.nvg20WebService = nvg20WebService;
     this.accessTokenDao = accessTokenDao;
-    this.accessTokenActivityDao = accessTokenActivityDao;
+    this.activityRecorder = activityRecorder;
   }
 
   @Bean
   public Endpoint nvg20Endpoint() {
     EndpointImpl endpoint = new EndpointImpl(bus, nvg20WebService);
     endpoint.getInInterceptors()
-        .add(new AuthorizationHeaderInterceptor(accessTokenDao, accessTokenActivityDao));
+        .add(new AuthorizationHeaderInterceptor(accessTokenDao, activityRecorder));
     endpoint.publish("/nvg/20");
     return endpoint;
   }
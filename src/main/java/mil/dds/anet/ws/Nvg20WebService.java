@@ -35,8 +35,8 @@ import mil.dds.anet.beans.search.ReportSearchSortBy;
 import mil.dds.anet.beans.search.TaskSearchQuery;
 import mil.dds.anet.config.AnetConfig;
 import mil.dds.anet.config.AnetDictionary;
-import mil.dds.anet.database.AccessTokenActivityDao;
 import mil.dds.anet.database.AccessTokenDao;
+import mil.dds.anet.database.ActivityRecorder;
 import mil.dds.anet.database.TaskDao;
 import mil.dds.anet.database.mappers.MapperUtils;
 import mil.dds.anet.graphql.GraphQLRequest;
@@ -235,20 +235,20 @@ public class Nvg20WebService implements NVGPortType2012 {
   private final AnetDictionary dict;
   private final GraphQLResource graphQLResource;
   private final AccessTokenDao accessTokenDao;
-  private final AccessTokenActivityDao accessTokenActivityDao;
+  private final ActivityRecorder activityRecorder;
   private final TaskDao taskDao;
 
   @Resource
   private WebServiceContext webServiceContext;
 
   public Nvg20WebService(AnetConfig config, AnetDictionary dict, GraphQLResource graphQLResource,
-      AccessTokenDao accessTokenDao, AccessTokenActivityDao accessTokenActivityDao,
+      AccessTokenDao accessTokenDao, ActivityRecorder activityRecorder,
       TaskDao taskDao) {
     this.config = config;
     this.dict = dict;
     this.graphQLResource = graphQLResource;
     this.accessTokenDao = accessTokenDao;
-    this.accessTokenActivityDao = accessTokenActivityDao;
+    this.activityRecorder = activityRecorder;
     this.taskDao = taskDao;
   }
 
@@ -306,7 +306,7 @@ public class Nvg20WebService implements NVGPortType2012 {
         final MessageContext messageContext = webServiceContext.getMessageContext();
         final HttpServletRequest request =
             (HttpServletRequest) messageContext.get(MessageContext.SERVLET_REQUEST);
-        ResponseUtils.logAccessTokenActivity(accessTokenActivityDao, principal, request);
+        ResponseUtils.logAccessTokenActivity(activityRecorder, principal, request);
       }
     }
     if (principal.isPresent()) {
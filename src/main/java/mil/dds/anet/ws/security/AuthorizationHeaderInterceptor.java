@@ -4,8 +4,8 @@ import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import mil.dds.anet.database.AccessTokenActivityDao;
 import mil.dds.anet.database.AccessTokenDao;
+import mil.dds.anet.database.ActivityRecorder;
 import mil.dds.anet.utils.ResponseUtils;
 import org.apache.cxf.binding.soap.interceptor.SoapHeaderInterceptor;
 import org.apache.cxf.configuration.security.AuthorizationPolicy;
@@ -16,12 +16,12 @@ import org.springframework.http.HttpHeaders;
 public class AuthorizationHeaderInterceptor extends SoapHeaderInterceptor {
 
   private final AccessTokenDao accessTokenDao;
-  private final AccessTokenActivityDao accessTokenActivityDao;
+  private final ActivityRecorder activityRecorder;
 
   public AuthorizationHeaderInterceptor(AccessTokenDao accessTokenDao,
-      AccessTokenActivityDao accessTokenActivityDao) {
+      ActivityRecorder activityRecorder) {
     this.accessTokenDao = accessTokenDao;
-    this.accessTokenActivityDao = accessTokenActivityDao;
+    this.activityRecorder = activityRecorder;
   }
 
   @Override
@@ -40,7 +40,7 @@ public class AuthorizationHeaderInterceptor extends SoapHeaderInterceptor {
       final var tokenOpt = accessTokenDao.getAccessTokenPrincipal(tokenString.get());
       final HttpServletRequest request =
           (HttpServletRequest) message.get(AbstractHTTPDestination.HTTP_REQUEST);
-      ResponseUtils.logAccessTokenActivity(accessTokenActivityDao, tokenOpt, request);
+      ResponseUtils.logAccessTokenActivity(activityRecorder, tokenOpt, request);
     }
   }
 
@@ -5,7 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import mil.dds.anet.database.AccessTokenActivityDao;
+import mil.dds.anet.database.ActivityRecorder;
 import mil.dds.anet.utils.ResponseUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -15,12 +15,12 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class BearerTokenAuthFilter extends OncePerRequestFilter {
 
   private final BearerTokenService bearerTokenService;
-  private final AccessTokenActivityDao accessTokenActivityDao;
+  private final ActivityRecorder activityRecorder;
 
   public BearerTokenAuthFilter(BearerTokenService bearerTokenService,
-      AccessTokenActivityDao accessTokenActivityDao) {
+      ActivityRecorder activityRecorder) {
     this.bearerTokenService = bearerTokenService;
-    this.accessTokenActivityDao = accessTokenActivityDao;
+    this.activityRecorder = activityRecorder;
   }
 
   @Override
@@ -30,7 +30,7 @@ public class BearerTokenAuthFilter extends OncePerRequestFilter {
 
     final var tokenOpt = bearerTokenService.getAccessPrincipalFromAuthHeader(authHeader);
     if (tokenOpt.isPresent()) {
-      ResponseUtils.logAccessTokenActivity(accessTokenActivityDao, tokenOpt, request);
+      ResponseUtils.logAccessTokenActivity(activityRecorder, tokenOpt, request);
       filterChain.doFilter(request, response);
       return;
     }
@@ -0,0 +1,41 @@
+package mil.dds.anet.test.beans;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.time.Instant;
+import java.util.List;
+import mil.dds.anet.beans.MergedEntity;
+import org.junit.jupiter.api.Test;
+
+class MergedEntityTest {
+
+  @Test
+  void testIndependentMerges() {
+    assertThat(MergedEntity.getReplacements(List.of(merge("a", "b"), merge("c", "d"))))
+        .containsExactly(entry("a", "b"), entry("c", "d"));
+    assertThat(MergedEntity.getReplacements(List.of())).isEmpty();
+  }
+
+  @Test
+  void testChainedMerges() {
+    // a into b, then b into c
+    assertThat(MergedEntity.getReplacements(List.of(merge("a", "b"), merge("b", "c"))))
+        .containsOnly(entry("a", "c"), entry("b", "c"));
+    // a into b, then c into a: references to a were already replaced when c was merged
+    assertThat(MergedEntity.getReplacements(List.of(merge("a", "b"), merge("c", "a"))))
+        .containsOnly(entry("a", "b"), entry("c", "a"));
+  }
+
+  @Test
+  void testCycle() {
+    // a into b, then back again
+    assertThat(MergedEntity.getReplacements(List.of(merge("a", "b"), merge("b", "a"))))
+        .containsOnly(entry("b", "a"));
+  }
+
+  private static MergedEntity merge(String oldUuid, String newUuid) {
+    return new MergedEntity(oldUuid, newUuid, Instant.now());
+  }
+
+}
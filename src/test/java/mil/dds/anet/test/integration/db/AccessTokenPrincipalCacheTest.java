@@ -0,0 +1,143 @@
+package mil.dds.anet.test.integration.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import mil.dds.anet.beans.AccessToken;
+import mil.dds.anet.beans.metrics.AccessTokenCacheStatistics;
+import mil.dds.anet.config.AnetConfig;
+import mil.dds.anet.database.cache.AccessTokenPrincipalCache;
+import mil.dds.anet.ws.security.AccessTokenPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class AccessTokenPrincipalCacheTest {
+
+  private static final String TOKEN_HASH = "hash";
+  private static final int LOOKUPS = 100;
+
+  private final AtomicInteger loads = new AtomicInteger();
+  private AccessToken accessToken;
+  private AccessTokenPrincipalCache cache;
+
+  @BeforeEach
+  void setUp() {
+    accessToken = createAccessToken(Instant.now().plus(1, ChronoUnit.DAYS));
+    cache = new AccessTokenPrincipalCache(new AnetConfig());
+  }
+
+  @Test
+  void testRepeatedLookupsHitTheCache() {
+    for (int i = 0; i < LOOKUPS; i++) {
+      assertThat(get()).map(AccessTokenPrincipal::getUuid).hasValue(accessToken.getUuid());
+    }
+    assertThat(loads).hasValue(1);
+    final AccessTokenCacheStatistics statistics = cache.getStatistics();
+    assertThat(statistics.getSize()).isOne();
+    assertThat(statistics.getHitCount()).isEqualTo(LOOKUPS - 1);
+    assertThat(statistics.getHitRate()).isEqualTo((LOOKUPS - 1) / (double) LOOKUPS);
+  }
+
+  @Test
+  void testUnknownAndExpiredTokensAreNotCached() {
+    assertThat(cache.get(TOKEN_HASH, countingLoader(null))).isEmpty();
+    assertThat(cache.get(TOKEN_HASH, countingLoader(null))).isEmpty();
+    accessToken = createAccessToken(Instant.now().minus(1, ChronoUnit.DAYS));
+    assertThat(get()).isEmpty();
+    assertThat(get()).isEmpty();
+    assertThat(loads).hasValue(4);
+    assertThat(cache.getStatistics().getSize()).isZero();
+  }
+
+  @Test
+  void testExpiryIsCheckedOnUse() {
+    accessToken.setExpiresAt(Instant.now().plus(1, ChronoUnit.DAYS));
+    assertThat(get()).isPresent();
+    // The cached token expires
+    accessToken.setExpiresAt(Instant.now().minus(1, ChronoUnit.SECONDS));
+    assertThat(get()).isEmpty();
+    assertThat(loads).hasValue(2);
+    assertThat(cache.getStatistics().getExpiredCount()).isOne();
+  }
+
+  @Test
+  void testEviction() {
+    assertThat(get()).isPresent();
+    // E.g. deleted
+    cache.evictByUuid(accessToken.getUuid());
+    accessToken = null;
+    assertThat(get()).isEmpty();
+    assertThat(loads).hasValue(2);
+    assertThat(cache.getStatistics().getInvalidationCount()).isOne();
+  }
+
+  @Test
+  void testEvictionAfterCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      // The access token is being deleted
+      cache.evictByUuid(accessToken.getUuid());
+      // Meanwhile, another request still sees the committed access token
+      assertThat(get()).isPresent();
+      accessToken = null;
+      // The deletion is committed
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    assertThat(get()).isEmpty();
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void testEvictionWhileLoading() {
+    // The access token is deleted after it was loaded, but before it would be cached
+    final Optional<AccessTokenPrincipal> principal = cache.get(TOKEN_HASH, tokenHash -> {
+      loads.incrementAndGet();
+      cache.evictByUuid(accessToken.getUuid());
+      return accessToken;
+    });
+    assertThat(principal).isPresent();
+    assertThat(cache.getStatistics().getSize()).isZero();
+    accessToken = null;
+    assertThat(get()).isEmpty();
+  }
+
+  @Test
+  void testCachingDisabled() {
+    final AnetConfig config = new AnetConfig();
+    config.setAccessTokenCacheTtlSeconds(0);
+    cache = new AccessTokenPrincipalCache(config);
+    assertThat(get()).isPresent();
+    assertThat(get()).isPresent();
+    assertThat(loads).hasValue(2);
+  }
+
+  private Optional<AccessTokenPrincipal> get() {
+    return cache.get(TOKEN_HASH, countingLoader(accessToken));
+  }
+
+  private Function<String, AccessToken> countingLoader(AccessToken result) {
+    return tokenHash -> {
+      loads.incrementAndGet();
+      return result;
+    };
+  }
+
+  private static AccessToken createAccessToken(Instant expiresAt) {
+    final AccessToken accessToken = new AccessToken();
+    accessToken.setUuid("uuid");
+    accessToken.setName("test");
+    accessToken.setScope(AccessToken.TokenScope.NVG);
+    accessToken.setExpiresAt(expiresAt);
+    return accessToken;
+  }
+
+}
@@ -0,0 +1,21 @@
+package mil.dds.anet.test.integration.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import mil.dds.anet.utils.AnetDbLogger;
+import org.junit.jupiter.api.Test;
+
+class AnetDbLoggerTest {
+
+  @Test
+  void testIsLogged() {
+    // Batched activity inserts are not logged
+    assertThat(AnetDbLogger.isLogged("/* insertUserActivities */ INSERT INTO \"userActivities\""
+        + " (\"personUuid\", \"organizationUuid\", \"visitedAt\") VALUES ('p1', 'o1', now()),"
+        + " ('p2', 'o2', now()) ON CONFLICT DO NOTHING")).isFalse();
+    assertThat(AnetDbLogger.isLogged("/* getPersonByUuid */ SELECT * FROM people")).isTrue();
+    assertThat(AnetDbLogger.isLogged("SELECT * FROM \"userActivities\"")).isTrue();
+    assertThat(AnetDbLogger.isLogged(null)).isFalse();
+  }
+
+}
@@ -0,0 +1,100 @@
+package mil.dds.anet.test.integration.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import mil.dds.anet.beans.ApprovalStep;
+import mil.dds.anet.beans.metrics.ApprovalChainCacheStatistics;
+import mil.dds.anet.config.AnetConfig;
+import mil.dds.anet.database.cache.ApprovalChainCache;
+import mil.dds.anet.database.cache.ApprovalChainCache.Key;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ApprovalChainCacheTest {
+
+  private static final Key KEY = new Key(false, "advisorOrg", "defaultOrg", List.of("task"), null);
+  private static final int LOOKUPS = 100;
+
+  private final AtomicInteger loads = new AtomicInteger();
+  private ApprovalChainCache cache;
+
+  @BeforeEach
+  void setUp() {
+    cache = new ApprovalChainCache(new AnetConfig());
+  }
+
+  @Test
+  void testRepeatedLookupsHitTheCache() {
+    for (int i = 0; i < LOOKUPS; i++) {
+      assertThat(get(KEY)).extracting(ApprovalStep::getName).containsExactly("step");
+    }
+    assertThat(loads).hasValue(1);
+    final ApprovalChainCacheStatistics statistics = cache.getStatistics();
+    assertThat(statistics.getSize()).isOne();
+    assertThat(statistics.getHitCount()).isEqualTo(LOOKUPS - 1);
+    assertThat(statistics.getHitRate()).isEqualTo((LOOKUPS - 1) / (double) LOOKUPS);
+  }
+
+  @Test
+  void testKeys() {
+    get(KEY);
+    get(new Key(true, "advisorOrg", "defaultOrg", List.of("task"), null));
+    get(new Key(false, "advisorOrg", "otherDefaultOrg", List.of("task"), null));
+    get(new Key(false, "advisorOrg", "defaultOrg", List.of("task"), "location"));
+    get(new Key(false, "advisorOrg", "defaultOrg", List.of("task"), null));
+    assertThat(loads).hasValue(4);
+  }
+
+  @Test
+  void testInvalidation() {
+    get(KEY);
+    cache.invalidate();
+    get(KEY);
+    assertThat(loads).hasValue(2);
+    assertThat(cache.getStatistics().getInvalidationCount()).isOne();
+  }
+
+  @Test
+  void testInvalidationWhileLoading() {
+    final CompletableFuture<List<ApprovalStep>> pending = new CompletableFuture<>();
+    final CompletableFuture<List<ApprovalStep>> result = cache.get(KEY, () -> pending);
+    // The workflows are changed before the steps have been computed
+    cache.invalidate();
+    pending.complete(List.of(createStep()));
+    assertThat(result.join()).hasSize(1);
+    assertThat(cache.getStatistics().getSize()).isZero();
+  }
+
+  @Test
+  void testDisabled() {
+    final AnetConfig config = new AnetConfig();
+    config.setApprovalChainCacheTtlSeconds(0);
+    cache = new ApprovalChainCache(config);
+    get(KEY);
+    get(KEY);
+    assertThat(loads).hasValue(2);
+    assertThat(cache.getStatistics().getSize()).isZero();
+  }
+
+  private List<ApprovalStep> get(Key key) {
+    return cache.get(key, countingLoader()).join();
+  }
+
+  private Supplier<CompletableFuture<List<ApprovalStep>>> countingLoader() {
+    return () -> {
+      loads.incrementAndGet();
+      return CompletableFuture.completedFuture(List.of(createStep()));
+    };
+  }
+
+  private static ApprovalStep createStep() {
+    final ApprovalStep step = new ApprovalStep();
+    step.setName("step");
+    return step;
+  }
+
+}
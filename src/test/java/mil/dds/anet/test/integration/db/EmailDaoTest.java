@@ -0,0 +1,77 @@
+package mil.dds.anet.test.integration.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import mil.dds.anet.beans.AnetEmail;
+import mil.dds.anet.database.EmailDao;
+import mil.dds.anet.database.mappers.MapperUtils;
+import mil.dds.anet.test.AnetApplicationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class EmailDaoTest extends AnetApplicationTest {
+
+  private static final String OWNER1 = "owner1";
+  private static final String OWNER2 = "owner2";
+  private static final int LEASE_SECONDS = 60;
+  private static final int BACKOFF_SECONDS = 300;
+
+  @Autowired
+  private EmailDao emailDao;
+
+  @Test
+  void testClaimPendingEmails() {
+    final String comment = "claim test " + UUID.randomUUID();
+    createPendingEmail(comment);
+    createPendingEmail(comment);
+    final List<Integer> ids = emailDao.getAll().stream()
+        .filter(email -> comment.equals(email.getComment())).map(AnetEmail::getId).sorted()
+        .toList();
+    assertThat(ids).hasSize(2);
+    final Integer id1 = ids.get(0);
+    final Integer id2 = ids.get(1);
+
+    // Claim in the past, so the claims don't keep other tests from sending their emails
+    final Instant start = Instant.now().minus(1, ChronoUnit.DAYS);
+    try {
+      assertThat(claim(OWNER1, start)).containsSubsequence(id1, id2);
+      // Claimed by the first owner
+      assertThat(claim(OWNER2, start)).doesNotContain(id1, id2);
+      // The lease of the first owner has expired
+      final Instant leaseExpired = start.plusSeconds(LEASE_SECONDS + 1);
+      assertThat(claim(OWNER2, leaseExpired)).containsSubsequence(id1, id2);
+
+      // Only the current owner can release its claim
+      emailDao.scheduleRetry(id1, OWNER1, "ignored", leaseExpired, BACKOFF_SECONDS, 3600);
+      emailDao.scheduleRetry(id1, OWNER2, "failed", leaseExpired, BACKOFF_SECONDS, 3600);
+      assertThat(emailDao.getAll()).filteredOn(email -> id1.equals(email.getId()))
+          .singleElement().extracting(AnetEmail::getErrorMessage).isEqualTo("failed");
+
+      // Not retried before the backoff has passed
+      final Instant secondLeaseExpired = leaseExpired.plusSeconds(LEASE_SECONDS + 1);
+      assertThat(claim(OWNER1, secondLeaseExpired)).contains(id2).doesNotContain(id1);
+      assertThat(claim(OWNER1, leaseExpired.plusSeconds(BACKOFF_SECONDS))).contains(id1);
+    } finally {
+      emailDao.deletePendingEmails(ids);
+    }
+    assertThat(emailDao.getAll()).extracting(AnetEmail::getId).doesNotContainAnyElementsOf(ids);
+  }
+
+  private List<Integer> claim(String owner, Instant now) {
+    return emailDao.claimPendingEmails(owner, now, now.minusSeconds(LEASE_SECONDS), 10_000)
+        .stream().map(AnetEmail::getId).toList();
+  }
+
+  private void createPendingEmail(String comment) {
+    final AnetEmail email = new AnetEmail();
+    email.setToAddresses(List.of("claim_test@example.com"));
+    email.setComment(comment);
+    email.setCreatedAt(Instant.now());
+    emailDao.createPendingEmail(MapperUtils.getDefaultMapper().writeValueAsString(email));
+  }
+
+}
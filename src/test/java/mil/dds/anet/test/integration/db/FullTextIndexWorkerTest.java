@@ -0,0 +1,125 @@
+package mil.dds.anet.test.integration.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import mil.dds.anet.beans.Location;
+import mil.dds.anet.beans.WithStatus;
+import mil.dds.anet.beans.search.LocationSearchQuery;
+import mil.dds.anet.database.JobHistoryDao;
+import mil.dds.anet.database.LocationDao;
+import mil.dds.anet.test.resources.AbstractResourceTest;
+import mil.dds.anet.threads.FullTextIndexWorker;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class FullTextIndexWorkerTest extends AbstractResourceTest {
+
+  @Autowired
+  private JobHistoryDao jobHistoryDao;
+
+  @Autowired
+  private LocationDao locationDao;
+
+  private FullTextIndexWorker fullTextIndexWorker;
+
+  @BeforeAll
+  void setUpClass() {
+    fullTextIndexWorker = new FullTextIndexWorker(dict, jobHistoryDao, adminDao);
+
+    // Flush all pending changes from previous tests
+    fullTextIndexWorker.run();
+  }
+
+  @Test
+  void testIncrementalUpdate() {
+    final String oldName = getUniqueName();
+    final String newName = getUniqueName();
+
+    // set things up
+    final Location input = new Location();
+    input.setStatus(WithStatus.Status.ACTIVE);
+    input.setType(Location.LocationType.POINT_LOCATION);
+    input.setName(oldName);
+    final Location created = locationDao.insert(input);
+    assertThat(searchLocations(oldName)).isEmpty();
+
+    // run the worker
+    fullTextIndexWorker.run();
+    assertThat(searchLocations(oldName)).singleElement().extracting(Location::getUuid)
+        .isEqualTo(created.getUuid());
+
+    // update the location, and run the worker again
+    created.setName(newName);
+    locationDao.update(created);
+    fullTextIndexWorker.run();
+    assertThat(searchLocations(oldName)).isEmpty();
+    assertThat(searchLocations(newName)).singleElement().extracting(Location::getUuid)
+        .isEqualTo(created.getUuid());
+
+    // a complete rebuild shouldn't change anything
+    for (final String tableName : FullTextIndexWorker.fullTextIndexedTables) {
+      adminDao.rebuildFullTextIndex(tableName);
+    }
+    assertThat(searchLocations(newName)).singleElement().extracting(Location::getUuid)
+        .isEqualTo(created.getUuid());
+
+    // clean up (through internal method), and check that it is removed from the index
+    locationDao._deleteByUuid(LocationDao.TABLE_NAME, "uuid", created.getUuid());
+    fullTextIndexWorker.run();
+    assertThat(searchLocations(newName)).isEmpty();
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 5, 25})
+  void testUpdateScalesWithChanges(int changes) {
+    final String name = getUniqueName();
+    final List<Location> created = new ArrayList<>();
+    for (int i = 0; i < changes; i++) {
+      final Location input = new Location();
+      input.setStatus(WithStatus.Status.ACTIVE);
+      input.setType(Location.LocationType.POINT_LOCATION);
+      input.setName(name + " " + i);
+      created.add(locationDao.insert(input));
+    }
+
+    // only the changed locations are re-indexed, however many locations there are
+    final int batchSize = 2;
+    int reindexed = 0;
+    int batches = 0;
+    int count;
+    do {
+      count = adminDao.updateFullTextIndex(LocationDao.TABLE_NAME, batchSize);
+      reindexed += count;
+      batches++;
+    } while (count == batchSize);
+    assertThat(reindexed).isEqualTo(changes);
+    assertThat(batches).isEqualTo(changes / batchSize + 1);
+    assertThat(searchLocations(name)).hasSize(changes);
+    assertThat(adminDao.updateFullTextIndex(LocationDao.TABLE_NAME, batchSize)).isZero();
+
+    // clean up (through internal method)
+    for (final Location location : created) {
+      locationDao._deleteByUuid(LocationDao.TABLE_NAME, "uuid", location.getUuid());
+    }
+    fullTextIndexWorker.run();
+    assertThat(searchLocations(name)).isEmpty();
+  }
+
+  private String getUniqueName() {
+    return "fts" + UUID.randomUUID().toString().replace("-", "");
+  }
+
+  private List<Location> searchLocations(String text) {
+    final LocationSearchQuery query = new LocationSearchQuery();
+    query.setText(text);
+    query.setPageSize(0);
+    return locationDao.search(query).getList();
+  }
+
+}
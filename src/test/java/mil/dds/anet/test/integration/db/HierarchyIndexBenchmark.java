@@ -0,0 +1,71 @@
+package mil.dds.anet.test.integration.db;
+
+import static mil.dds.anet.test.integration.db.HierarchyIndexTest.ORGANIZATIONS;
+import static mil.dds.anet.test.integration.db.HierarchyIndexTest.SAMPLES;
+import static mil.dds.anet.test.integration.db.HierarchyIndexTest.createOrganizations;
+import static mil.dds.anet.test.integration.db.HierarchyIndexTest.getDescendantsOrSelf;
+import static mil.dds.anet.test.integration.db.HierarchyIndexTest.getUuid;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import mil.dds.anet.database.cache.HierarchyIndex;
+import mil.dds.anet.database.cache.HierarchyIndex.Link;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark of building the hierarchy index of 20k organizations and finding descendants with it,
+ * against recursively scanning all organizations. The durations depend on the machine, so they
+ * are logged rather than asserted; run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class HierarchyIndexBenchmark {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  @Test
+  void testPerformance() {
+    final List<Link> links = createOrganizations();
+    long start = System.nanoTime();
+    final HierarchyIndex built = HierarchyIndex.build(links);
+    final Duration buildDuration = Duration.ofNanos(System.nanoTime() - start);
+    assertThat(built.size()).isEqualTo(ORGANIZATIONS);
+
+    final Random random = new Random(13);
+    final List<String> uuids = new ArrayList<>();
+    for (int i = 0; i < SAMPLES; i++) {
+      uuids.add(getUuid(random.nextInt(ORGANIZATIONS / 10)));
+    }
+    start = System.nanoTime();
+    int indexCount = 0;
+    for (final String uuid : uuids) {
+      final List<String> nodeUuids = new ArrayList<>();
+      built.addPairs(List.of(uuid), true, nodeUuids, new ArrayList<>());
+      indexCount += nodeUuids.size();
+    }
+    final Duration indexDuration = Duration.ofNanos(System.nanoTime() - start);
+
+    start = System.nanoTime();
+    int scanCount = 0;
+    for (final String uuid : uuids) {
+      scanCount += getDescendantsOrSelf(links, uuid).size();
+    }
+    final Duration scanDuration = Duration.ofNanos(System.nanoTime() - start);
+
+    logger.info("Building the index of {} organizations took {} ms", ORGANIZATIONS,
+        buildDuration.toMillis());
+    logger.info(
+        "Finding the descendants of {} organizations took {} µs with the index,"
+            + " {} µs by recursively scanning all organizations",
+        SAMPLES, indexDuration.toNanos() / 1000, scanDuration.toNanos() / 1000);
+    assertThat(indexCount).isEqualTo(scanCount);
+  }
+
+}
@@ -0,0 +1,174 @@
+package mil.dds.anet.test.integration.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import mil.dds.anet.database.cache.HierarchyIndex;
+import mil.dds.anet.database.cache.HierarchyIndex.Link;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class HierarchyIndexTest {
+
+  static final int ORGANIZATIONS = 20_000;
+  private static final int ROOTS = 10;
+  static final int SAMPLES = 200;
+
+  private static List<Link> links;
+  private static Map<String, String> parents;
+  private static HierarchyIndex index;
+
+  @BeforeAll
+  static void setUp() {
+    links = createOrganizations();
+    parents = new HashMap<>();
+    for (final Link link : links) {
+      parents.put(link.uuid(), link.parentUuid());
+    }
+    index = HierarchyIndex.build(links);
+  }
+
+  static List<Link> createOrganizations() {
+    // A random tree of organizations, like the rows of the organizations table
+    final Random random = new Random(42);
+    final List<Link> result = new ArrayList<>(ORGANIZATIONS);
+    for (int i = 0; i < ORGANIZATIONS; i++) {
+      final String parentUuid = (i < ROOTS) ? null : getUuid(random.nextInt(i));
+      result.add(new Link(getUuid(i), parentUuid));
+    }
+    return result;
+  }
+
+  @Test
+  void testOrganizations() {
+    assertThat(index.size()).isEqualTo(ORGANIZATIONS);
+    assertThat(index.isForest()).isTrue();
+    final Random random = new Random(7);
+    for (int i = 0; i < SAMPLES; i++) {
+      final String uuid = getUuid(random.nextInt(ORGANIZATIONS));
+      final List<String> ancestors = getAncestors(uuid);
+      assertThat(index.getAncestors(uuid)).containsExactlyElementsOf(ancestors);
+      final Set<String> descendants = getDescendantsOrSelf(uuid);
+      assertThat(index.getDescendantsOrSelf(uuid)).containsExactlyInAnyOrderElementsOf(descendants);
+
+      final String otherUuid = getUuid(random.nextInt(ORGANIZATIONS));
+      assertThat(index.isDescendantOrSelf(otherUuid, uuid))
+          .isEqualTo(descendants.contains(otherUuid));
+      for (final String ancestor : ancestors) {
+        assertThat(index.isDescendantOrSelf(uuid, ancestor)).isTrue();
+        assertThat(index.isDescendantOrSelf(ancestor, uuid)).isFalse();
+      }
+    }
+    assertThat(index.getAncestors("unknown")).isEmpty();
+    assertThat(index.getDescendantsOrSelf("unknown")).isEmpty();
+    assertThat(index.isDescendantOrSelf("unknown", getUuid(0))).isFalse();
+  }
+
+  @Test
+  void testPairs() {
+    final String uuid = getUuid(ROOTS + 1);
+    final List<String> nodeUuids = new ArrayList<>();
+    final List<String> ancestorUuids = new ArrayList<>();
+    index.addPairs(List.of(uuid, uuid), true, nodeUuids, ancestorUuids);
+    assertThat(nodeUuids).containsExactlyInAnyOrderElementsOf(getDescendantsOrSelf(uuid));
+    assertThat(ancestorUuids).hasSize(nodeUuids.size()).containsOnly(uuid);
+
+    nodeUuids.clear();
+    ancestorUuids.clear();
+    index.addPairs(List.of(uuid, "unknown"), false, nodeUuids, ancestorUuids);
+    final List<String> ancestorsOrSelf = new ArrayList<>(List.of(uuid));
+    ancestorsOrSelf.addAll(getAncestors(uuid));
+    assertThat(ancestorUuids).containsExactlyElementsOf(ancestorsOrSelf);
+    assertThat(nodeUuids).hasSize(ancestorUuids.size()).containsOnly(uuid);
+  }
+
+  @Test
+  void testLocations() {
+    // Locations can have more than one parent; only children have rows in the
+    // locationRelationships table
+    final HierarchyIndex locations = HierarchyIndex.build(List.of(new Link("country", "region"),
+        new Link("province", "country"), new Link("city", "province"),
+        new Link("city", "country"), new Link("district", "city")));
+    assertThat(locations.isForest()).isFalse();
+    assertThat(locations.getAncestors("city")).containsExactly("province", "country", "region");
+    assertThat(locations.getDescendantsOrSelf("country"))
+        .containsExactlyInAnyOrder("country", "province", "city", "district");
+    assertThat(locations.isDescendantOrSelf("district", "region")).isTrue();
+    assertThat(locations.isDescendantOrSelf("province", "city")).isFalse();
+
+    final List<String> nodeUuids = new ArrayList<>();
+    final List<String> ancestorUuids = new ArrayList<>();
+    locations.addPairs(List.of("region"), true, nodeUuids, ancestorUuids);
+    // The region itself has no row, so isn't paired with itself
+    assertThat(nodeUuids).containsExactlyInAnyOrder("country", "province", "city", "district");
+    nodeUuids.clear();
+    ancestorUuids.clear();
+    locations.addPairs(List.of("region", "city"), false, nodeUuids, ancestorUuids);
+    assertThat(nodeUuids).containsOnly("city");
+    assertThat(ancestorUuids).containsExactly("city", "province", "country", "region");
+  }
+
+  @Test
+  void testCycle() {
+    final HierarchyIndex cycle =
+        HierarchyIndex.build(List.of(new Link("a", "b"), new Link("b", "a"), new Link("c", "a")));
+    assertThat(cycle.isForest()).isFalse();
+    assertThat(cycle.getAncestors("c")).containsExactly("a", "b");
+    assertThat(cycle.getDescendantsOrSelf("a")).containsExactlyInAnyOrder("a", "b", "c");
+  }
+
+  @Test
+  void testRebuild() {
+    final HierarchyIndex built = HierarchyIndex.build(links);
+    assertThat(built.size()).isEqualTo(ORGANIZATIONS);
+    final Random random = new Random(13);
+    for (int i = 0; i < SAMPLES; i++) {
+      final String uuid = getUuid(random.nextInt(ORGANIZATIONS / 10));
+      final List<String> nodeUuids = new ArrayList<>();
+      built.addPairs(List.of(uuid), true, nodeUuids, new ArrayList<>());
+      assertThat(nodeUuids).containsExactlyInAnyOrderElementsOf(getDescendantsOrSelf(uuid));
+    }
+  }
+
+  static String getUuid(int i) {
+    return "org-" + i;
+  }
+
+  private static List<String> getAncestors(String uuid) {
+    final List<String> result = new ArrayList<>();
+    for (String p = parents.get(uuid); p != null; p = parents.get(p)) {
+      result.add(p);
+    }
+    return result;
+  }
+
+  private static Set<String> getDescendantsOrSelf(String uuid) {
+    return getDescendantsOrSelf(links, uuid);
+  }
+
+  /**
+   * Find the descendants the way a recursive query does: scan all rows for the children of the
+   * previous level, until there are none.
+   */
+  static Set<String> getDescendantsOrSelf(List<Link> allLinks, String uuid) {
+    final Set<String> result = new HashSet<>(List.of(uuid));
+    Set<String> level = new HashSet<>(result);
+    while (!level.isEmpty()) {
+      final Set<String> nextLevel = new HashSet<>();
+      for (final Link link : allLinks) {
+        if (level.contains(link.parentUuid()) && result.add(link.uuid())) {
+          nextLevel.add(link.uuid());
+        }
+      }
+      level = nextLevel;
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,38 @@
+package mil.dds.anet.test.integration.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import mil.dds.anet.beans.search.ISearchQuery.SortOrder;
+import mil.dds.anet.search.KeysetCursor;
+import mil.dds.anet.search.KeysetCursor.SortColumn;
+import org.junit.jupiter.api.Test;
+
+class KeysetCursorTest {
+
+  @Test
+  void testSortColumns() {
+    assertThat(KeysetCursor.getSortColumns(List.of("\"people_name\" DESC", "\"people_uuid\" ASC")))
+        .containsExactly(new SortColumn("people_name", SortOrder.DESC),
+            new SortColumn("people_uuid", SortOrder.ASC));
+  }
+
+  @Test
+  void testNonUniqueSortColumns() {
+    // Rows with the same values would be skipped or returned twice
+    assertThat(KeysetCursor.getSortColumns(List.of("\"count\" DESC"))).isNull();
+    assertThat(KeysetCursor.getSortColumns(List.of("\"subscriptionUpdates_createdAt\" DESC",
+        "\"subscriptionUpdates_updatedObjectType\" ASC",
+        "\"subscriptionUpdates_updatedObjectUuid\" ASC"))).isNull();
+    assertThat(KeysetCursor.getSortColumns(List.of("\"people_uuid\" ASC", "\"people_name\" ASC")))
+        .isNull();
+  }
+
+  @Test
+  void testUnsupportedSortColumns() {
+    assertThat(KeysetCursor.getSortColumns(List.of())).isNull();
+    assertThat(KeysetCursor.getSortColumns(List.of("people.name ASC", "\"people_uuid\" ASC")))
+        .isNull();
+  }
+
+}
@@ -0,0 +1,137 @@
+package mil.dds.anet.test.integration.db;
+
+import static mil.dds.anet.test.integration.db.MapperUtilsTest.BOOLEAN_COLUMNS;
+import static mil.dds.anet.test.integration.db.MapperUtilsTest.JOINED_COLUMNS;
+import static mil.dds.anet.test.integration.db.MapperUtilsTest.STATUS_COLUMN;
+import static mil.dds.anet.test.integration.db.MapperUtilsTest.STRING_COLUMNS;
+import static mil.dds.anet.test.integration.db.MapperUtilsTest.createRowSet;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.invoke.MethodHandles;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.rowset.CachedRowSet;
+import mil.dds.anet.beans.Person;
+import mil.dds.anet.database.mappers.PersonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark of the person mapper on a result set with many (joined) columns, against mapping it
+ * the way it was done before: scanning the metadata for each field of each row, and looking up the
+ * enum values through reflection. The durations depend on the machine, so they are logged rather
+ * than asserted; run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class MapperUtilsBenchmark {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  private static final int ROWS = 5000;
+  private static final int ROUNDS = 5;
+
+  private CachedRowSet rowSet;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    rowSet = createRowSet(ROWS);
+  }
+
+  @Test
+  void testMappingThroughput() throws SQLException {
+    Duration legacyDuration = Duration.ZERO;
+    Duration indexedDuration = Duration.ZERO;
+    for (int round = 0; round < ROUNDS; round++) {
+      final long legacyStart = System.nanoTime();
+      final List<Person> legacyPersons = mapAll(true);
+      legacyDuration = legacyDuration.plusNanos(System.nanoTime() - legacyStart);
+
+      final long indexedStart = System.nanoTime();
+      final List<Person> indexedPersons = mapAll(false);
+      indexedDuration = indexedDuration.plusNanos(System.nanoTime() - indexedStart);
+
+      assertThat(indexedPersons).usingRecursiveFieldByFieldElementComparator()
+          .isEqualTo(legacyPersons);
+    }
+
+    logger.info("Mapping {} x {} persons from {} columns took {} ms before, {} ms now", ROUNDS,
+        ROWS, JOINED_COLUMNS + STRING_COLUMNS.length + BOOLEAN_COLUMNS.length + 1,
+        legacyDuration.toMillis(), indexedDuration.toMillis());
+  }
+
+  private List<Person> mapAll(boolean legacy) throws SQLException {
+    final List<Person> persons = new ArrayList<>(ROWS);
+    rowSet.beforeFirst();
+    while (rowSet.next()) {
+      persons.add(
+          legacy ? legacyFillInFields(rowSet) : PersonMapper.fillInFields(new Person(), rowSet));
+    }
+    return persons;
+  }
+
+  private Person legacyFillInFields(ResultSet rs) throws SQLException {
+    final Person p = new Person();
+    p.setUuid(rs.getString("people_uuid"));
+    p.setBatchUuid(legacyGetString(rs, "batchUuid"));
+    p.setCustomFields(legacyGetString(rs, "people_customFields"));
+    p.setFamilyName(legacyGetString(rs, "people_familyName"));
+    p.setGivenName(legacyGetString(rs, "people_givenName"));
+    p.setStatus(legacyGetEnumIdx(rs, STATUS_COLUMN, Person.Status.class));
+    p.setUser(legacyGetBoolean(rs, "people_user"));
+    p.setPhoneNumber(legacyGetString(rs, "people_phoneNumber"));
+    p.setObsoleteCountry(legacyGetString(rs, "people_obsoleteCountry"));
+    p.setCountryUuid(legacyGetString(rs, "people_countryUuid"));
+    p.setGender(legacyGetString(rs, "people_gender"));
+    p.setCode(legacyGetString(rs, "people_code"));
+    p.setRank(legacyGetString(rs, "people_rank"));
+    p.setBiography(legacyGetString(rs, "people_biography"));
+    p.setPendingVerification(legacyGetBoolean(rs, "people_pendingVerification"));
+    // Not in the result set, but still looked up
+    legacyContainsColumnNamed(rs, "people_createdAt");
+    legacyContainsColumnNamed(rs, "people_updatedAt");
+    legacyContainsColumnNamed(rs, "people_endOfTourDate");
+    return p;
+  }
+
+  private String legacyGetString(ResultSet rs, String columnName) throws SQLException {
+    return legacyContainsColumnNamed(rs, columnName) ? rs.getString(columnName) : null;
+  }
+
+  private Boolean legacyGetBoolean(ResultSet rs, String columnName) throws SQLException {
+    return legacyContainsColumnNamed(rs, columnName) ? rs.getBoolean(columnName) : null;
+  }
+
+  private <T extends Enum<T>> T legacyGetEnumIdx(ResultSet rs, String columnName,
+      Class<T> clazz) throws SQLException {
+    if (!legacyContainsColumnNamed(rs, columnName)) {
+      return null;
+    }
+    final int idx = rs.getInt(columnName);
+    try {
+      @SuppressWarnings("unchecked")
+      final T[] values = (T[]) clazz.getMethod("values").invoke(null);
+      return values[idx];
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private boolean legacyContainsColumnNamed(ResultSet rs, String colName) throws SQLException {
+    final ResultSetMetaData metaData = rs.getMetaData();
+    for (int i = 1; i <= metaData.getColumnCount(); i++) {
+      if (colName.equals(metaData.getColumnName(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
@@ -0,0 +1,132 @@
+package mil.dds.anet.test.integration.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import mil.dds.anet.beans.Person;
+import mil.dds.anet.database.mappers.MapperUtils;
+import mil.dds.anet.database.mappers.PersonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the person mapper on a result set with many (joined) columns, where the columns are looked
+ * up by their index.
+ */
+class MapperUtilsTest {
+
+  private static final int ROWS = 20;
+  // Columns of other tables, as in a search joining people with their positions etc.
+  static final int JOINED_COLUMNS = 60;
+
+  static final String[] STRING_COLUMNS = {"people_uuid", "people_customFields",
+      "people_familyName", "people_givenName", "people_phoneNumber", "people_obsoleteCountry",
+      "people_countryUuid", "people_gender", "people_code", "people_rank", "people_biography"};
+  static final String[] BOOLEAN_COLUMNS = {"people_user", "people_pendingVerification"};
+  static final String STATUS_COLUMN = "people_status";
+
+  private CachedRowSet rowSet;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    rowSet = createRowSet(ROWS);
+  }
+
+  static CachedRowSet createRowSet(int rows) throws SQLException {
+    final List<String> columnNames = new ArrayList<>();
+    for (int i = 0; i < JOINED_COLUMNS; i++) {
+      columnNames.add("joined_column" + i);
+    }
+    columnNames.addAll(List.of(STRING_COLUMNS));
+    columnNames.addAll(List.of(BOOLEAN_COLUMNS));
+    columnNames.add(STATUS_COLUMN);
+
+    final RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+    metaData.setColumnCount(columnNames.size());
+    for (int i = 1; i <= columnNames.size(); i++) {
+      final String columnName = columnNames.get(i - 1);
+      metaData.setColumnName(i, columnName);
+      metaData.setColumnType(i, getColumnType(columnName));
+      metaData.setNullable(i, ResultSetMetaData.columnNullable);
+    }
+    final CachedRowSet rowSet = RowSetProvider.newFactory().createCachedRowSet();
+    rowSet.setMetaData(metaData);
+    for (int row = 0; row < rows; row++) {
+      rowSet.moveToInsertRow();
+      for (int i = 1; i <= columnNames.size(); i++) {
+        final String columnName = columnNames.get(i - 1);
+        switch (getColumnType(columnName)) {
+          case Types.BOOLEAN -> rowSet.updateBoolean(i, row % 2 == 0);
+          case Types.INTEGER -> rowSet.updateInt(i, row % Person.Status.values().length);
+          default -> rowSet.updateString(i, columnName + "-" + row);
+        }
+      }
+      rowSet.insertRow();
+      rowSet.moveToCurrentRow();
+    }
+    return rowSet;
+  }
+
+  @Test
+  void testAllRows() throws SQLException {
+    final List<Person> expected = new ArrayList<>(ROWS);
+    for (int row = 0; row < ROWS; row++) {
+      expected.add(getExpectedPerson(row));
+    }
+    final List<Person> persons = new ArrayList<>(ROWS);
+    rowSet.beforeFirst();
+    while (rowSet.next()) {
+      persons.add(PersonMapper.fillInFields(new Person(), rowSet));
+    }
+    assertThat(persons).usingRecursiveFieldByFieldElementComparator().isEqualTo(expected);
+  }
+
+  @Test
+  void testMappedFields() throws SQLException {
+    rowSet.beforeFirst();
+    assertThat(rowSet.next()).isTrue();
+    final Person person = PersonMapper.fillInFields(new Person(), rowSet);
+    assertThat(person.getUuid()).isEqualTo("people_uuid-0");
+    assertThat(person.getFamilyName()).isEqualTo("people_familyName-0");
+    assertThat(person.getStatus()).isEqualTo(Person.Status.values()[0]);
+    assertThat(person.getUser()).isTrue();
+    // Not in the result set
+    assertThat(person.getCreatedAt()).isNull();
+    assertThat(MapperUtils.containsColumnNamed(rowSet, "people_createdAt")).isFalse();
+    assertThat(MapperUtils.getColumnIndex(rowSet, "joined_column0")).isEqualTo(1);
+  }
+
+  private Person getExpectedPerson(int row) {
+    final Person p = new Person();
+    p.setUuid("people_uuid-" + row);
+    p.setCustomFields("people_customFields-" + row);
+    p.setFamilyName("people_familyName-" + row);
+    p.setGivenName("people_givenName-" + row);
+    p.setStatus(Person.Status.values()[row % Person.Status.values().length]);
+    p.setUser(row % 2 == 0);
+    p.setPhoneNumber("people_phoneNumber-" + row);
+    p.setObsoleteCountry("people_obsoleteCountry-" + row);
+    p.setCountryUuid("people_countryUuid-" + row);
+    p.setGender("people_gender-" + row);
+    p.setCode("people_code-" + row);
+    p.setRank("people_rank-" + row);
+    p.setBiography("people_biography-" + row);
+    p.setPendingVerification(row % 2 == 0);
+    return p;
+  }
+
+  private static int getColumnType(String columnName) {
+    if (List.of(BOOLEAN_COLUMNS).contains(columnName)) {
+      return Types.BOOLEAN;
+    }
+    return STATUS_COLUMN.equals(columnName) ? Types.INTEGER : Types.VARCHAR;
+  }
+
+}
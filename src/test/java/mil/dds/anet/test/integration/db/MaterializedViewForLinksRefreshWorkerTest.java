@@ -0,0 +1,101 @@
+package mil.dds.anet.test.integration.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import mil.dds.anet.beans.JobHistory;
+import mil.dds.anet.beans.Location;
+import mil.dds.anet.beans.WithStatus;
+import mil.dds.anet.beans.metrics.MaterializedViewStatistic;
+import mil.dds.anet.database.JobHistoryDao;
+import mil.dds.anet.database.LocationDao;
+import mil.dds.anet.test.resources.AbstractResourceTest;
+import mil.dds.anet.threads.MaterializedViewForLinksRefreshWorker;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class MaterializedViewForLinksRefreshWorkerTest extends AbstractResourceTest {
+
+  // Table statistics may be reported with some delay
+  private static final int MAX_ATTEMPTS = 15;
+  private static final long ATTEMPT_INTERVAL_MS = 1000;
+
+  @Autowired
+  private JobHistoryDao jobHistoryDao;
+
+  @Autowired
+  private LocationDao locationDao;
+
+  private MaterializedViewForLinksRefreshWorker materializedViewForLinksRefreshWorker;
+
+  @BeforeAll
+  void setUpClass() {
+    materializedViewForLinksRefreshWorker =
+        new MaterializedViewForLinksRefreshWorker(dict, jobHistoryDao, adminDao);
+  }
+
+  @Test
+  void testSkipUnchanged() throws InterruptedException {
+    materializedViewForLinksRefreshWorker.run();
+    final JobHistory jobHistory =
+        jobHistoryDao.getByJobName(MaterializedViewForLinksRefreshWorker.class.getSimpleName());
+    assertThat(jobHistory.getWatermarks()).containsKeys("locations", "reports");
+
+    // Without changes, the views should not be refreshed
+    boolean allSkipped = false;
+    for (int i = 0; !allSkipped && i < MAX_ATTEMPTS; i++) {
+      Thread.sleep(ATTEMPT_INTERVAL_MS);
+      final Map<String, MaterializedViewStatistic> before = getStatistics();
+      materializedViewForLinksRefreshWorker.run();
+      final Map<String, MaterializedViewStatistic> after = getStatistics();
+      allSkipped = after.entrySet().stream().allMatch(e -> e.getValue()
+          .getSkipCount() == getSkipCount(before.get(e.getKey())) + 1
+          && e.getValue().getRefreshCount() == getRefreshCount(before.get(e.getKey())));
+    }
+    assertThat(allSkipped).isTrue();
+  }
+
+  @Test
+  void testRefreshOnLinkedTextChange() {
+    materializedViewForLinksRefreshWorker.run();
+
+    // Any object can be linked to, so changing its name should refresh all views
+    final Location input = new Location();
+    input.setStatus(WithStatus.Status.ACTIVE);
+    input.setType(Location.LocationType.POINT_LOCATION);
+    input.setName("testLocation");
+    final Location created = locationDao.insert(input);
+    created.setName("testLocation renamed");
+    locationDao.update(created);
+
+    final Map<String, MaterializedViewStatistic> before = getStatistics();
+    materializedViewForLinksRefreshWorker.run();
+    final Map<String, MaterializedViewStatistic> after = getStatistics();
+    assertThat(after).hasSize(MaterializedViewForLinksRefreshWorker.materializedViews.length)
+        .allSatisfy((name, statistic) -> {
+          assertThat(statistic.getRefreshCount()).isEqualTo(getRefreshCount(before.get(name)) + 1);
+          assertThat(statistic.getLastDurationMs()).isNotNegative();
+          assertThat(statistic.getLastRefreshedAt()).isNotNull();
+        });
+
+    // clean up (through internal method)
+    locationDao._deleteByUuid(LocationDao.TABLE_NAME, "uuid", created.getUuid());
+  }
+
+  private Map<String, MaterializedViewStatistic> getStatistics() {
+    return MaterializedViewForLinksRefreshWorker.getStatistics().stream()
+        .collect(Collectors.toMap(MaterializedViewStatistic::getName, Function.identity()));
+  }
+
+  private long getRefreshCount(MaterializedViewStatistic statistic) {
+    return statistic == null ? 0 : statistic.getRefreshCount();
+  }
+
+  private long getSkipCount(MaterializedViewStatistic statistic) {
+    return statistic == null ? 0 : statistic.getSkipCount();
+  }
+
+}
@@ -104,6 +104,38 @@ class MergedEntityWorkerTest extends AbstractResourceTest {
     attachmentDao.delete(updated.getUuid());
   }
 
+  @Test
+  void testChainedMerges() {
+    final String testUuid1 = UUID.randomUUID().toString();
+    final String testUuid2 = UUID.randomUUID().toString();
+    final String testUuid3 = UUID.randomUUID().toString();
+
+    // set things up
+    final Attachment input = new Attachment();
+    input.setAuthor(getRegularUserBean());
+    input.setDescription(getRichText(AttachmentDao.TABLE_NAME, testUuid1)
+        + getRichText(AttachmentDao.TABLE_NAME, testUuid3));
+    final Attachment created = attachmentDao.insert(input);
+
+    // merge 1 into 2, then 3 into 1, and run the worker once
+    assertThat(adminDao
+        .insertMergedEntity(new MergedEntity(testUuid1, testUuid2, Instant.now().minusSeconds(1))))
+        .isOne();
+    assertThat(adminDao.insertMergedEntity(new MergedEntity(testUuid3, testUuid1, Instant.now())))
+        .isOne();
+    mergedEntityWorker.run();
+    assertThat(adminDao.getMergedEntities()).isEmpty();
+
+    // assert that the entity refs have been updated as if merged one after the other
+    final Attachment updated = attachmentDao.getByUuid(created.getUuid());
+    assertContains(updated.getDescription(), testUuid2);
+    assertContains(updated.getDescription(), testUuid1);
+    assertDoesNotContain(updated.getDescription(), testUuid3);
+
+    // clean up
+    attachmentDao.delete(updated.getUuid());
+  }
+
   @Test
   void testCustomSensitiveInformation() {
     final String testOldUuid = UUID.randomUUID().toString();
@@ -0,0 +1,58 @@
+package mil.dds.anet.test.integration.db;
+
+import static mil.dds.anet.test.integration.db.PendingAssessmentsHelperTest.createCandidates;
+import static mil.dds.anet.test.integration.db.PendingAssessmentsHelperTest.getAssessmentDates;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import mil.dds.anet.database.AssessmentDao.AssessmentCandidate;
+import mil.dds.anet.database.AssessmentDao.LatestPeriodStart;
+import mil.dds.anet.utils.PendingAssessmentsHelper;
+import mil.dds.anet.utils.PendingAssessmentsHelper.Recurrence;
+import mil.dds.anet.utils.PendingAssessmentsHelper.UuidsToAssess;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark of computing the pending assessments for a large number of candidates. It should be
+ * negligible compared to loading the candidates from the database, but the duration depends on the
+ * machine, so it is logged rather than asserted; run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class PendingAssessmentsHelperBenchmark {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  private static final int POSITIONS = 15_000;
+  private static final int TASKS = 3_000;
+
+  @Test
+  void testPerformance() {
+    final List<AssessmentCandidate> candidates = new ArrayList<>();
+    final List<LatestPeriodStart> latestPeriodStarts = new ArrayList<>();
+    createCandidates(POSITIONS, TASKS, candidates, latestPeriodStarts);
+
+    final long start = System.nanoTime();
+    final Map<String, Set<Recurrence>> pendingRecurrences = new HashMap<>();
+    final Map<String, UuidsToAssess> uuidsToAssess = PendingAssessmentsHelper.getUuidsToAssess(
+        getAssessmentDates(), EnumSet.of(Recurrence.MONTHLY), EnumSet.of(Recurrence.QUARTERLY),
+        candidates, latestPeriodStarts, pendingRecurrences);
+    final Duration duration = Duration.ofNanos(System.nanoTime() - start);
+    logger.info(
+        "Computing the pending assessments of {} candidates and {} assessed objects"
+            + " for {} advisor positions took {} ms",
+        candidates.size(), latestPeriodStarts.size(), uuidsToAssess.size(), duration.toMillis());
+    assertThat(pendingRecurrences).hasSizeGreaterThanOrEqualTo(TASKS);
+  }
+
+}
@@ -0,0 +1,128 @@
+package mil.dds.anet.test.integration.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import mil.dds.anet.database.AssessmentDao.AssessmentCandidate;
+import mil.dds.anet.database.AssessmentDao.LatestPeriodStart;
+import mil.dds.anet.database.PositionDao;
+import mil.dds.anet.database.TaskDao;
+import mil.dds.anet.utils.PendingAssessmentsHelper;
+import mil.dds.anet.utils.PendingAssessmentsHelper.AssessmentDates;
+import mil.dds.anet.utils.PendingAssessmentsHelper.Recurrence;
+import mil.dds.anet.utils.PendingAssessmentsHelper.UuidsToAssess;
+import org.junit.jupiter.api.Test;
+
+class PendingAssessmentsHelperTest {
+
+  private static final Instant NOW = Instant.parse("2024-05-15T12:00:00Z");
+  private static final int COUNTERPARTS = 3;
+  private static final int RESPONSIBLE_POSITIONS = 2;
+
+  @Test
+  void testPendingAssessments() {
+    final Set<Recurrence> positionRecurrence = EnumSet.of(Recurrence.MONTHLY);
+    final Set<Recurrence> taskRecurrence = EnumSet.of(Recurrence.MONTHLY, Recurrence.QUARTERLY);
+    final List<AssessmentCandidate> candidates = List.of(
+        positionCandidate("advisor1", "position1", "person1"),
+        positionCandidate("advisor1", "position2", "person2"),
+        positionCandidate("advisor2", "position2", "person2"),
+        taskCandidate("advisor2", "task1"), taskCandidate("advisor3", "task2"));
+    final List<LatestPeriodStart> latestPeriodStarts = List.of(
+        // Assessed for last month
+        new LatestPeriodStart("person1", "monthly", "2024-04-01"),
+        // Assessed for the month before
+        new LatestPeriodStart("person2", "monthly", "2024-03-01"),
+        // Only assessed for the last quarter
+        new LatestPeriodStart("task1", "monthly", "2024-01-01"),
+        new LatestPeriodStart("task1", "quarterly", "2024-01-01"),
+        // Assessed for both
+        new LatestPeriodStart("task2", "monthly", "2024-04-01"),
+        new LatestPeriodStart("task2", "quarterly", "2024-01-01"));
+
+    final Map<String, Set<Recurrence>> pendingRecurrences = new HashMap<>();
+    final Map<String, UuidsToAssess> uuidsToAssess =
+        PendingAssessmentsHelper.getUuidsToAssess(getAssessmentDates(), positionRecurrence,
+            taskRecurrence, candidates, latestPeriodStarts, pendingRecurrences);
+
+    assertThat(uuidsToAssess).containsOnlyKeys("advisor1", "advisor2");
+    assertThat(uuidsToAssess.get("advisor1").positionUuids()).containsExactly("position2");
+    assertThat(uuidsToAssess.get("advisor1").taskUuids()).isEmpty();
+    assertThat(uuidsToAssess.get("advisor2").positionUuids()).containsExactly("position2");
+    assertThat(uuidsToAssess.get("advisor2").taskUuids()).containsExactly("task1");
+    assertThat(pendingRecurrences.get("position1")).isEmpty();
+    assertThat(pendingRecurrences.get("position2")).containsExactly(Recurrence.MONTHLY);
+    assertThat(pendingRecurrences.get("task1")).containsExactly(Recurrence.MONTHLY);
+    assertThat(pendingRecurrences.get("task2")).isEmpty();
+  }
+
+  @Test
+  void testManyCandidates() {
+    final int tasks = 30;
+    final List<AssessmentCandidate> candidates = new ArrayList<>();
+    final List<LatestPeriodStart> latestPeriodStarts = new ArrayList<>();
+    createCandidates(150, tasks, candidates, latestPeriodStarts);
+
+    final Map<String, Set<Recurrence>> pendingRecurrences = new HashMap<>();
+    final Map<String, UuidsToAssess> uuidsToAssess = PendingAssessmentsHelper.getUuidsToAssess(
+        getAssessmentDates(), EnumSet.of(Recurrence.MONTHLY), EnumSet.of(Recurrence.QUARTERLY),
+        candidates, latestPeriodStarts, pendingRecurrences);
+
+    assertThat(uuidsToAssess).isNotEmpty();
+    // All tasks were assessed last year, so all are pending
+    assertThat(pendingRecurrences).containsKeys("task0", "task" + (tasks - 1));
+    assertThat(pendingRecurrences.get("task0")).containsExactly(Recurrence.QUARTERLY);
+  }
+
+  static void createCandidates(int positions, int tasks, List<AssessmentCandidate> candidates,
+      List<LatestPeriodStart> latestPeriodStarts) {
+    final Random random = new Random(42);
+    for (int i = 0; i < positions; i++) {
+      for (int j = 0; j < COUNTERPARTS; j++) {
+        final int counterpart = random.nextInt(positions);
+        candidates.add(positionCandidate("advisor" + i, "position" + counterpart,
+            "person" + counterpart));
+      }
+      // Most people have been assessed at some time
+      if (random.nextInt(10) < 8) {
+        latestPeriodStarts.add(new LatestPeriodStart("person" + i, "monthly",
+            String.format("2024-%02d-01", 1 + random.nextInt(5))));
+      }
+    }
+    for (int i = 0; i < tasks; i++) {
+      for (int j = 0; j < RESPONSIBLE_POSITIONS; j++) {
+        candidates.add(taskCandidate("advisor" + random.nextInt(positions), "task" + i));
+      }
+      latestPeriodStarts.add(new LatestPeriodStart("task" + i, "quarterly",
+          String.format("2023-%02d-01", 1 + 3 * random.nextInt(4))));
+    }
+  }
+
+  static Map<Recurrence, Instant> getAssessmentDates() {
+    final Map<Recurrence, Instant> assessmentDates = new EnumMap<>(Recurrence.class);
+    for (final Recurrence recurrence : Recurrence.values()) {
+      assessmentDates.put(recurrence,
+          new AssessmentDates(NOW, recurrence, true).getAssessmentDate());
+    }
+    return assessmentDates;
+  }
+
+  private static AssessmentCandidate positionCandidate(String advisorPositionUuid,
+      String positionUuid, String personUuid) {
+    return new AssessmentCandidate(advisorPositionUuid, PositionDao.TABLE_NAME, positionUuid,
+        personUuid);
+  }
+
+  private static AssessmentCandidate taskCandidate(String advisorPositionUuid, String taskUuid) {
+    return new AssessmentCandidate(advisorPositionUuid, TaskDao.TABLE_NAME, taskUuid, taskUuid);
+  }
+
+}
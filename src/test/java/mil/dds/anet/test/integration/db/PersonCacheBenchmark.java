@@ -0,0 +1,141 @@
+package mil.dds.anet.test.integration.db;
+
+import static mil.dds.anet.test.integration.db.PersonCacheTest.CACHED_PERSONS;
+import static mil.dds.anet.test.integration.db.PersonCacheTest.REQUESTS;
+import static mil.dds.anet.test.integration.db.PersonCacheTest.createFullPerson;
+import static mil.dds.anet.test.integration.db.PersonCacheTest.createPerson;
+import static mil.dds.anet.test.integration.db.PersonCacheTest.domainUsername;
+import static mil.dds.anet.test.integration.db.PersonCacheTest.personUuid;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import javax.cache.Cache;
+import mil.dds.anet.beans.Person;
+import mil.dds.anet.beans.Position;
+import mil.dds.anet.beans.User;
+import mil.dds.anet.beans.recentActivity.Activity;
+import mil.dds.anet.database.PersonDao;
+import mil.dds.anet.database.PositionDao;
+import mil.dds.anet.database.UserDao;
+import mil.dds.anet.database.cache.PersonCache;
+import mil.dds.anet.utils.DaoUtils;
+import org.apache.commons.beanutils.PropertyUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark of the person cache lookups and copies. The durations depend on the JVM and the
+ * machine, so they are logged rather than asserted; run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class PersonCacheBenchmark {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  private static final int COPIES = 100000;
+
+  private PersonCache personCache;
+
+  @BeforeEach
+  void setUp() {
+    personCache = new PersonCache();
+    personCache.clearCache();
+  }
+
+  @AfterEach
+  void tearDown() {
+    personCache.clearCache();
+  }
+
+  @Test
+  void testLookupsWithFullCache() {
+    for (int i = 0; i < CACHED_PERSONS; i++) {
+      personCache.putInCache(createPerson(i));
+    }
+
+    // Before, each request scanned the whole cache to find the person
+    final long scanStart = System.nanoTime();
+    for (int i = 0; i < REQUESTS; i++) {
+      assertThat(scanByPersonUuid(personUuid(i % CACHED_PERSONS))).isNotNull();
+    }
+    final Duration scanDuration = Duration.ofNanos(System.nanoTime() - scanStart);
+
+    final long indexStart = System.nanoTime();
+    for (int i = 0; i < REQUESTS; i++) {
+      personCache.logActivitiesByPersonUuid(personUuid(i % CACHED_PERSONS),
+          new Activity("127.0.0.1", "request " + i, Instant.now()));
+    }
+    final Duration indexDuration = Duration.ofNanos(System.nanoTime() - indexStart);
+
+    logger.info("{} requests with {} cached persons took {} ms scanning, {} ms indexed", REQUESTS,
+        CACHED_PERSONS, scanDuration.toMillis(), indexDuration.toMillis());
+  }
+
+  @Test
+  void testGetFromCacheThroughput() throws Exception {
+    final Person person = createFullPerson(1);
+    personCache.putInCache(person);
+    final Person cached = personCache.getDomainUsersCache().get(domainUsername(1));
+
+    // Before, each copy went through reflection
+    final long reflectionStart = System.nanoTime();
+    for (int i = 0; i < COPIES; i++) {
+      assertThat(reflectiveCopy(cached)).isNotNull();
+    }
+    final Duration reflectionDuration = Duration.ofNanos(System.nanoTime() - reflectionStart);
+
+    final long explicitStart = System.nanoTime();
+    for (int i = 0; i < COPIES; i++) {
+      assertThat(personCache.getFromCache(domainUsername(1))).isNotNull();
+    }
+    final Duration explicitDuration = Duration.ofNanos(System.nanoTime() - explicitStart);
+
+    logger.info("{} calls of getFromCache took {} ms with reflection, {} ms without", COPIES,
+        reflectionDuration.toMillis(), explicitDuration.toMillis());
+  }
+
+  private Person reflectiveCopy(Person person) throws Exception {
+    final Person personCopy = new Person();
+    for (final String prop : PersonDao.allFields) {
+      PropertyUtils.setSimpleProperty(personCopy, prop,
+          PropertyUtils.getSimpleProperty(person, prop));
+    }
+    final List<User> usersCopy = new ArrayList<>();
+    for (final User user : person.getUsers()) {
+      final User userCopy = new User();
+      for (final String prop : UserDao.fields) {
+        PropertyUtils.setSimpleProperty(userCopy, prop,
+            PropertyUtils.getSimpleProperty(user, prop));
+      }
+      usersCopy.add(userCopy);
+    }
+    personCopy.setUsers(usersCopy);
+    final Position positionCopy = new Position();
+    for (final String prop : PositionDao.fields) {
+      PropertyUtils.setSimpleProperty(positionCopy, prop,
+          PropertyUtils.getSimpleProperty(person.getPosition(), prop));
+    }
+    personCopy.setPosition(positionCopy);
+    return personCopy;
+  }
+
+  private Person scanByPersonUuid(String personUuid) {
+    for (final Cache.Entry<String, Person> entry : personCache.getDomainUsersCache()) {
+      if (Objects.equals(DaoUtils.getUuid(entry.getValue()), personUuid)) {
+        return entry.getValue();
+      }
+    }
+    return null;
+  }
+
+}
@@ -0,0 +1,184 @@
+package mil.dds.anet.test.integration.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import mil.dds.anet.beans.Person;
+import mil.dds.anet.beans.Position;
+import mil.dds.anet.beans.User;
+import mil.dds.anet.beans.WithStatus;
+import mil.dds.anet.beans.recentActivity.Activity;
+import mil.dds.anet.database.PersonDao;
+import mil.dds.anet.database.PositionDao;
+import mil.dds.anet.database.UserDao;
+import mil.dds.anet.database.cache.PersonCache;
+import org.apache.commons.beanutils.PropertyUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PersonCacheTest {
+
+  // Same as the heap size in ehcache-config.xml
+  static final int CACHED_PERSONS = 10000;
+  static final int REQUESTS = 1000;
+
+  private PersonCache personCache;
+
+  @BeforeEach
+  void setUp() {
+    personCache = new PersonCache();
+    assertThat(personCache.getDomainUsersCache()).isNotNull();
+    personCache.clearCache();
+  }
+
+  @AfterEach
+  void tearDown() {
+    personCache.clearCache();
+  }
+
+  @Test
+  void testLookupsWithFullCache() {
+    for (int i = 0; i < CACHED_PERSONS; i++) {
+      personCache.putInCache(createPerson(i));
+    }
+    for (int i = 0; i < REQUESTS; i++) {
+      personCache.logActivitiesByPersonUuid(personUuid(i % CACHED_PERSONS),
+          new Activity("127.0.0.1", "request " + i, Instant.now()));
+    }
+    assertThat(personCache.getFromCache(domainUsername(0)).getRecentActivities()).hasSize(1);
+    assertThat(personCache.getFromCache(domainUsername(REQUESTS - 1)).getRecentActivities())
+        .hasSize(1);
+    assertThat(personCache.getFromCache(domainUsername(REQUESTS)).getRecentActivities())
+        .isNullOrEmpty();
+  }
+
+  @Test
+  void testIndexConsistency() {
+    final Person person = createPerson(1);
+    personCache.putInCache(person);
+    assertThat(personCache.findInCache(person)).isNotNull();
+
+    // Evict by position
+    personCache.evictFromCacheByPositionUuid(positionUuid(1));
+    assertThat(personCache.getFromCache(domainUsername(1))).isNull();
+    assertThat(personCache.findInCache(person)).isNull();
+
+    // Put back, and evict by person
+    personCache.putInCache(person);
+    assertThat(personCache.findInCache(person)).isNotNull();
+    personCache.evictFromCacheByPersonUuid(personUuid(1));
+    assertThat(personCache.getFromCache(domainUsername(1))).isNull();
+
+    // Removed from the cache behind our back
+    personCache.putInCache(person);
+    personCache.getDomainUsersCache().remove(domainUsername(1));
+    assertThat(personCache.findInCache(person)).isNull();
+
+    // Moved to another position
+    personCache.putInCache(person);
+    final Position newPosition = new Position();
+    newPosition.setUuid(positionUuid(2));
+    person.setPosition(newPosition);
+    personCache.putInCache(person);
+    personCache.evictFromCacheByPositionUuid(positionUuid(1));
+    assertThat(personCache.getFromCache(domainUsername(1))).isNotNull();
+    personCache.evictFromCacheByPositionUuid(positionUuid(2));
+    assertThat(personCache.getFromCache(domainUsername(1))).isNull();
+
+    // Cleared
+    personCache.putInCache(person);
+    personCache.clearCache();
+    assertThat(personCache.findInCache(person)).isNull();
+  }
+
+  @Test
+  void testCopyIncludesAllFields() throws Exception {
+    final Person person = createFullPerson(1);
+    personCache.putInCache(person);
+    final Person copy = personCache.getFromCache(domainUsername(1));
+    assertThat(copy).isNotSameAs(person);
+    assertAllPropertiesCopied(person, copy, PersonDao.allFields);
+    assertThat(copy.getUsers()).hasSize(1);
+    assertThat(copy.getUsers().get(0)).isNotSameAs(person.getUsers().get(0));
+    assertAllPropertiesCopied(person.getUsers().get(0), copy.getUsers().get(0), UserDao.fields);
+    assertThat(copy.getPosition()).isNotSameAs(person.getPosition());
+    assertAllPropertiesCopied(person.getPosition(), copy.getPosition(), PositionDao.fields);
+  }
+
+  private void assertAllPropertiesCopied(Object original, Object copy, String[] properties)
+      throws Exception {
+    for (final String property : properties) {
+      final Object value = PropertyUtils.getSimpleProperty(original, property);
+      assertThat(value).as("test value for %s", property).isNotNull();
+      assertThat(PropertyUtils.getSimpleProperty(copy, property)).as(property).isEqualTo(value);
+    }
+  }
+
+  static Person createFullPerson(int i) {
+    final Instant now = Instant.now();
+    final Person person = createPerson(i);
+    person.setCreatedAt(now);
+    person.setUpdatedAt(now);
+    person.setRank("CIV");
+    person.setStatus(WithStatus.Status.ACTIVE);
+    person.setUser(true);
+    person.setPhoneNumber("+1-555-0100");
+    person.setBiography("<p>Biography</p>");
+    person.setObsoleteCountry("Country");
+    person.setCountryUuid("country-" + i);
+    person.setGender("NOT SPECIFIED");
+    person.setEndOfTourDate(now);
+    person.setPendingVerification(false);
+    person.setCode("code-" + i);
+    person.setCustomFields("{}");
+    final User user = person.getUsers().get(0);
+    user.setUuid("user-" + i);
+    user.setCreatedAt(now);
+    user.setUpdatedAt(now);
+    final Position position = person.getPosition();
+    position.setName("Position " + i);
+    position.setCode("P" + i);
+    position.setCreatedAt(now);
+    position.setUpdatedAt(now);
+    position.setOrganizationUuid("organization-" + i);
+    position.setCurrentPersonUuid(person.getUuid());
+    position.setType(Position.PositionType.REGULAR);
+    position.setSuperuserType(Position.SuperuserType.REGULAR);
+    position.setStatus(WithStatus.Status.ACTIVE);
+    position.setLocationUuid("location-" + i);
+    position.setCustomFields("{}");
+    position.setRole(Position.PositionRole.MEMBER);
+    position.setDescription("<p>Description</p>");
+    return person;
+  }
+
+  static Person createPerson(int i) {
+    final Person person = new Person();
+    person.setUuid(personUuid(i));
+    person.setFamilyName("PERSON");
+    person.setGivenName(String.valueOf(i));
+    final User user = new User();
+    user.setDomainUsername(domainUsername(i));
+    user.setPersonUuid(person.getUuid());
+    person.setUsers(List.of(user));
+    final Position position = new Position();
+    position.setUuid(positionUuid(i));
+    person.setPosition(position);
+    return person;
+  }
+
+  static String personUuid(int i) {
+    return "person-" + i;
+  }
+
+  static String positionUuid(int i) {
+    return "position-" + i;
+  }
+
+  static String domainUsername(int i) {
+    return "user" + i;
+  }
+
+}
@@ -0,0 +1,110 @@
+package mil.dds.anet.test.integration.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.concurrent.TimeUnit;
+import mil.dds.anet.beans.metrics.StatementStatistic;
+import mil.dds.anet.config.AnetConfig;
+import mil.dds.anet.database.StatementMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StatementMetricsTest {
+
+  private static final long SLOW_STATEMENT_MS = 100;
+  private static final String SQL = "/* findByDomainUsername */ SELECT * FROM people";
+
+  private StatementMetrics statementMetrics;
+
+  @BeforeEach
+  void setUp() {
+    final AnetConfig config = new AnetConfig();
+    config.setSlowStatementMs(SLOW_STATEMENT_MS);
+    statementMetrics = new StatementMetrics(config);
+  }
+
+  @Test
+  void testTags() {
+    assertThat(StatementMetrics.getTag(SQL)).isEqualTo("findByDomainUsername");
+    assertThat(StatementMetrics.getTag("\n  /* batch.getPeopleForReport*/ SELECT 1"))
+        .isEqualTo("batch.getPeopleForReport");
+    assertThat(StatementMetrics.getTag("SELECT 1 /* not a tag */"))
+        .isEqualTo(StatementMetrics.UNTAGGED);
+    assertThat(StatementMetrics.getTag("/* unterminated SELECT 1"))
+        .isEqualTo(StatementMetrics.UNTAGGED);
+    assertThat(StatementMetrics.getTag(null)).isEqualTo(StatementMetrics.UNTAGGED);
+  }
+
+  @Test
+  void testPercentiles() {
+    // 1..1000 ms
+    for (int i = 1; i <= 1000; i++) {
+      statementMetrics.record(SQL, TimeUnit.MILLISECONDS.toNanos(i), 0, false);
+    }
+    statementMetrics.record("/* updateReport */ UPDATE reports", 1000, 3, false);
+    statementMetrics.record("/* updateReport */ UPDATE reports", 1000, -1, true);
+
+    final StatementStatistic select = getStatistic("findByDomainUsername");
+    assertThat(select.getCount()).isEqualTo(1000);
+    assertThat(select.getAverageMs()).isCloseTo(500.5, within(0.01));
+    // Buckets are within 12.5%
+    assertThat(select.getP50Ms()).isBetween(500.0, 500 * 1.125);
+    assertThat(select.getP95Ms()).isBetween(950.0, 950 * 1.125);
+    assertThat(select.getP99Ms()).isBetween(990.0, 990 * 1.125);
+    assertThat(select.getMaxMs()).isEqualTo(1000.0);
+    assertThat(select.getSlowCount()).isEqualTo(1000 - SLOW_STATEMENT_MS + 1);
+    assertThat(select.isSlow()).isTrue();
+
+    final StatementStatistic update = getStatistic("updateReport");
+    assertThat(update.getCount()).isEqualTo(2);
+    assertThat(update.getErrorCount()).isOne();
+    assertThat(update.getRows()).isEqualTo(3);
+    // 1 µs
+    assertThat(update.getP99Ms()).isEqualTo(0.002);
+    assertThat(update.isSlow()).isFalse();
+
+    assertThat(statementMetrics.getPrometheusText())
+        .contains("anet_sql_statement_duration_seconds_count{tag=\"findByDomainUsername\"} 1000")
+        .contains("anet_sql_statement_errors_total{tag=\"updateReport\"} 1")
+        .contains("anet_sql_statement_rows_total{tag=\"updateReport\"} 3");
+  }
+
+  @Test
+  void testBuckets() {
+    // Below 8 µs each µs has a bucket, above that there are 8 buckets per power of 2, and a
+    // duration counts as the upper bound of its bucket
+    assertThat(getP50Ms(5)).isEqualTo(0.006);
+    assertThat(getP50Ms(15)).isEqualTo(0.016);
+    assertThat(getP50Ms(16)).isEqualTo(0.018);
+    assertThat(getP50Ms(1000)).isEqualTo(1.024);
+    assertThat(getP50Ms(1024)).isEqualTo(1.152);
+    assertThat(getP50Ms(1151)).isEqualTo(1.152);
+    assertThat(getP50Ms(1152)).isEqualTo(1.28);
+
+    statementMetrics.clear();
+    for (int i = 0; i < 90; i++) {
+      statementMetrics.record(SQL, TimeUnit.MICROSECONDS.toNanos(5), -1, false);
+    }
+    for (int i = 0; i < 10; i++) {
+      statementMetrics.record(SQL, TimeUnit.MICROSECONDS.toNanos(1000), -1, false);
+    }
+    final StatementStatistic statistic = getStatistic("findByDomainUsername");
+    assertThat(statistic.getP50Ms()).isEqualTo(0.006);
+    assertThat(statistic.getP95Ms()).isEqualTo(1.024);
+    assertThat(statistic.getP99Ms()).isEqualTo(1.024);
+    assertThat(statistic.getMaxMs()).isEqualTo(1.0);
+  }
+
+  private double getP50Ms(long micros) {
+    statementMetrics.clear();
+    statementMetrics.record(SQL, TimeUnit.MICROSECONDS.toNanos(micros), -1, false);
+    return getStatistic("findByDomainUsername").getP50Ms();
+  }
+
+  private StatementStatistic getStatistic(String tag) {
+    return statementMetrics.getStatistics().stream().filter(s -> tag.equals(s.getTag()))
+        .findFirst().orElseThrow();
+  }
+
+}
@@ -0,0 +1,120 @@
+package mil.dds.anet.test.integration.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import mil.dds.anet.beans.metrics.WriteBehindBufferStatistic;
+import mil.dds.anet.utils.WriteBehindBuffer;
+import org.junit.jupiter.api.Test;
+
+class WriteBehindBufferTest {
+
+  private static final int CAPACITY = 10;
+  private static final int BATCH_SIZE = 4;
+  private static final int OFFERS = 100_000;
+
+  private final List<List<String>> batches = new ArrayList<>();
+
+  @Test
+  void testDeduplicationAndBatches() {
+    final WriteBehindBuffer<String, String> buffer = createBuffer(batches::add);
+    for (int i = 0; i < 9; i++) {
+      assertThat(buffer.offer("value" + i)).isTrue();
+      assertThat(buffer.offer("value" + i)).isTrue();
+    }
+    assertThat(buffer.size()).isEqualTo(9);
+    assertThat(batches).isEmpty();
+
+    buffer.flush();
+    assertThat(buffer.size()).isZero();
+    assertThat(batches).extracting(List::size).containsExactly(4, 4, 1);
+    assertThat(batches.stream().flatMap(List::stream)).hasSize(9).doesNotHaveDuplicates();
+    final WriteBehindBufferStatistic statistics = buffer.getStatistics();
+    assertThat(statistics.getOfferedCount()).isEqualTo(18);
+    assertThat(statistics.getDeduplicatedCount()).isEqualTo(9);
+    assertThat(statistics.getWrittenCount()).isEqualTo(9);
+    assertThat(statistics.getFlushCount()).isOne();
+
+    // Nothing to write
+    buffer.flush();
+    assertThat(batches).hasSize(3);
+  }
+
+  @Test
+  void testBackpressure() {
+    final WriteBehindBuffer<String, String> buffer = createBuffer(batches::add);
+    for (int i = 0; i < CAPACITY + 1; i++) {
+      assertThat(buffer.offer("value" + i)).isTrue();
+    }
+    // The offer that found the buffer full has written it
+    assertThat(buffer.size()).isOne();
+    assertThat(batches.stream().flatMap(List::stream)).hasSize(CAPACITY);
+    final WriteBehindBufferStatistic statistics = buffer.getStatistics();
+    assertThat(statistics.getBackpressureFlushCount()).isOne();
+    assertThat(statistics.getDroppedCount()).isZero();
+  }
+
+  @Test
+  void testDropWhileFlushing() throws InterruptedException {
+    final CountDownLatch writing = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final WriteBehindBuffer<String, String> buffer = createBuffer(batch -> {
+      writing.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    for (int i = 0; i < CAPACITY; i++) {
+      buffer.offer("value" + i);
+    }
+    final Thread flusher = new Thread(buffer::flush);
+    flusher.start();
+    assertThat(writing.await(10, TimeUnit.SECONDS)).isTrue();
+    // Refill the buffer while the first batch is being written
+    for (int i = CAPACITY; buffer.size() < CAPACITY; i++) {
+      assertThat(buffer.offer("value" + i)).isTrue();
+    }
+    assertThat(buffer.offer("dropped")).isFalse();
+    release.countDown();
+    flusher.join();
+    assertThat(buffer.getStatistics().getDroppedCount()).isOne();
+  }
+
+  @Test
+  void testFailedWrite() {
+    final WriteBehindBuffer<String, String> buffer = createBuffer(batch -> {
+      throw new IllegalStateException("database unavailable");
+    });
+    buffer.offer("value");
+    buffer.flush();
+    final WriteBehindBufferStatistic statistics = buffer.getStatistics();
+    assertThat(statistics.getFailedCount()).isOne();
+    assertThat(statistics.getWrittenCount()).isZero();
+    assertThat(buffer.size()).isZero();
+  }
+
+  @Test
+  void testRepeatedOffers() {
+    final List<Integer> written = new ArrayList<>();
+    final WriteBehindBuffer<Integer, Integer> buffer = new WriteBehindBuffer<>("test", 10_000,
+        500, Function.identity(), written::addAll);
+    for (int i = 0; i < OFFERS; i++) {
+      // Like activities: the same few users over and over again
+      buffer.offer(i % 1000);
+    }
+    buffer.flush();
+    assertThat(written).hasSize(1000).doesNotHaveDuplicates().allMatch(i -> i >= 0 && i < 1000);
+  }
+
+  private WriteBehindBuffer<String, String> createBuffer(Consumer<List<String>> writer) {
+    return new WriteBehindBuffer<>("test", CAPACITY, BATCH_SIZE, Function.identity(), writer);
+  }
+
+}
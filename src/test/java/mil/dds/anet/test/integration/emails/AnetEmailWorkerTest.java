@@ -2,7 +2,12 @@ package mil.dds.anet.test.integration.emails;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
@@ -87,7 +92,8 @@ class AnetEmailWorkerTest extends AnetApplicationTest {
     // Run
     final List<AnetEmail> emailsToReadyToSend = new ArrayList<>();
     emailsToReadyToSend.add(testEmail);
-    when(emailDao.getAll()).thenReturn(emailsToReadyToSend);
+    when(emailDao.claimPendingEmails(anyString(), any(), any(), anyInt()))
+        .thenReturn(emailsToReadyToSend, List.of());
 
     // Make sure all messages have been (asynchronously) sent
     emailWorker.run();
@@ -95,6 +101,38 @@ class AnetEmailWorkerTest extends AnetApplicationTest {
     // Verify
     final List<EmailResponse> emails = emailServer.requestAllEmailsFromServer();
     assertThat(emails).hasSize(1);
+    verify(emailDao).deletePendingEmails(List.of(1));
+  }
+
+  /**
+   * Test the worker with several batches of emails, sent concurrently.
+   *
+   * @throws Exception On error from the email server
+   */
+  @Test
+  void testWorkerBatches() throws Exception {
+    emailServer.clearEmailServer();
+    final int batchSize = config.getSmtp().getBatchSize();
+    final List<AnetEmail> firstBatch = new ArrayList<>();
+    for (int id = 101; id < 101 + batchSize; id++) {
+      firstBatch.add(createTestEmail(id, new ArrayList<>(List.of("test_to_address" + allowedEmail)),
+          "test_comment_" + id));
+    }
+    final int lastId = 101 + batchSize;
+    final List<AnetEmail> secondBatch = List.of(createTestEmail(lastId,
+        new ArrayList<>(List.of("test_to_address" + allowedEmail)), "test_comment_" + lastId));
+    when(emailDao.claimPendingEmails(anyString(), any(), any(), anyInt())).thenReturn(firstBatch,
+        secondBatch, List.of());
+
+    emailWorker.run();
+
+    // Verify that all emails have been claimed, sent and acknowledged
+    verify(emailDao, atLeast(3)).claimPendingEmails(anyString(), any(), any(), anyInt());
+    final List<EmailResponse> emails = emailServer.requestAllEmailsFromServer();
+    assertThat(emails).hasSize(batchSize + 1);
+    for (int id = 101; id <= lastId; id++) {
+      verify(emailDao).deletePendingEmails(List.of(id));
+    }
   }
 
   private AnetEmail createTestEmail(final int id, final List<String> toAddresses,
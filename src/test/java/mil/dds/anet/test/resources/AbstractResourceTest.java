@@ -63,12 +63,11 @@ import mil.dds.anet.test.client.Task;
 import mil.dds.anet.test.client.TaskInput;
 import mil.dds.anet.test.client.util.MutationExecutor;
 import mil.dds.anet.test.client.util.QueryExecutor;
+import mil.dds.anet.threads.FullTextIndexWorker;
 import mil.dds.anet.threads.MaterializedViewForLinksRefreshWorker;
-import mil.dds.anet.threads.MaterializedViewRefreshWorker;
 import mil.dds.anet.utils.Utils;
 import mil.dds.anet.ws.security.AccessTokenAuthentication;
 import mil.dds.anet.ws.security.BearerTokenService;
-import org.apache.commons.lang3.ArrayUtils;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.params.provider.Arguments;
 import org.slf4j.Logger;
@@ -122,16 +121,14 @@ public abstract class AbstractResourceTest extends AnetApplicationTest {
 
   @BeforeAll
   void setUp() {
-    // Update full-text index
     refreshMaterializedViews();
+    // Update full-text index
+    updateFullTextIndex();
     admin = findOrPutPersonInDb(adminUser, Person.builder().build());
   }
 
   private void refreshMaterializedViews() {
-    final String[] allMaterializedViews =
-        ArrayUtils.addAll(MaterializedViewForLinksRefreshWorker.materializedViews,
-            MaterializedViewRefreshWorker.materializedViews);
-    for (final String materializedView : allMaterializedViews) {
+    for (final String materializedView : MaterializedViewForLinksRefreshWorker.materializedViews) {
       try {
         adminDao.updateMaterializedView(materializedView);
       } catch (Throwable e) {
@@ -140,6 +137,19 @@ public abstract class AbstractResourceTest extends AnetApplicationTest {
     }
   }
 
+  private void updateFullTextIndex() {
+    for (final String tableName : FullTextIndexWorker.fullTextIndexedTables) {
+      try {
+        int count;
+        do {
+          count = adminDao.updateFullTextIndex(tableName, FullTextIndexWorker.BATCH_SIZE);
+        } while (count == FullTextIndexWorker.BATCH_SIZE);
+      } catch (Throwable e) {
+        fail("Exception in updateFullTextIndex()", e);
+      }
+    }
+  }
+
   public Person findOrPutPersonInDb(Person stub) {
     return findOrPutPersonInDb(null, stub);
   }
@@ -1,22 +1,31 @@
 package mil.dds.anet.test.resources;
 
+import static mil.dds.anet.beans.AccessToken.computeTokenHash;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import mil.dds.anet.database.AccessTokenDao;
 import mil.dds.anet.test.TestData;
 import mil.dds.anet.test.client.AccessToken;
 import mil.dds.anet.test.client.AccessTokenInput;
 import mil.dds.anet.test.client.TokenScope;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 public class AccessTokenResourceTest extends AbstractResourceTest {
 
   public static final String FIELDS = "{ uuid name description scope expiresAt updatedAt }";
 
+  @Autowired
+  private AccessTokenDao accessTokenDao;
+
   @Test
   void accessTokenResourceTest() {
     // Create new access token
@@ -72,4 +81,30 @@ public class AccessTokenResourceTest extends AbstractResourceTest {
         accessTokens.stream().anyMatch(token -> token.getName().equals("New GRAPHQL Token v2")))
         .isFalse();
   }
+
+  @Test
+  void testRevokedTokenIsRejected() {
+    final String tokenValue = UUID.randomUUID().toString().replace("-", "");
+    final AccessTokenInput input = TestData.createAccessTokenInput("Revoked NVG Token",
+        TokenScope.NVG, computeTokenHash(tokenValue));
+    input.setExpiresAt(Instant.now().plus(1, ChronoUnit.DAYS));
+    final AccessToken created =
+        withCredentials(adminUser, t -> mutationExecutor.createAccessToken(FIELDS, input));
+    // Now it is cached
+    assertThat(accessTokenDao.getAccessTokenPrincipal(tokenValue)).isPresent();
+    assertThat(accessTokenDao.getAccessTokenPrincipal(tokenValue)).isPresent();
+
+    // Change its scope
+    final AccessTokenInput updatedInput = getAccessTokenInput(created);
+    updatedInput.setScope(TokenScope.GRAPHQL);
+    assertThat(withCredentials(adminUser,
+        t -> mutationExecutor.updateAccessToken("", updatedInput, false))).isOne();
+    assertThat(accessTokenDao.getAccessTokenPrincipal(tokenValue))
+        .map(p -> p.accessToken().getScope().name()).hasValue(TokenScope.GRAPHQL.name());
+
+    // Revoke it
+    assertThat(withCredentials(adminUser,
+        t -> mutationExecutor.deleteAccessToken("", created.getUuid()))).isOne();
+    assertThat(accessTokenDao.getAccessTokenPrincipal(tokenValue)).isEmpty();
+  }
 }
@@ -5,12 +5,20 @@ import static org.assertj.core.api.Assertions.fail;
 
 import java.util.List;
 import mil.dds.anet.database.PersonDao;
+import mil.dds.anet.test.client.AccessTokenCacheStatistics;
 import mil.dds.anet.test.client.AdminSetting;
 import mil.dds.anet.test.client.AdminSettingInput;
+import mil.dds.anet.test.client.ApprovalChainCacheStatistics;
+import mil.dds.anet.test.client.DataLoaderStatistics;
+import mil.dds.anet.test.client.GraphQLDocumentCacheStatistics;
+import mil.dds.anet.test.client.MaterializedViewStatistic;
 import mil.dds.anet.test.client.Person;
 import mil.dds.anet.test.client.Position;
 import mil.dds.anet.test.client.PositionType;
+import mil.dds.anet.test.client.QueryCostStatistic;
 import mil.dds.anet.test.client.RecentActivities;
+import mil.dds.anet.test.client.StatementStatistic;
+import mil.dds.anet.test.client.WriteBehindBufferStatistic;
 import mil.dds.anet.utils.AnetConstants;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -75,6 +83,86 @@ class AdminResourceTest extends AbstractResourceTest {
     recentActivities(getRegularUser());
   }
 
+  @Test
+  void dataLoaderStatisticsAdminTest() {
+    dataLoaderStatistics(admin);
+  }
+
+  @Test
+  void dataLoaderStatisticsRegularUserTest() {
+    dataLoaderStatistics(getRegularUser());
+  }
+
+  @Test
+  void graphQLDocumentCacheStatisticsAdminTest() {
+    graphQLDocumentCacheStatistics(admin);
+  }
+
+  @Test
+  void graphQLDocumentCacheStatisticsRegularUserTest() {
+    graphQLDocumentCacheStatistics(getRegularUser());
+  }
+
+  @Test
+  void queryCostStatisticsAdminTest() {
+    queryCostStatistics(admin);
+  }
+
+  @Test
+  void queryCostStatisticsRegularUserTest() {
+    queryCostStatistics(getRegularUser());
+  }
+
+  @Test
+  void statementStatisticsAdminTest() {
+    statementStatistics(admin);
+  }
+
+  @Test
+  void statementStatisticsRegularUserTest() {
+    statementStatistics(getRegularUser());
+  }
+
+  @Test
+  void activityRecorderStatisticsAdminTest() {
+    activityRecorderStatistics(admin);
+  }
+
+  @Test
+  void activityRecorderStatisticsRegularUserTest() {
+    activityRecorderStatistics(getRegularUser());
+  }
+
+  @Test
+  void accessTokenCacheStatisticsAdminTest() {
+    accessTokenCacheStatistics(admin);
+  }
+
+  @Test
+  void accessTokenCacheStatisticsRegularUserTest() {
+    accessTokenCacheStatistics(getRegularUser());
+  }
+
+  @Test
+  void approvalChainCacheStatisticsAdminTest() {
+    approvalChainCacheStatistics(admin);
+  }
+
+  @Test
+  void approvalChainCacheStatisticsRegularUserTest() {
+    approvalChainCacheStatistics(getRegularUser());
+  }
+
+  @Test
+  void materializedViewStatisticsAdminTest() {
+    materializedViewStatistics(admin);
+  }
+
+  @Test
+  void materializedViewStatisticsRegularUserTest() {
+    materializedViewStatistics(getRegularUser());
+  }
+
   private void saveSettings(Person user) {
     final Position position = user.getPosition();
     final boolean isAdmin = position.getType() == PositionType.ADMINISTRATOR;
@@ -163,4 +251,187 @@ class AdminResourceTest extends AbstractResourceTest {
     }
   }
 
+  private void graphQLDocumentCacheStatistics(Person user) {
+    final String fields = "{ size maximumSize hitCount missCount evictionCount"
+        + " persistedQueryNotFoundCount averageParseAndValidateMicros savedCpuMs }";
+    final boolean isAdmin = user.getPosition().getType() == PositionType.ADMINISTRATOR;
+
+    try {
+      final GraphQLDocumentCacheStatistics graphQLDocumentCacheStatistics =
+          withCredentials(getDomainUsername(user),
+              t -> queryExecutor.graphQLDocumentCacheStatistics(fields));
+      if (isAdmin) {
+        assertThat(graphQLDocumentCacheStatistics).isNotNull();
+        // At least this query itself has been parsed
+        assertThat(graphQLDocumentCacheStatistics.getSize()).isPositive()
+            .isLessThanOrEqualTo(graphQLDocumentCacheStatistics.getMaximumSize());
+        assertThat(graphQLDocumentCacheStatistics.getMissCount()).isPositive();
+      } else {
+        fail("Expected an Exception");
+      }
+    } catch (Exception expectedException) {
+      if (isAdmin) {
+        fail("Unexpected Exception", expectedException);
+      }
+    }
+  }
+
+  private void queryCostStatistics(Person user) {
+    final String fields =
+        "{ operationName count rejectedCount lastCost maxCost averageCost }";
+    final boolean isAdmin = user.getPosition().getType() == PositionType.ADMINISTRATOR;
+
+    try {
+      final List<QueryCostStatistic> queryCostStatistics = withCredentials(
+          getDomainUsername(user), t -> queryExecutor.queryCostStatistics(fields));
+      if (isAdmin) {
+        // At least this query itself has been costed
+        assertThat(queryCostStatistics).isNotEmpty().allSatisfy(
+            qc -> assertThat(qc.getMaxCost()).isGreaterThanOrEqualTo(qc.getAverageCost()));
+      } else {
+        fail("Expected an Exception");
+      }
+    } catch (Exception expectedException) {
+      if (isAdmin) {
+        fail("Unexpected Exception", expectedException);
+      }
+    }
+  }
+
+  private void statementStatistics(Person user) {
+    final String fields = "{ tag count errorCount rows averageMs p50Ms p95Ms p99Ms maxMs"
+        + " slowCount slow }";
+    final boolean isAdmin = user.getPosition().getType() == PositionType.ADMINISTRATOR;
+
+    try {
+      final List<StatementStatistic> statementStatistics = withCredentials(
+          getDomainUsername(user), t -> queryExecutor.statementStatistics(fields));
+      if (isAdmin) {
+        // At least the user has been looked up
+        assertThat(statementStatistics).isNotEmpty().allSatisfy(ss -> {
+          assertThat(ss.getCount()).isPositive();
+          assertThat(ss.getP50Ms()).isLessThanOrEqualTo(ss.getP95Ms());
+          assertThat(ss.getP95Ms()).isLessThanOrEqualTo(ss.getP99Ms());
+        });
+      } else {
+        fail("Expected an Exception");
+      }
+    } catch (Exception expectedException) {
+      if (isAdmin) {
+        fail("Unexpected Exception", expectedException);
+      }
+    }
+  }
+
+  private void activityRecorderStatistics(Person user) {
+    final String fields = "{ name size capacity offeredCount deduplicatedCount droppedCount"
+        + " writtenCount failedCount flushCount backpressureFlushCount lastFlushMs }";
+    final boolean isAdmin = user.getPosition().getType() == PositionType.ADMINISTRATOR;
+
+    try {
+      final List<WriteBehindBufferStatistic> activityRecorderStatistics = withCredentials(
+          getDomainUsername(user), t -> queryExecutor.activityRecorderStatistics(fields));
+      if (isAdmin) {
+        assertThat(activityRecorderStatistics).hasSize(2).allSatisfy(wbbs -> {
+          assertThat(wbbs.getSize()).isLessThanOrEqualTo(wbbs.getCapacity());
+          assertThat(wbbs.getWrittenCount() + wbbs.getFailedCount())
+              .isLessThanOrEqualTo(wbbs.getOfferedCount());
+        });
+      } else {
+        fail("Expected an Exception");
+      }
+    } catch (Exception expectedException) {
+      if (isAdmin) {
+        fail("Unexpected Exception", expectedException);
+      }
+    }
+  }
+
+  private void accessTokenCacheStatistics(Person user) {
+    final String fields = "{ size hitCount missCount hitRate evictionCount expiredCount"
+        + " invalidationCount }";
+    final boolean isAdmin = user.getPosition().getType() == PositionType.ADMINISTRATOR;
+
+    try {
+      final AccessTokenCacheStatistics accessTokenCacheStatistics = withCredentials(
+          getDomainUsername(user), t -> queryExecutor.accessTokenCacheStatistics(fields));
+      if (isAdmin) {
+        assertThat(accessTokenCacheStatistics).isNotNull();
+        assertThat(accessTokenCacheStatistics.getHitRate()).isBetween(0.0, 1.0);
+      } else {
+        fail("Expected an Exception");
+      }
+    } catch (Exception expectedException) {
+      if (isAdmin) {
+        fail("Unexpected Exception", expectedException);
+      }
+    }
+  }
+
+  private void approvalChainCacheStatistics(Person user) {
+    final String fields = "{ size hitCount missCount hitRate evictionCount invalidationCount }";
+    final boolean isAdmin = user.getPosition().getType() == PositionType.ADMINISTRATOR;
+
+    try {
+      final ApprovalChainCacheStatistics approvalChainCacheStatistics = withCredentials(
+          getDomainUsername(user), t -> queryExecutor.approvalChainCacheStatistics(fields));
+      if (isAdmin) {
+        assertThat(approvalChainCacheStatistics).isNotNull();
+        assertThat(approvalChainCacheStatistics.getHitRate()).isBetween(0.0, 1.0);
+      } else {
+        fail("Expected an Exception");
+      }
+    } catch (Exception expectedException) {
+      if (isAdmin) {
+        fail("Unexpected Exception", expectedException);
+      }
+    }
+  }
+
+  private void materializedViewStatistics(Person user) {
+    final String fields = "{ name refreshCount skipCount failureCount lastDurationMs"
+        + " averageDurationMs lastRefreshedAt }";
+    final boolean isAdmin = user.getPosition().getType() == PositionType.ADMINISTRATOR;
+
+    try {
+      final List<MaterializedViewStatistic> materializedViewStatistics =
+          withCredentials(getDomainUsername(user),
+              t -> queryExecutor.materializedViewStatistics(fields));
+      if (isAdmin) {
+        assertThat(materializedViewStatistics).isNotNull()
+            .allSatisfy(mv -> assertThat(mv.getRefreshCount()).isNotNegative());
+      } else {
+        fail("Expected an Exception");
+      }
+    } catch (Exception expectedException) {
+      if (isAdmin) {
+        fail("Unexpected Exception", expectedException);
+      }
+    }
+  }
+
+  private void dataLoaderStatistics(Person user) {
+    final String fields = "{ virtualThreads maxConcurrency activeThreads queueDepth completedBatches"
+        + " dataLoaders { name loadCount batchInvokeCount batchLoadCount averageBatchSize } }";
+    final boolean isAdmin = user.getPosition().getType() == PositionType.ADMINISTRATOR;
+
+    try {
+      final DataLoaderStatistics dataLoaderStatistics = withCredentials(getDomainUsername(user),
+          t -> queryExecutor.dataLoaderStatistics(fields));
+      if (isAdmin) {
+        assertThat(dataLoaderStatistics.getMaxConcurrency()).isPositive();
+        assertThat(dataLoaderStatistics.getQueueDepth()).isNotNegative();
+        // Loading the admin user's position already uses some data loaders
+        assertThat(dataLoaderStatistics.getDataLoaders()).isNotEmpty()
+            .allSatisfy(dl -> assertThat(dl.getBatchLoadCount()).isNotNegative());
+      } else {
+        fail("Expected an Exception");
+      }
+    } catch (Exception expectedException) {
+      if (isAdmin) {
+        fail("Unexpected Exception", expectedException);
+      }
+    }
+  }
+
 }
@@ -0,0 +1,62 @@
+package mil.dds.anet.test.resources;
+
+import static mil.dds.anet.test.resources.CachingPreparsedDocumentProviderTest.buildLargeQuery;
+import static mil.dds.anet.test.resources.CachingPreparsedDocumentProviderTest.createSchema;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import mil.dds.anet.beans.metrics.GraphQLDocumentCacheStatistics;
+import mil.dds.anet.config.AnetConfig;
+import mil.dds.anet.graphql.CachingPreparsedDocumentProvider;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark of repeatedly executing a large query with and without the document cache, together
+ * with the parse and validation CPU time the cache reports as saved. The durations depend on the
+ * machine, so they are logged rather than asserted; run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class CachingPreparsedDocumentProviderBenchmark {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  private static final int REQUESTS = 2000;
+
+  @Test
+  void testRepeatedQueryThroughput() {
+    final GraphQLSchema schema = createSchema();
+    final CachingPreparsedDocumentProvider provider =
+        new CachingPreparsedDocumentProvider(new AnetConfig());
+    final GraphQL uncachedGraphQL = GraphQL.newGraphQL(schema).build();
+    final GraphQL cachedGraphQL =
+        GraphQL.newGraphQL(schema).preparsedDocumentProvider(provider).build();
+    final String query = buildLargeQuery();
+
+    final long uncachedStart = System.nanoTime();
+    for (int i = 0; i < REQUESTS; i++) {
+      assertThat(uncachedGraphQL.execute(query).getErrors()).isEmpty();
+    }
+    final Duration uncachedDuration = Duration.ofNanos(System.nanoTime() - uncachedStart);
+
+    final long cachedStart = System.nanoTime();
+    for (int i = 0; i < REQUESTS; i++) {
+      assertThat(cachedGraphQL.execute(query).getErrors()).isEmpty();
+    }
+    final Duration cachedDuration = Duration.ofNanos(System.nanoTime() - cachedStart);
+
+    final GraphQLDocumentCacheStatistics statistics = provider.getStatistics();
+    logger.info(
+        "{} requests took {} ms parsing each, {} ms cached; {} µs CPU saved per request,"
+            + " {} ms in total",
+        REQUESTS, uncachedDuration.toMillis(), cachedDuration.toMillis(),
+        statistics.getAverageParseAndValidateMicros(), statistics.getSavedCpuMs());
+  }
+
+}
@@ -0,0 +1,147 @@
+package mil.dds.anet.test.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.hash.Hashing;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.GraphQLError;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import mil.dds.anet.beans.metrics.GraphQLDocumentCacheStatistics;
+import mil.dds.anet.config.AnetConfig;
+import mil.dds.anet.graphql.CachingPreparsedDocumentProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CachingPreparsedDocumentProviderTest {
+
+  private static final int CACHE_SIZE = 2;
+  private static final int REQUESTS = 10;
+  // About the size of the queries of the client's search pages
+  private static final int QUERY_FIELDS = 200;
+
+  private static final String SCHEMA = """
+      type Query { node(id: Int!): Node }
+      type Node { id: Int!, name: String, parent: Node }
+      """;
+
+  private GraphQL uncachedGraphQL;
+  private GraphQL cachedGraphQL;
+  private CachingPreparsedDocumentProvider provider;
+
+  static GraphQLSchema createSchema() {
+    final DataFetcher<Map<String, Object>> nodeFetcher =
+        env -> Map.of("id", env.getArgument("id"), "name", "node");
+    final RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+        .type("Query", builder -> builder.dataFetcher("node", nodeFetcher)).build();
+    return new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA),
+        runtimeWiring);
+  }
+
+  @BeforeEach
+  void setUp() {
+    final GraphQLSchema schema = createSchema();
+    final AnetConfig config = new AnetConfig();
+    config.setGraphqlDocumentCacheSize(CACHE_SIZE);
+    provider = new CachingPreparsedDocumentProvider(config);
+    uncachedGraphQL = GraphQL.newGraphQL(schema).build();
+    cachedGraphQL = GraphQL.newGraphQL(schema).preparsedDocumentProvider(provider).build();
+  }
+
+  @Test
+  void testRepeatedQuery() {
+    final String query = buildLargeQuery();
+    final ExecutionResult expected = uncachedGraphQL.execute(query);
+    assertThat(expected.getErrors()).isEmpty();
+    for (int i = 0; i < REQUESTS; i++) {
+      final ExecutionResult result = cachedGraphQL.execute(query);
+      assertThat(result.getErrors()).isEmpty();
+      assertThat(result.<Object>getData()).isEqualTo(expected.getData());
+    }
+    // Only parsed and validated the first time
+    final GraphQLDocumentCacheStatistics statistics = provider.getStatistics();
+    assertThat(statistics.getMissCount()).isOne();
+    assertThat(statistics.getHitCount()).isEqualTo(REQUESTS - 1);
+    assertThat(statistics.getSize()).isOne();
+  }
+
+  @Test
+  void testCacheIsBounded() {
+    for (int i = 0; i < CACHE_SIZE + 1; i++) {
+      assertThat(cachedGraphQL.execute(buildQuery(i)).getErrors()).isEmpty();
+    }
+    final GraphQLDocumentCacheStatistics statistics = provider.getStatistics();
+    assertThat(statistics.getSize()).isEqualTo(CACHE_SIZE);
+    assertThat(statistics.getEvictionCount()).isOne();
+  }
+
+  @Test
+  void testInvalidQueryIsNotCached() {
+    final String query = "{ node(id: 1) { unknownField } }";
+    assertThat(cachedGraphQL.execute(query).getErrors()).isNotEmpty();
+    assertThat(cachedGraphQL.execute(query).getErrors()).isNotEmpty();
+    final GraphQLDocumentCacheStatistics statistics = provider.getStatistics();
+    assertThat(statistics.getSize()).isZero();
+    assertThat(statistics.getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  void testPersistedQueries() {
+    final String query = buildQuery(1);
+    final String hash = Hashing.sha256().hashString(query, StandardCharsets.UTF_8).toString();
+
+    // Unknown hash: the client should send the query text
+    assertPersistedQueryError(executePersisted(null, hash),
+        CachingPreparsedDocumentProvider.PERSISTED_QUERY_NOT_FOUND);
+    assertThat(provider.getStatistics().getPersistedQueryNotFoundCount()).isOne();
+
+    // Hash with the query text
+    final ExecutionResult registered = executePersisted(query, hash);
+    assertThat(registered.getErrors()).isEmpty();
+
+    // Now the hash is enough
+    final ExecutionResult persisted = executePersisted(null, hash);
+    assertThat(persisted.getErrors()).isEmpty();
+    assertThat(persisted.<Object>getData()).isEqualTo(registered.getData());
+    // Same as sending the query text without hash
+    assertThat(cachedGraphQL.execute(query).getErrors()).isEmpty();
+    assertThat(provider.getStatistics().getHitCount()).isEqualTo(2);
+
+    // Wrong hash
+    assertPersistedQueryError(executePersisted(buildQuery(2), hash),
+        CachingPreparsedDocumentProvider.PERSISTED_QUERY_HASH_MISMATCH);
+  }
+
+  private void assertPersistedQueryError(ExecutionResult result, String message) {
+    assertThat(result.getErrors()).hasSize(1);
+    final GraphQLError error = result.getErrors().get(0);
+    assertThat(error.getMessage()).isEqualTo(message);
+    assertThat(CachingPreparsedDocumentProvider.isPersistedQueryError(error)).isTrue();
+  }
+
+  private ExecutionResult executePersisted(String query, String hash) {
+    return cachedGraphQL.execute(ExecutionInput.newExecutionInput()
+        .query(query == null ? CachingPreparsedDocumentProvider.PERSISTED_QUERY_MARKER : query)
+        .extensions(Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash))).build());
+  }
+
+  private String buildQuery(int id) {
+    return String.format("{ node(id: %1$d) { id name } }", id);
+  }
+
+  static String buildLargeQuery() {
+    final StringBuilder query = new StringBuilder("query LargeQuery {");
+    for (int i = 0; i < QUERY_FIELDS; i++) {
+      query.append(String.format(" node%1$d: node(id: %1$d) { id name parent { id name } }", i));
+    }
+    return query.append(" }").toString();
+  }
+
+}
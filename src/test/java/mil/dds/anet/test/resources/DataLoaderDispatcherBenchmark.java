@@ -0,0 +1,151 @@
+package mil.dds.anet.test.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import mil.dds.anet.graphql.DataLoaderDispatchInstrumentation;
+import mil.dds.anet.graphql.DataLoaderDispatcher;
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Latency benchmark of a multi-level query with the event-driven data loader dispatcher, compared
+ * to the sleep/poll loop used before. The durations depend on the speed of the machine, so they are
+ * logged rather than asserted; run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class DataLoaderDispatcherBenchmark {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  private static final String NODES_LOADER = "nodes";
+  private static final int LEVELS = 5;
+  // The interval of the sleep/poll loop used before
+  private static final long LEGACY_POLL_INTERVAL_MS = 50;
+
+  private static final String SCHEMA = """
+      type Query { node(id: Int!): Node }
+      type Node { id: Int!, parent: Node }
+      """;
+  // One data loader level per node
+  private static final String QUERY = """
+      { node(id: 5) { id parent { id parent { id parent { id parent { id parent { id } } } } } } }
+      """;
+
+  private ExecutorService executor;
+  private GraphQL graphQL;
+
+  @BeforeEach
+  void setUp() {
+    executor = Executors.newFixedThreadPool(3);
+    final DataFetcher<CompletableFuture<Map<String, Object>>> nodeFetcher =
+        env -> load(env.getDataLoader(NODES_LOADER), env.getArgument("id"));
+    final DataFetcher<CompletableFuture<Map<String, Object>>> parentFetcher = env -> {
+      final Map<String, Object> node = env.getSource();
+      return load(env.getDataLoader(NODES_LOADER), (Integer) node.get("parentId"));
+    };
+    final RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+        .type("Query", builder -> builder.dataFetcher("node", nodeFetcher))
+        .type("Node", builder -> builder.dataFetcher("parent", parentFetcher)).build();
+    final GraphQLSchema schema = new SchemaGenerator()
+        .makeExecutableSchema(new SchemaParser().parse(SCHEMA), runtimeWiring);
+    graphQL = GraphQL.newGraphQL(schema).instrumentation(new DataLoaderDispatchInstrumentation())
+        .doNotAddDefaultInstrumentations().build();
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void testMultiLevelQueryLatency() throws Exception {
+    final long legacyStart = System.nanoTime();
+    final ExecutionResult legacyResult = executeWithLegacyDispatcher();
+    final long legacyMs = Duration.ofNanos(System.nanoTime() - legacyStart).toMillis();
+
+    final long eventDrivenStart = System.nanoTime();
+    final ExecutionResult eventDrivenResult = executeWithEventDrivenDispatcher();
+    final long eventDrivenMs = Duration.ofNanos(System.nanoTime() - eventDrivenStart).toMillis();
+
+    logger.info("{}-level query took {} ms with the sleep/poll loop, {} ms event-driven", LEVELS,
+        legacyMs, eventDrivenMs);
+    assertThat(legacyResult.getErrors()).isEmpty();
+    assertThat(eventDrivenResult.getErrors()).isEmpty();
+    assertThat(eventDrivenResult.<Object>getData()).isEqualTo(legacyResult.getData());
+  }
+
+  private CompletableFuture<Map<String, Object>> load(
+      DataLoader<Integer, Map<String, Object>> dataLoader, Integer id) {
+    return (id == null || id <= 0) ? CompletableFuture.completedFuture(null) : dataLoader.load(id);
+  }
+
+  private DataLoaderRegistry createRegistry() {
+    final DataLoaderRegistry registry = new DataLoaderRegistry();
+    registry.register(NODES_LOADER, DataLoaderFactory.newDataLoader(
+        (BatchLoader<Integer, Map<String, Object>>) keys -> CompletableFuture.supplyAsync(
+            () -> keys.stream().map(id -> Map.<String, Object>of("id", id, "parentId", id - 1))
+                .toList(),
+            executor)));
+    return registry;
+  }
+
+  private ExecutionInput buildInput(DataLoaderRegistry registry, Map<String, Object> context) {
+    return ExecutionInput.newExecutionInput().query(QUERY).dataLoaderRegistry(registry)
+        .graphQLContext(context).build();
+  }
+
+  private ExecutionResult executeWithEventDrivenDispatcher() throws Exception {
+    final DataLoaderRegistry registry = createRegistry();
+    final DataLoaderDispatcher dispatcher = new DataLoaderDispatcher(registry);
+    final Map<String, Object> context = new HashMap<>();
+    context.put(DataLoaderDispatcher.CONTEXT_KEY, dispatcher);
+    final CompletableFuture<ExecutionResult> request =
+        graphQL.executeAsync(buildInput(registry, context));
+    request.whenComplete((r, t) -> dispatcher.signal());
+    dispatcher.dispatchUntil(request::isDone, Instant.now().plusSeconds(10));
+    return request.get();
+  }
+
+  private ExecutionResult executeWithLegacyDispatcher() throws Exception {
+    final DataLoaderRegistry registry = createRegistry();
+    final CompletableFuture<ExecutionResult> request =
+        graphQL.executeAsync(buildInput(registry, new HashMap<>()));
+    while (!request.isDone()) {
+      Thread.yield();
+      Thread.sleep(LEGACY_POLL_INTERVAL_MS);
+      final CompletableFuture<?>[] dispatchersWithWork = registry.getDataLoaders().stream()
+          .filter(dl -> dl.dispatchDepth() > 0).map(dl -> (CompletableFuture<?>) dl.dispatch())
+          .toArray(CompletableFuture<?>[]::new);
+      if (dispatchersWithWork.length > 0) {
+        CompletableFuture.allOf(dispatchersWithWork).join();
+      }
+    }
+    return request.get();
+  }
+
+}
@@ -0,0 +1,154 @@
+package mil.dds.anet.test.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import mil.dds.anet.graphql.DataLoaderDispatchInstrumentation;
+import mil.dds.anet.graphql.DataLoaderDispatcher;
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DataLoaderDispatcherTest {
+
+  private static final String NODES_LOADER = "nodes";
+
+  private static final String SCHEMA = """
+      type Query { node(id: Int!): Node }
+      type Node { id: Int!, parent: Node }
+      """;
+  // One data loader level per node
+  private static final String QUERY = """
+      { node(id: 5) { id parent { id parent { id parent { id parent { id parent { id } } } } } } }
+      """;
+
+  private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+  private final AtomicInteger signals = new AtomicInteger();
+  private ExecutorService executor;
+  private GraphQL graphQL;
+
+  @BeforeEach
+  void setUp() {
+    executor = Executors.newFixedThreadPool(3);
+    final DataFetcher<CompletableFuture<Map<String, Object>>> nodeFetcher =
+        env -> load(env.getDataLoader(NODES_LOADER), env.getArgument("id"));
+    final DataFetcher<CompletableFuture<Map<String, Object>>> parentFetcher = env -> {
+      final Map<String, Object> node = env.getSource();
+      return load(env.getDataLoader(NODES_LOADER), (Integer) node.get("parentId"));
+    };
+    final RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+        .type("Query", builder -> builder.dataFetcher("node", nodeFetcher))
+        .type("Node", builder -> builder.dataFetcher("parent", parentFetcher)).build();
+    final GraphQLSchema schema = new SchemaGenerator()
+        .makeExecutableSchema(new SchemaParser().parse(SCHEMA), runtimeWiring);
+    graphQL = GraphQL.newGraphQL(schema).instrumentation(new DataLoaderDispatchInstrumentation())
+        .doNotAddDefaultInstrumentations().build();
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void testMultiLevelQuery() throws Exception {
+    final ExecutionResult result = executeWithEventDrivenDispatcher();
+    assertThat(result.getErrors()).isEmpty();
+    assertThat(result.<Map<String, Map<String, Object>>>getData().get("node"))
+        .containsEntry("id", 5);
+    // One batch per level, each dispatched after the fetchers of the previous level signalled
+    assertThat(batches).containsExactly(List.of(5), List.of(4), List.of(3), List.of(2),
+        List.of(1));
+    assertThat(signals.get()).isGreaterThanOrEqualTo(batches.size());
+  }
+
+  @Test
+  void testWorkerStyleDispatch() throws Exception {
+    final DataLoaderRegistry registry = createRegistry();
+    final DataLoaderDispatcher dispatcher =
+        new DataLoaderDispatcher(registry, Duration.ofMillis(2));
+    final CompletableFuture<Void> done = new CompletableFuture<>();
+    final CompletableFuture<Void> dispatching = CompletableFuture.runAsync(() -> {
+      try {
+        dispatcher.dispatchUntil(done::isDone, Instant.now().plusSeconds(10));
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    // Enqueue loads from this thread, like a worker does, and wait for them
+    final DataLoader<Integer, Map<String, Object>> dataLoader =
+        registry.getDataLoader(NODES_LOADER);
+    final List<CompletableFuture<Map<String, Object>>> nodes = List.of(dataLoader.load(1),
+        dataLoader.load(2), dataLoader.load(3).thenCompose(node -> dataLoader.load(4)));
+    dispatcher.signal();
+    CompletableFuture.allOf(nodes.toArray(CompletableFuture<?>[]::new)).join();
+    done.complete(null);
+    dispatcher.signal();
+    dispatching.join();
+    assertThat(nodes.get(2).join()).containsEntry("id", 4);
+    // Each key loaded once
+    assertThat(batches.stream().flatMap(List::stream)).containsExactlyInAnyOrder(1, 2, 3, 4);
+  }
+
+  private CompletableFuture<Map<String, Object>> load(
+      DataLoader<Integer, Map<String, Object>> dataLoader, Integer id) {
+    return (id == null || id <= 0) ? CompletableFuture.completedFuture(null) : dataLoader.load(id);
+  }
+
+  private DataLoaderRegistry createRegistry() {
+    final DataLoaderRegistry registry = new DataLoaderRegistry();
+    registry.register(NODES_LOADER, DataLoaderFactory.newDataLoader(
+        (BatchLoader<Integer, Map<String, Object>>) keys -> CompletableFuture.supplyAsync(
+            () -> {
+              batches.add(List.copyOf(keys));
+              return keys.stream().map(id -> Map.<String, Object>of("id", id, "parentId", id - 1))
+                  .toList();
+            }, executor)));
+    return registry;
+  }
+
+  private ExecutionInput buildInput(DataLoaderRegistry registry, Map<String, Object> context) {
+    return ExecutionInput.newExecutionInput().query(QUERY).dataLoaderRegistry(registry)
+        .graphQLContext(context).build();
+  }
+
+  private ExecutionResult executeWithEventDrivenDispatcher() throws Exception {
+    final DataLoaderRegistry registry = createRegistry();
+    final DataLoaderDispatcher dispatcher = new DataLoaderDispatcher(registry) {
+      @Override
+      public void signal() {
+        signals.incrementAndGet();
+        super.signal();
+      }
+    };
+    final Map<String, Object> context = new HashMap<>();
+    context.put(DataLoaderDispatcher.CONTEXT_KEY, dispatcher);
+    final CompletableFuture<ExecutionResult> request =
+        graphQL.executeAsync(buildInput(registry, context));
+    request.whenComplete((r, t) -> dispatcher.signal());
+    dispatcher.dispatchUntil(request::isDone, Instant.now().plusSeconds(10));
+    return request.get();
+  }
+
+}
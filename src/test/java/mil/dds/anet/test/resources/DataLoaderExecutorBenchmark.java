@@ -0,0 +1,93 @@
+package mil.dds.anet.test.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import mil.dds.anet.utils.DataLoaderExecutor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Load test comparing request handling on platform threads (like the servlet container's default
+ * thread pool) with virtual threads, where each request blocks on the database both directly and
+ * through a batch loader. The throughput and the number of threads depend on the machine and on
+ * the other threads in the JVM, so they are logged rather than asserted; run with
+ * {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class DataLoaderExecutorBenchmark {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  private static final int REQUESTS = 2000;
+  // Tomcat's default maximum number of request threads
+  private static final int REQUEST_THREADS = 200;
+  private static final int DATA_LOADER_THREADS = 16;
+  private static final int DATA_LOADER_QUEUE_SIZE = 1000;
+  private static final long QUERY_MS = 5;
+
+  private record LoadTestResult(double throughput, long p99Ms, int peakThreads) {}
+
+  @Test
+  void testVirtualThreadsAgainstPlatformThreads() {
+    final LoadTestResult platform = runLoadTest(false);
+    final LoadTestResult virtual = runLoadTest(true);
+    logger.info("platform threads: {} requests/s, p99 {} ms, peak {} platform threads",
+        String.format("%.0f", platform.throughput()), platform.p99Ms(), platform.peakThreads());
+    logger.info("virtual threads: {} requests/s, p99 {} ms, peak {} platform threads",
+        String.format("%.0f", virtual.throughput()), virtual.p99Ms(), virtual.peakThreads());
+  }
+
+  private LoadTestResult runLoadTest(boolean virtualThreads) {
+    final DataLoaderExecutor dataLoaderExecutor =
+        new DataLoaderExecutor(virtualThreads, DATA_LOADER_THREADS, DATA_LOADER_QUEUE_SIZE);
+    final ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+    threadMxBean.resetPeakThreadCount();
+    final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+    final long start = System.nanoTime();
+    try (final ExecutorService requestExecutor =
+        virtualThreads ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(REQUEST_THREADS)) {
+      for (int i = 0; i < REQUESTS; i++) {
+        final long submitted = System.nanoTime();
+        requestExecutor.execute(() -> {
+          // A query on the request thread itself, followed by a batch load
+          query();
+          CompletableFuture.runAsync(this::query, dataLoaderExecutor).join();
+          latencies.add(System.nanoTime() - submitted);
+        });
+      }
+    } finally {
+      dataLoaderExecutor.shutdown();
+    }
+    final long elapsed = System.nanoTime() - start;
+    assertThat(latencies).hasSize(REQUESTS);
+    assertThat(dataLoaderExecutor.getQueueDepth()).isZero();
+    final List<Long> sorted = new ArrayList<>(latencies);
+    Collections.sort(sorted);
+    final long p99 = sorted.get((int) Math.ceil(0.99 * REQUESTS) - 1);
+    return new LoadTestResult(REQUESTS / (elapsed / 1e9), Duration.ofNanos(p99).toMillis(),
+        threadMxBean.getPeakThreadCount());
+  }
+
+  private void query() {
+    try {
+      Thread.sleep(QUERY_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
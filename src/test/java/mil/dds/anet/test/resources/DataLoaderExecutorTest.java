@@ -0,0 +1,110 @@
+package mil.dds.anet.test.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import mil.dds.anet.utils.DataLoaderExecutor;
+import org.junit.jupiter.api.Test;
+
+class DataLoaderExecutorTest {
+
+  private static final int MAX_CONCURRENCY = 2;
+  private static final String THREAD_NAME_PREFIX = "anet-dataloader-";
+
+  private final List<Thread> threads = new CopyOnWriteArrayList<>();
+  private final AtomicInteger running = new AtomicInteger();
+  private final AtomicInteger maxRunning = new AtomicInteger();
+
+  @Test
+  void testVirtualThreads() throws InterruptedException {
+    final DataLoaderExecutor executor = new DataLoaderExecutor(true, MAX_CONCURRENCY, 10);
+    assertThat(executor.isVirtualThreads()).isTrue();
+    final int batches = 5;
+    final CountDownLatch started = new CountDownLatch(MAX_CONCURRENCY);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(batches);
+    try {
+      for (int i = 0; i < batches; i++) {
+        executor.execute(() -> load(started, release, done));
+      }
+      assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+      // The other batches wait for a permit
+      assertThat(executor.getActiveCount()).isEqualTo(MAX_CONCURRENCY);
+      assertThat(executor.getQueueDepth()).isEqualTo(batches - MAX_CONCURRENCY);
+      release.countDown();
+      assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(maxRunning).hasValue(MAX_CONCURRENCY);
+    assertThat(threads).hasSize(batches).allMatch(Thread::isVirtual)
+        .allMatch(t -> t.getName().startsWith(THREAD_NAME_PREFIX));
+    awaitCompleted(executor, batches);
+  }
+
+  @Test
+  void testPlatformThreads() throws InterruptedException {
+    final DataLoaderExecutor executor = new DataLoaderExecutor(false, MAX_CONCURRENCY, 1);
+    assertThat(executor.isVirtualThreads()).isFalse();
+    final CountDownLatch started = new CountDownLatch(MAX_CONCURRENCY);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(MAX_CONCURRENCY + 1);
+    try {
+      for (int i = 0; i < MAX_CONCURRENCY; i++) {
+        executor.execute(() -> load(started, release, done));
+      }
+      assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+      // Fills the queue
+      executor.execute(() -> load(started, release, done));
+      assertThat(executor.getQueueDepth()).isOne();
+      // The queue is full, so the caller loads the batch itself
+      final AtomicInteger callerRuns = new AtomicInteger();
+      executor.execute(() -> {
+        threads.add(Thread.currentThread());
+        callerRuns.incrementAndGet();
+      });
+      assertThat(callerRuns).hasValue(1);
+      assertThat(threads.getLast()).isSameAs(Thread.currentThread());
+      assertThat(executor.getActiveCount()).isEqualTo(MAX_CONCURRENCY);
+      release.countDown();
+      assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(maxRunning).hasValue(MAX_CONCURRENCY);
+    assertThat(threads.subList(0, MAX_CONCURRENCY)).allMatch(t -> !t.isVirtual() && t.isDaemon())
+        .allMatch(t -> t.getName().startsWith(THREAD_NAME_PREFIX));
+    awaitCompleted(executor, MAX_CONCURRENCY + 2);
+  }
+
+  private void load(CountDownLatch started, CountDownLatch release, CountDownLatch done) {
+    threads.add(Thread.currentThread());
+    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+    try {
+      started.countDown();
+      release.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      running.decrementAndGet();
+      done.countDown();
+    }
+  }
+
+  private void awaitCompleted(DataLoaderExecutor executor, long expected)
+      throws InterruptedException {
+    // The completed count is updated right after the batch itself has finished
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (executor.getCompletedCount() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(executor.getCompletedCount()).isEqualTo(expected);
+    assertThat(executor.getQueueDepth()).isZero();
+    assertThat(executor.getActiveCount()).isZero();
+  }
+
+}
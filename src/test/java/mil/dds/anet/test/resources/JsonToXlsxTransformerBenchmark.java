@@ -0,0 +1,125 @@
+package mil.dds.anet.test.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.io.CountingOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.util.AbstractList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import mil.dds.anet.config.AnetDictionary;
+import mil.dds.anet.graphql.outputtransformers.JsonToXlsxTransformer;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Memory benchmark of the XLSX export. The rows are generated on the fly, so only the memory used
+ * by the workbook itself is measured. The measurements depend on the JVM and its garbage collector,
+ * so they are logged rather than asserted; run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class JsonToXlsxTransformerBenchmark {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  private static final long MB = 1024 * 1024;
+
+  private final AnetDictionary dict = JsonToXlsxTransformerTest.createDictionary();
+
+  @ParameterizedTest
+  @ValueSource(ints = {10000, 100000, 500000})
+  void testMemoryUsage(int rows) throws IOException {
+    final JsonToXlsxTransformer transformer = new JsonToXlsxTransformer(dict);
+    final long before = getUsedHeapAfterGc();
+    final long start = System.nanoTime();
+    final SXSSFWorkbook workbook = transformer.apply(createJson(rows));
+    try (workbook) {
+      final long retained = getUsedHeapAfterGc() - before;
+      final CountingOutputStream output = new CountingOutputStream(OutputStream.nullOutputStream());
+      workbook.write(output);
+      logger.info("{} rows: {} MB retained by the workbook, {} MB written in {} ms", rows,
+          retained / MB, output.getCount() / MB, (System.nanoTime() - start) / 1_000_000);
+      assertThat(output.getCount()).isPositive();
+    } finally {
+      workbook.dispose();
+    }
+  }
+
+  @Test
+  void testMemoryUsageAgainstInMemoryWorkbook() throws IOException {
+    final int rows = 10000;
+    final long before = getUsedHeapAfterGc();
+    final long inMemoryRetained;
+    // Before, the whole workbook was built in memory
+    try (final XSSFWorkbook workbook = createInMemoryWorkbook(rows)) {
+      inMemoryRetained = getUsedHeapAfterGc() - before;
+    }
+
+    final SXSSFWorkbook workbook = new JsonToXlsxTransformer(dict).apply(createJson(rows));
+    try (workbook) {
+      final long streamingRetained = getUsedHeapAfterGc() - before;
+      logger.info("{} rows: {} MB retained in memory, {} MB streaming", rows,
+          inMemoryRetained / MB, streamingRetained / MB);
+    } finally {
+      workbook.dispose();
+    }
+  }
+
+  private XSSFWorkbook createInMemoryWorkbook(int rows) {
+    final XSSFWorkbook workbook = new XSSFWorkbook();
+    final XSSFSheet sheet = workbook.createSheet("reportList");
+    final List<Map<String, Object>> list = createRows(rows);
+    for (int i = 0; i < rows; i++) {
+      final Row row = sheet.createRow(i + 1);
+      int column = 0;
+      for (final Object value : list.get(i).values()) {
+        row.createCell(column++).setCellValue(String.valueOf(value));
+      }
+    }
+    return workbook;
+  }
+
+  private Map<String, Object> createJson(int rows) {
+    return Map.of("data", Map.of("reportList", Map.of("list", createRows(rows))));
+  }
+
+  private List<Map<String, Object>> createRows(int rows) {
+    return new AbstractList<>() {
+      @Override
+      public Map<String, Object> get(int index) {
+        final Map<String, Object> row = new LinkedHashMap<>();
+        row.put("uuid", "report-" + index);
+        row.put("intent", "Intent of engagement " + index);
+        row.put("engagementDate", 1_700_000_000_000L + index * 60_000L);
+        row.put("duration", index % 120);
+        row.put("location", Map.of("name", "Location " + index % 100));
+        row.put("tasks", List.of(Map.of("shortName", "T" + index % 10)));
+        return row;
+      }
+
+      @Override
+      public int size() {
+        return rows;
+      }
+    };
+  }
+
+  private long getUsedHeapAfterGc() {
+    final Runtime runtime = Runtime.getRuntime();
+    System.gc();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+}
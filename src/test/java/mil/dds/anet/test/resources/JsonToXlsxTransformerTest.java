@@ -0,0 +1,79 @@
+package mil.dds.anet.test.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import mil.dds.anet.config.AnetConfig;
+import mil.dds.anet.config.AnetDictionary;
+import mil.dds.anet.graphql.outputtransformers.JsonToXlsxTransformer;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+class JsonToXlsxTransformerTest {
+
+  static final String EXCEL_DATE_FORMAT = "d MMMM yyyy";
+
+  static AnetDictionary createDictionary() {
+    final AnetDictionary dict = new AnetDictionary(new AnetConfig());
+    dict.setDictionary(Map.of("dateFormats", Map.of("excel", EXCEL_DATE_FORMAT)));
+    return dict;
+  }
+
+  @Test
+  void testWorkbook() throws IOException {
+    final long engagementDate = 1_700_000_000_000L;
+    final int rows = 250; // more than the rows kept in memory
+    final List<Map<String, Object>> list = new ArrayList<>();
+    for (int i = 0; i < rows; i++) {
+      final Map<String, Object> row = new LinkedHashMap<>();
+      row.put("uuid", "report-" + i);
+      row.put("engagementDate", engagementDate);
+      row.put("duration", i);
+      row.put("location", Map.of("uuid", "location-" + i, "name", "Location " + i));
+      row.put("tasks", List.of(Map.of("shortName", "T1"), Map.of("shortName", "T2")));
+      list.add(row);
+    }
+
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    final SXSSFWorkbook workbook = new JsonToXlsxTransformer(createDictionary())
+        .apply(Map.of("data", Map.of("reportList", Map.of("list", list))));
+    try (workbook) {
+      workbook.write(output);
+    } finally {
+      workbook.dispose();
+    }
+
+    try (final XSSFWorkbook result =
+        new XSSFWorkbook(new ByteArrayInputStream(output.toByteArray()))) {
+      assertThat(result.getNumberOfSheets()).isOne();
+      final XSSFSheet sheet = result.getSheet("reportList");
+      assertThat(sheet.getLastRowNum()).isEqualTo(rows);
+      final Row header = sheet.getRow(0);
+      assertThat(List.of(header.getCell(0).getStringCellValue(),
+          header.getCell(1).getStringCellValue(), header.getCell(2).getStringCellValue(),
+          header.getCell(3).getStringCellValue(), header.getCell(4).getStringCellValue()))
+          .containsExactly("UUID", "ENGAGEMENTDATE", "DURATION", "LOCATION", "TASKS");
+      final Row last = sheet.getRow(rows);
+      assertThat(last.getCell(0).getStringCellValue()).isEqualTo("report-" + (rows - 1));
+      assertThat(last.getCell(1).getDateCellValue())
+          .isEqualTo(Date.from(Instant.ofEpochMilli(engagementDate)));
+      assertThat(last.getCell(1).getCellStyle().getDataFormatString())
+          .isEqualTo(EXCEL_DATE_FORMAT);
+      assertThat(last.getCell(2).getNumericCellValue()).isEqualTo(rows - 1);
+      assertThat(last.getCell(3).getStringCellValue()).isEqualTo("Location " + (rows - 1));
+      assertThat(last.getCell(4).getStringCellValue()).isEqualTo("[T1; T2]");
+    }
+  }
+
+}
@@ -3,16 +3,20 @@ package mil.dds.anet.test.resources;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import mil.dds.anet.search.MapClusterQuery;
 import mil.dds.anet.test.TestData;
 import mil.dds.anet.test.client.AnetBeanList_Location;
+import mil.dds.anet.test.client.BoundingBoxInput;
 import mil.dds.anet.test.client.Location;
 import mil.dds.anet.test.client.LocationInput;
 import mil.dds.anet.test.client.LocationSearchQueryInput;
 import mil.dds.anet.test.client.LocationType;
+import mil.dds.anet.test.client.MapCluster;
 import mil.dds.anet.test.client.Person;
 import mil.dds.anet.test.client.Position;
 import mil.dds.anet.test.client.PositionType;
@@ -27,6 +31,8 @@ public class LocationResourceTest extends AbstractResourceTest {
       "uuid updatedAt name type description status lat lng customFields";
   public static final String FIELDS = String
       .format("{ %1$s parentLocations { %1$s } childrenLocations { %1$s } }", _LOCATION_FIELDS);
+  private static final String MAP_CLUSTER_FIELDS =
+      "{ count lat lng minLat minLng maxLat maxLng uuid }";
 
   @Test
   void locationTestGraphQL() {
@@ -302,6 +308,49 @@ public class LocationResourceTest extends AbstractResourceTest {
     assertThat(updatedParentLocationUuids3).hasSameElementsAs(parentLocationUuids3);
   }
 
+  @Test
+  void testLocationClusters() {
+    // Two locations some 15 meters apart, far away from the other test data
+    final List<String> uuids = new ArrayList<>();
+    for (final double offset : new double[] {0, 0.0001}) {
+      final LocationInput lInput = TestData.createLocationInput("Cluster test " + offset,
+          -61.2345 + offset, 151.2345 + offset);
+      final Location created =
+          withCredentials(adminUser, t -> mutationExecutor.createLocation(FIELDS, lInput));
+      uuids.add(created.getUuid());
+    }
+    final LocationSearchQueryInput query = LocationSearchQueryInput.builder()
+        .withBoundingBox(BoundingBoxInput.builder().withMinLat(-61.3).withMinLng(151.2)
+            .withMaxLat(-61.2).withMaxLng(151.3).build())
+        .build();
+
+    // Zoomed out, they are counted in a single cluster
+    final List<MapCluster> clusters = withCredentials(adminUser,
+        t -> queryExecutor.locationClusters(MAP_CLUSTER_FIELDS, query, 0));
+    assertThat(clusters).singleElement().satisfies(cluster -> {
+      assertThat(cluster.getCount()).isEqualTo(2);
+      assertThat(cluster.getUuid()).isNull();
+      assertThat(cluster.getMinLat()).isLessThan(cluster.getMaxLat());
+      assertThat(cluster.getLat()).isBetween(cluster.getMinLat(), cluster.getMaxLat());
+    });
+
+    // Zoomed in, each has a cluster of its own
+    final List<MapCluster> zoomedInClusters = withCredentials(adminUser,
+        t -> queryExecutor.locationClusters(MAP_CLUSTER_FIELDS, query, 24));
+    assertThat(zoomedInClusters).hasSize(2).allSatisfy(
+        cluster -> assertThat(cluster.getCount()).isOne());
+    assertThat(zoomedInClusters).extracting(MapCluster::getUuid)
+        .containsExactlyInAnyOrderElementsOf(uuids);
+
+    try {
+      withCredentials(adminUser, t -> queryExecutor.locationClusters(MAP_CLUSTER_FIELDS, query,
+          MapClusterQuery.MAX_ZOOM + 1));
+      fail("Expected an Exception");
+    } catch (Exception expectedException) {
+      // OK
+    }
+  }
+
   @Test
   void testUpdateConflict() {
     final String testUuid = "283797ec-7077-49b2-87b8-9afd5499b6f3";
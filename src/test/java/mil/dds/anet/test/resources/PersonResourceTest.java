@@ -19,6 +19,7 @@ import mil.dds.anet.database.CustomSensitiveInformationDao;
 import mil.dds.anet.test.client.AnetBeanList_Organization;
 import mil.dds.anet.test.client.AnetBeanList_Person;
 import mil.dds.anet.test.client.AnetBeanList_Position;
+import mil.dds.anet.test.client.AnetBeanList_Preference;
 import mil.dds.anet.test.client.AssessmentSearchQueryInput;
 import mil.dds.anet.test.client.CustomSensitiveInformation;
 import mil.dds.anet.test.client.CustomSensitiveInformationInput;
@@ -36,6 +37,9 @@ import mil.dds.anet.test.client.PositionInput;
 import mil.dds.anet.test.client.PositionRole;
 import mil.dds.anet.test.client.PositionSearchQueryInput;
 import mil.dds.anet.test.client.PositionType;
+import mil.dds.anet.test.client.Preference;
+import mil.dds.anet.test.client.PreferenceSearchQueryInput;
+import mil.dds.anet.test.client.PreferenceSearchSortBy;
 import mil.dds.anet.test.client.RecurseStrategy;
 import mil.dds.anet.test.client.SortOrder;
 import mil.dds.anet.test.client.Status;
@@ -370,6 +374,70 @@ public class PersonResourceTest extends AbstractResourceTest {
         .allMatch(p -> p.getPosition().getType() == positionType);
   }
 
+  @ParameterizedTest
+  @EnumSource(value = PersonSearchSortBy.class)
+  void searchPersonWithCursor(PersonSearchSortBy sortBy) {
+    final String fields = "{ totalCount nextCursor list { uuid } }";
+    for (final SortOrder sortOrder : SortOrder.values()) {
+      // Get all pages using pageNum
+      final List<String> expectedUuids = new ArrayList<>();
+      int totalCount;
+      int pageNum = 0;
+      do {
+        final PersonSearchQueryInput query = PersonSearchQueryInput.builder().withPageSize(7)
+            .withPageNum(pageNum++).withSortBy(sortBy).withSortOrder(sortOrder).build();
+        final AnetBeanList_Person results =
+            withCredentials(adminUser, t -> queryExecutor.personList(fields, query));
+        totalCount = results.getTotalCount();
+        results.getList().forEach(p -> expectedUuids.add(p.getUuid()));
+      } while (expectedUuids.size() < totalCount);
+
+      // Get all pages using the cursor
+      final List<String> actualUuids = new ArrayList<>();
+      String cursor = "";
+      do {
+        final PersonSearchQueryInput query = PersonSearchQueryInput.builder().withPageSize(7)
+            .withCursor(cursor).withSortBy(sortBy).withSortOrder(sortOrder).build();
+        final AnetBeanList_Person results =
+            withCredentials(adminUser, t -> queryExecutor.personList(fields, query));
+        assertThat(results.getTotalCount()).isEqualTo(totalCount);
+        results.getList().forEach(p -> actualUuids.add(p.getUuid()));
+        cursor = results.getNextCursor();
+      } while (cursor != null);
+      assertThat(actualUuids).isEqualTo(expectedUuids);
+    }
+  }
+
+  @Test
+  void searchPreferencesWithCursor() {
+    // Many preferences have the same category
+    final String fields = "{ totalCount nextCursor list { uuid category } }";
+    for (final SortOrder sortOrder : SortOrder.values()) {
+      final PreferenceSearchQueryInput allQuery = PreferenceSearchQueryInput.builder()
+          .withPageSize(0).withSortBy(PreferenceSearchSortBy.CATEGORY).withSortOrder(sortOrder)
+          .build();
+      final AnetBeanList_Preference all =
+          withCredentials(adminUser, t -> queryExecutor.preferenceList(fields, allQuery));
+      assertThat(all.getList().stream().map(Preference::getCategory).distinct())
+          .hasSizeLessThan(all.getList().size());
+
+      // Page through them with the cursor, so most pages end in the middle of a category
+      final List<String> actualUuids = new ArrayList<>();
+      String cursor = "";
+      do {
+        final PreferenceSearchQueryInput query = PreferenceSearchQueryInput.builder()
+            .withPageSize(2).withCursor(cursor).withSortBy(PreferenceSearchSortBy.CATEGORY)
+            .withSortOrder(sortOrder).build();
+        final AnetBeanList_Preference results =
+            withCredentials(adminUser, t -> queryExecutor.preferenceList(fields, query));
+        results.getList().forEach(p -> actualUuids.add(p.getUuid()));
+        cursor = results.getNextCursor();
+      } while (cursor != null);
+      assertThat(actualUuids).doesNotHaveDuplicates()
+          .isEqualTo(all.getList().stream().map(Preference::getUuid).toList());
+    }
+  }
+
   @Test
   void searchAssessmentsTestForInterlocutorOndemandScreeningAndVetting() {
     // These have all expired!
@@ -0,0 +1,157 @@
+package mil.dds.anet.test.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import mil.dds.anet.beans.AccessToken;
+import mil.dds.anet.beans.Person;
+import mil.dds.anet.beans.metrics.QueryCostStatistic;
+import mil.dds.anet.config.AnetConfig;
+import mil.dds.anet.graphql.QueryCostInstrumentation;
+import mil.dds.anet.ws.security.AccessTokenPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class QueryCostInstrumentationTest {
+
+  private static final int USER_BUDGET = 1000;
+  private static final int ACCESS_TOKEN_BUDGET = 10000;
+  private static final int DEFAULT_LIST_SIZE = 5;
+  private static final int UNBOUNDED_PAGE_SIZE = 50;
+
+  private static final String SCHEMA = """
+      type Query { reportList(query: ReportSearchQueryInput): AnetBeanList_Report }
+      input ReportSearchQueryInput { pageSize: Int, text: String }
+      type AnetBeanList_Report { totalCount: Int, list: [Report] }
+      type Report { uuid: String, authors: [Person] }
+      type Person { uuid: String, name: String, position: Position,
+        organizations: [Organization] }
+      type Position { uuid: String, organization: Organization }
+      type Organization { uuid: String, ascendantOrgs: [Organization] }
+      """;
+
+  private final AtomicInteger fetches = new AtomicInteger();
+  private QueryCostInstrumentation queryCostInstrumentation;
+  private GraphQL graphQL;
+
+  @BeforeEach
+  void setUp() {
+    final AnetConfig config = new AnetConfig();
+    config.getGraphqlCost().setUserBudget(USER_BUDGET);
+    config.getGraphqlCost().setAccessTokenBudget(ACCESS_TOKEN_BUDGET);
+    config.getGraphqlCost().setDefaultListSize(DEFAULT_LIST_SIZE);
+    config.getGraphqlCost().setUnboundedPageSize(UNBOUNDED_PAGE_SIZE);
+    setUp(config);
+  }
+
+  private void setUp(AnetConfig config) {
+    final DataFetcher<Map<String, Object>> reportListFetcher = env -> {
+      fetches.incrementAndGet();
+      return Map.of("totalCount", 0, "list", List.of());
+    };
+    final RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+        .type("Query", builder -> builder.dataFetcher("reportList", reportListFetcher)).build();
+    final GraphQLSchema schema = new SchemaGenerator()
+        .makeExecutableSchema(new SchemaParser().parse(SCHEMA), runtimeWiring);
+    queryCostInstrumentation = new QueryCostInstrumentation(config);
+    graphQL = GraphQL.newGraphQL(schema).instrumentation(queryCostInstrumentation).build();
+  }
+
+  @Test
+  void testCostIsWeighedByPageSizeAndNesting() {
+    final String query = "query Reports($pageSize: Int) {"
+        + " reportList(query: { pageSize: $pageSize }) {"
+        + " totalCount list { uuid authors { uuid name } } } }";
+    // reportList + totalCount + list + 10 * (uuid + authors + 5 * (uuid + name))
+    assertThat(execute(new Person(), query, Map.of("pageSize", 10)).getErrors()).isEmpty();
+    assertThat(getStatistic("Reports").getLastCost()).isEqualTo(3 + 10 * (2 + 5 * 2));
+    // A pageSize of 0 means all
+    assertThat(execute(new Person(), query, Map.of("pageSize", 0)).getErrors()).isEmpty();
+    assertThat(getStatistic("Reports").getLastCost()).isEqualTo(3 + 50 * (2 + 5 * 2));
+    // A page never holds more than all results
+    assertThat(execute(new Person(), query, Map.of("pageSize", 5000)).getErrors()).isEmpty();
+    assertThat(getStatistic("Reports").getLastCost()).isEqualTo(3 + 50 * (2 + 5 * 2));
+    assertThat(fetches).hasValue(3);
+  }
+
+  @Test
+  void testDefaultBudgetsRejectDeeplyNestedUnboundedQuery() {
+    setUp(new AnetConfig());
+    final String query = "query AllReports {"
+        + " reportList(query: { pageSize: 0 }) { list { authors { position { organization {"
+        + " ascendantOrgs { uuid } } } } } } }";
+    final AccessToken accessToken = new AccessToken();
+    accessToken.setScope(AccessToken.TokenScope.GRAPHQL);
+    for (final Principal principal : List.of(new Person(),
+        new AccessTokenPrincipal(accessToken))) {
+      final ExecutionResult result = execute(principal, query, Map.of());
+      assertThat(result.getErrors()).hasSize(1);
+      assertThat(result.getErrors().get(0))
+          .isInstanceOf(QueryCostInstrumentation.QueryCostExceededException.class);
+    }
+    assertThat(fetches).hasValue(0);
+    // reportList + list + 10000 * (authors + 10 * (position + organization + ascendantOrgs
+    // + 10 * uuid))
+    assertThat(getStatistic("AllReports").getLastCost())
+        .isEqualTo(2 + 10_000 * (1 + 10 * (3 + 10)));
+    assertThat(getStatistic("AllReports").getRejectedCount()).isEqualTo(2);
+  }
+
+  @Test
+  void testBudgetsPerPrincipal() {
+    final String query = "query NestedReports {"
+        + " reportList(query: { pageSize: 0 }) { list { authors { organizations {"
+        + " ascendantOrgs { uuid } } } } } }";
+    // reportList + list + 50 * (authors + 5 * (organizations + 5 * (ascendantOrgs + 5 * uuid)))
+    final long expectedCost = 2 + 50 * (1 + 5 * (1 + 5 * (1 + 5)));
+    assertThat(expectedCost).isGreaterThan(USER_BUDGET);
+
+    final ExecutionResult userResult = execute(new Person(), query, Map.of());
+    assertThat(userResult.getErrors()).hasSize(1);
+    assertThat(userResult.getErrors().get(0))
+        .isInstanceOf(QueryCostInstrumentation.QueryCostExceededException.class);
+    // Rejected before anything was fetched
+    assertThat(fetches).hasValue(0);
+    final QueryCostStatistic statistic = getStatistic("NestedReports");
+    assertThat(statistic.getLastCost()).isEqualTo(expectedCost);
+    assertThat(statistic.getRejectedCount()).isOne();
+
+    // Within the budget for an access token, but not for a user
+    final String smallerQuery = "query SmallerReports {"
+        + " reportList(query: { pageSize: 0 }) { list { authors { organizations { uuid } } } } }";
+    final AccessToken accessToken = new AccessToken();
+    accessToken.setScope(AccessToken.TokenScope.GRAPHQL);
+    assertThat(execute(new AccessTokenPrincipal(accessToken), smallerQuery, Map.of()).getErrors())
+        .isEmpty();
+    assertThat(execute(new Person(), smallerQuery, Map.of()).getErrors()).hasSize(1);
+    assertThat(getStatistic("SmallerReports").getCount()).isEqualTo(2);
+    assertThat(getStatistic("SmallerReports").getRejectedCount()).isOne();
+    assertThat(fetches).hasValue(1);
+  }
+
+  private ExecutionResult execute(Principal principal, String query,
+      Map<String, Object> variables) {
+    final Map<String, Object> context = new HashMap<>();
+    context.put("principal", principal);
+    return graphQL.execute(ExecutionInput.newExecutionInput().query(query).variables(variables)
+        .graphQLContext(context).build());
+  }
+
+  private QueryCostStatistic getStatistic(String operationName) {
+    return queryCostInstrumentation.getStatistics().stream()
+        .filter(s -> operationName.equals(s.getOperationName())).findFirst().orElseThrow();
+  }
+
+}
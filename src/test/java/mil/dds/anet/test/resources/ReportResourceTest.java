@@ -2,6 +2,7 @@ package mil.dds.anet.test.resources;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
+import static org.assertj.core.api.Assertions.within;
 
 import java.lang.invoke.MethodHandles;
 import java.time.Instant;
@@ -38,6 +39,7 @@ import mil.dds.anet.test.client.Attachment;
 import mil.dds.anet.test.client.AttachmentInput;
 import mil.dds.anet.test.client.AuthorizationGroup;
 import mil.dds.anet.test.client.AuthorizationGroupSearchQueryInput;
+import mil.dds.anet.test.client.BoundingBoxInput;
 import mil.dds.anet.test.client.Comment;
 import mil.dds.anet.test.client.EmailAddress;
 import mil.dds.anet.test.client.EmailAddressInput;
@@ -47,6 +49,7 @@ import mil.dds.anet.test.client.GenericRelatedObjectInput;
 import mil.dds.anet.test.client.Location;
 import mil.dds.anet.test.client.LocationSearchQueryInput;
 import mil.dds.anet.test.client.LocationSearchSortBy;
+import mil.dds.anet.test.client.MapCluster;
 import mil.dds.anet.test.client.Organization;
 import mil.dds.anet.test.client.OrganizationInput;
 import mil.dds.anet.test.client.OrganizationSearchQueryInput;
@@ -387,6 +390,13 @@ public class ReportResourceTest extends AbstractResourceTest {
         t -> queryExecutor.reportList(getListFields(FIELDS), pendingQuery));
     assertThat(pending.getList().stream().map(Report::getUuid).collect(Collectors.toSet()))
         .contains(returned2.getUuid());
+    // Pagination is done by the database
+    final ReportSearchQueryInput pagedPendingQuery = ReportSearchQueryInput.builder()
+        .withPendingApprovalOf(approver1.getUuid()).withPageSize(1).build();
+    final AnetBeanList_Report pagedPending = withCredentials(getDomainUsername(approver1),
+        t -> queryExecutor.reportList(getListFields(FIELDS), pagedPendingQuery));
+    assertThat(pagedPending.getTotalCount()).isEqualTo(pending.getTotalCount());
+    assertThat(pagedPending.getList()).hasSize(1);
 
     // Check on Report status for who needs to approve
     List<ReportAction> workflow = returned2.getWorkflow();
@@ -2580,6 +2590,34 @@ public class ReportResourceTest extends AbstractResourceTest {
     assertThat(activeAgUuids).isEqualTo(activeAgAfterDeleteUuids);
   }
 
+  @Test
+  void testReportClusters() {
+    // The Cabot Tower location
+    final String cabotUuid = "c8fdb53f-6f93-46fc-b0fa-f005c7b49667";
+    final Location cabot =
+        withCredentials(adminUser, t -> queryExecutor.location(LOCATION_FIELDS, cabotUuid));
+    final ReportSearchQueryInput query = ReportSearchQueryInput.builder()
+        .withState(List.of(ReportState.values())).withLocationUuid(List.of(cabotUuid)).build();
+    final AnetBeanList_Report searchResults =
+        withCredentials(adminUser, t -> queryExecutor.reportList(getListFields(FIELDS), query));
+    assertThat(searchResults.getTotalCount()).isPositive();
+
+    final String clusterFields = "{ count lat lng uuid }";
+    final List<MapCluster> clusters = withCredentials(adminUser,
+        t -> queryExecutor.reportClusters(clusterFields, null, query, 10));
+    assertThat(clusters).singleElement().satisfies(cluster -> {
+      assertThat(cluster.getCount()).isEqualTo(searchResults.getTotalCount());
+      assertThat(cluster.getLat()).isCloseTo(cabot.getLat(), within(1e-6));
+      assertThat(cluster.getLng()).isCloseTo(cabot.getLng(), within(1e-6));
+    });
+
+    // Cabot Tower is outside this bounding box
+    final BoundingBoxInput bbox = BoundingBoxInput.builder().withMinLat(0.0).withMinLng(0.0)
+        .withMaxLat(10.0).withMaxLng(10.0).build();
+    assertThat(withCredentials(adminUser,
+        t -> queryExecutor.reportClusters(clusterFields, bbox, query, 10))).isEmpty();
+  }
+
   @Test
   void testUpdateConflict() {
     final String testUuid = "34265a98-7f82-4f16-b132-abcb60d307ad";
@@ -11,18 +11,26 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import mil.dds.anet.beans.AnetEmail;
+import mil.dds.anet.database.AttachmentDao;
 import mil.dds.anet.database.AuthorizationGroupDao;
+import mil.dds.anet.database.EmailDao;
 import mil.dds.anet.database.EventDao;
+import mil.dds.anet.database.JobHistoryDao;
 import mil.dds.anet.database.LocationDao;
 import mil.dds.anet.database.OrganizationDao;
 import mil.dds.anet.database.PersonDao;
 import mil.dds.anet.database.PositionDao;
+import mil.dds.anet.database.PreferenceDao;
 import mil.dds.anet.database.ReportDao;
 import mil.dds.anet.database.SubscriptionDao;
+import mil.dds.anet.database.SubscriptionUpdateDao;
 import mil.dds.anet.database.TaskDao;
+import mil.dds.anet.emails.SubscriptionUpdateEmail;
 import mil.dds.anet.test.client.AnetBeanList_Position;
 import mil.dds.anet.test.client.AnetBeanList_SubscriptionUpdate;
 import mil.dds.anet.test.client.AuthorizationGroup;
+import mil.dds.anet.test.client.EmailAddress;
 import mil.dds.anet.test.client.Event;
 import mil.dds.anet.test.client.GenericRelatedObjectInput;
 import mil.dds.anet.test.client.Location;
@@ -32,6 +40,7 @@ import mil.dds.anet.test.client.Organization;
 import mil.dds.anet.test.client.Person;
 import mil.dds.anet.test.client.Position;
 import mil.dds.anet.test.client.PositionSearchQueryInput;
+import mil.dds.anet.test.client.Preference;
 import mil.dds.anet.test.client.ReportCancelledReason;
 import mil.dds.anet.test.client.ReportInput;
 import mil.dds.anet.test.client.ReportState;
@@ -39,6 +48,9 @@ import mil.dds.anet.test.client.Subscription;
 import mil.dds.anet.test.client.SubscriptionUpdate;
 import mil.dds.anet.test.client.SubscriptionUpdateSearchQueryInput;
 import mil.dds.anet.test.client.Task;
+import mil.dds.anet.threads.AnetEmailWorker;
+import mil.dds.anet.threads.SubscriptionUpdateWorker;
+import mil.dds.anet.utils.Utils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -68,6 +80,18 @@ class SubscriptionUpdateResourceTest extends SubscriptionTestHelper {
   @Autowired
   private SubscriptionDao subscriptionDao;
 
+  @Autowired
+  private SubscriptionUpdateDao subscriptionUpdateDao;
+
+  @Autowired
+  private JobHistoryDao jobHistoryDao;
+
+  @Autowired
+  private EmailDao emailDao;
+
+  @Autowired
+  private AttachmentDao attachmentDao;
+
   @Test
   void testSubscriptionUpdateForUnfilledPosition() {
     // Subscribe an unfilled position
@@ -98,6 +122,60 @@ class SubscriptionUpdateResourceTest extends SubscriptionTestHelper {
     subscriptionDao.delete(subscription.getUuid());
   }
 
+  @Test
+  void testSubscriptionUpdateNotifications() {
+    final Subscription subscription = createTestSubscription(LocationDao.TABLE_NAME,
+        SUBSCRIPTION_TESTS.get(LocationDao.TABLE_NAME));
+    // Claim any updates left by other tests
+    subscriptionUpdateDao.claimPendingNotifications(Instant.now(), Integer.MAX_VALUE);
+
+    // Jack opts out of subscription emails
+    setSubscriptionEmailPreference("FALSE");
+    updateLocation(subscription.getSubscribedObjectUuid());
+    // The update is claimed only once
+    assertThat(subscriptionUpdateDao.claimPendingNotifications(Instant.now(), 10_000))
+        .extracting(su -> su.getSubscriptionUuid()).contains(subscription.getUuid());
+    assertThat(subscriptionUpdateDao.claimPendingNotifications(Instant.now(), 10_000)).isEmpty();
+    assertThat(subscriptionUpdateDao.getSubscriberEmailAddresses(List.of(subscription.getUuid())))
+        .isEmpty();
+
+    // Jack opts in to subscription emails
+    setSubscriptionEmailPreference("TRUE");
+    final String jackAddress = getJackJackson().getEmailAddresses().stream()
+        .filter(ea -> Utils.getEmailNetworkForNotifications().equals(ea.getNetwork()))
+        .map(EmailAddress::getAddress).findFirst().orElseThrow();
+    assertThat(subscriptionUpdateDao.getSubscriberEmailAddresses(List.of(subscription.getUuid())))
+        .containsExactly(Map.entry(subscription.getUuid(), List.of(jackAddress)));
+    updateLocation(subscription.getSubscribedObjectUuid());
+
+    // Run the worker, with an email worker to queue the emails
+    final AnetEmailWorker emailWorker =
+        new AnetEmailWorker(config, dict, jobHistoryDao, emailDao, attachmentDao);
+    try {
+      new SubscriptionUpdateWorker(dict, jobHistoryDao, subscriptionUpdateDao).run();
+      assertThat(subscriptionUpdateDao.claimPendingNotifications(Instant.now(), 10_000))
+          .isEmpty();
+      final List<AnetEmail> emails = emailDao.getAll().stream()
+          .filter(e -> e.getAction() instanceof SubscriptionUpdateEmail action
+              && subscription.getUuid().equals(action.getSubscriptionUuid()))
+          .toList();
+      assertThat(emails).singleElement().satisfies(email -> {
+        assertThat(email.getToAddresses()).containsExactly(jackAddress);
+        assertThat(((SubscriptionUpdateEmail) email.getAction()).getUpdatedObjectUuid())
+            .isEqualTo(subscription.getSubscribedObjectUuid());
+      });
+      emailDao.deletePendingEmails(emails.stream().map(AnetEmail::getId).toList());
+    } finally {
+      emailWorker.shutdown();
+      AnetEmailWorker.setInstance(null);
+      // Back to Jack's original preference
+      setSubscriptionEmailPreference("FALSE");
+    }
+
+    // Unsubscribe
+    deleteSubscription(jackUser, subscription.getUuid(), false);
+  }
+
   @ParameterizedTest
   @ValueSource(booleans = {true, false})
   void testSubscriptionUpdate(boolean isCancelled) {
@@ -183,6 +261,18 @@ class SubscriptionUpdateResourceTest extends SubscriptionTestHelper {
         t -> queryExecutor.mySubscriptionUpdates(getListFields(FIELDS), susqi));
   }
 
+  private void setSubscriptionEmailPreference(final String value) {
+    final Preference preference = withCredentials(jackUser,
+        t -> queryExecutor.preferences("{ uuid name category }")).stream()
+        .filter(p -> PreferenceDao.PREFERENCE_SUBSCRIPTIONS.equals(p.getName())
+            && PreferenceDao.CATEGORY_EMAILING.equals(p.getCategory()))
+        .findFirst().orElseThrow();
+    final Integer updated = withCredentials(jackUser,
+        t -> mutationExecutor.updatePersonPreferences("", List.of(getPersonPreferenceInput(
+            getJackJackson().getUuid(), preference.getUuid(), value))));
+    assertThat(updated).isOne();
+  }
+
   private Subscription createTestSubscription(final String subscribedObjectType,
       final String subscribedObjectUuid) {
     return createSubscription(jackUser, subscribedObjectType, subscribedObjectUuid, false, false);
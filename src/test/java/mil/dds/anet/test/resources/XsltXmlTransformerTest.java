@@ -0,0 +1,94 @@
+package mil.dds.anet.test.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import mil.dds.anet.graphql.outputtransformers.JsonToXmlTransformer;
+import mil.dds.anet.graphql.outputtransformers.XsltXmlTransformer;
+import org.junit.jupiter.api.Test;
+
+class XsltXmlTransformerTest {
+
+  private static final String KML_STYLESHEET = "/stylesheets/kml.xslt";
+  private static final int REPORTS = 2000;
+  private static final int CONCURRENT_REQUESTS = 16;
+
+  private final XsltXmlTransformer xsltXmlTransformer = new XsltXmlTransformer(KML_STYLESHEET);
+
+  @Test
+  void testStreamingMatchesStringPipeline() throws Exception {
+    final Map<String, Object> json = createJson("report", REPORTS);
+
+    final String viaString = xsltXmlTransformer.apply(new JsonToXmlTransformer().apply(json));
+    final String viaStreaming = transform(json);
+    // Reports without a location are skipped
+    assertThat(countPlacemarks(viaStreaming)).isEqualTo(REPORTS / 2);
+    assertThat(removeWhitespace(viaStreaming)).isEqualTo(removeWhitespace(viaString));
+  }
+
+  @Test
+  void testConcurrentTransformations() {
+    try (final ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS)) {
+      final List<CompletableFuture<Void>> requests = new ArrayList<>();
+      for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+        final String prefix = "request" + i + "-";
+        final int reports = 100 * (i + 1);
+        requests.add(CompletableFuture.runAsync(() -> {
+          final String kml = transform(createJson(prefix, reports));
+          // Each request should get exactly its own (well-formed) result
+          assertThat(kml).endsWith("</kml>");
+          assertThat(countPlacemarks(kml)).isEqualTo(reports / 2);
+          assertThat(kml.split(prefix, -1)).hasSize(reports / 2 + 1);
+        }, executor));
+      }
+      CompletableFuture.allOf(requests.toArray(CompletableFuture<?>[]::new)).join();
+    }
+  }
+
+  private String transform(Map<String, Object> json) {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try {
+      xsltXmlTransformer.transform(json, output);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+    return output.toString(StandardCharsets.UTF_8).trim();
+  }
+
+  private Map<String, Object> createJson(String prefix, int count) {
+    final List<Map<String, Object>> reports = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      final Map<String, Object> report = new LinkedHashMap<>();
+      report.put("uuid", prefix + i);
+      report.put("intent", "Intent & purpose " + i);
+      final Map<String, Object> location = new LinkedHashMap<>();
+      location.put("lat", (i % 2 == 0) ? 52.0 + i / 10000.0 : null);
+      location.put("lng", (i % 2 == 0) ? 4.0 + i / 10000.0 : null);
+      report.put("location", location);
+      report.put("primaryAdvisor",
+          Map.of("name", "Advisor " + i, "position",
+              Map.of("organization", Map.of("shortName", "ORG " + i))));
+      report.put("reportPeople", List.of(Map.of("rank", "CIV", "name", "Person " + i, "role",
+          "ADVISOR"), Map.of("rank", "OF-2", "name", "Other " + i, "role", "INTERLOCUTOR")));
+      reports.add(report);
+    }
+    return Map.of("data", Map.of("reports", Map.of("list", reports)));
+  }
+
+  private int countPlacemarks(String kml) {
+    return kml.split("<Placemark>", -1).length - 1;
+  }
+
+  private String removeWhitespace(String xml) {
+    return xml.replaceAll("\\s+", "");
+  }
+
+}
@@ -5,7 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
-import mil.dds.anet.database.AccessTokenActivityDao;
+import mil.dds.anet.database.ActivityRecorder;
 import mil.dds.anet.test.resources.AbstractResourceTest;
 import mil.dds.anet.ws.security.AccessTokenAuthentication;
 import mil.dds.anet.ws.security.BearerTokenAuthFilter;
@@ -29,8 +29,8 @@ class BearerTokenAuthFilterTest extends AbstractResourceTest {
 
   @Autowired
   public BearerTokenAuthFilterTest(BearerTokenService tokenService,
-      AccessTokenActivityDao accessTokenActivityDao) {
-    this.filter = new BearerTokenAuthFilter(tokenService, accessTokenActivityDao);
+      ActivityRecorder activityRecorder) {
+    this.filter = new BearerTokenAuthFilter(tokenService, activityRecorder);
   }
 
   @AfterEach